@@ -31,22 +31,38 @@ import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
 import org.opensearch.securityanalytics.action.AckAlertsAction;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryAction;
 import org.opensearch.securityanalytics.action.CreateIndexMappingsAction;
 import org.opensearch.securityanalytics.action.DeleteDetectorAction;
+import org.opensearch.securityanalytics.action.FindingsSummaryAction;
 import org.opensearch.securityanalytics.action.GetAlertsAction;
+import org.opensearch.securityanalytics.action.GetChangesAction;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetFindingsAction;
 import org.opensearch.securityanalytics.action.GetIndexMappingsAction;
 import org.opensearch.securityanalytics.action.GetMappingsViewAction;
 import org.opensearch.securityanalytics.action.IndexDetectorAction;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheAction;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsAction;
 import org.opensearch.securityanalytics.action.SearchDetectorAction;
+import org.opensearch.securityanalytics.action.SearchFindingsAction;
+import org.opensearch.securityanalytics.action.ExportFindingsAction;
+import org.opensearch.securityanalytics.action.GetFindingDocumentsAction;
 import org.opensearch.securityanalytics.action.UpdateIndexMappingsAction;
 import org.opensearch.securityanalytics.indexmanagment.DetectorIndexManagementService;
 import org.opensearch.securityanalytics.action.ValidateRulesAction;
+import org.opensearch.securityanalytics.alerts.AckAlertsByQueryTask;
+import org.opensearch.securityanalytics.findings.FindingsSummaryCache;
+import org.opensearch.securityanalytics.mapper.IndexMappingsCache;
 import org.opensearch.securityanalytics.mapper.MapperService;
+import org.opensearch.securityanalytics.resthandler.RestAckAlertsByQueryAction;
 import org.opensearch.securityanalytics.resthandler.RestAcknowledgeAlertsAction;
 import org.opensearch.securityanalytics.resthandler.RestGetFindingsAction;
+import org.opensearch.securityanalytics.resthandler.RestSearchFindingsAction;
+import org.opensearch.securityanalytics.resthandler.RestExportFindingsAction;
+import org.opensearch.securityanalytics.resthandler.RestGetFindingDocumentsAction;
 import org.opensearch.securityanalytics.resthandler.RestValidateRulesAction;
+import org.opensearch.securityanalytics.transport.TransportAckAlertsByQueryAction;
 import org.opensearch.securityanalytics.transport.TransportAcknowledgeAlertsAction;
 import org.opensearch.securityanalytics.transport.TransportCreateIndexMappingsAction;
 import org.opensearch.securityanalytics.transport.TransportGetFindingsAction;
@@ -66,24 +82,38 @@ import org.opensearch.securityanalytics.transport.TransportGetIndexMappingsActio
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.DetectorInput;
 import org.opensearch.securityanalytics.resthandler.RestCreateIndexMappingsAction;
+import org.opensearch.securityanalytics.resthandler.RestFindingsSummaryAction;
 import org.opensearch.securityanalytics.resthandler.RestGetAlertsAction;
+import org.opensearch.securityanalytics.resthandler.RestGetChangesAction;
 import org.opensearch.securityanalytics.resthandler.RestGetDetectorAction;
 import org.opensearch.securityanalytics.resthandler.RestGetIndexMappingsAction;
 import org.opensearch.securityanalytics.resthandler.RestGetMappingsViewAction;
 import org.opensearch.securityanalytics.resthandler.RestIndexDetectorAction;
 import org.opensearch.securityanalytics.resthandler.RestSearchDetectorAction;
 import org.opensearch.securityanalytics.resthandler.RestUpdateIndexMappingsAction;
+import org.opensearch.securityanalytics.resthandler.RestSecurityAnalyticsStatsAction;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.transport.TransportDeleteDetectorAction;
+import org.opensearch.securityanalytics.transport.TransportFindingsSummaryAction;
 import org.opensearch.securityanalytics.transport.TransportGetAlertsAction;
+import org.opensearch.securityanalytics.transport.TransportGetChangesAction;
 import org.opensearch.securityanalytics.transport.TransportGetDetectorAction;
 import org.opensearch.securityanalytics.transport.TransportGetMappingsViewAction;
 import org.opensearch.securityanalytics.transport.TransportIndexDetectorAction;
+import org.opensearch.securityanalytics.transport.TransportInvalidateDetectorCacheAction;
+import org.opensearch.securityanalytics.transport.TransportSecurityAnalyticsStatsAction;
 import org.opensearch.securityanalytics.transport.TransportSearchDetectorAction;
+import org.opensearch.securityanalytics.transport.TransportSearchFindingsAction;
+import org.opensearch.securityanalytics.transport.TransportExportFindingsAction;
+import org.opensearch.securityanalytics.transport.TransportGetFindingDocumentsAction;
 import org.opensearch.securityanalytics.transport.TransportValidateRulesAction;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.securityanalytics.util.DetectorCache;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.RuleIndices;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
+import org.opensearch.securityanalytics.util.SharedQuerySets;
+import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.watcher.ResourceWatcherService;
 
@@ -96,6 +126,7 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin {
     public static final String ALERTS_BASE_URI = PLUGINS_BASE_URI + "/alerts";
     public static final String DETECTOR_BASE_URI = PLUGINS_BASE_URI + "/detectors";
     public static final String RULE_BASE_URI = PLUGINS_BASE_URI + "/rules";
+    public static final String STATS_BASE_URI = PLUGINS_BASE_URI + "/stats";
 
     private DetectorIndices detectorIndices;
 
@@ -103,10 +134,20 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin {
 
     private MapperService mapperService;
 
+    private IndexMappingsCache indexMappingsCache;
+
     private RuleIndices ruleIndices;
 
     private DetectorIndexManagementService detectorIndexManagementService;
 
+    private DetectorCache detectorCache;
+
+    private SharedQuerySets sharedQuerySets;
+
+    private FindingsSummaryCache findingsSummaryCache;
+
+    private SecurityAnalyticsStats stats;
+
     @Override
     public Collection<Object> createComponents(Client client,
                                                ClusterService clusterService,
@@ -119,11 +160,16 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin {
                                                NamedWriteableRegistry namedWriteableRegistry,
                                                IndexNameExpressionResolver indexNameExpressionResolver,
                                                Supplier<RepositoriesService> repositoriesServiceSupplier) {
+        stats = new SecurityAnalyticsStats();
         detectorIndices = new DetectorIndices(client.admin(), clusterService, threadPool);
         ruleTopicIndices = new RuleTopicIndices(client, clusterService);
-        mapperService = new MapperService(client.admin().indices());
-        ruleIndices = new RuleIndices(client, clusterService, threadPool);
-        return List.of(detectorIndices, ruleTopicIndices, ruleIndices, mapperService);
+        indexMappingsCache = new IndexMappingsCache(clusterService);
+        mapperService = new MapperService(client.admin().indices(), indexMappingsCache, stats);
+        ruleIndices = new RuleIndices(client, clusterService, threadPool, stats);
+        detectorCache = new DetectorCache(client, clusterService.getSettings());
+        sharedQuerySets = new SharedQuerySets(client);
+        findingsSummaryCache = new FindingsSummaryCache(clusterService.getSettings());
+        return List.of(detectorIndices, ruleTopicIndices, ruleIndices, mapperService, indexMappingsCache, detectorCache, sharedQuerySets, findingsSummaryCache, stats);
     }
 
     @Override
@@ -154,7 +200,14 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin {
                 new RestIndexRuleAction(),
                 new RestSearchRuleAction(),
                 new RestDeleteRuleAction(),
-                new RestValidateRulesAction()
+                new RestValidateRulesAction(),
+                new RestSearchFindingsAction(),
+                new RestFindingsSummaryAction(),
+                new RestAckAlertsByQueryAction(),
+                new RestGetChangesAction(),
+                new RestExportFindingsAction(),
+                new RestGetFindingDocumentsAction(),
+                new RestSecurityAnalyticsStatsAction()
         );
     }
 
@@ -167,6 +220,13 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin {
         );
     }
 
+    @Override
+    public List<NamedWriteableRegistry.Entry> getNamedWriteables() {
+        return List.of(
+                new NamedWriteableRegistry.Entry(Task.Status.class, AckAlertsByQueryTask.Status.NAME, AckAlertsByQueryTask.Status::new)
+        );
+    }
+
     @Override
     public List<Setting<?>> getSettings() {
         return List.of(
@@ -183,7 +243,31 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin {
                 SecurityAnalyticsSettings.FINDING_HISTORY_MAX_DOCS,
                 SecurityAnalyticsSettings.FINDING_HISTORY_INDEX_MAX_AGE,
                 SecurityAnalyticsSettings.FINDING_HISTORY_ROLLOVER_PERIOD,
-                SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD
+                SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD,
+                SecurityAnalyticsSettings.ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE,
+                SecurityAnalyticsSettings.FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE,
+                SecurityAnalyticsSettings.ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE,
+                SecurityAnalyticsSettings.FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE,
+                SecurityAnalyticsSettings.HISTORY_ROLLOVER_MIN_DOCS,
+                SecurityAnalyticsSettings.HISTORY_INDEX_OPTIMIZATION_ENABLED,
+                SecurityAnalyticsSettings.HISTORY_INDEX_FORCE_MERGE_MAX_NUM_SEGMENTS,
+                SecurityAnalyticsSettings.HISTORY_INDEX_BEST_COMPRESSION,
+                SecurityAnalyticsSettings.HISTORY_INDEX_SHRINK_NUMBER_OF_SHARDS,
+                SecurityAnalyticsSettings.HISTORY_INDEX_OPTIMIZATION_MAX_CONCURRENT,
+                SecurityAnalyticsSettings.HISTORY_INDEX_SORTING_ENABLED,
+                SecurityAnalyticsSettings.FINDING_HISTORY_ROLLUP_ENABLED,
+                SecurityAnalyticsSettings.FINDING_HISTORY_ROLLUP_AGE,
+                SecurityAnalyticsSettings.DETECTOR_CACHE_MAX_SIZE,
+                SecurityAnalyticsSettings.DETECTOR_CACHE_TTL,
+                SecurityAnalyticsSettings.RULE_UPDATE_MAX_CONCURRENT_DETECTOR_UPDATES,
+                SecurityAnalyticsSettings.SHARED_QUERY_SETS_ENABLED,
+                SecurityAnalyticsSettings.CHANGES_SAFETY_LAG,
+                SecurityAnalyticsSettings.BUCKET_LEVEL_MONITOR_TIMESTAMP_FIELD,
+                SecurityAnalyticsSettings.BUCKET_LEVEL_MONITOR_COMPOSITE_AGGREGATION_ENABLED,
+                SecurityAnalyticsSettings.MERGE_AGGREGATION_RULES_ENABLED,
+                SecurityAnalyticsSettings.MAPPINGS_MAX_CONCURRENT_PUT_MAPPINGS,
+                SecurityAnalyticsSettings.RULE_VALIDATION_MAX_CONCURRENT_REQUESTS,
+                SecurityAnalyticsSettings.FINDINGS_SUMMARY_CACHE_TTL
         );
     }
 
@@ -204,7 +288,15 @@ public class SecurityAnalyticsPlugin extends Plugin implements ActionPlugin {
                 new ActionPlugin.ActionHandler<>(IndexRuleAction.INSTANCE, TransportIndexRuleAction.class),
                 new ActionPlugin.ActionHandler<>(SearchRuleAction.INSTANCE, TransportSearchRuleAction.class),
                 new ActionPlugin.ActionHandler<>(DeleteRuleAction.INSTANCE, TransportDeleteRuleAction.class),
-                new ActionPlugin.ActionHandler<>(ValidateRulesAction.INSTANCE, TransportValidateRulesAction.class)
+                new ActionPlugin.ActionHandler<>(ValidateRulesAction.INSTANCE, TransportValidateRulesAction.class),
+                new ActionPlugin.ActionHandler<>(InvalidateDetectorCacheAction.INSTANCE, TransportInvalidateDetectorCacheAction.class),
+                new ActionPlugin.ActionHandler<>(SearchFindingsAction.INSTANCE, TransportSearchFindingsAction.class),
+                new ActionPlugin.ActionHandler<>(FindingsSummaryAction.INSTANCE, TransportFindingsSummaryAction.class),
+                new ActionPlugin.ActionHandler<>(AckAlertsByQueryAction.INSTANCE, TransportAckAlertsByQueryAction.class),
+                new ActionPlugin.ActionHandler<>(GetChangesAction.INSTANCE, TransportGetChangesAction.class),
+                new ActionPlugin.ActionHandler<>(ExportFindingsAction.INSTANCE, TransportExportFindingsAction.class),
+                new ActionPlugin.ActionHandler<>(GetFindingDocumentsAction.INSTANCE, TransportGetFindingDocumentsAction.class),
+                new ActionPlugin.ActionHandler<>(SecurityAnalyticsStatsAction.INSTANCE, TransportSecurityAnalyticsStatsAction.class)
         );
     }
 }
\ No newline at end of file
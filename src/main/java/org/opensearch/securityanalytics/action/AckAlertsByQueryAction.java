@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class AckAlertsByQueryAction extends ActionType<AckAlertsByQueryResponse> {
+
+    public static final AckAlertsByQueryAction INSTANCE = new AckAlertsByQueryAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/alerts/ack_by_query";
+
+    public AckAlertsByQueryAction() {
+        super(NAME, AckAlertsByQueryResponse::new);
+    }
+}
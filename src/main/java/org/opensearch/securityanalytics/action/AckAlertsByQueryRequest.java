@@ -0,0 +1,147 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.common.xcontent.XContentParserUtils;
+import org.opensearch.securityanalytics.alerts.AckAlertsByQueryTask;
+import org.opensearch.tasks.TaskId;
+
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Acknowledges all active alerts of a detector matching the given rules and severities, without listing their ids.
+ */
+public class AckAlertsByQueryRequest extends ActionRequest {
+
+    public static final String RULE_IDS_FIELD = "rule_ids";
+    public static final String SEVERITIES_FIELD = "severities";
+    public static final String BATCH_SIZE_FIELD = "batch_size";
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int MAX_BATCH_SIZE = 10000;
+
+    private final String detectorId;
+    private final List<String> ruleIds;
+    private final List<String> severities;
+    private final int batchSize;
+
+    /**
+     * @param ruleIds only acknowledge alerts of the monitors evaluating these rules, all monitors of the detector if null
+     * @param severities only acknowledge alerts of these trigger severities, all severities if null
+     * @param batchSize number of alerts acknowledged at once
+     */
+    public AckAlertsByQueryRequest(String detectorId, List<String> ruleIds, List<String> severities, int batchSize) {
+        super();
+        this.detectorId = detectorId;
+        this.ruleIds = ruleIds;
+        this.severities = severities;
+        this.batchSize = batchSize;
+    }
+
+    public AckAlertsByQueryRequest(StreamInput sin) throws IOException {
+        super(sin);
+        detectorId = sin.readString();
+        ruleIds = sin.readOptionalStringList();
+        severities = sin.readOptionalStringList();
+        batchSize = sin.readVInt();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(detectorId);
+        out.writeOptionalStringCollection(ruleIds);
+        out.writeOptionalStringCollection(severities);
+        out.writeVInt(batchSize);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if (detectorId == null || detectorId.length() == 0) {
+            validationException = addValidationError("detector id is mandatory", validationException);
+        }
+        if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be between 1 and %d", BATCH_SIZE_FIELD, MAX_BATCH_SIZE), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public AckAlertsByQueryTask createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+        return new AckAlertsByQueryTask(id, type, action, getDescription(), parentTaskId, headers);
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format(Locale.ROOT, "ack alerts of detector [%s], rules %s, severities %s", detectorId, ruleIds, severities);
+    }
+
+    public static AckAlertsByQueryRequest parse(String detectorId, XContentParser xcp) throws IOException {
+        List<String> ruleIds = null;
+        List<String> severities = null;
+        int batchSize = DEFAULT_BATCH_SIZE;
+
+        if (xcp.currentToken() == null) {
+            xcp.nextToken();
+        }
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = xcp.currentName();
+            xcp.nextToken();
+
+            switch (fieldName) {
+                case RULE_IDS_FIELD:
+                    ruleIds = parseStringList(xcp);
+                    break;
+                case SEVERITIES_FIELD:
+                    severities = parseStringList(xcp);
+                    break;
+                case BATCH_SIZE_FIELD:
+                    batchSize = xcp.intValue();
+                    break;
+                default:
+                    xcp.skipChildren();
+            }
+        }
+        return new AckAlertsByQueryRequest(detectorId, ruleIds, severities, batchSize);
+    }
+
+    private static List<String> parseStringList(XContentParser xcp) throws IOException {
+        List<String> values = new ArrayList<>();
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+            values.add(xcp.text());
+        }
+        return values;
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public List<String> getRuleIds() {
+        return ruleIds;
+    }
+
+    public List<String> getSeverities() {
+        return severities;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+public class AckAlertsByQueryResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String MATCHED_FIELD = "matched";
+    private static final String ACKNOWLEDGED_FIELD = "acknowledged";
+    private static final String FAILED_FIELD = "failed";
+    private static final String MISSING_FIELD = "missing";
+    private static final String CANCELLED_FIELD = "cancelled";
+
+    private final long matched;
+    private final long acknowledged;
+    private final long failed;
+    private final long missing;
+    private final boolean cancelled;
+
+    /**
+     * @param matched number of active alerts matching the query that were visited
+     * @param cancelled whether the task was cancelled before all matching alerts were visited
+     */
+    public AckAlertsByQueryResponse(long matched, long acknowledged, long failed, long missing, boolean cancelled) {
+        super();
+        this.matched = matched;
+        this.acknowledged = acknowledged;
+        this.failed = failed;
+        this.missing = missing;
+        this.cancelled = cancelled;
+    }
+
+    public AckAlertsByQueryResponse(StreamInput sin) throws IOException {
+        this(sin.readVLong(), sin.readVLong(), sin.readVLong(), sin.readVLong(), sin.readBoolean());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(matched);
+        out.writeVLong(acknowledged);
+        out.writeVLong(failed);
+        out.writeVLong(missing);
+        out.writeBoolean(cancelled);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        return builder.startObject()
+                .field(MATCHED_FIELD, matched)
+                .field(ACKNOWLEDGED_FIELD, acknowledged)
+                .field(FAILED_FIELD, failed)
+                .field(MISSING_FIELD, missing)
+                .field(CANCELLED_FIELD, cancelled)
+                .endObject();
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public long getAcknowledged() {
+        return acknowledged;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getMissing() {
+        return missing;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class ExportFindingsAction extends ActionType<ExportFindingsResponse> {
+
+    public static final ExportFindingsAction INSTANCE = new ExportFindingsAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/findings/export";
+
+    public ExportFindingsAction() {
+        super(NAME, ExportFindingsResponse::new);
+    }
+}
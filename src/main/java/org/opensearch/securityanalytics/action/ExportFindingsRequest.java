@@ -0,0 +1,97 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.Locale;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Exports the findings matching a findings search as newline delimited JSON. Every response holds at most
+ * maxFindings findings and a cursor to resume the export with, the same search has to be sent with the cursor.
+ */
+public class ExportFindingsRequest extends ActionRequest {
+
+    public static final String CURSOR_FIELD = "cursor";
+    public static final String BATCH_SIZE_FIELD = "batch_size";
+    public static final String MAX_FINDINGS_FIELD = "max_findings";
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_FINDINGS = 10000;
+    public static final int MAX_MAX_FINDINGS = 100000;
+
+    private final SearchFindingsRequest search;
+    private final String cursor;
+    private final int batchSize;
+    private final int maxFindings;
+
+    /**
+     * @param search filters of the exported findings, paging parameters are ignored
+     * @param cursor cursor returned by the previous response, null to start the export
+     * @param batchSize number of findings fetched, and documents resolved, at once
+     * @param maxFindings max number of findings in one response
+     */
+    public ExportFindingsRequest(SearchFindingsRequest search, String cursor, int batchSize, int maxFindings) {
+        super();
+        this.search = search;
+        this.cursor = cursor;
+        this.batchSize = batchSize;
+        this.maxFindings = maxFindings;
+    }
+
+    public ExportFindingsRequest(StreamInput sin) throws IOException {
+        super(sin);
+        search = new SearchFindingsRequest(sin);
+        cursor = sin.readOptionalString();
+        batchSize = sin.readVInt();
+        maxFindings = sin.readVInt();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        search.writeTo(out);
+        out.writeOptionalString(cursor);
+        out.writeVInt(batchSize);
+        out.writeVInt(maxFindings);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if ((search.getDetectorId() == null || search.getDetectorId().length() == 0) && search.getDetectorType() == null) {
+            validationException = addValidationError("At least one of detector type or detector id needs to be passed", validationException);
+        }
+        if (batchSize <= 0 || batchSize > SearchFindingsRequest.MAX_SIZE) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be between 1 and %d", BATCH_SIZE_FIELD, SearchFindingsRequest.MAX_SIZE), validationException);
+        }
+        if (maxFindings <= 0 || maxFindings > MAX_MAX_FINDINGS) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be between 1 and %d", MAX_FINDINGS_FIELD, MAX_MAX_FINDINGS), validationException);
+        }
+        return validationException;
+    }
+
+    public SearchFindingsRequest getSearch() {
+        return search;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getMaxFindings() {
+        return maxFindings;
+    }
+}
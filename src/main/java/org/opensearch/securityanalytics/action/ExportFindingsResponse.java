@@ -0,0 +1,55 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+public class ExportFindingsResponse extends ActionResponse {
+
+    private final BytesReference content;
+    private final long count;
+    private final String cursor;
+
+    /**
+     * @param content exported findings, one JSON object per line
+     * @param cursor cursor to resume the export with, null once all findings were exported
+     */
+    public ExportFindingsResponse(BytesReference content, long count, String cursor) {
+        super();
+        this.content = content;
+        this.count = count;
+        this.cursor = cursor;
+    }
+
+    public ExportFindingsResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.content = sin.readBytesReference();
+        this.count = sin.readVLong();
+        this.cursor = sin.readOptionalString();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeBytesReference(content);
+        out.writeVLong(count);
+        out.writeOptionalString(cursor);
+    }
+
+    public BytesReference getContent() {
+        return content;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+}
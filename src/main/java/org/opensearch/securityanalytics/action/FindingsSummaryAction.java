@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class FindingsSummaryAction extends ActionType<FindingsSummaryResponse> {
+
+    public static final FindingsSummaryAction INSTANCE = new FindingsSummaryAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/findings/summary";
+
+    public FindingsSummaryAction() {
+        super(NAME, FindingsSummaryResponse::new);
+    }
+}
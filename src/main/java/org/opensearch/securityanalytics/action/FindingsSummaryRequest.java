@@ -0,0 +1,155 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.model.Detector;
+
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Aggregated counts of the findings of a detector or of all detectors of a type, computed in the findings indices.
+ */
+public class FindingsSummaryRequest extends ActionRequest {
+
+    public static final String DETECTOR_ID_FIELD = "detector_id";
+    public static final String START_TIME_FIELD = "start_time";
+    public static final String END_TIME_FIELD = "end_time";
+    public static final String INTERVAL_FIELD = "interval";
+    public static final String SIZE_FIELD = "size";
+
+    public static final TimeValue DEFAULT_INTERVAL = TimeValue.timeValueHours(1);
+    public static final int DEFAULT_SIZE = 10;
+    public static final int MAX_SIZE = 1000;
+
+    private final String detectorId;
+    private final Detector.DetectorType detectorType;
+    private final Instant startTime;
+    private final Instant endTime;
+    private final TimeValue interval;
+    private final int size;
+    private final boolean useCache;
+
+    /**
+     * @param interval fixed interval of the timeline buckets
+     * @param size max number of rules and detectors to return counts for
+     * @param useCache whether a summary computed recently for the same parameters may be returned
+     */
+    public FindingsSummaryRequest(
+            String detectorId,
+            Detector.DetectorType detectorType,
+            Instant startTime,
+            Instant endTime,
+            TimeValue interval,
+            int size,
+            boolean useCache
+    ) {
+        super();
+        this.detectorId = detectorId;
+        this.detectorType = detectorType;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.interval = interval;
+        this.size = size;
+        this.useCache = useCache;
+    }
+
+    public FindingsSummaryRequest(StreamInput sin) throws IOException {
+        super(sin);
+        detectorId = sin.readOptionalString();
+        detectorType = sin.readBoolean() ? sin.readEnum(Detector.DetectorType.class) : null;
+        startTime = sin.readOptionalInstant();
+        endTime = sin.readOptionalInstant();
+        interval = sin.readTimeValue();
+        size = sin.readVInt();
+        useCache = sin.readBoolean();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeOptionalString(detectorId);
+        if (detectorType != null) {
+            out.writeBoolean(true);
+            out.writeEnum(detectorType);
+        } else {
+            out.writeBoolean(false);
+        }
+        out.writeOptionalInstant(startTime);
+        out.writeOptionalInstant(endTime);
+        out.writeTimeValue(interval);
+        out.writeVInt(size);
+        out.writeBoolean(useCache);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if ((detectorId == null || detectorId.length() == 0) && detectorType == null) {
+            validationException = addValidationError("At least one of detector type or detector id needs to be passed", validationException);
+        }
+        if (size <= 0 || size > MAX_SIZE) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be between 1 and %d", SIZE_FIELD, MAX_SIZE), validationException);
+        }
+        if (interval == null || interval.millis() <= 0) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be positive", INTERVAL_FIELD), validationException);
+        }
+        if (startTime != null && endTime != null && startTime.isAfter(endTime)) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s is after %s", START_TIME_FIELD, END_TIME_FIELD), validationException);
+        }
+        return validationException;
+    }
+
+    /**
+     * @return key identifying the summary computed for this request, not including who requested it
+     */
+    public String cacheKey() {
+        return String.join(
+                "|",
+                String.valueOf(detectorId),
+                String.valueOf(detectorType),
+                startTime != null ? String.valueOf(startTime.toEpochMilli()) : "",
+                endTime != null ? String.valueOf(endTime.toEpochMilli()) : "",
+                interval.getStringRep(),
+                String.valueOf(size)
+        );
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public Detector.DetectorType getDetectorType() {
+        return detectorType;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public TimeValue getInterval() {
+        return interval;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isUseCache() {
+        return useCache;
+    }
+}
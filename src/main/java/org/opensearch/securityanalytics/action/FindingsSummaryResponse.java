@@ -0,0 +1,121 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+public class FindingsSummaryResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String TOTAL_FINDINGS_FIELD = "total_findings";
+    private static final String DETECTORS_FIELD = "detectors";
+    private static final String RULES_FIELD = "rules";
+    private static final String SEVERITIES_FIELD = "severities";
+    private static final String TIMELINE_FIELD = "timeline";
+    private static final String TIMESTAMP_FIELD = "timestamp";
+    private static final String COUNT_FIELD = "count";
+
+    private final long totalFindings;
+    private final Map<String, Long> detectors;
+    private final Map<String, Long> rules;
+    private final Map<String, Long> severities;
+    private final Map<Long, Long> timeline;
+
+    /**
+     * @param detectors number of findings per detector id
+     * @param rules number of findings per rule id
+     * @param severities number of findings per rule severity
+     * @param timeline number of findings per bucket start in epoch millis, in ascending order
+     */
+    public FindingsSummaryResponse(long totalFindings, Map<String, Long> detectors, Map<String, Long> rules, Map<String, Long> severities, Map<Long, Long> timeline) {
+        super();
+        this.totalFindings = totalFindings;
+        this.detectors = detectors;
+        this.rules = rules;
+        this.severities = severities;
+        this.timeline = timeline;
+    }
+
+    public FindingsSummaryResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.totalFindings = sin.readVLong();
+        this.detectors = readCounts(sin, StreamInput::readString);
+        this.rules = readCounts(sin, StreamInput::readString);
+        this.severities = readCounts(sin, StreamInput::readString);
+        this.timeline = readCounts(sin, StreamInput::readLong);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(totalFindings);
+        writeCounts(out, detectors, StreamOutput::writeString);
+        writeCounts(out, rules, StreamOutput::writeString);
+        writeCounts(out, severities, StreamOutput::writeString);
+        writeCounts(out, timeline, StreamOutput::writeLong);
+    }
+
+    // Counts are kept in insertion order, which is the order of the aggregation buckets
+    private static <K> Map<K, Long> readCounts(StreamInput sin, Writeable.Reader<K> keyReader) throws IOException {
+        int size = sin.readVInt();
+        Map<K, Long> counts = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            counts.put(keyReader.read(sin), sin.readVLong());
+        }
+        return counts;
+    }
+
+    private static <K> void writeCounts(StreamOutput out, Map<K, Long> counts, Writeable.Writer<K> keyWriter) throws IOException {
+        out.writeVInt(counts.size());
+        for (Map.Entry<K, Long> entry : counts.entrySet()) {
+            keyWriter.write(out, entry.getKey());
+            out.writeVLong(entry.getValue());
+        }
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(TOTAL_FINDINGS_FIELD, totalFindings)
+                .field(DETECTORS_FIELD, detectors)
+                .field(RULES_FIELD, rules)
+                .field(SEVERITIES_FIELD, severities);
+        builder.startArray(TIMELINE_FIELD);
+        for (Map.Entry<Long, Long> bucket : timeline.entrySet()) {
+            builder.startObject()
+                    .field(TIMESTAMP_FIELD, bucket.getKey())
+                    .field(COUNT_FIELD, bucket.getValue())
+                    .endObject();
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    public long getTotalFindings() {
+        return totalFindings;
+    }
+
+    public Map<String, Long> getDetectors() {
+        return detectors;
+    }
+
+    public Map<String, Long> getRules() {
+        return rules;
+    }
+
+    public Map<String, Long> getSeverities() {
+        return severities;
+    }
+
+    public Map<Long, Long> getTimeline() {
+        return timeline;
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class GetChangesAction extends ActionType<GetChangesResponse> {
+
+    public static final GetChangesAction INSTANCE = new GetChangesAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/changes/get";
+
+    public GetChangesAction() {
+        super(NAME, GetChangesResponse::new);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.tasks.TaskId;
+
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Findings and alerts of a detector or detector type created or updated after a cursor. If nothing changed, the
+ * request waits for changes up to its timeout before returning an empty response.
+ */
+public class GetChangesRequest extends ActionRequest {
+
+    public static final String CURSOR_FIELD = "cursor";
+    public static final String SINCE_FIELD = "since";
+    public static final String SIZE_FIELD = "size";
+    public static final String TIMEOUT_FIELD = "timeout";
+
+    public static final int DEFAULT_SIZE = 100;
+    public static final int MAX_SIZE = 10000;
+    public static final TimeValue MAX_TIMEOUT = TimeValue.timeValueMinutes(1);
+
+    private final String detectorId;
+    private final Detector.DetectorType detectorType;
+    private final String cursor;
+    private final Instant since;
+    private final int size;
+    private final TimeValue timeout;
+
+    /**
+     * @param cursor cursor returned by the previous request, takes precedence over since
+     * @param since time to return changes from if there is no cursor yet, now if null
+     * @param size max number of findings and max number of alerts to return
+     * @param timeout how long to wait for changes if there are none
+     */
+    public GetChangesRequest(String detectorId, Detector.DetectorType detectorType, String cursor, Instant since, int size, TimeValue timeout) {
+        super();
+        this.detectorId = detectorId;
+        this.detectorType = detectorType;
+        this.cursor = cursor;
+        this.since = since;
+        this.size = size;
+        this.timeout = timeout;
+    }
+
+    public GetChangesRequest(StreamInput sin) throws IOException {
+        super(sin);
+        detectorId = sin.readOptionalString();
+        detectorType = sin.readBoolean() ? sin.readEnum(Detector.DetectorType.class) : null;
+        cursor = sin.readOptionalString();
+        since = sin.readOptionalInstant();
+        size = sin.readVInt();
+        timeout = sin.readTimeValue();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeOptionalString(detectorId);
+        if (detectorType != null) {
+            out.writeBoolean(true);
+            out.writeEnum(detectorType);
+        } else {
+            out.writeBoolean(false);
+        }
+        out.writeOptionalString(cursor);
+        out.writeOptionalInstant(since);
+        out.writeVInt(size);
+        out.writeTimeValue(timeout);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if ((detectorId == null || detectorId.length() == 0) && detectorType == null) {
+            validationException = addValidationError("At least one of detector type or detector id needs to be passed", validationException);
+        }
+        if (size <= 0 || size > MAX_SIZE) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be between 1 and %d", SIZE_FIELD, MAX_SIZE), validationException);
+        }
+        if (timeout == null || timeout.millis() < 0 || timeout.compareTo(MAX_TIMEOUT) > 0) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be between 0 and %s", TIMEOUT_FIELD, MAX_TIMEOUT), validationException);
+        }
+        return validationException;
+    }
+
+    @Override
+    public CancellableTask createTask(long id, String type, String action, TaskId parentTaskId, Map<String, String> headers) {
+        return new CancellableTask(id, type, action, getDescription(), parentTaskId, headers) {
+            @Override
+            public boolean shouldCancelChildrenOnCancellation() {
+                return true;
+            }
+        };
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format(Locale.ROOT, "changes of detector [%s], type [%s], cursor [%s]", detectorId, detectorType, cursor);
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public Detector.DetectorType getDetectorType() {
+        return detectorType;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public Instant getSince() {
+        return since;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public TimeValue getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.List;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+public class GetChangesResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String FINDINGS_FIELD = "findings";
+    private static final String ALERTS_FIELD = "alerts";
+    private static final String CURSOR_FIELD = "cursor";
+    private static final String HAS_MORE_FIELD = "has_more";
+
+    private final List<FindingDto> findings;
+    private final List<AlertDto> alerts;
+    private final String cursor;
+    private final boolean hasMore;
+
+    /**
+     * @param cursor cursor to request the following changes with
+     * @param hasMore whether more changes are available right away
+     */
+    public GetChangesResponse(List<FindingDto> findings, List<AlertDto> alerts, String cursor, boolean hasMore) {
+        super();
+        this.findings = findings;
+        this.alerts = alerts;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    public GetChangesResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.findings = sin.readList(FindingDto::new);
+        this.alerts = sin.readList(AlertDto::new);
+        this.cursor = sin.readString();
+        this.hasMore = sin.readBoolean();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeCollection(findings);
+        out.writeCollection(alerts);
+        out.writeString(cursor);
+        out.writeBoolean(hasMore);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        return builder.startObject()
+                .field(FINDINGS_FIELD, findings)
+                .field(ALERTS_FIELD, alerts)
+                .field(CURSOR_FIELD, cursor)
+                .field(HAS_MORE_FIELD, hasMore)
+                .endObject();
+    }
+
+    public List<FindingDto> getFindings() {
+        return findings;
+    }
+
+    public List<AlertDto> getAlerts() {
+        return alerts;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
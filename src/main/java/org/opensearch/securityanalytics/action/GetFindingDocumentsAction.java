@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class GetFindingDocumentsAction extends ActionType<GetFindingDocumentsResponse> {
+
+    public static final GetFindingDocumentsAction INSTANCE = new GetFindingDocumentsAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/findings/documents/get";
+
+    public GetFindingDocumentsAction() {
+        super(NAME, GetFindingDocumentsResponse::new);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.common.xcontent.XContentParserUtils;
+import org.opensearch.securityanalytics.findings.FindingDocumentsOptions;
+import org.opensearch.securityanalytics.model.Detector;
+
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Resolves the source documents of findings listed without their documents.
+ */
+public class GetFindingDocumentsRequest extends ActionRequest {
+
+    public static final String DETECTOR_ID_FIELD = "detector_id";
+    public static final String DETECTOR_TYPE_FIELD = "detector_type";
+    public static final String FINDING_IDS_FIELD = "finding_ids";
+
+    public static final int MAX_FINDING_IDS = 1000;
+
+    private final String detectorId;
+    private final Detector.DetectorType detectorType;
+    private final List<String> findingIds;
+    private final FindingDocumentsOptions documentsOptions;
+
+    public GetFindingDocumentsRequest(String detectorId, Detector.DetectorType detectorType, List<String> findingIds, FindingDocumentsOptions documentsOptions) {
+        super();
+        this.detectorId = detectorId;
+        this.detectorType = detectorType;
+        this.findingIds = findingIds;
+        this.documentsOptions = documentsOptions;
+    }
+
+    public GetFindingDocumentsRequest(StreamInput sin) throws IOException {
+        this(
+                sin.readOptionalString(),
+                sin.readBoolean() ? sin.readEnum(Detector.DetectorType.class) : null,
+                sin.readStringList(),
+                new FindingDocumentsOptions(sin)
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeOptionalString(detectorId);
+        if (detectorType != null) {
+            out.writeBoolean(true);
+            out.writeEnum(detectorType);
+        } else {
+            out.writeBoolean(false);
+        }
+        out.writeStringCollection(findingIds);
+        documentsOptions.writeTo(out);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if ((detectorId == null || detectorId.length() == 0) && detectorType == null) {
+            validationException = addValidationError("At least one of detector type or detector id needs to be passed", validationException);
+        }
+        if (findingIds.isEmpty() || findingIds.size() > MAX_FINDING_IDS) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to contain between 1 and %d ids", FINDING_IDS_FIELD, MAX_FINDING_IDS), validationException);
+        }
+        if (documentsOptions.getMaxDocuments() < 0 && documentsOptions.getMaxDocuments() != FindingDocumentsOptions.ALL_DOCUMENTS) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s can not be negative", FindingDocumentsOptions.MAX_DOCUMENTS_FIELD), validationException);
+        }
+        return validationException;
+    }
+
+    public static GetFindingDocumentsRequest parse(XContentParser xcp) throws IOException {
+        String detectorId = null;
+        Detector.DetectorType detectorType = null;
+        List<String> findingIds = new ArrayList<>();
+        int maxDocuments = FindingDocumentsOptions.ALL_DOCUMENTS;
+        List<String> sourceIncludes = null;
+        List<String> sourceExcludes = null;
+
+        if (xcp.currentToken() == null) {
+            xcp.nextToken();
+        }
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = xcp.currentName();
+            xcp.nextToken();
+
+            switch (fieldName) {
+                case DETECTOR_ID_FIELD:
+                    detectorId = xcp.text();
+                    break;
+                case DETECTOR_TYPE_FIELD:
+                    detectorType = Detector.DetectorType.valueOf(xcp.text().toUpperCase(Locale.ROOT));
+                    break;
+                case FINDING_IDS_FIELD:
+                    findingIds = parseStringList(xcp);
+                    break;
+                case FindingDocumentsOptions.MAX_DOCUMENTS_FIELD:
+                    maxDocuments = xcp.intValue();
+                    break;
+                case FindingDocumentsOptions.SOURCE_INCLUDES_FIELD:
+                    sourceIncludes = parseStringList(xcp);
+                    break;
+                case FindingDocumentsOptions.SOURCE_EXCLUDES_FIELD:
+                    sourceExcludes = parseStringList(xcp);
+                    break;
+                default:
+                    xcp.skipChildren();
+            }
+        }
+        return new GetFindingDocumentsRequest(
+                detectorId,
+                detectorType,
+                findingIds,
+                new FindingDocumentsOptions(true, maxDocuments, sourceIncludes, sourceExcludes)
+        );
+    }
+
+    private static List<String> parseStringList(XContentParser xcp) throws IOException {
+        List<String> values = new ArrayList<>();
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+            values.add(xcp.text());
+        }
+        return values;
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public Detector.DetectorType getDetectorType() {
+        return detectorType;
+    }
+
+    public List<String> getFindingIds() {
+        return findingIds;
+    }
+
+    public FindingDocumentsOptions getDocumentsOptions() {
+        return documentsOptions;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+import org.opensearch.commons.alerting.model.FindingDocument;
+
+public class GetFindingDocumentsResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String FINDINGS_FIELD = "findings";
+    private static final String FINDING_ID_FIELD = "id";
+    private static final String DOCUMENTS_LIST = "document_list";
+
+    private final Map<String, List<FindingDocument>> documents;
+
+    /**
+     * @param documents finding id -> documents of the finding, findings not found are left out
+     */
+    public GetFindingDocumentsResponse(Map<String, List<FindingDocument>> documents) {
+        super();
+        this.documents = documents;
+    }
+
+    public GetFindingDocumentsResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.documents = sin.readOrderedMap(StreamInput::readString, in -> in.readList(FindingDocument::new));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeMap(documents, StreamOutput::writeString, StreamOutput::writeList);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject().startArray(FINDINGS_FIELD);
+        for (Map.Entry<String, List<FindingDocument>> entry : documents.entrySet()) {
+            builder.startObject()
+                    .field(FINDING_ID_FIELD, entry.getKey())
+                    .field(DOCUMENTS_LIST, entry.getValue())
+                    .endObject();
+        }
+        return builder.endArray().endObject();
+    }
+
+    public Map<String, List<FindingDocument>> getDocuments() {
+        return documents;
+    }
+}
@@ -11,6 +11,7 @@ import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.common.io.stream.StreamInput;
 import org.opensearch.common.io.stream.StreamOutput;
 import org.opensearch.commons.alerting.model.Table;
+import org.opensearch.securityanalytics.findings.FindingDocumentsOptions;
 import org.opensearch.securityanalytics.model.Detector;
 
 
@@ -21,6 +22,7 @@ public class GetFindingsRequest extends ActionRequest {
     private Detector.DetectorType detectorType;
     private String detectorId;
     private Table table;
+    private FindingDocumentsOptions documentsOptions = FindingDocumentsOptions.ALL;
 
     public static final String DETECTOR_ID = "detector_id";
 
@@ -32,7 +34,8 @@ public class GetFindingsRequest extends ActionRequest {
         this(
             sin.readOptionalString(),
             sin.readBoolean() ? sin.readEnum(Detector.DetectorType.class) : null,
-            Table.readFrom(sin)
+            Table.readFrom(sin),
+            new FindingDocumentsOptions(sin)
         );
     }
 
@@ -42,6 +45,14 @@ public class GetFindingsRequest extends ActionRequest {
         this.table = table;
     }
 
+    /**
+     * @param documentsOptions which source documents are returned with the findings
+     */
+    public GetFindingsRequest(String detectorId, Detector.DetectorType detectorType, Table table, FindingDocumentsOptions documentsOptions) {
+        this(detectorId, detectorType, table);
+        this.documentsOptions = documentsOptions;
+    }
+
     @Override
     public ActionRequestValidationException validate() {
         ActionRequestValidationException validationException = null;
@@ -50,6 +61,11 @@ public class GetFindingsRequest extends ActionRequest {
                             "At least one of detector type or detector id needs to be passed", DETECTOR_ID),
                     validationException);
         }
+        if (documentsOptions.getMaxDocuments() < 0 && documentsOptions.getMaxDocuments() != FindingDocumentsOptions.ALL_DOCUMENTS) {
+            validationException = addValidationError(String.format(Locale.getDefault(),
+                            "%s can not be negative", FindingDocumentsOptions.MAX_DOCUMENTS_FIELD),
+                    validationException);
+        }
         return validationException;
     }
 
@@ -63,6 +79,7 @@ public class GetFindingsRequest extends ActionRequest {
             out.writeBoolean(false);
         }
         table.writeTo(out);
+        documentsOptions.writeTo(out);
     }
 
     public String getDetectorId() {
@@ -76,4 +93,8 @@ public class GetFindingsRequest extends ActionRequest {
     public Table getTable() {
         return table;
     }
-}
\ No newline at end of file
+
+    public FindingDocumentsOptions getDocumentsOptions() {
+        return documentsOptions;
+    }
+}
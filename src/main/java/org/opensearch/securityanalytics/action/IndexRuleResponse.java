@@ -14,12 +14,18 @@ import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.Rule;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 
 import static org.opensearch.securityanalytics.util.RestHandlerUtils._ID;
 import static org.opensearch.securityanalytics.util.RestHandlerUtils._VERSION;
 
 public class IndexRuleResponse extends ActionResponse implements ToXContentObject {
 
+    private static final String DETECTORS_FIELD = "detectors";
+    private static final String UPDATED_FIELD = "updated";
+    private static final String FAILED_FIELD = "failed";
+
     /**
      * the id of the created/updated rule
      */
@@ -40,19 +46,37 @@ public class IndexRuleResponse extends ActionResponse implements ToXContentObjec
      */
     private Rule rule;
 
+    /**
+     * ids of the detectors using the rule which were updated with it, on forced updates
+     */
+    private List<String> updatedDetectors;
+
+    /**
+     * reason per id of the detectors using the rule which could not be updated with it, on forced updates
+     */
+    private Map<String, String> failedDetectors;
+
     public IndexRuleResponse(String id, Long version, RestStatus status, Rule rule) {
+        this(id, version, status, rule, List.of(), Map.of());
+    }
+
+    public IndexRuleResponse(String id, Long version, RestStatus status, Rule rule, List<String> updatedDetectors, Map<String, String> failedDetectors) {
         super();
         this.id = id;
         this.version = version;
         this.status = status;
         this.rule = rule;
+        this.updatedDetectors = updatedDetectors;
+        this.failedDetectors = failedDetectors;
     }
 
     public IndexRuleResponse(StreamInput sin) throws IOException {
         this(sin.readString(),
              sin.readLong(),
              sin.readEnum(RestStatus.class),
-             Rule.readFrom(sin));
+             Rule.readFrom(sin),
+             sin.readStringList(),
+             sin.readMap(StreamInput::readString, StreamInput::readString));
     }
 
     @Override
@@ -61,6 +85,8 @@ public class IndexRuleResponse extends ActionResponse implements ToXContentObjec
         out.writeLong(version);
         out.writeEnum(status);
         rule.writeTo(out);
+        out.writeStringCollection(updatedDetectors);
+        out.writeMap(failedDetectors, StreamOutput::writeString, StreamOutput::writeString);
     }
 
     @Override
@@ -84,10 +110,25 @@ public class IndexRuleResponse extends ActionResponse implements ToXContentObjec
             .field(Rule.RULE, rule.getRule())
             .endObject();
 
+        if (updatedDetectors.isEmpty() == false || failedDetectors.isEmpty() == false) {
+            builder.startObject(DETECTORS_FIELD)
+                .field(UPDATED_FIELD, updatedDetectors)
+                .field(FAILED_FIELD, failedDetectors)
+                .endObject();
+        }
+
         return builder.endObject();
     }
 
     public String getId() {
         return id;
     }
+
+    public List<String> getUpdatedDetectors() {
+        return updatedDetectors;
+    }
+
+    public Map<String, String> getFailedDetectors() {
+        return failedDetectors;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class InvalidateDetectorCacheAction extends ActionType<InvalidateDetectorCacheResponse> {
+
+    public static final InvalidateDetectorCacheAction INSTANCE = new InvalidateDetectorCacheAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/detector/cache/invalidate";
+
+    public InvalidateDetectorCacheAction() {
+        super(NAME, InvalidateDetectorCacheResponse::new);
+    }
+}
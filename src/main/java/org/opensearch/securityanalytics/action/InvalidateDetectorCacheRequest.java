@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+
+/**
+ * Broadcast to all nodes whenever a detector document is indexed or deleted.
+ */
+public class InvalidateDetectorCacheRequest extends BaseNodesRequest<InvalidateDetectorCacheRequest> {
+
+    private final String detectorId;
+
+    private final long seqNo;
+
+    private final long primaryTerm;
+
+    public InvalidateDetectorCacheRequest(String detectorId, long seqNo, long primaryTerm) {
+        super(new String[0]);
+        this.detectorId = detectorId;
+        this.seqNo = seqNo;
+        this.primaryTerm = primaryTerm;
+    }
+
+    public InvalidateDetectorCacheRequest(StreamInput sin) throws IOException {
+        super(sin);
+        this.detectorId = sin.readString();
+        this.seqNo = sin.readLong();
+        this.primaryTerm = sin.readLong();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(detectorId);
+        out.writeLong(seqNo);
+        out.writeLong(primaryTerm);
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public long getSeqNo() {
+        return seqNo;
+    }
+
+    public long getPrimaryTerm() {
+        return primaryTerm;
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+import java.util.List;
+
+public class InvalidateDetectorCacheResponse extends BaseNodesResponse<InvalidateDetectorCacheResponse.NodeResponse> {
+
+    public InvalidateDetectorCacheResponse(StreamInput sin) throws IOException {
+        super(sin);
+    }
+
+    public InvalidateDetectorCacheResponse(ClusterName clusterName, List<NodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<NodeResponse> readNodesFrom(StreamInput sin) throws IOException {
+        return sin.readList(NodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<NodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    public static class NodeResponse extends BaseNodeResponse {
+
+        public NodeResponse(DiscoveryNode node) {
+            super(node);
+        }
+
+        public NodeResponse(StreamInput sin) throws IOException {
+            super(sin);
+        }
+    }
+}
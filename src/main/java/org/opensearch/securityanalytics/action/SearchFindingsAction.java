@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class SearchFindingsAction extends ActionType<SearchFindingsResponse> {
+
+    public static final SearchFindingsAction INSTANCE = new SearchFindingsAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/findings/search";
+
+    public SearchFindingsAction() {
+        super(NAME, SearchFindingsResponse::new);
+    }
+}
@@ -0,0 +1,386 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.common.xcontent.XContentParserUtils;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.findings.FindingDocumentsOptions;
+import org.opensearch.securityanalytics.model.Detector;
+
+
+import static org.opensearch.action.ValidateActions.addValidationError;
+
+/**
+ * Findings search filtered on the server side. Pages are requested with the search_after values returned with
+ * the previous page, optionally within a point in time so that pages stay consistent while findings are written.
+ */
+public class SearchFindingsRequest extends ActionRequest {
+
+    public static final String DETECTOR_ID_FIELD = "detector_id";
+    public static final String DETECTOR_TYPE_FIELD = "detector_type";
+    public static final String RULE_IDS_FIELD = "rule_ids";
+    public static final String SEVERITIES_FIELD = "severities";
+    public static final String START_TIME_FIELD = "start_time";
+    public static final String END_TIME_FIELD = "end_time";
+    public static final String INDICES_FIELD = "indices";
+    public static final String DOC_IDS_FIELD = "doc_ids";
+    public static final String SIZE_FIELD = "size";
+    public static final String SORT_ORDER_FIELD = "sort_order";
+    public static final String SEARCH_AFTER_FIELD = "search_after";
+    public static final String PIT_ID_FIELD = "pit_id";
+    public static final String KEEP_ALIVE_FIELD = "keep_alive";
+    public static final String INCLUDE_DOCUMENTS_FIELD = "include_documents";
+    public static final String SOURCE_INCLUDES_FIELD = "source_includes";
+    public static final String SOURCE_EXCLUDES_FIELD = "source_excludes";
+    public static final String MAX_DOCUMENTS_FIELD = "max_documents";
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 10000;
+
+    private String detectorId;
+    private Detector.DetectorType detectorType;
+    private List<String> ruleIds;
+    private List<String> severities;
+    private Instant startTime;
+    private Instant endTime;
+    private List<String> indices;
+    private List<String> docIds;
+    private int size = DEFAULT_SIZE;
+    private SortOrder sortOrder = SortOrder.DESC;
+    private List<Object> searchAfter;
+    private String pitId;
+    private TimeValue keepAlive;
+    private boolean includeDocuments = true;
+    private List<String> sourceIncludes;
+    private List<String> sourceExcludes;
+    private int maxDocuments = FindingDocumentsOptions.ALL_DOCUMENTS;
+
+    public SearchFindingsRequest() {
+        super();
+    }
+
+    public SearchFindingsRequest(StreamInput sin) throws IOException {
+        super(sin);
+        detectorId = sin.readOptionalString();
+        detectorType = sin.readBoolean() ? sin.readEnum(Detector.DetectorType.class) : null;
+        ruleIds = sin.readOptionalStringList();
+        severities = sin.readOptionalStringList();
+        startTime = sin.readOptionalInstant();
+        endTime = sin.readOptionalInstant();
+        indices = sin.readOptionalStringList();
+        docIds = sin.readOptionalStringList();
+        size = sin.readVInt();
+        sortOrder = sin.readEnum(SortOrder.class);
+        searchAfter = sin.readBoolean() ? sin.readList(StreamInput::readGenericValue) : null;
+        pitId = sin.readOptionalString();
+        keepAlive = sin.readOptionalTimeValue();
+        includeDocuments = sin.readBoolean();
+        sourceIncludes = sin.readOptionalStringList();
+        sourceExcludes = sin.readOptionalStringList();
+        maxDocuments = sin.readInt();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeOptionalString(detectorId);
+        if (detectorType != null) {
+            out.writeBoolean(true);
+            out.writeEnum(detectorType);
+        } else {
+            out.writeBoolean(false);
+        }
+        out.writeOptionalStringCollection(ruleIds);
+        out.writeOptionalStringCollection(severities);
+        out.writeOptionalInstant(startTime);
+        out.writeOptionalInstant(endTime);
+        out.writeOptionalStringCollection(indices);
+        out.writeOptionalStringCollection(docIds);
+        out.writeVInt(size);
+        out.writeEnum(sortOrder);
+        out.writeBoolean(searchAfter != null);
+        if (searchAfter != null) {
+            out.writeCollection(searchAfter, StreamOutput::writeGenericValue);
+        }
+        out.writeOptionalString(pitId);
+        out.writeOptionalTimeValue(keepAlive);
+        out.writeBoolean(includeDocuments);
+        out.writeOptionalStringCollection(sourceIncludes);
+        out.writeOptionalStringCollection(sourceExcludes);
+        out.writeInt(maxDocuments);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        ActionRequestValidationException validationException = null;
+        if ((detectorId == null || detectorId.length() == 0) && detectorType == null) {
+            validationException = addValidationError("At least one of detector type or detector id needs to be passed", validationException);
+        }
+        if (size <= 0 || size > MAX_SIZE) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to be between 1 and %d", SIZE_FIELD, MAX_SIZE), validationException);
+        }
+        if (startTime != null && endTime != null && startTime.isAfter(endTime)) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s is after %s", START_TIME_FIELD, END_TIME_FIELD), validationException);
+        }
+        if (searchAfter != null && searchAfter.size() != 2) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s has to contain a timestamp and a finding id", SEARCH_AFTER_FIELD), validationException);
+        }
+        if (pitId != null && keepAlive == null) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s is required with %s", KEEP_ALIVE_FIELD, PIT_ID_FIELD), validationException);
+        }
+        if (maxDocuments < 0 && maxDocuments != FindingDocumentsOptions.ALL_DOCUMENTS) {
+            validationException = addValidationError(String.format(Locale.getDefault(), "%s can not be negative", MAX_DOCUMENTS_FIELD), validationException);
+        }
+        return validationException;
+    }
+
+    public static SearchFindingsRequest parse(XContentParser xcp) throws IOException {
+        SearchFindingsRequest request = new SearchFindingsRequest();
+
+        if (xcp.currentToken() == null) {
+            xcp.nextToken();
+        }
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_OBJECT, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_OBJECT) {
+            String fieldName = xcp.currentName();
+            xcp.nextToken();
+
+            switch (fieldName) {
+                case DETECTOR_ID_FIELD:
+                    request.detectorId = xcp.text();
+                    break;
+                case DETECTOR_TYPE_FIELD:
+                    request.detectorType = Detector.DetectorType.valueOf(xcp.text().toUpperCase(Locale.ROOT));
+                    break;
+                case RULE_IDS_FIELD:
+                    request.ruleIds = parseStringList(xcp);
+                    break;
+                case SEVERITIES_FIELD:
+                    request.severities = parseStringList(xcp);
+                    break;
+                case START_TIME_FIELD:
+                    request.startTime = Instant.ofEpochMilli(xcp.longValue());
+                    break;
+                case END_TIME_FIELD:
+                    request.endTime = Instant.ofEpochMilli(xcp.longValue());
+                    break;
+                case INDICES_FIELD:
+                    request.indices = parseStringList(xcp);
+                    break;
+                case DOC_IDS_FIELD:
+                    request.docIds = parseStringList(xcp);
+                    break;
+                case SIZE_FIELD:
+                    request.size = xcp.intValue();
+                    break;
+                case SORT_ORDER_FIELD:
+                    request.sortOrder = SortOrder.fromString(xcp.text());
+                    break;
+                case SEARCH_AFTER_FIELD:
+                    XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+                    request.searchAfter = new ArrayList<>();
+                    while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                        request.searchAfter.add(xcp.currentToken() == XContentParser.Token.VALUE_NUMBER ? xcp.longValue() : xcp.text());
+                    }
+                    break;
+                case PIT_ID_FIELD:
+                    request.pitId = xcp.text();
+                    break;
+                case KEEP_ALIVE_FIELD:
+                    request.keepAlive = TimeValue.parseTimeValue(xcp.text(), KEEP_ALIVE_FIELD);
+                    break;
+                case INCLUDE_DOCUMENTS_FIELD:
+                    request.includeDocuments = xcp.booleanValue();
+                    break;
+                case SOURCE_INCLUDES_FIELD:
+                    request.sourceIncludes = parseStringList(xcp);
+                    break;
+                case SOURCE_EXCLUDES_FIELD:
+                    request.sourceExcludes = parseStringList(xcp);
+                    break;
+                case MAX_DOCUMENTS_FIELD:
+                    request.maxDocuments = xcp.intValue();
+                    break;
+                default:
+                    xcp.skipChildren();
+            }
+        }
+        return request;
+    }
+
+    private static List<String> parseStringList(XContentParser xcp) throws IOException {
+        List<String> values = new ArrayList<>();
+        XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+        while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+            values.add(xcp.text());
+        }
+        return values;
+    }
+
+    public SearchFindingsRequest detectorId(String detectorId) {
+        this.detectorId = detectorId;
+        return this;
+    }
+
+    public SearchFindingsRequest detectorType(Detector.DetectorType detectorType) {
+        this.detectorType = detectorType;
+        return this;
+    }
+
+    public SearchFindingsRequest ruleIds(List<String> ruleIds) {
+        this.ruleIds = ruleIds;
+        return this;
+    }
+
+    public SearchFindingsRequest severities(List<String> severities) {
+        this.severities = severities;
+        return this;
+    }
+
+    public SearchFindingsRequest timeRange(Instant startTime, Instant endTime) {
+        this.startTime = startTime;
+        this.endTime = endTime;
+        return this;
+    }
+
+    public SearchFindingsRequest indices(List<String> indices) {
+        this.indices = indices;
+        return this;
+    }
+
+    public SearchFindingsRequest docIds(List<String> docIds) {
+        this.docIds = docIds;
+        return this;
+    }
+
+    public SearchFindingsRequest size(int size) {
+        this.size = size;
+        return this;
+    }
+
+    public SearchFindingsRequest sortOrder(SortOrder sortOrder) {
+        this.sortOrder = sortOrder;
+        return this;
+    }
+
+    public SearchFindingsRequest searchAfter(List<Object> searchAfter) {
+        this.searchAfter = searchAfter;
+        return this;
+    }
+
+    public SearchFindingsRequest pointInTime(String pitId, TimeValue keepAlive) {
+        this.pitId = pitId;
+        this.keepAlive = keepAlive;
+        return this;
+    }
+
+    public SearchFindingsRequest includeDocuments(boolean includeDocuments) {
+        this.includeDocuments = includeDocuments;
+        return this;
+    }
+
+    public SearchFindingsRequest sourceFilter(List<String> sourceIncludes, List<String> sourceExcludes) {
+        this.sourceIncludes = sourceIncludes;
+        this.sourceExcludes = sourceExcludes;
+        return this;
+    }
+
+    /**
+     * @param maxDocuments max number of related documents returned with every finding, -1 for all of them
+     */
+    public SearchFindingsRequest maxDocuments(int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+        return this;
+    }
+
+    public String getDetectorId() {
+        return detectorId;
+    }
+
+    public Detector.DetectorType getDetectorType() {
+        return detectorType;
+    }
+
+    public List<String> getRuleIds() {
+        return ruleIds;
+    }
+
+    public List<String> getSeverities() {
+        return severities;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public Instant getEndTime() {
+        return endTime;
+    }
+
+    public List<String> getIndices() {
+        return indices;
+    }
+
+    public List<String> getDocIds() {
+        return docIds;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
+    public List<Object> getSearchAfter() {
+        return searchAfter;
+    }
+
+    /**
+     * @return id of the point in time to page through, null if no point in time was opened yet
+     */
+    public String getPitId() {
+        return pitId;
+    }
+
+    /**
+     * @return keep alive of the point in time, a point in time is opened on the first page if set without a pit id
+     */
+    public TimeValue getKeepAlive() {
+        return keepAlive;
+    }
+
+    public boolean isIncludeDocuments() {
+        return includeDocuments;
+    }
+
+    public List<String> getSourceIncludes() {
+        return sourceIncludes;
+    }
+
+    public List<String> getSourceExcludes() {
+        return sourceExcludes;
+    }
+
+    public int getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    public FindingDocumentsOptions getDocumentsOptions() {
+        return new FindingDocumentsOptions(includeDocuments, maxDocuments, sourceIncludes, sourceExcludes);
+    }
+}
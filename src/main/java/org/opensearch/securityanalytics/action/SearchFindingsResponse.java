@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import java.io.IOException;
+import java.util.List;
+import org.opensearch.action.ActionResponse;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+public class SearchFindingsResponse extends ActionResponse implements ToXContentObject {
+
+    private static final String TOTAL_FINDINGS_FIELD = "total_findings";
+    private static final String FINDINGS_FIELD = "findings";
+    private static final String SEARCH_AFTER_FIELD = "search_after";
+    private static final String PIT_ID_FIELD = "pit_id";
+
+    private final long totalFindings;
+    private final List<FindingDto> findings;
+    private final List<Object> searchAfter;
+    private final String pitId;
+
+    /**
+     * @param searchAfter sort values of the last finding to request the next page with, null on the last page
+     * @param pitId point in time the findings were read from, null if the search did not use one
+     */
+    public SearchFindingsResponse(long totalFindings, List<FindingDto> findings, List<Object> searchAfter, String pitId) {
+        super();
+        this.totalFindings = totalFindings;
+        this.findings = findings;
+        this.searchAfter = searchAfter;
+        this.pitId = pitId;
+    }
+
+    public SearchFindingsResponse(StreamInput sin) throws IOException {
+        super(sin);
+        this.totalFindings = sin.readLong();
+        this.findings = sin.readList(FindingDto::new);
+        this.searchAfter = sin.readBoolean() ? sin.readList(StreamInput::readGenericValue) : null;
+        this.pitId = sin.readOptionalString();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(totalFindings);
+        out.writeCollection(findings);
+        out.writeBoolean(searchAfter != null);
+        if (searchAfter != null) {
+            out.writeCollection(searchAfter, StreamOutput::writeGenericValue);
+        }
+        out.writeOptionalString(pitId);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(TOTAL_FINDINGS_FIELD, totalFindings)
+                .field(FINDINGS_FIELD, findings);
+        if (searchAfter != null) {
+            builder.field(SEARCH_AFTER_FIELD, searchAfter);
+        }
+        if (pitId != null) {
+            builder.field(PIT_ID_FIELD, pitId);
+        }
+        return builder.endObject();
+    }
+
+    public long getTotalFindings() {
+        return totalFindings;
+    }
+
+    public List<FindingDto> getFindings() {
+        return findings;
+    }
+
+    public List<Object> getSearchAfter() {
+        return searchAfter;
+    }
+
+    public String getPitId() {
+        return pitId;
+    }
+}
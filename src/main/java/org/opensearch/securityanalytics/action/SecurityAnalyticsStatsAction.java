@@ -0,0 +1,17 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.ActionType;
+
+public class SecurityAnalyticsStatsAction extends ActionType<SecurityAnalyticsStatsResponse> {
+
+    public static final SecurityAnalyticsStatsAction INSTANCE = new SecurityAnalyticsStatsAction();
+    public static final String NAME = "cluster:admin/opensearch/securityanalytics/stats";
+
+    public SecurityAnalyticsStatsAction() {
+        super(NAME, SecurityAnalyticsStatsResponse::new);
+    }
+}
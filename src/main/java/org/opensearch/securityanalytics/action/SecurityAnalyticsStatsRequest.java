@@ -0,0 +1,39 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.support.nodes.BaseNodesRequest;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+
+/**
+ * Collects the stats of the given nodes, all nodes if none are given, and optionally resets them once collected.
+ */
+public class SecurityAnalyticsStatsRequest extends BaseNodesRequest<SecurityAnalyticsStatsRequest> {
+
+    private final boolean reset;
+
+    public SecurityAnalyticsStatsRequest(boolean reset, String... nodeIds) {
+        super(nodeIds);
+        this.reset = reset;
+    }
+
+    public SecurityAnalyticsStatsRequest(StreamInput sin) throws IOException {
+        super(sin);
+        this.reset = sin.readBoolean();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeBoolean(reset);
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+}
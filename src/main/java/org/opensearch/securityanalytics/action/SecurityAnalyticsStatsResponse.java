@@ -0,0 +1,133 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.nodes.BaseNodeResponse;
+import org.opensearch.action.support.nodes.BaseNodesResponse;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+import org.opensearch.securityanalytics.stats.CacheStats;
+import org.opensearch.securityanalytics.stats.OperationStats;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class SecurityAnalyticsStatsResponse extends BaseNodesResponse<SecurityAnalyticsStatsResponse.NodeResponse> implements ToXContentObject {
+
+    private static final String NODES_FIELD = "nodes";
+    private static final String FAILURES_FIELD = "failures";
+    private static final String NAME_FIELD = "name";
+    private static final String OPERATIONS_FIELD = "operations";
+    private static final String CACHES_FIELD = "caches";
+
+    public SecurityAnalyticsStatsResponse(StreamInput sin) throws IOException {
+        super(sin);
+    }
+
+    public SecurityAnalyticsStatsResponse(ClusterName clusterName, List<NodeResponse> nodes, List<FailedNodeException> failures) {
+        super(clusterName, nodes, failures);
+    }
+
+    @Override
+    protected List<NodeResponse> readNodesFrom(StreamInput sin) throws IOException {
+        return sin.readList(NodeResponse::new);
+    }
+
+    @Override
+    protected void writeNodesTo(StreamOutput out, List<NodeResponse> nodes) throws IOException {
+        out.writeList(nodes);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.startObject(NODES_FIELD);
+        for (NodeResponse node : getNodes()) {
+            builder.field(node.getNode().getId());
+            node.toXContent(builder, params);
+        }
+        builder.endObject();
+        builder.startArray(FAILURES_FIELD);
+        for (FailedNodeException failure : failures()) {
+            builder.startObject();
+            failure.toXContent(builder, params);
+            builder.endObject();
+        }
+        builder.endArray();
+        return builder.endObject();
+    }
+
+    public static class NodeResponse extends BaseNodeResponse implements ToXContentObject {
+
+        private final Map<String, Map<String, OperationStats>> operations;
+
+        private final Map<String, Map<String, CacheStats>> caches;
+
+        /**
+         * @param operations stats per operation and detector type
+         * @param caches stats per cache and detector type
+         */
+        public NodeResponse(DiscoveryNode node, Map<String, Map<String, OperationStats>> operations, Map<String, Map<String, CacheStats>> caches) {
+            super(node);
+            this.operations = operations;
+            this.caches = caches;
+        }
+
+        public NodeResponse(StreamInput sin) throws IOException {
+            super(sin);
+            this.operations = readStats(sin, OperationStats::new);
+            this.caches = readStats(sin, CacheStats::new);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            writeStats(out, operations);
+            writeStats(out, caches);
+        }
+
+        private static <T extends Writeable> Map<String, Map<String, T>> readStats(StreamInput sin, Writeable.Reader<T> reader) throws IOException {
+            Map<String, Map<String, T>> stats = new TreeMap<>();
+            int size = sin.readVInt();
+            for (int i = 0; i < size; i++) {
+                stats.put(sin.readString(), new TreeMap<>(sin.readMap(StreamInput::readString, reader)));
+            }
+            return stats;
+        }
+
+        private static <T extends Writeable> void writeStats(StreamOutput out, Map<String, Map<String, T>> stats) throws IOException {
+            out.writeVInt(stats.size());
+            for (Map.Entry<String, Map<String, T>> entry : stats.entrySet()) {
+                out.writeString(entry.getKey());
+                out.writeMap(entry.getValue(), StreamOutput::writeString, (o, value) -> value.writeTo(o));
+            }
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            builder.startObject()
+                    .field(NAME_FIELD, getNode().getName())
+                    .field(OPERATIONS_FIELD, operations)
+                    .field(CACHES_FIELD, caches);
+            return builder.endObject();
+        }
+
+        public Map<String, Map<String, OperationStats>> getOperations() {
+            return operations;
+        }
+
+        public Map<String, Map<String, CacheStats>> getCaches() {
+            return caches;
+        }
+    }
+}
@@ -31,28 +31,37 @@ public class ValidateRulesRequest extends ActionRequest implements ToXContentObj
     private static final Logger log = LogManager.getLogger(ValidateRulesRequest.class);
 
     public static final String INDEX_NAME_FIELD = "index_name";
+    public static final String INDEX_NAMES_FIELD = "index_names";
     public static final String RULES_FIELD = "rules";
 
     String indexName;
+    List<String> indexNames;
     List<String> rules;
 
     public ValidateRulesRequest(String indexName, List<String> rules) {
+        this(indexName, null, rules);
+    }
+
+    public ValidateRulesRequest(String indexName, List<String> indexNames, List<String> rules) {
         super();
         this.indexName = indexName;
+        this.indexNames = indexNames;
         this.rules = rules;
     }
 
     public ValidateRulesRequest(StreamInput sin) throws IOException {
-        this(
-            sin.readString(),
-            sin.readStringList()
-        );
+        super();
+        // the plugin version is the OpenSearch version and all nodes of a cluster run the same plugin version,
+        // so the optional index name and the index names need no wire version gate
+        this.indexName = sin.readOptionalString();
+        this.indexNames = sin.readOptionalStringList();
+        this.rules = sin.readStringList();
     }
 
     @Override
     public ActionRequestValidationException validate() {
         ActionRequestValidationException validationException = null;
-        if (indexName == null || indexName.length() == 0) {
+        if ((indexName == null || indexName.length() == 0) && (indexNames == null || indexNames.size() == 0)) {
             validationException = addValidationError(String.format(Locale.getDefault(), "%s is missing", INDEX_NAME_FIELD), validationException);
         }
         if (rules == null || rules.size() == 0) {
@@ -63,12 +72,14 @@ public class ValidateRulesRequest extends ActionRequest implements ToXContentObj
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
-        out.writeString(indexName);
+        out.writeOptionalString(indexName);
+        out.writeOptionalStringCollection(indexNames);
         out.writeStringCollection(rules);
     }
 
     public static ValidateRulesRequest parse(XContentParser xcp) throws IOException {
         String indexName = null;
+        List<String> indexNames = null;
         List<String> ruleIds = null;
 
         if (xcp.currentToken() == null) {
@@ -83,6 +94,13 @@ public class ValidateRulesRequest extends ActionRequest implements ToXContentObj
                 case INDEX_NAME_FIELD:
                     indexName = xcp.text();
                     break;
+                case INDEX_NAMES_FIELD:
+                    indexNames = new ArrayList<>();
+                    XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
+                    while (xcp.nextToken() != XContentParser.Token.END_ARRAY) {
+                        indexNames.add(xcp.text());
+                    }
+                    break;
                 case RULES_FIELD:
                     ruleIds = new ArrayList<>();
                     XContentParserUtils.ensureExpectedToken(XContentParser.Token.START_ARRAY, xcp.currentToken(), xcp);
@@ -94,7 +112,7 @@ public class ValidateRulesRequest extends ActionRequest implements ToXContentObj
                     xcp.skipChildren();
             }
         }
-        return new ValidateRulesRequest(indexName, ruleIds);
+        return new ValidateRulesRequest(indexName, indexNames, ruleIds);
     }
 
     public ValidateRulesRequest indexName(String indexName) {
@@ -102,6 +120,11 @@ public class ValidateRulesRequest extends ActionRequest implements ToXContentObj
         return this;
     }
 
+    public ValidateRulesRequest indexNames(List<String> indexNames) {
+        this.indexNames = indexNames;
+        return this;
+    }
+
     public ValidateRulesRequest rules(List<String> rules) {
         this.rules = rules;
         return this;
@@ -113,6 +136,13 @@ public class ValidateRulesRequest extends ActionRequest implements ToXContentObj
         return this.indexName;
     }
 
+    /**
+     * @return index names or patterns to validate rules against in bulk, null if only {@link #getIndexName()} is validated
+     */
+    public List<String> getIndexNames() {
+        return this.indexNames;
+    }
+
     public List<String> getRules() {
         return this.rules;
     }
@@ -128,9 +158,14 @@ public class ValidateRulesRequest extends ActionRequest implements ToXContentObj
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
-        return builder.startObject()
-                .field(INDEX_NAME_FIELD, indexName)
-                .field(RULES_FIELD, rules)
+        builder.startObject();
+        if (indexName != null) {
+            builder.field(INDEX_NAME_FIELD, indexName);
+        }
+        if (indexNames != null) {
+            builder.field(INDEX_NAMES_FIELD, indexNames);
+        }
+        return builder.field(RULES_FIELD, rules)
                 .endObject();
     }
 }
@@ -20,22 +20,33 @@ import org.opensearch.securityanalytics.mapper.MapperUtils;
 public class ValidateRulesResponse extends ActionResponse implements ToXContentObject {
 
     public static final String NONAPPLICABLE_FIELDS = "nonapplicable_fields";
+    public static final String RULES_FIELD = "rules";
+    public static final String APPLICABLE_FIELD = "applicable";
+    public static final String MISSING_FIELDS_FIELD = "missing_fields";
 
     List<String> nonapplicableFields;
 
+    // rule id -> index name -> rule fields missing in the index, only set for bulk validation
+    Map<String, Map<String, List<String>>> missingFields;
+
     public ValidateRulesResponse(List<String> nonapplicableFields) {
+        this(nonapplicableFields, null);
+    }
+
+    public ValidateRulesResponse(List<String> nonapplicableFields, Map<String, Map<String, List<String>>> missingFields) {
         this.nonapplicableFields = nonapplicableFields;
+        this.missingFields = missingFields;
     }
 
     public ValidateRulesResponse(StreamInput in) throws IOException {
         super(in);
-        nonapplicableFields = in.readStringList();
         int size = in.readVInt();
-        if (size > 0) {
-            nonapplicableFields = new ArrayList<>(size);
-            for (int i = 0; i < size; i++) {
-                nonapplicableFields.add(in.readString());
-            }
+        nonapplicableFields = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            nonapplicableFields.add(in.readString());
+        }
+        if (in.readBoolean()) {
+            missingFields = in.readMap(StreamInput::readString, input -> input.readMap(StreamInput::readString, StreamInput::readStringList));
         }
     }
 
@@ -49,6 +60,11 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
         } else {
             out.writeVInt(0);
         }
+        // all nodes run the same plugin version, the missing fields of bulk validation need no wire version gate
+        out.writeBoolean(missingFields != null);
+        if (missingFields != null) {
+            out.writeMap(missingFields, StreamOutput::writeString, (o, m) -> o.writeMap(m, StreamOutput::writeString, StreamOutput::writeStringCollection));
+        }
     }
 
     @Override
@@ -57,6 +73,20 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
         if (nonapplicableFields != null && nonapplicableFields.size() > 0) {
             builder.field(NONAPPLICABLE_FIELDS, nonapplicableFields);
         }
+        if (missingFields != null) {
+            builder.startObject(RULES_FIELD);
+            for (Map.Entry<String, Map<String, List<String>>> rule : missingFields.entrySet()) {
+                builder.startObject(rule.getKey());
+                for (Map.Entry<String, List<String>> index : rule.getValue().entrySet()) {
+                    builder.startObject(index.getKey())
+                            .field(APPLICABLE_FIELD, index.getValue().isEmpty())
+                            .field(MISSING_FIELDS_FIELD, index.getValue())
+                            .endObject();
+                }
+                builder.endObject();
+            }
+            builder.endObject();
+        }
         return builder.endObject();
     }
 
@@ -64,6 +94,10 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
         return nonapplicableFields;
     }
 
+    public Map<String, Map<String, List<String>>> getMissingFields() {
+        return missingFields;
+    }
+
     @Override
     public String toString() {
         return Strings.toString(this);
@@ -71,7 +105,7 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
 
     @Override
     public int hashCode() {
-        return Objects.hash(new Object[]{this.nonapplicableFields});
+        return Objects.hash(new Object[]{this.nonapplicableFields, this.missingFields});
     }
 
     @Override
@@ -84,6 +118,6 @@ public class ValidateRulesResponse extends ActionResponse implements ToXContentO
             return false;
         }
         ValidateRulesResponse other = (ValidateRulesResponse) obj;
-        return this.nonapplicableFields.equals(other.nonapplicableFields);
+        return this.nonapplicableFields.equals(other.nonapplicableFields) && Objects.equals(this.missingFields, other.missingFields);
     }
 }
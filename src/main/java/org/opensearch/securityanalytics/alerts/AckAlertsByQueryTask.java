@@ -0,0 +1,133 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.alerts;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.xcontent.XContentBuilder;
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.tasks.Task;
+import org.opensearch.tasks.TaskId;
+
+/**
+ * Task acknowledging all alerts matching a query. Progress is reported through the tasks API and the task
+ * can be cancelled, which stops it after the batch in flight.
+ */
+public class AckAlertsByQueryTask extends CancellableTask {
+
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong acknowledged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong missing = new AtomicLong();
+
+    public AckAlertsByQueryTask(long id, String type, String action, String description, TaskId parentTaskId, Map<String, String> headers) {
+        super(id, type, action, description, parentTaskId, headers);
+    }
+
+    @Override
+    public boolean shouldCancelChildrenOnCancellation() {
+        return true;
+    }
+
+    public void onMatched(long count) {
+        matched.addAndGet(count);
+    }
+
+    public void onAcknowledged(long acknowledgedCount, long failedCount, long missingCount) {
+        acknowledged.addAndGet(acknowledgedCount);
+        failed.addAndGet(failedCount);
+        missing.addAndGet(missingCount);
+    }
+
+    @Override
+    public Status getStatus() {
+        return new Status(matched.get(), acknowledged.get(), failed.get(), missing.get());
+    }
+
+    public static class Status implements Task.Status {
+
+        public static final String NAME = "ack_alerts_by_query";
+
+        private static final String MATCHED_FIELD = "matched";
+        private static final String ACKNOWLEDGED_FIELD = "acknowledged";
+        private static final String FAILED_FIELD = "failed";
+        private static final String MISSING_FIELD = "missing";
+
+        private final long matched;
+        private final long acknowledged;
+        private final long failed;
+        private final long missing;
+
+        public Status(long matched, long acknowledged, long failed, long missing) {
+            this.matched = matched;
+            this.acknowledged = acknowledged;
+            this.failed = failed;
+            this.missing = missing;
+        }
+
+        public Status(StreamInput sin) throws IOException {
+            this(sin.readVLong(), sin.readVLong(), sin.readVLong(), sin.readVLong());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeVLong(matched);
+            out.writeVLong(acknowledged);
+            out.writeVLong(failed);
+            out.writeVLong(missing);
+        }
+
+        @Override
+        public String getWriteableName() {
+            return NAME;
+        }
+
+        @Override
+        public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+            return builder.startObject()
+                    .field(MATCHED_FIELD, matched)
+                    .field(ACKNOWLEDGED_FIELD, acknowledged)
+                    .field(FAILED_FIELD, failed)
+                    .field(MISSING_FIELD, missing)
+                    .endObject();
+        }
+
+        /**
+         * @return number of alerts matching the query visited so far
+         */
+        public long getMatched() {
+            return matched;
+        }
+
+        public long getAcknowledged() {
+            return acknowledged;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getMissing() {
+            return missing;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Status status = (Status) o;
+            return matched == status.matched && acknowledged == status.acknowledged && failed == status.failed && missing == status.missing;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(matched, acknowledged, failed, missing);
+        }
+    }
+}
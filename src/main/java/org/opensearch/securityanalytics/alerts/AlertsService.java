@@ -8,6 +8,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.WriteRequest;
 import org.opensearch.client.Client;
@@ -18,7 +20,13 @@ import org.opensearch.commons.alerting.action.AcknowledgeAlertResponse;
 import org.opensearch.commons.alerting.action.GetAlertsRequest;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.Table;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryRequest;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryResponse;
 import org.opensearch.securityanalytics.action.AckAlertsResponse;
 import org.opensearch.securityanalytics.action.AlertDto;
 import org.opensearch.securityanalytics.action.GetAlertsResponse;
@@ -27,13 +35,20 @@ import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.DetectorUtils;
+import org.opensearch.securityanalytics.util.SearchAfterPaginator;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.TaskCancelledException;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 /**
@@ -48,6 +63,13 @@ public class AlertsService {
 
     private static final Logger log = LogManager.getLogger(AlertsService.class);
 
+    // Fields of alert documents written by alerting
+    private static final String ALERT_ID_FIELD = "id";
+    private static final String ALERT_MONITOR_ID_FIELD = "monitor_id";
+    private static final String ALERT_STATE_FIELD = "state";
+    private static final String ALERT_TRIGGER_ID_FIELD = "trigger_id";
+    private static final String ALERT_SEVERITY_FIELD = "severity";
+
     public AlertsService(Client client) {
         this.client = client;
     }
@@ -73,14 +95,11 @@ public class AlertsService {
                 // Get all monitor ids from detector
                 Detector detector = getDetectorResponse.getDetector();
                 List<String> monitorIds = detector.getMonitorIds();
-                // monitor --> detectorId mapping
-                Map<String, String> monitorToDetectorMapping = new HashMap<>();
-                detector.getMonitorIds().forEach(
-                        monitorId -> monitorToDetectorMapping.put(monitorId, detector.getId())
-                );
+                // monitor --> detectors mapping
+                Map<String, List<Detector>> monitorToDetectorsMapping = DetectorUtils.getDetectorsByMonitorId(List.of(detector));
                 // Get alerts for all monitor ids
                 AlertsService.this.getAlertsByMonitorIds(
-                        monitorToDetectorMapping,
+                        monitorToDetectorsMapping,
                         monitorIds,
                         DetectorMonitorConfig.getAllAlertsIndicesPattern(detector.getDetectorType()),
                         table,
@@ -112,12 +131,13 @@ public class AlertsService {
     /**
      * Searches alerts generated by specific Monitor
      *
+     * @param monitorToDetectorsMapping monitorId --&gt; detectors mapper, an alert is returned once per detector of its monitor
      * @param monitorIds id of Monitor
      * @param table      group of search related parameters
      * @param listener   ActionListener to get notified on response or error
      */
     public void getAlertsByMonitorIds(
-            Map<String, String> monitorToDetectorMapping,
+            Map<String, List<Detector>> monitorToDetectorsMapping,
             List<String> monitorIds,
             String alertIndex,
             Table table,
@@ -145,8 +165,8 @@ public class AlertsService {
                         // Convert response to SA's GetAlertsResponse
                         listener.onResponse(new GetAlertsResponse(
                                 getAlertsResponse.getAlerts()
-                                        .stream().map(e ->
-                                                mapAlertToAlertDto(e, monitorToDetectorMapping.get(e.getMonitorId()))
+                                        .stream().flatMap(e -> monitorToDetectorsMapping.getOrDefault(e.getMonitorId(), List.of())
+                                                .stream().map(detector -> mapAlertToAlertDto(e, detector.getId()))
                                         ).collect(Collectors.toList()),
                                 getAlertsResponse.getTotalAlerts()
                         ));
@@ -177,22 +197,13 @@ public class AlertsService {
             throw new OpenSearchStatusException("detector list is empty!", RestStatus.NOT_FOUND);
         }
 
-        List<String> allMonitorIds = new ArrayList<>();
-        // Used to convert monitorId back to detectorId to store in result FindingDto
-        Map<String, String> monitorToDetectorMapping = new HashMap<>();
-        detectors.forEach(detector -> {
-            // monitor --> detector map
-            detector.getMonitorIds().forEach(
-                    monitorId -> monitorToDetectorMapping.put(monitorId, detector.getId())
-            );
-            // all monitorIds
-            allMonitorIds.addAll(detector.getMonitorIds());
-        });
+        // Used to convert monitorId back to detectorIds to store in result AlertDto
+        Map<String, List<Detector>> monitorToDetectorsMapping = DetectorUtils.getDetectorsByMonitorId(detectors);
 
         // Execute GetFindingsAction for each monitor
         AlertsService.this.getAlertsByMonitorIds(
-            monitorToDetectorMapping,
-            allMonitorIds,
+            monitorToDetectorsMapping,
+            new ArrayList<>(monitorToDetectorsMapping.keySet()),
             DetectorMonitorConfig.getAllAlertsIndicesPattern(detectorType.getDetectorType()),
             table,
             severityLevel,
@@ -213,7 +224,7 @@ public class AlertsService {
         );
     }
 
-    private AlertDto mapAlertToAlertDto(Alert alert, String detectorId) {
+    public AlertDto mapAlertToAlertDto(Alert alert, String detectorId) {
         return new AlertDto(
                 detectorId,
                 alert.getId(),
@@ -297,4 +308,149 @@ public class AlertsService {
         }
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Acknowledges all active alerts of the detector matching the request, one page of at most batchSize alerts at
+     * a time. Pages are fetched with search_after and the next page is only fetched once the previous one was
+     * acknowledged, so that memory and load on the alerts indices stay bounded. Cancelling the task stops after the
+     * page in flight and responds with the counts so far.
+     * @param detector Detector whose alerts are acknowledged
+     * @param request Rules, severities and batch size of the acknowledgement
+     * @param task Task tracking progress of the acknowledgement
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void acknowledgeAlertsByQuery(Detector detector,
+                                         AckAlertsByQueryRequest request,
+                                         AckAlertsByQueryTask task,
+                                         ActionListener<AckAlertsByQueryResponse> listener) {
+        acknowledgeAlertsByQuery(
+                detector,
+                request,
+                task,
+                client::search,
+                (ackRequest, ackListener) -> AlertingPluginInterface.INSTANCE.acknowledgeAlerts((NodeClient) client, ackRequest, ackListener),
+                listener
+        );
+    }
+
+    static void acknowledgeAlertsByQuery(Detector detector,
+                                         AckAlertsByQueryRequest request,
+                                         AckAlertsByQueryTask task,
+                                         BiConsumer<SearchRequest, ActionListener<SearchResponse>> searcher,
+                                         BiConsumer<AcknowledgeAlertRequest, ActionListener<AcknowledgeAlertResponse>> acknowledger,
+                                         ActionListener<AckAlertsByQueryResponse> listener) {
+        List<String> monitorIds;
+        try {
+            monitorIds = getMonitorIds(detector, request.getRuleIds());
+        } catch (OpenSearchStatusException e) {
+            listener.onFailure(SecurityAnalyticsException.wrap(e));
+            return;
+        }
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllAlertsIndicesPattern(detector.getDetectorType()))
+                .source(buildAckByQuerySearchSource(monitorIds, request.getRuleIds(), request.getSeverities()));
+
+        // Alerts store their id as a keyword, which is a tiebreaker with doc values unlike _id
+        SearchAfterPaginator.searchAllPages(searcher, searchRequest, ALERT_ID_FIELD, request.getBatchSize(), (hits, pageListener) -> {
+            if (task.isCancelled()) {
+                pageListener.onFailure(new TaskCancelledException("ack alerts by query cancelled: " + task.getReasonCancelled()));
+                return;
+            }
+            task.onMatched(hits.length);
+            Map<String, List<String>> alertsByMonitor = new HashMap<>();
+            for (SearchHit hit : hits) {
+                String monitorId = (String) hit.getSourceAsMap().get(ALERT_MONITOR_ID_FIELD);
+                alertsByMonitor.computeIfAbsent(monitorId, k -> new ArrayList<>()).add(hit.getId());
+            }
+            if (alertsByMonitor.isEmpty()) {
+                pageListener.onResponse(null);
+                return;
+            }
+            GroupedActionListener<Void> batchListener = new GroupedActionListener<>(
+                    ActionListener.wrap(r -> pageListener.onResponse(null), pageListener::onFailure),
+                    alertsByMonitor.size()
+            );
+            for (Map.Entry<String, List<String>> entry : alertsByMonitor.entrySet()) {
+                acknowledger.accept(
+                        new AcknowledgeAlertRequest(entry.getKey(), entry.getValue(), WriteRequest.RefreshPolicy.NONE),
+                        new ActionListener<>() {
+                            @Override
+                            public void onResponse(AcknowledgeAlertResponse response) {
+                                task.onAcknowledged(response.getAcknowledged().size(), response.getFailed().size(), response.getMissing().size());
+                                batchListener.onResponse(null);
+                            }
+
+                            @Override
+                            public void onFailure(Exception e) {
+                                // One failed batch should not stop the acknowledgement of the remaining alerts
+                                log.warn("Failed to acknowledge alerts of monitor [" + entry.getKey() + "]", e);
+                                task.onAcknowledged(0, entry.getValue().size(), 0);
+                                batchListener.onResponse(null);
+                            }
+                        });
+            }
+        }, new ActionListener<>() {
+            @Override
+            public void onResponse(Long matched) {
+                listener.onResponse(toResponse(task, false));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (e instanceof TaskCancelledException) {
+                    listener.onResponse(toResponse(task, true));
+                    return;
+                }
+                log.error("Failed to acknowledge alerts of detector [" + detector.getId() + "]", e);
+                listener.onFailure(SecurityAnalyticsException.wrap(e));
+            }
+        });
+    }
+
+    private static AckAlertsByQueryResponse toResponse(AckAlertsByQueryTask task, boolean cancelled) {
+        AckAlertsByQueryTask.Status status = task.getStatus();
+        return new AckAlertsByQueryResponse(status.getMatched(), status.getAcknowledged(), status.getFailed(), status.getMissing(), cancelled);
+    }
+
+    /**
+     * @return ids of the monitors of the detector evaluating the given rules, all monitors of the detector if no rules are given
+     */
+    static List<String> getMonitorIds(Detector detector, List<String> ruleIds) {
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            return detector.getMonitorIds();
+        }
+        // Only bucket level rules have a trigger of their own, doc level rules share the triggers of the detector
+        List<String> unknownRuleIds = new ArrayList<>();
+        Set<String> monitorIds = new LinkedHashSet<>();
+        for (String ruleId : ruleIds) {
+            String monitorId = detector.getRuleIdMonitorIdMap().get(ruleId);
+            if (monitorId == null || Detector.DOC_LEVEL_MONITOR.equals(ruleId)) {
+                unknownRuleIds.add(ruleId);
+            } else {
+                monitorIds.add(monitorId);
+            }
+        }
+        if (unknownRuleIds.isEmpty() == false) {
+            throw new OpenSearchStatusException(
+                    String.format(Locale.getDefault(), "Rules %s are not evaluated by a bucket level monitor of detector [%s]", unknownRuleIds, detector.getId()),
+                    RestStatus.BAD_REQUEST
+            );
+        }
+        return new ArrayList<>(monitorIds);
+    }
+
+    static SearchSourceBuilder buildAckByQuerySearchSource(List<String> monitorIds, List<String> ruleIds, List<String> severities) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery(ALERT_MONITOR_ID_FIELD, monitorIds))
+                .filter(QueryBuilders.termQuery(ALERT_STATE_FIELD, Alert.State.ACTIVE.name()));
+        if (ruleIds != null && ruleIds.isEmpty() == false) {
+            // Bucket level triggers are named after their rule, which tells apart the rules of a merged monitor
+            query.filter(QueryBuilders.termsQuery(ALERT_TRIGGER_ID_FIELD, ruleIds));
+        }
+        if (severities != null && severities.isEmpty() == false) {
+            query.filter(QueryBuilders.termsQuery(ALERT_SEVERITY_FIELD, severities));
+        }
+        return new SearchSourceBuilder()
+                .query(query)
+                .fetchSource(new String[] { ALERT_MONITOR_ID_FIELD }, null);
+    }
+}
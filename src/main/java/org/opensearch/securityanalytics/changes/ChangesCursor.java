@@ -0,0 +1,197 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.changes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.rest.RestStatus;
+
+/**
+ * Position of a poller in the changes of findings and alerts. Findings are tracked by their timestamp, alerts are
+ * tracked separately for each of their {@link ChangesService#ALERT_TIME_FIELDS}, each by the time and id of the last
+ * document returned, the id breaking ties between documents changed in the same millisecond. Clients only see the
+ * cursor as an opaque string.
+ */
+public class ChangesCursor {
+
+    private static final byte VERSION = 2;
+
+    /**
+     * Cursors of version 1 tracked alerts by the latest of their times and are resumed on every alert time
+     */
+    private static final byte VERSION_1 = 1;
+
+    private final Position findings;
+    private final List<Position> alerts;
+
+    /**
+     * @param alerts position per field of {@link ChangesService#ALERT_TIME_FIELDS}
+     */
+    public ChangesCursor(Position findings, List<Position> alerts) {
+        if (alerts.size() != ChangesService.ALERT_TIME_FIELDS.size()) {
+            throw new IllegalArgumentException("expected " + ChangesService.ALERT_TIME_FIELDS.size() + " alert positions");
+        }
+        this.findings = findings;
+        this.alerts = Collections.unmodifiableList(alerts);
+    }
+
+    /**
+     * @return cursor returning all changes at or after the given time
+     */
+    public static ChangesCursor since(long timestamp) {
+        return new ChangesCursor(new Position(timestamp, null), Collections.nCopies(ChangesService.ALERT_TIME_FIELDS.size(), new Position(timestamp, null)));
+    }
+
+    public String encode() {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeByte(VERSION);
+            findings.writeTo(out);
+            out.writeVInt(alerts.size());
+            for (Position position : alerts) {
+                position.writeTo(out);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode changes cursor", e);
+        }
+    }
+
+    public static ChangesCursor decode(String cursor) {
+        try (StreamInput in = new BytesArray(Base64.getUrlDecoder().decode(cursor)).streamInput()) {
+            byte version = in.readByte();
+            if (version == VERSION_1) {
+                Position findings = new Position(in);
+                long alertsTimestamp = in.readLong();
+                in.readOptionalString();
+                return new ChangesCursor(findings, Collections.nCopies(ChangesService.ALERT_TIME_FIELDS.size(), new Position(alertsTimestamp, null)));
+            }
+            if (version != VERSION) {
+                throw new IllegalArgumentException("unknown cursor version");
+            }
+            Position findings = new Position(in);
+            int size = in.readVInt();
+            List<Position> alerts = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                alerts.add(new Position(in));
+            }
+            return new ChangesCursor(findings, alerts);
+        } catch (IOException | RuntimeException e) {
+            throw new OpenSearchStatusException("Invalid changes cursor [" + cursor + "]", RestStatus.BAD_REQUEST, e);
+        }
+    }
+
+    /**
+     * @return cursor positioned after the findings with the given sort values, unchanged if there are none
+     */
+    public ChangesCursor afterFindings(Object[] sortValues) {
+        if (sortValues == null) {
+            return this;
+        }
+        return new ChangesCursor(Position.of(sortValues), alerts);
+    }
+
+    /**
+     * @param field index of the alert time field in {@link ChangesService#ALERT_TIME_FIELDS}
+     * @return cursor positioned after the alerts with the given sort values on the field, unchanged if there are none
+     */
+    public ChangesCursor afterAlerts(int field, Object[] sortValues) {
+        if (sortValues == null) {
+            return this;
+        }
+        List<Position> next = new ArrayList<>(alerts);
+        next.set(field, Position.of(sortValues));
+        return new ChangesCursor(findings, next);
+    }
+
+    public Position getFindings() {
+        return findings;
+    }
+
+    /**
+     * @param field index of the alert time field in {@link ChangesService#ALERT_TIME_FIELDS}
+     */
+    public Position getAlerts(int field) {
+        return alerts.get(field);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChangesCursor that = (ChangesCursor) o;
+        return findings.equals(that.findings) && alerts.equals(that.alerts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(findings, alerts);
+    }
+
+    /**
+     * Change time and id of the last document returned of one kind of change
+     */
+    public static class Position {
+        private final long timestamp;
+        private final String id;
+
+        /**
+         * @param id id of the last document returned, null to return documents changed at the timestamp too
+         */
+        public Position(long timestamp, String id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        private Position(StreamInput in) throws IOException {
+            this(in.readLong(), in.readOptionalString());
+        }
+
+        private static Position of(Object[] sortValues) {
+            return new Position(((Number) sortValues[0]).longValue(), (String) sortValues[1]);
+        }
+
+        private void writeTo(BytesStreamOutput out) throws IOException {
+            out.writeLong(timestamp);
+            out.writeOptionalString(id);
+        }
+
+        /**
+         * @return search_after values, null if documents changed at the timestamp are not returned yet
+         */
+        public List<Object> searchAfter() {
+            return id != null ? List.of(timestamp, id) : null;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Position that = (Position) o;
+            return timestamp == that.timestamp && Objects.equals(id, that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(timestamp, id);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.changes;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.client.Client;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.NamedXContentRegistry;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.commons.alerting.model.Alert;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.action.AlertDto;
+import org.opensearch.securityanalytics.action.FindingDto;
+import org.opensearch.securityanalytics.action.GetChangesRequest;
+import org.opensearch.securityanalytics.action.GetChangesResponse;
+import org.opensearch.securityanalytics.alerts.AlertsService;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.findings.FindingsService;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.DetectorUtils;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.tasks.TaskCancelledException;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Returns the findings and alerts of detectors created or updated after a cursor, sorted by change time.
+ *
+ * Findings never change after they are written, so their change time is their timestamp. Alerts are updated in
+ * place by alerting, every change sets one of their start, notification, acknowledgement and end times, each of
+ * them is followed separately and an alert is returned once per time changed after the cursor.
+ *
+ * Changes only become visible once the indices are refreshed, and alerting stamps changes with the start time of
+ * the monitor run writing them. A poll therefore only returns changes older than the safety lag, so documents
+ * stamped before the cursor are visible by the time the cursor moves past them.
+ */
+public class ChangesService {
+
+    private static final Logger log = LogManager.getLogger(ChangesService.class);
+
+    /**
+     * Interval between searches while long polling
+     */
+    static final TimeValue POLL_INTERVAL = TimeValue.timeValueSeconds(1);
+
+    private static final String ID_FIELD = "id";
+    private static final String MONITOR_ID_FIELD = "monitor_id";
+    private static final String FINDING_TIMESTAMP_FIELD = "timestamp";
+    static final List<String> ALERT_TIME_FIELDS = List.of("start_time", "last_notification_time", "acknowledged_time", "end_time");
+
+    private final Client client;
+
+    private final ThreadPool threadPool;
+
+    private volatile TimeValue safetyLag;
+
+    private final FindingsService findingsService;
+
+    private final AlertsService alertsService = new AlertsService();
+
+    public ChangesService(Client client, ThreadPool threadPool, TimeValue safetyLag) {
+        this.client = client;
+        this.threadPool = threadPool;
+        this.safetyLag = safetyLag;
+        this.findingsService = new FindingsService(client);
+    }
+
+    public void setSafetyLag(TimeValue safetyLag) {
+        this.safetyLag = safetyLag;
+    }
+
+    /**
+     * Returns the changes after the cursor of the request, waiting up to the request timeout if there are none yet.
+     * @param detectors Detectors of the same type whose findings and alerts are returned
+     * @param request Cursor, page size and timeout
+     * @param task Task of the request, long polling stops once it is cancelled
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void getChanges(List<Detector> detectors, GetChangesRequest request, CancellableTask task, ActionListener<GetChangesResponse> listener) {
+        ChangesCursor cursor;
+        try {
+            cursor = request.getCursor() != null ?
+                    ChangesCursor.decode(request.getCursor()) :
+                    ChangesCursor.since(request.getSince() != null ? request.getSince().toEpochMilli() : System.currentTimeMillis());
+        } catch (Exception e) {
+            listener.onFailure(SecurityAnalyticsException.wrap(e));
+            return;
+        }
+
+        // doc level monitors may be shared by several detectors
+        Map<String, List<Detector>> monitorToDetectorsMapping = DetectorUtils.getDetectorsByMonitorId(detectors);
+        long deadline = threadPool.relativeTimeInMillis() + request.getTimeout().millis();
+        poll(monitorToDetectorsMapping, detectors.get(0).getDetectorType(), cursor, request.getSize(), task, deadline, listener);
+    }
+
+    private void poll(Map<String, List<Detector>> monitorToDetectorsMapping,
+                      String detectorType,
+                      ChangesCursor cursor,
+                      int size,
+                      CancellableTask task,
+                      long deadline,
+                      ActionListener<GetChangesResponse> listener) {
+        if (task.isCancelled()) {
+            listener.onFailure(new TaskCancelledException("get changes cancelled: " + task.getReasonCancelled()));
+            return;
+        }
+        List<String> monitorIds = new ArrayList<>(monitorToDetectorsMapping.keySet());
+        long changedBefore = threadPool.absoluteTimeInMillis() - safetyLag.millis();
+        MultiSearchRequest multiSearchRequest = new MultiSearchRequest()
+                .add(new SearchRequest(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType))
+                        .source(buildFindingsChangesSearchSource(monitorIds, cursor, changedBefore, size)));
+        for (int field = 0; field < ALERT_TIME_FIELDS.size(); field++) {
+            multiSearchRequest.add(new SearchRequest(DetectorMonitorConfig.getAllAlertsIndicesPattern(detectorType))
+                    .source(buildAlertsChangesSearchSource(monitorIds, cursor, field, changedBefore, size)));
+        }
+
+        client.multiSearch(multiSearchRequest, ActionListener.wrap(multiSearchResponse -> {
+            MultiSearchResponse.Item[] items = multiSearchResponse.getResponses();
+            boolean changed = false;
+            for (MultiSearchResponse.Item item : items) {
+                if (item.isFailure()) {
+                    throw item.getFailure();
+                }
+                changed |= item.getResponse().getHits().getHits().length > 0;
+            }
+
+            long remaining = deadline - threadPool.relativeTimeInMillis();
+            if (!changed && remaining > 0) {
+                // Nothing changed yet, search again until the request times out
+                TimeValue delay = TimeValue.timeValueMillis(Math.min(POLL_INTERVAL.millis(), remaining));
+                threadPool.schedule(
+                        threadPool.getThreadContext().preserveContext(() -> poll(monitorToDetectorsMapping, detectorType, cursor, size, task, deadline, listener)),
+                        delay,
+                        ThreadPool.Names.GENERIC
+                );
+                return;
+            }
+            toResponse(monitorToDetectorsMapping, cursor, size, items, listener);
+        }, e -> {
+            log.error("Failed to get changes of findings and alerts", e);
+            listener.onFailure(SecurityAnalyticsException.wrap(e));
+        }));
+    }
+
+    private void toResponse(Map<String, List<Detector>> monitorToDetectorsMapping,
+                            ChangesCursor cursor,
+                            int size,
+                            MultiSearchResponse.Item[] items,
+                            ActionListener<GetChangesResponse> listener) throws IOException {
+        SearchHit[] findingHits = items[0].getResponse().getHits().getHits();
+        List<Finding> findings = new ArrayList<>(findingHits.length);
+        for (SearchHit hit : findingHits) {
+            findings.add(Finding.parse(parser(hit)));
+        }
+        findingsService.getRulesOfMergedBucketLevelFindings(
+                findings,
+                monitorToDetectorsMapping,
+                ActionListener.wrap(ruleIdsByFindingId -> listener.onResponse(
+                        toResponse(monitorToDetectorsMapping, cursor, size, items, findings, ruleIdsByFindingId)
+                ), listener::onFailure)
+        );
+    }
+
+    private GetChangesResponse toResponse(Map<String, List<Detector>> monitorToDetectorsMapping,
+                                          ChangesCursor cursor,
+                                          int size,
+                                          MultiSearchResponse.Item[] items,
+                                          List<Finding> findingChanges,
+                                          Map<String, String> ruleIdsByFindingId) throws IOException {
+        SearchHit[] findingHits = items[0].getResponse().getHits().getHits();
+        List<FindingDto> findings = new ArrayList<>(findingChanges.size());
+        for (Finding finding : findingChanges) {
+            for (Detector detector : monitorToDetectorsMapping.get(finding.getMonitorId())) {
+                findings.add(findingsService.mapFindingToFindingDto(finding, List.of(), detector, ruleIdsByFindingId.get(finding.getId())));
+            }
+        }
+        ChangesCursor next = cursor.afterFindings(findingHits.length > 0 ? findingHits[findingHits.length - 1].getSortValues() : null);
+        boolean hasMore = findingHits.length == size;
+
+        // alerts are merged by change time, an alert changed in several ways is returned once per change
+        List<Tuple<Long, AlertDto>> alertChanges = new ArrayList<>();
+        for (int field = 0; field < ALERT_TIME_FIELDS.size(); field++) {
+            SearchHit[] alertHits = items[field + 1].getResponse().getHits().getHits();
+            for (SearchHit hit : alertHits) {
+                Alert alert = Alert.parse(parser(hit), hit.getId(), hit.getVersion());
+                long changeTime = ((Number) hit.getSortValues()[0]).longValue();
+                for (Detector detector : monitorToDetectorsMapping.get(alert.getMonitorId())) {
+                    alertChanges.add(Tuple.tuple(changeTime, alertsService.mapAlertToAlertDto(alert, detector.getId())));
+                }
+            }
+            next = next.afterAlerts(field, alertHits.length > 0 ? alertHits[alertHits.length - 1].getSortValues() : null);
+            hasMore |= alertHits.length == size;
+        }
+        alertChanges.sort(Comparator.comparing(Tuple::v1));
+        List<AlertDto> alerts = alertChanges.stream().map(Tuple::v2).collect(Collectors.toList());
+
+        return new GetChangesResponse(findings, alerts, next.encode(), hasMore);
+    }
+
+    private static XContentParser parser(SearchHit hit) throws IOException {
+        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                NamedXContentRegistry.EMPTY,
+                LoggingDeprecationHandler.INSTANCE,
+                hit.getSourceAsString()
+        );
+        xcp.nextToken();
+        return xcp;
+    }
+
+    /**
+     * @param changedBefore exclusive upper bound of the change times returned
+     */
+    static SearchSourceBuilder buildFindingsChangesSearchSource(List<String> monitorIds, ChangesCursor cursor, long changedBefore, int size) {
+        return buildChangesSearchSource(monitorIds, FINDING_TIMESTAMP_FIELD, cursor.getFindings(), changedBefore, size);
+    }
+
+    /**
+     * @param field index of the alert time field in {@link #ALERT_TIME_FIELDS} the changes are searched by
+     * @param changedBefore exclusive upper bound of the change times returned
+     */
+    static SearchSourceBuilder buildAlertsChangesSearchSource(List<String> monitorIds, ChangesCursor cursor, int field, long changedBefore, int size) {
+        return buildChangesSearchSource(monitorIds, ALERT_TIME_FIELDS.get(field), cursor.getAlerts(field), changedBefore, size)
+                .version(true);
+    }
+
+    private static SearchSourceBuilder buildChangesSearchSource(List<String> monitorIds,
+                                                                String timeField,
+                                                                ChangesCursor.Position position,
+                                                                long changedBefore,
+                                                                int size) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery(MONITOR_ID_FIELD, monitorIds))
+                .filter(QueryBuilders.rangeQuery(timeField).gte(position.getTimestamp()).lt(changedBefore));
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(query)
+                .size(size)
+                .trackTotalHits(false)
+                .sort(timeField, SortOrder.ASC)
+                .sort(ID_FIELD, SortOrder.ASC);
+        if (position.searchAfter() != null) {
+            searchSourceBuilder.searchAfter(position.searchAfter().toArray());
+        }
+        return searchSourceBuilder;
+    }
+}
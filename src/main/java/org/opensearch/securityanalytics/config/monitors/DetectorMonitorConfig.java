@@ -24,6 +24,7 @@ public class DetectorMonitorConfig {
     public static final String OPENSEARCH_DEFAULT_FINDINGS_INDEX = ".opensearch-sap-findings-default";
     public static final String OPENSEARCH_DEFAULT_ALL_FINDINGS_INDICES_PATTERN = ".opensearch-sap-findings-default*";
     public static final String OPENSEARCH_DEFAULT_FINDINGS_INDEX_PATTERN = "<.opensearch-sap-findings-default-{now/d}-1>";
+    public static final String OPENSEARCH_DEFAULT_FINDINGS_ROLLUP_INDEX = ".opensearch-sap-rollup-findings-default";
 
     private static Map<String, MonitorConfig> detectorTypeToIndicesMapping;
 
@@ -47,10 +48,13 @@ public class DetectorMonitorConfig {
                             Locale.getDefault(), ".opensearch-sap-%s-findings*", detectorType.getDetectorType());
                     String findingsIndexPattern = String.format(
                             Locale.getDefault(), "<.opensearch-sap-%s-findings-{now/d}-1>", detectorType.getDetectorType());
+                    // not matching the findings pattern, so that rollups are neither searched as findings nor deleted with them
+                    String findingsRollupIndex = String.format(
+                            Locale.getDefault(), ".opensearch-sap-%s-rollup-findings", detectorType.getDetectorType());
 
                     MonitorConfig monitor = new MonitorConfig(
                             alertsIndex, alertsHistoryIndex, alertsHistoryIndexPattern, allAlertsIndicesPattern,
-                            findingsIndex, findingsIndexPattern, allFindingsIndicesPattern,
+                            findingsIndex, findingsIndexPattern, allFindingsIndicesPattern, findingsRollupIndex,
                             ruleIndex
                     );
                     detectorTypeToIndicesMapping.put(detectorType.getDetectorType(), monitor);
@@ -119,6 +123,12 @@ public class DetectorMonitorConfig {
                 OPENSEARCH_DEFAULT_FINDINGS_INDEX_PATTERN;
     }
 
+    public static String getFindingsRollupIndex(String detectorType) {
+        return detectorTypeToIndicesMapping.containsKey(detectorType.toLowerCase(Locale.ROOT)) ?
+                detectorTypeToIndicesMapping.get(detectorType.toLowerCase(Locale.ROOT)).getFindingsRollupIndex() :
+                OPENSEARCH_DEFAULT_FINDINGS_ROLLUP_INDEX;
+    }
+
     public static Map<String, Map<String, String>> getRuleIndexMappingsByType(String detectorType) {
         HashMap<String, String> properties = new HashMap<>();
         properties.put("analyzer", "rule_analyzer");
@@ -135,6 +145,7 @@ public class DetectorMonitorConfig {
         private final String findingIndex;
         private final String findingsIndexPattern;
         private final String allFindingsIndicesPattern;
+        private final String findingsRollupIndex;
         private final String ruleIndex;
 
         private MonitorConfig(
@@ -145,6 +156,7 @@ public class DetectorMonitorConfig {
                 String findingsIndex,
                 String findingsIndexPattern,
                 String allFindingsIndicesPattern,
+                String findingsRollupIndex,
                 String ruleIndex
         ) {
             this.alertsIndex = alertsIndex;
@@ -154,6 +166,7 @@ public class DetectorMonitorConfig {
             this.findingIndex = findingsIndex;
             this.findingsIndexPattern = findingsIndexPattern;
             this.allFindingsIndicesPattern = allFindingsIndicesPattern;
+            this.findingsRollupIndex = findingsRollupIndex;
             this.ruleIndex = ruleIndex;
         }
 
@@ -185,6 +198,10 @@ public class DetectorMonitorConfig {
             return allFindingsIndicesPattern;
         }
 
+        public String getFindingsRollupIndex() {
+            return findingsRollupIndex;
+        }
+
         public String getRuleIndex() {
             return ruleIndex;
         }
@@ -0,0 +1,140 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.opensearch.common.Strings;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentType;
+import org.opensearch.common.xcontent.support.XContentMapValues;
+import org.opensearch.commons.alerting.model.FindingDocument;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+
+/**
+ * Which source documents are returned with findings: none, the first maxDocuments related documents of every
+ * finding, and optionally only selected source fields of them.
+ */
+public class FindingDocumentsOptions implements Writeable {
+
+    public static final String INCLUDE_DOCUMENTS_FIELD = "include_documents";
+    public static final String MAX_DOCUMENTS_FIELD = "max_documents";
+    public static final String SOURCE_INCLUDES_FIELD = "source_includes";
+    public static final String SOURCE_EXCLUDES_FIELD = "source_excludes";
+
+    /**
+     * max documents of a finding when all related documents are returned
+     */
+    public static final int ALL_DOCUMENTS = -1;
+
+    public static final FindingDocumentsOptions ALL = new FindingDocumentsOptions(true, ALL_DOCUMENTS, null, null);
+
+    private final boolean includeDocuments;
+    private final int maxDocuments;
+    private final List<String> sourceIncludes;
+    private final List<String> sourceExcludes;
+
+    public FindingDocumentsOptions(boolean includeDocuments, int maxDocuments, List<String> sourceIncludes, List<String> sourceExcludes) {
+        this.includeDocuments = includeDocuments;
+        this.maxDocuments = maxDocuments;
+        this.sourceIncludes = sourceIncludes;
+        this.sourceExcludes = sourceExcludes;
+    }
+
+    public FindingDocumentsOptions(StreamInput sin) throws IOException {
+        this(sin.readBoolean(), sin.readInt(), sin.readOptionalStringList(), sin.readOptionalStringList());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeBoolean(includeDocuments);
+        out.writeInt(maxDocuments);
+        out.writeOptionalStringCollection(sourceIncludes);
+        out.writeOptionalStringCollection(sourceExcludes);
+    }
+
+    /**
+     * @return ids of the related documents of a finding to fetch
+     */
+    public List<String> docIdsToFetch(List<String> relatedDocIds) {
+        if (includeDocuments == false) {
+            return List.of();
+        }
+        if (maxDocuments == ALL_DOCUMENTS || relatedDocIds.size() <= maxDocuments) {
+            return relatedDocIds;
+        }
+        return relatedDocIds.subList(0, maxDocuments);
+    }
+
+    public FetchSourceContext fetchSourceContext() {
+        return new FetchSourceContext(
+                true,
+                sourceIncludes != null ? sourceIncludes.toArray(new String[0]) : Strings.EMPTY_ARRAY,
+                sourceExcludes != null ? sourceExcludes.toArray(new String[0]) : Strings.EMPTY_ARRAY
+        );
+    }
+
+    /**
+     * Trims documents that were already fetched, as the documents returned by alerting with findings.
+     */
+    public List<FindingDocument> apply(List<FindingDocument> documents) throws IOException {
+        if (includeDocuments == false) {
+            return List.of();
+        }
+        List<FindingDocument> sample = maxDocuments == ALL_DOCUMENTS || documents.size() <= maxDocuments ?
+                documents :
+                documents.subList(0, maxDocuments);
+        if (isSourceFiltered() == false) {
+            return sample;
+        }
+        List<FindingDocument> filtered = new ArrayList<>(sample.size());
+        for (FindingDocument document : sample) {
+            filtered.add(document.getFound() ?
+                    new FindingDocument(document.getIndex(), document.getId(), true, filterSource(document.getDocument())) :
+                    document);
+        }
+        return filtered;
+    }
+
+    String filterSource(String source) throws IOException {
+        Map<String, Object> sourceMap = XContentHelper.convertToMap(XContentType.JSON.xContent(), source, false);
+        Map<String, Object> filtered = XContentMapValues.filter(
+                sourceMap,
+                sourceIncludes != null ? sourceIncludes.toArray(new String[0]) : Strings.EMPTY_ARRAY,
+                sourceExcludes != null ? sourceExcludes.toArray(new String[0]) : Strings.EMPTY_ARRAY
+        );
+        return Strings.toString(XContentFactory.jsonBuilder().map(filtered));
+    }
+
+    public boolean isAllDocuments() {
+        return includeDocuments && maxDocuments == ALL_DOCUMENTS && isSourceFiltered() == false;
+    }
+
+    private boolean isSourceFiltered() {
+        return (sourceIncludes != null && sourceIncludes.isEmpty() == false) || (sourceExcludes != null && sourceExcludes.isEmpty() == false);
+    }
+
+    public boolean isIncludeDocuments() {
+        return includeDocuments;
+    }
+
+    public int getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    public List<String> getSourceIncludes() {
+        return sourceIncludes;
+    }
+
+    public List<String> getSourceExcludes() {
+        return sourceExcludes;
+    }
+}
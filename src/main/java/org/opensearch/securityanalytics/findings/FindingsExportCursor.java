@@ -0,0 +1,77 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.rest.RestStatus;
+
+/**
+ * Position of a findings export: the point in time it reads from and the sort values of the last exported finding.
+ * Clients only see the cursor as an opaque string and resume the export with it.
+ */
+public class FindingsExportCursor {
+
+    private static final byte VERSION = 1;
+
+    private final String pitId;
+    private final List<Object> searchAfter;
+
+    public FindingsExportCursor(String pitId, List<Object> searchAfter) {
+        this.pitId = pitId;
+        this.searchAfter = searchAfter;
+    }
+
+    public String encode() {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            out.writeByte(VERSION);
+            out.writeString(pitId);
+            out.writeCollection(searchAfter, StreamOutput::writeGenericValue);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode findings export cursor", e);
+        }
+    }
+
+    public static FindingsExportCursor decode(String cursor) {
+        try (StreamInput in = new BytesArray(Base64.getUrlDecoder().decode(cursor)).streamInput()) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("unknown cursor version");
+            }
+            return new FindingsExportCursor(in.readString(), in.readList(StreamInput::readGenericValue));
+        } catch (IOException | RuntimeException e) {
+            throw new OpenSearchStatusException("Invalid findings export cursor [" + cursor + "]", RestStatus.BAD_REQUEST, e);
+        }
+    }
+
+    public String getPitId() {
+        return pitId;
+    }
+
+    public List<Object> getSearchAfter() {
+        return searchAfter;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FindingsExportCursor that = (FindingsExportCursor) o;
+        return Objects.equals(pitId, that.pitId) && Objects.equals(searchAfter, that.searchAfter);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(pitId, searchAfter);
+    }
+}
@@ -0,0 +1,631 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.bulk.BulkRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.GroupedActionListener;
+import org.opensearch.action.support.IndicesOptions;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregation;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.DateHistogramValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.nested.Nested;
+import org.opensearch.search.aggregations.bucket.nested.ReverseNested;
+import org.opensearch.search.aggregations.bucket.terms.IncludeExclude;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Cardinality;
+import org.opensearch.search.aggregations.metrics.Max;
+import org.opensearch.search.aggregations.metrics.Min;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.threadpool.ThreadPool;
+
+
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_INDEX_MAX_AGE;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_ROLLOVER_PERIOD;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_ROLLUP_AGE;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_ROLLUP_ENABLED;
+
+/**
+ * Rolls up findings older than the rollup age into one rollup index per detector type before the findings indices
+ * are deleted by retention, so that summaries of old time ranges survive the findings and scan far fewer documents.
+ *
+ * Rollup documents count findings per day, monitor and findings index, and within those per rule and per severity.
+ * Findings of bucket level monitors carry no queries, they are additionally counted per day, monitor and trigger
+ * from the distinct findings of their alerts, so findings of merged monitors can be attributed to the rule of their
+ * trigger. A checkpoint document records the day up to which findings were rolled up. Summaries read rollups before the
+ * checkpoint and raw findings from the checkpoint on, so findings still kept after they were rolled up are not
+ * counted twice. Rollup documents have deterministic ids, a rollup interrupted before its checkpoint is written
+ * is redone on the next run without duplicating counts.
+ *
+ * Findings are rolled up one day at a time, the checkpoint advances after each day. A run rolls up at most
+ * {@link #MAX_DAYS_PER_RUN} days, a long history is caught up over several runs instead of in a single one.
+ * Findings are rolled up before their index reaches the retention period, whatever the rollup age is set to, and
+ * while rollups are enabled retention only deletes findings indices whose newest finding is before the checkpoint.
+ */
+public class FindingsRollup {
+
+    private static final Logger log = LogManager.getLogger(FindingsRollup.class);
+
+    public static final String TYPE_FIELD = "type";
+    public static final String DAY_FIELD = "day";
+    public static final String MONITOR_ID_FIELD = "monitor_id";
+    public static final String INDEX_FIELD = "index";
+    public static final String RULE_ID_FIELD = "rule_id";
+    public static final String SEVERITY_FIELD = "severity";
+    public static final String COUNT_FIELD = "count";
+    public static final String ROLLED_UP_UNTIL_FIELD = "rolled_up_until";
+
+    /**
+     * Types of rollup documents: findings counts, findings counts per rule, findings counts per severity, findings counts
+     * of bucket level monitors per trigger and the checkpoint
+     */
+    public static final String FINDINGS_TYPE = "findings";
+    public static final String RULE_TYPE = "rule";
+    public static final String SEVERITY_TYPE = "severity";
+    public static final String TRIGGER_TYPE = "trigger";
+    public static final String CHECKPOINT_TYPE = "checkpoint";
+
+    public static final String CHECKPOINT_ID = "checkpoint";
+
+    public static final long DAY_MILLIS = TimeValue.timeValueDays(1).millis();
+
+    private static final String FINDING_TIMESTAMP_FIELD = "timestamp";
+    private static final String FINDING_MONITOR_ID_FIELD = "monitor_id";
+    private static final String FINDING_INDEX_FIELD = "index";
+    private static final String FINDING_QUERIES_FIELD = "queries";
+    private static final String FINDING_QUERY_ID_FIELD = "queries.id";
+    private static final String FINDING_QUERY_TAGS_FIELD = "queries.tags.keyword";
+
+    private static final String ALERT_START_TIME_FIELD = "start_time";
+    private static final String ALERT_MONITOR_ID_FIELD = "monitor_id";
+    private static final String ALERT_TRIGGER_ID_FIELD = "trigger_id";
+    private static final String ALERT_FINDING_IDS_FIELD = "finding_ids.keyword";
+    private static final String ALERT_AGG_CONTENT_FIELD = "agg_alert_content";
+
+    static final String ROLLUP_AGG = "rollup";
+    static final String QUERIES_AGG = "queries";
+    static final String BY_RULE_AGG = "by_rule";
+    static final String BY_SEVERITY_AGG = "by_severity";
+    static final String FINDINGS_AGG = "findings";
+
+    static final int COMPOSITE_PAGE_SIZE = 100;
+
+    /**
+     * Max number of days rolled up per detector type in one run
+     */
+    static final int MAX_DAYS_PER_RUN = 7;
+
+    static final String OLDEST_FINDING_AGG = "oldest_finding";
+    static final String BY_INDEX_AGG = "by_index";
+    static final String NEWEST_FINDING_AGG = "newest_finding";
+
+    /**
+     * Max number of rules counted per day, monitor and findings index
+     */
+    static final int MAX_RULES_PER_BUCKET = 10000;
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    private volatile boolean enabled;
+    private volatile TimeValue rollupAge;
+    private volatile TimeValue retentionPeriod;
+    private volatile TimeValue rolloverPeriod;
+    private volatile TimeValue indexMaxAge;
+
+    public FindingsRollup(Settings settings, Client client, ClusterService clusterService, ThreadPool threadPool) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+
+        this.enabled = FINDING_HISTORY_ROLLUP_ENABLED.get(settings);
+        this.rollupAge = FINDING_HISTORY_ROLLUP_AGE.get(settings);
+        this.retentionPeriod = FINDING_HISTORY_RETENTION_PERIOD.get(settings);
+        this.rolloverPeriod = FINDING_HISTORY_ROLLOVER_PERIOD.get(settings);
+        this.indexMaxAge = FINDING_HISTORY_INDEX_MAX_AGE.get(settings);
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(FINDING_HISTORY_ROLLUP_ENABLED, value -> this.enabled = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(FINDING_HISTORY_ROLLUP_AGE, value -> this.rollupAge = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(FINDING_HISTORY_RETENTION_PERIOD, value -> this.retentionPeriod = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(FINDING_HISTORY_ROLLOVER_PERIOD, value -> this.rolloverPeriod = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(FINDING_HISTORY_INDEX_MAX_AGE, value -> this.indexMaxAge = value);
+    }
+
+    /**
+     * Retention deletes a findings index once the index itself is older than the retention period, while the index
+     * takes findings for up to its max age before it is rolled over. Rollups run with the rollover of the findings
+     * indices, so the newest findings of an index are rolled up at least one rollover period before retention deletes
+     * the index, even if the rollup age is longer than the retention period.
+     * @return the age after which findings are rolled up
+     */
+    static TimeValue effectiveRollupAge(TimeValue rollupAge, TimeValue retentionPeriod, TimeValue rolloverPeriod, TimeValue indexMaxAge) {
+        long beforeRetention = Math.max(0L, retentionPeriod.millis() - indexMaxAge.millis() - rolloverPeriod.millis());
+        return rollupAge.millis() <= beforeRetention ? rollupAge : TimeValue.timeValueMillis(beforeRetention);
+    }
+
+    /**
+     * Rolls up the findings of all detector types one type after the other.
+     * @param listener notified once all types were rolled up, failures of single types are logged and skipped
+     */
+    public void rollupAllTypes(ActionListener<Void> listener) {
+        if (!enabled) {
+            listener.onResponse(null);
+            return;
+        }
+        long rollupUntil = startOfDay(threadPool.absoluteTimeInMillis() - effectiveRollupAge(rollupAge, retentionPeriod, rolloverPeriod, indexMaxAge).millis());
+        List<String> detectorTypes = new ArrayList<>();
+        for (Detector.DetectorType detectorType : Detector.DetectorType.values()) {
+            detectorTypes.add(detectorType.getDetectorType());
+        }
+        rollupNextType(detectorTypes.iterator(), rollupUntil, listener);
+    }
+
+    /**
+     * Keeps the expired findings indices whose findings were all rolled up, the other indices are kept by retention
+     * until the checkpoint of their detector type passed their newest finding. All indices are kept while rollups are
+     * disabled, as there is nothing to wait for.
+     * @param listener notified with the indices that can be deleted
+     */
+    public void filterRolledUpIndices(List<String> indices, ActionListener<List<String>> listener) {
+        if (!enabled || indices.isEmpty()) {
+            listener.onResponse(indices);
+            return;
+        }
+        Map<String, List<String>> indicesByType = new LinkedHashMap<>();
+        for (String index : indices) {
+            for (Detector.DetectorType detectorType : Detector.DetectorType.values()) {
+                if (Regex.simpleMatch(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType.getDetectorType()), index)) {
+                    indicesByType.computeIfAbsent(detectorType.getDetectorType(), k -> new ArrayList<>()).add(index);
+                    break;
+                }
+            }
+        }
+        if (indicesByType.isEmpty()) {
+            listener.onResponse(List.of());
+            return;
+        }
+        GroupedActionListener<List<String>> typesListener = new GroupedActionListener<>(ActionListener.wrap(
+                rolledUpIndices -> {
+                    List<String> deletable = new ArrayList<>();
+                    rolledUpIndices.forEach(deletable::addAll);
+                    listener.onResponse(deletable);
+                },
+                listener::onFailure
+        ), indicesByType.size());
+        for (Map.Entry<String, List<String>> entry : indicesByType.entrySet()) {
+            filterRolledUpIndices(entry.getKey(), entry.getValue(), ActionListener.wrap(
+                    typesListener::onResponse,
+                    e -> {
+                        // Indices of the type are kept until the next run
+                        log.error("Failed to check rolled up findings indices of detector type " + entry.getKey(), e);
+                        typesListener.onResponse(List.of());
+                    }
+            ));
+        }
+    }
+
+    private void filterRolledUpIndices(String detectorType, List<String> indices, ActionListener<List<String>> listener) {
+        getCheckpoint(client, DetectorMonitorConfig.getFindingsRollupIndex(detectorType), ActionListener.wrap(
+                rolledUpUntil -> {
+                    SearchRequest searchRequest = new SearchRequest(indices.toArray(new String[0]))
+                            .indicesOptions(IndicesOptions.lenientExpandOpen())
+                            .source(buildNewestFindingsSearchSource(indices.size()));
+                    client.search(searchRequest, ActionListener.wrap(
+                            searchResponse -> {
+                                Map<String, Long> newestFindings = new HashMap<>();
+                                Terms byIndex = searchResponse.getAggregations() != null ? searchResponse.getAggregations().get(BY_INDEX_AGG) : null;
+                                if (byIndex != null) {
+                                    for (Terms.Bucket bucket : byIndex.getBuckets()) {
+                                        Max newest = bucket.getAggregations().get(NEWEST_FINDING_AGG);
+                                        newestFindings.put(bucket.getKeyAsString(), (long) newest.getValue());
+                                    }
+                                }
+                                listener.onResponse(rolledUpIndices(indices, rolledUpUntil, newestFindings));
+                            },
+                            listener::onFailure
+                    ));
+                },
+                listener::onFailure
+        ));
+    }
+
+    static SearchSourceBuilder buildNewestFindingsSearchSource(int indices) {
+        return new SearchSourceBuilder()
+                .size(0)
+                .trackTotalHits(false)
+                .aggregation(AggregationBuilders.terms(BY_INDEX_AGG).field("_index").size(indices)
+                        .subAggregation(AggregationBuilders.max(NEWEST_FINDING_AGG).field(FINDING_TIMESTAMP_FIELD)));
+    }
+
+    /**
+     * @param rolledUpUntil checkpoint of the detector type of the indices, null if nothing was rolled up yet
+     * @param newestFindings timestamp of the newest finding of every index with findings
+     * @return the indices without findings or whose newest finding is before the checkpoint
+     */
+    static List<String> rolledUpIndices(List<String> indices, Long rolledUpUntil, Map<String, Long> newestFindings) {
+        List<String> rolledUp = new ArrayList<>();
+        for (String index : indices) {
+            Long newestFinding = newestFindings.get(index);
+            if (newestFinding == null || (rolledUpUntil != null && newestFinding < rolledUpUntil)) {
+                rolledUp.add(index);
+            }
+        }
+        return rolledUp;
+    }
+
+    private void rollupNextType(Iterator<String> detectorTypes, long rollupUntil, ActionListener<Void> listener) {
+        if (detectorTypes.hasNext() == false) {
+            listener.onResponse(null);
+            return;
+        }
+        String detectorType = detectorTypes.next();
+        rollup(detectorType, rollupUntil, ActionListener.wrap(
+                r -> rollupNextType(detectorTypes, rollupUntil, listener),
+                e -> {
+                    log.error("Failed to roll up findings of detector type " + detectorType, e);
+                    rollupNextType(detectorTypes, rollupUntil, listener);
+                }
+        ));
+    }
+
+    /**
+     * Rolls up the findings of a detector type from its checkpoint, or from the day of the oldest finding, up to the
+     * start of the given day, for at most {@link #MAX_DAYS_PER_RUN} days.
+     */
+    void rollup(String detectorType, long rollupUntil, ActionListener<Void> listener) {
+        String rollupIndex = DetectorMonitorConfig.getFindingsRollupIndex(detectorType);
+        getCheckpoint(client, rollupIndex, ActionListener.wrap(
+                rolledUpUntil -> {
+                    if (rolledUpUntil != null) {
+                        rollupDays(detectorType, rollupIndex, rolledUpUntil, rollupUntil, MAX_DAYS_PER_RUN, listener);
+                        return;
+                    }
+                    SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType))
+                            .source(buildOldestFindingSearchSource(rollupUntil));
+                    client.search(searchRequest, ActionListener.wrap(
+                            searchResponse -> {
+                                Min oldest = searchResponse.getAggregations() != null ? searchResponse.getAggregations().get(OLDEST_FINDING_AGG) : null;
+                                // Without findings to roll up the rollup index is not created only to hold a checkpoint
+                                if (oldest == null || Double.isInfinite(oldest.getValue())) {
+                                    listener.onResponse(null);
+                                    return;
+                                }
+                                rollupDays(detectorType, rollupIndex, startOfDay((long) oldest.getValue()), rollupUntil, MAX_DAYS_PER_RUN, listener);
+                            },
+                            listener::onFailure
+                    ));
+                },
+                listener::onFailure
+        ));
+    }
+
+    private void rollupDays(String detectorType, String rollupIndex, long from, long rollupUntil, int days, ActionListener<Void> listener) {
+        if (from >= rollupUntil || days == 0) {
+            listener.onResponse(null);
+            return;
+        }
+        long until = Math.min(from + DAY_MILLIS, rollupUntil);
+        log.debug("Rolling up " + detectorType + " findings from " + from + " until " + until);
+        rollupPage(detectorType, rollupIndex, from, until, null, ActionListener.wrap(
+                r -> rollupDays(detectorType, rollupIndex, until, rollupUntil, days - 1, listener),
+                listener::onFailure
+        ));
+    }
+
+    private void rollupPage(
+            String detectorType,
+            String rollupIndex,
+            long from,
+            long until,
+            Map<String, Object> afterKey,
+            ActionListener<Void> listener
+    ) {
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType))
+                .source(buildRollupSearchSource(from, until, afterKey));
+        client.search(searchRequest, ActionListener.wrap(
+                searchResponse -> {
+                    CompositeAggregation rollup = searchResponse.getAggregations() != null ? searchResponse.getAggregations().get(ROLLUP_AGG) : null;
+                    if (rollup == null || rollup.getBuckets().isEmpty()) {
+                        rollupTriggersPage(detectorType, rollupIndex, from, until, null, listener);
+                        return;
+                    }
+                    BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+                    for (CompositeAggregation.Bucket bucket : rollup.getBuckets()) {
+                        for (Map<String, Object> doc : rollupDocs(bucket.getKey(), bucket.getDocCount(), bucket.getAggregations())) {
+                            bulkRequest.add(new IndexRequest(rollupIndex).id(rollupDocId(doc)).source(doc));
+                        }
+                    }
+                    Map<String, Object> nextAfterKey = rollup.afterKey();
+                    ensureRollupIndex(rollupIndex, ActionListener.wrap(
+                            created -> client.bulk(bulkRequest, ActionListener.wrap(
+                                    bulkResponse -> {
+                                        if (bulkResponse.hasFailures()) {
+                                            listener.onFailure(new IllegalStateException(bulkResponse.buildFailureMessage()));
+                                        } else if (nextAfterKey == null) {
+                                            rollupTriggersPage(detectorType, rollupIndex, from, until, null, listener);
+                                        } else {
+                                            rollupPage(detectorType, rollupIndex, from, until, nextAfterKey, listener);
+                                        }
+                                    },
+                                    listener::onFailure
+                            )),
+                            listener::onFailure
+                    ));
+                },
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Rolls up the findings of the alerts of bucket level monitors per trigger, then advances the checkpoint.
+     */
+    private void rollupTriggersPage(
+            String detectorType,
+            String rollupIndex,
+            long from,
+            long until,
+            Map<String, Object> afterKey,
+            ActionListener<Void> listener
+    ) {
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllAlertsIndicesPattern(detectorType))
+                .source(buildTriggerRollupSearchSource(from, until, afterKey));
+        client.search(searchRequest, ActionListener.wrap(
+                searchResponse -> {
+                    CompositeAggregation rollup = searchResponse.getAggregations() != null ? searchResponse.getAggregations().get(ROLLUP_AGG) : null;
+                    if (rollup == null || rollup.getBuckets().isEmpty()) {
+                        writeCheckpoint(rollupIndex, until, listener);
+                        return;
+                    }
+                    BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+                    for (CompositeAggregation.Bucket bucket : rollup.getBuckets()) {
+                        Map<String, Object> doc = triggerRollupDoc(bucket.getKey(), bucket.getAggregations());
+                        bulkRequest.add(new IndexRequest(rollupIndex).id(rollupDocId(doc)).source(doc));
+                    }
+                    Map<String, Object> nextAfterKey = rollup.afterKey();
+                    ensureRollupIndex(rollupIndex, ActionListener.wrap(
+                            created -> client.bulk(bulkRequest, ActionListener.wrap(
+                                    bulkResponse -> {
+                                        if (bulkResponse.hasFailures()) {
+                                            listener.onFailure(new IllegalStateException(bulkResponse.buildFailureMessage()));
+                                        } else if (nextAfterKey == null) {
+                                            writeCheckpoint(rollupIndex, until, listener);
+                                        } else {
+                                            rollupTriggersPage(detectorType, rollupIndex, from, until, nextAfterKey, listener);
+                                        }
+                                    },
+                                    listener::onFailure
+                            )),
+                            listener::onFailure
+                    ));
+                },
+                listener::onFailure
+        ));
+    }
+
+    static SearchSourceBuilder buildOldestFindingSearchSource(long until) {
+        return new SearchSourceBuilder()
+                .query(QueryBuilders.boolQuery().filter(QueryBuilders.rangeQuery(FINDING_TIMESTAMP_FIELD).lt(until)))
+                .size(0)
+                .trackTotalHits(false)
+                .aggregation(AggregationBuilders.min(OLDEST_FINDING_AGG).field(FINDING_TIMESTAMP_FIELD));
+    }
+
+    static SearchSourceBuilder buildRollupSearchSource(long from, long until, Map<String, Object> afterKey) {
+        RangeQueryBuilder timeRange = QueryBuilders.rangeQuery(FINDING_TIMESTAMP_FIELD).gte(from).lt(until);
+        List<CompositeValuesSourceBuilder<?>> sources = List.of(
+                new DateHistogramValuesSourceBuilder(DAY_FIELD).field(FINDING_TIMESTAMP_FIELD).calendarInterval(DateHistogramInterval.DAY),
+                new TermsValuesSourceBuilder(MONITOR_ID_FIELD).field(FINDING_MONITOR_ID_FIELD),
+                new TermsValuesSourceBuilder(INDEX_FIELD).field(FINDING_INDEX_FIELD)
+        );
+        CompositeAggregationBuilder rollup = AggregationBuilders.composite(ROLLUP_AGG, sources)
+                .size(COMPOSITE_PAGE_SIZE)
+                .subAggregation(AggregationBuilders.nested(QUERIES_AGG, FINDING_QUERIES_FIELD)
+                        .subAggregation(AggregationBuilders.terms(BY_RULE_AGG).field(FINDING_QUERY_ID_FIELD).size(MAX_RULES_PER_BUCKET)
+                                .subAggregation(AggregationBuilders.reverseNested(FINDINGS_AGG)))
+                        .subAggregation(AggregationBuilders.terms(BY_SEVERITY_AGG).field(FINDING_QUERY_TAGS_FIELD)
+                                .includeExclude(new IncludeExclude(FindingsService.SEVERITIES.toArray(new String[0]), null))
+                                .size(FindingsService.SEVERITIES.size())
+                                .subAggregation(AggregationBuilders.reverseNested(FINDINGS_AGG))));
+        if (afterKey != null) {
+            rollup.aggregateAfter(afterKey);
+        }
+        return new SearchSourceBuilder()
+                .query(QueryBuilders.boolQuery().filter(timeRange))
+                .size(0)
+                .trackTotalHits(false)
+                .aggregation(rollup);
+    }
+
+    static SearchSourceBuilder buildTriggerRollupSearchSource(long from, long until, Map<String, Object> afterKey) {
+        List<CompositeValuesSourceBuilder<?>> sources = List.of(
+                new DateHistogramValuesSourceBuilder(DAY_FIELD).field(ALERT_START_TIME_FIELD).calendarInterval(DateHistogramInterval.DAY),
+                new TermsValuesSourceBuilder(MONITOR_ID_FIELD).field(ALERT_MONITOR_ID_FIELD),
+                new TermsValuesSourceBuilder(RULE_ID_FIELD).field(ALERT_TRIGGER_ID_FIELD)
+        );
+        CompositeAggregationBuilder rollup = AggregationBuilders.composite(ROLLUP_AGG, sources)
+                .size(COMPOSITE_PAGE_SIZE)
+                .subAggregation(AggregationBuilders.cardinality(FINDINGS_AGG).field(ALERT_FINDING_IDS_FIELD));
+        if (afterKey != null) {
+            rollup.aggregateAfter(afterKey);
+        }
+        // only alerts of bucket level monitors have aggregation content, their trigger ids are rule ids
+        return new SearchSourceBuilder()
+                .query(QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.rangeQuery(ALERT_START_TIME_FIELD).gte(from).lt(until))
+                        .filter(QueryBuilders.existsQuery(ALERT_AGG_CONTENT_FIELD))
+                        .filter(QueryBuilders.existsQuery(ALERT_FINDING_IDS_FIELD)))
+                .size(0)
+                .trackTotalHits(false)
+                .aggregation(rollup);
+    }
+
+    /**
+     * @return rollup document of the findings of the alerts of one day, monitor and trigger
+     */
+    static Map<String, Object> triggerRollupDoc(Map<String, Object> key, Aggregations aggregations) {
+        Cardinality findings = aggregations.get(FINDINGS_AGG);
+        return rollupDoc(TRIGGER_TYPE, key, String.valueOf(key.get(RULE_ID_FIELD)), null, findings.getValue());
+    }
+
+    /**
+     * @return rollup documents of the findings of one day, monitor and findings index
+     */
+    static List<Map<String, Object>> rollupDocs(Map<String, Object> key, long docCount, Aggregations aggregations) {
+        List<Map<String, Object>> docs = new ArrayList<>();
+        docs.add(rollupDoc(FINDINGS_TYPE, key, null, null, docCount));
+        Nested queries = aggregations.get(QUERIES_AGG);
+        Terms byRule = queries.getAggregations().get(BY_RULE_AGG);
+        for (Terms.Bucket bucket : byRule.getBuckets()) {
+            ReverseNested findings = bucket.getAggregations().get(FINDINGS_AGG);
+            docs.add(rollupDoc(RULE_TYPE, key, bucket.getKeyAsString(), null, findings.getDocCount()));
+        }
+        Terms bySeverity = queries.getAggregations().get(BY_SEVERITY_AGG);
+        for (Terms.Bucket bucket : bySeverity.getBuckets()) {
+            ReverseNested findings = bucket.getAggregations().get(FINDINGS_AGG);
+            docs.add(rollupDoc(SEVERITY_TYPE, key, null, bucket.getKeyAsString(), findings.getDocCount()));
+        }
+        return docs;
+    }
+
+    private static Map<String, Object> rollupDoc(String type, Map<String, Object> key, String ruleId, String severity, long count) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put(TYPE_FIELD, type);
+        doc.put(DAY_FIELD, key.get(DAY_FIELD));
+        doc.put(MONITOR_ID_FIELD, key.get(MONITOR_ID_FIELD));
+        if (key.get(INDEX_FIELD) != null) {
+            doc.put(INDEX_FIELD, key.get(INDEX_FIELD));
+        }
+        if (ruleId != null) {
+            doc.put(RULE_ID_FIELD, ruleId);
+        }
+        if (severity != null) {
+            doc.put(SEVERITY_FIELD, severity);
+        }
+        doc.put(COUNT_FIELD, count);
+        return doc;
+    }
+
+    static String rollupDocId(Map<String, Object> doc) {
+        String key = String.join(
+                "|",
+                String.valueOf(doc.get(TYPE_FIELD)),
+                String.valueOf(doc.get(DAY_FIELD)),
+                String.valueOf(doc.get(MONITOR_ID_FIELD)),
+                String.valueOf(doc.get(INDEX_FIELD)),
+                String.valueOf(doc.get(RULE_ID_FIELD)),
+                String.valueOf(doc.get(SEVERITY_FIELD))
+        );
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    static long startOfDay(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, DAY_MILLIS);
+    }
+
+    /**
+     * Gets the start of the day up to which findings of a rollup index were rolled up, null if nothing was rolled up yet.
+     */
+    public static void getCheckpoint(Client client, String rollupIndex, ActionListener<Long> listener) {
+        client.get(new GetRequest(rollupIndex, CHECKPOINT_ID), ActionListener.wrap(
+                getResponse -> {
+                    if (getResponse.isExists() == false) {
+                        listener.onResponse(null);
+                        return;
+                    }
+                    Object rolledUpUntil = getResponse.getSourceAsMap().get(ROLLED_UP_UNTIL_FIELD);
+                    listener.onResponse(rolledUpUntil != null ? ((Number) rolledUpUntil).longValue() : null);
+                },
+                e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                        listener.onResponse(null);
+                    } else {
+                        listener.onFailure(e);
+                    }
+                }
+        ));
+    }
+
+    private void writeCheckpoint(String rollupIndex, long rolledUpUntil, ActionListener<Void> listener) {
+        Map<String, Object> checkpoint = Map.of(TYPE_FIELD, CHECKPOINT_TYPE, ROLLED_UP_UNTIL_FIELD, rolledUpUntil);
+        ensureRollupIndex(rollupIndex, ActionListener.wrap(
+                created -> client.index(
+                        new IndexRequest(rollupIndex).id(CHECKPOINT_ID).source(checkpoint).setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE),
+                        ActionListener.wrap(indexResponse -> listener.onResponse(null), listener::onFailure)
+                ),
+                listener::onFailure
+        ));
+    }
+
+    private void ensureRollupIndex(String rollupIndex, ActionListener<Void> listener) {
+        if (clusterService.state().metadata().hasIndex(rollupIndex)) {
+            listener.onResponse(null);
+            return;
+        }
+        CreateIndexRequest createIndexRequest = new CreateIndexRequest(rollupIndex)
+                .mapping(rollupMapping())
+                .settings(Settings.builder().put("index.hidden", true).put("index.number_of_shards", 1).build());
+        client.admin().indices().create(createIndexRequest, ActionListener.wrap(
+                createIndexResponse -> listener.onResponse(null),
+                e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof ResourceAlreadyExistsException) {
+                        listener.onResponse(null);
+                    } else {
+                        listener.onFailure(e);
+                    }
+                }
+        ));
+    }
+
+    private String rollupMapping() {
+        String rollupMapping = null;
+        try (
+                InputStream is = FindingsRollup.class.getClassLoader().getResourceAsStream("mappings/findings_rollup_mapping.json")
+        ) {
+            rollupMapping = new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.error(e.getMessage());
+        }
+        return rollupMapping;
+    }
+}
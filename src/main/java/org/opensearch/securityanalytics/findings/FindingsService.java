@@ -4,32 +4,104 @@
  */
 package org.opensearch.securityanalytics.findings;
 
+import java.io.IOException;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.search.join.ScoreMode;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.get.MultiGetItemResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.search.CreatePitAction;
+import org.opensearch.action.search.CreatePitRequest;
+import org.opensearch.action.search.DeletePitAction;
+import org.opensearch.action.search.DeletePitRequest;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.Client;
 import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.unit.ByteSizeUnit;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.LoggingDeprecationHandler;
+import org.opensearch.common.xcontent.NamedXContentRegistry;
+import org.opensearch.common.xcontent.ToXContent;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.commons.alerting.AlertingPluginInterface;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.commons.alerting.model.FindingDocument;
 import org.opensearch.commons.alerting.model.FindingWithDocs;
 import org.opensearch.commons.alerting.model.Table;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.NestedQueryBuilder;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.query.RangeQueryBuilder;
 import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.aggregations.AggregationBuilders;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.MultiBucketConsumerService;
+import org.opensearch.search.aggregations.BucketOrder;
+import org.opensearch.search.aggregations.bucket.filter.Filter;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
+import org.opensearch.search.aggregations.bucket.nested.Nested;
+import org.opensearch.search.aggregations.bucket.nested.ReverseNested;
+import org.opensearch.search.aggregations.bucket.terms.IncludeExclude;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.metrics.Cardinality;
+import org.opensearch.search.aggregations.metrics.Sum;
+import org.opensearch.search.builder.PointInTimeBuilder;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.action.ExportFindingsRequest;
+import org.opensearch.securityanalytics.action.ExportFindingsResponse;
 import org.opensearch.securityanalytics.action.FindingDto;
+import org.opensearch.securityanalytics.action.FindingsSummaryRequest;
+import org.opensearch.securityanalytics.action.FindingsSummaryResponse;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
+import org.opensearch.securityanalytics.action.GetFindingDocumentsRequest;
+import org.opensearch.securityanalytics.action.GetFindingDocumentsResponse;
 import org.opensearch.securityanalytics.action.GetFindingsResponse;
+import org.opensearch.securityanalytics.action.SearchDetectorAction;
+import org.opensearch.securityanalytics.action.SearchDetectorRequest;
+import org.opensearch.securityanalytics.action.SearchFindingsRequest;
+import org.opensearch.securityanalytics.action.SearchFindingsResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.util.DetectorUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
+
+import static org.opensearch.securityanalytics.util.DetectorUtils.DETECTOR_TYPE_PATH;
+
 /**
  * Implements searching/fetching of findings
  */
@@ -39,6 +111,49 @@ public class FindingsService {
 
     private static final Logger log = LogManager.getLogger(FindingsService.class);
 
+    // Fields of findings documents written by alerting
+    private static final String FINDING_ID_FIELD = "id";
+    private static final String FINDING_MONITOR_ID_FIELD = "monitor_id";
+    private static final String FINDING_INDEX_FIELD = "index";
+    private static final String FINDING_TIMESTAMP_FIELD = "timestamp";
+    private static final String FINDING_QUERIES_FIELD = "queries";
+    private static final String FINDING_QUERY_ID_FIELD = "queries.id";
+    // Doc ids and severities are filtered and aggregated on keyword subfields, the text fields would only match analyzed tokens
+    private static final String FINDING_RELATED_DOC_IDS_KEYWORD_FIELD = "related_doc_ids.keyword";
+    private static final String FINDING_QUERY_TAGS_KEYWORD_FIELD = "queries.tags.keyword";
+
+    // Fields of alerts documents written by alerting
+    static final String ALERT_FINDING_IDS_FIELD = "finding_ids";
+    static final String ALERT_FINDING_IDS_KEYWORD_FIELD = "finding_ids.keyword";
+    static final String ALERT_TRIGGER_ID_FIELD = "trigger_id";
+    static final String ALERT_MONITOR_ID_FIELD = "monitor_id";
+    static final String ALERT_START_TIME_FIELD = "start_time";
+
+    // Rule levels, stored as tags of the doc level queries
+    static final List<String> SEVERITIES = List.of("critical", "high", "medium", "low", "informational");
+
+    static final String SUMMARY_BY_MONITOR_AGG = "by_monitor";
+    static final String SUMMARY_QUERIES_AGG = "queries";
+    static final String SUMMARY_BY_RULE_AGG = "by_rule";
+    static final String SUMMARY_BY_SEVERITY_AGG = "by_severity";
+    static final String SUMMARY_FINDINGS_AGG = "findings";
+    static final String SUMMARY_TIMELINE_AGG = "timeline";
+    static final String ROLLUP_FINDINGS_AGG = "rollup_findings";
+    static final String ROLLUP_RULES_AGG = "rollup_rules";
+    static final String ROLLUP_SEVERITIES_AGG = "rollup_severities";
+    static final String ROLLUP_TRIGGERS_AGG = "rollup_triggers";
+    static final String ROLLUP_COUNT_AGG = "count";
+
+    /**
+     * Keep alive of the point in time of a findings export between two requests of the export
+     */
+    public static final TimeValue EXPORT_KEEP_ALIVE = TimeValue.timeValueMinutes(5);
+
+    /**
+     * Size after which a findings export returns the findings read so far with a cursor
+     */
+    static final long MAX_EXPORT_CHUNK_BYTES = new ByteSizeValue(32, ByteSizeUnit.MB).getBytes();
+
 
     public FindingsService() {}
 
@@ -53,6 +168,17 @@ public class FindingsService {
      * @param listener ActionListener to get notified on response or error
      */
     public void getFindingsByDetectorId(String detectorId, Table table, ActionListener<GetFindingsResponse> listener ) {
+        getFindingsByDetectorId(detectorId, table, FindingDocumentsOptions.ALL, listener);
+    }
+
+    /**
+     * Searches findings generated by specific Detector
+     * @param detectorId id of Detector
+     * @param table group of search related parameters
+     * @param documentsOptions which source documents are returned with the findings
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void getFindingsByDetectorId(String detectorId, Table table, FindingDocumentsOptions documentsOptions, ActionListener<GetFindingsResponse> listener) {
         this.client.execute(GetDetectorAction.INSTANCE, new GetDetectorRequest(detectorId, -3L), new ActionListener<>() {
 
             @Override
@@ -67,7 +193,12 @@ public class FindingsService {
                         List<FindingDto> findings = new ArrayList<>();
                         // Merge all findings into one response
                         totalFindings += resp.getTotalFindings();
-                        findings.addAll(resp.getFindings());
+                        try {
+                            findings.addAll(applyDocumentsOptions(resp.getFindings(), documentsOptions));
+                        } catch (IOException e) {
+                            onFailure(e);
+                            return;
+                        }
 
                         GetFindingsResponse masterResponse = new GetFindingsResponse(
                                 totalFindings,
@@ -84,14 +215,11 @@ public class FindingsService {
                     }
                 };
 
-                // monitor --> detectorId mapping
-                Map<String, Detector> monitorToDetectorMapping = new HashMap<>();
-                detector.getMonitorIds().forEach(
-                        monitorId -> monitorToDetectorMapping.put(monitorId, detector)
-                );
+                // monitor --> detectors mapping
+                Map<String, List<Detector>> monitorToDetectorsMapping = DetectorUtils.getDetectorsByMonitorId(List.of(detector));
                 // Get findings for all monitor ids
                 FindingsService.this.getFindingsByMonitorIds(
-                        monitorToDetectorMapping,
+                        monitorToDetectorsMapping,
                         monitorIds,
                         DetectorMonitorConfig.getAllFindingsIndicesPattern(detector.getDetectorType()),
                         table,
@@ -108,13 +236,13 @@ public class FindingsService {
 
     /**
      * Searches findings generated by specific Monitor
-     * @param monitorToDetectorMapping monitorId --&gt; detectorId mapper
+     * @param monitorToDetectorsMapping monitorId --&gt; detectors mapper, a finding is returned once per detector of its monitor
      * @param monitorIds id of Monitor
      * @param table group of search related parameters
      * @param listener ActionListener to get notified on response or error
      */
     public void getFindingsByMonitorIds(
-            Map<String, Detector> monitorToDetectorMapping,
+            Map<String, List<Detector>> monitorToDetectorsMapping,
             List<String> monitorIds,
             String findingIndexName,
             Table table,
@@ -135,15 +263,22 @@ public class FindingsService {
                     public void onResponse(
                             org.opensearch.commons.alerting.action.GetFindingsResponse getFindingsResponse
                     ) {
-                        // Convert response to SA's GetFindingsResponse
-                        listener.onResponse(new GetFindingsResponse(
-                                getFindingsResponse.getTotalFindings(),
-                                getFindingsResponse.getFindings()
-                                        .stream().map(e -> mapFindingWithDocsToFindingDto(
-                                                e,
-                                                monitorToDetectorMapping.get(e.getFinding().getMonitorId())
-                                        )).collect(Collectors.toList())
-                        ));
+                        List<Finding> findings = getFindingsResponse.getFindings()
+                                .stream().map(FindingWithDocs::getFinding).collect(Collectors.toList());
+                        getRulesOfMergedBucketLevelFindings(findings, monitorToDetectorsMapping, ActionListener.wrap(ruleIdsByFindingId -> {
+                            // Convert response to SA's GetFindingsResponse
+                            listener.onResponse(new GetFindingsResponse(
+                                    getFindingsResponse.getTotalFindings(),
+                                    getFindingsResponse.getFindings()
+                                            .stream().flatMap(e -> monitorToDetectorsMapping.getOrDefault(e.getFinding().getMonitorId(), List.of())
+                                                    .stream().map(detector -> mapFindingToFindingDto(
+                                                            e.getFinding(),
+                                                            e.getDocuments(),
+                                                            detector,
+                                                            ruleIdsByFindingId.get(e.getFinding().getId())
+                                                    ))).collect(Collectors.toList())
+                            ));
+                        }, listener::onFailure));
                     }
 
                     @Override
@@ -164,33 +299,41 @@ public class FindingsService {
             Detector.DetectorType detectorType,
             Table table,
             ActionListener<GetFindingsResponse> listener
+    ) {
+        getFindings(detectors, detectorType, table, FindingDocumentsOptions.ALL, listener);
+    }
+
+    public void getFindings(
+            List<Detector> detectors,
+            Detector.DetectorType detectorType,
+            Table table,
+            FindingDocumentsOptions documentsOptions,
+            ActionListener<GetFindingsResponse> listener
     ) {
         if (detectors.size() == 0) {
             throw new OpenSearchStatusException("detector list is empty!", RestStatus.NOT_FOUND);
         }
 
-        List<String> allMonitorIds = new ArrayList<>();
-        // Used to convert monitorId back to detectorId to store in result FindingDto
-        Map<String, Detector> monitorToDetectorMapping = new HashMap<>();
-        detectors.forEach(detector -> {
-            // monitor --> detector map
-            detector.getMonitorIds().forEach(
-                monitorId -> monitorToDetectorMapping.put(monitorId, detector)
-            );
-            // all monitorIds
-            allMonitorIds.addAll(detector.getMonitorIds());
-        });
+        // Used to convert monitorId back to detectorIds to store in result FindingDto
+        Map<String, List<Detector>> monitorToDetectorsMapping = DetectorUtils.getDetectorsByMonitorId(detectors);
 
          // Execute GetFindingsAction
         FindingsService.this.getFindingsByMonitorIds(
-            monitorToDetectorMapping,
-            allMonitorIds,
+            monitorToDetectorsMapping,
+            new ArrayList<>(monitorToDetectorsMapping.keySet()),
             DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType.getDetectorType()),
             table,
             new ActionListener<>() {
                 @Override
                 public void onResponse(GetFindingsResponse getFindingsResponse) {
-                    listener.onResponse(getFindingsResponse);
+                    try {
+                        listener.onResponse(new GetFindingsResponse(
+                                getFindingsResponse.getTotalFindings(),
+                                applyDocumentsOptions(getFindingsResponse.getFindings(), documentsOptions)
+                        ));
+                    } catch (IOException e) {
+                        onFailure(e);
+                    }
                 }
 
                 @Override
@@ -203,23 +346,926 @@ public class FindingsService {
         );
     }
 
+    /**
+     * Alerting returns findings with all their documents, trims them to the requested documents.
+     */
+    static List<FindingDto> applyDocumentsOptions(List<FindingDto> findings, FindingDocumentsOptions documentsOptions) throws IOException {
+        if (documentsOptions.isAllDocuments()) {
+            return findings;
+        }
+        List<FindingDto> trimmed = new ArrayList<>(findings.size());
+        for (FindingDto finding : findings) {
+            trimmed.add(new FindingDto(
+                    finding.getDetectorId(),
+                    finding.getId(),
+                    finding.getRelatedDocIds(),
+                    finding.getIndex(),
+                    finding.getDocLevelQueries(),
+                    finding.getTimestamp(),
+                    documentsOptions.apply(finding.getDocuments())
+            ));
+        }
+        return trimmed;
+    }
+
+    /**
+     * Resolves the detectors whose findings are requested, either a single detector by id or all detectors of a type
+     * visible to the user.
+     */
+    public void getDetectors(String detectorId, Detector.DetectorType detectorType, NamedXContentRegistry xContentRegistry, ActionListener<List<Detector>> listener) {
+        if (detectorType == null) {
+            client.execute(GetDetectorAction.INSTANCE, new GetDetectorRequest(detectorId, -3L), ActionListener.wrap(
+                    getDetectorResponse -> listener.onResponse(List.of(getDetectorResponse.getDetector())),
+                    listener::onFailure
+            ));
+            return;
+        }
+        // "detector" is nested type so we have to use nested query
+        NestedQueryBuilder queryBuilder =
+                QueryBuilders.nestedQuery(
+                        "detector",
+                        QueryBuilders.boolQuery().must(
+                                QueryBuilders.matchQuery(
+                                        DETECTOR_TYPE_PATH,
+                                        detectorType.getDetectorType()
+                                )
+                        ),
+                        ScoreMode.None
+                );
+        SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
+                .source(new SearchSourceBuilder().query(queryBuilder).fetchSource(true));
+
+        client.execute(SearchDetectorAction.INSTANCE, new SearchDetectorRequest(searchRequest), ActionListener.wrap(searchResponse -> {
+            List<Detector> detectors = DetectorUtils.getDetectors(searchResponse, xContentRegistry);
+            if (detectors.size() == 0) {
+                listener.onFailure(
+                        SecurityAnalyticsException.wrap(
+                                new OpenSearchStatusException(
+                                        "No detectors found for provided type", RestStatus.NOT_FOUND
+                                )
+                        )
+                );
+                return;
+            }
+            listener.onResponse(detectors);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Searches findings of the given detectors directly in their findings indices. Unlike {@link #getFindings}, all
+     * filters run on the server side and pages are fetched with search_after, optionally within a point in time.
+     * @param detectors Detectors of the same type whose findings are searched
+     * @param request Filters and paging parameters
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void searchFindings(List<Detector> detectors, SearchFindingsRequest request, ActionListener<SearchFindingsResponse> listener) {
+        if (detectors.size() == 0) {
+            listener.onFailure(new OpenSearchStatusException("detector list is empty!", RestStatus.NOT_FOUND));
+            return;
+        }
+
+        // Used to convert monitorId back to detectorIds to store in result FindingDto
+        Map<String, List<Detector>> monitorToDetectorsMapping = DetectorUtils.getDetectorsByMonitorId(detectors);
+        SearchSourceBuilder searchSourceBuilder = buildFindingsSearchSource(
+                request,
+                new ArrayList<>(monitorToDetectorsMapping.keySet()),
+                getBucketLevelMonitorIds(detectors, request.getRuleIds())
+        );
+        String findingsIndex = DetectorMonitorConfig.getAllFindingsIndicesPattern(detectors.get(0).getDetectorType());
+
+        if (request.getPitId() == null && request.getKeepAlive() != null) {
+            // First page of a point in time search
+            CreatePitRequest createPitRequest = new CreatePitRequest(request.getKeepAlive(), true, findingsIndex);
+            client.execute(CreatePitAction.INSTANCE, createPitRequest, ActionListener.wrap(
+                    createPitResponse -> searchFindings(monitorToDetectorsMapping, request, searchSourceBuilder, findingsIndex, createPitResponse.getId(), listener),
+                    listener::onFailure
+            ));
+        } else {
+            searchFindings(monitorToDetectorsMapping, request, searchSourceBuilder, findingsIndex, request.getPitId(), listener);
+        }
+    }
+
+    private void searchFindings(
+            Map<String, List<Detector>> monitorToDetectorsMapping,
+            SearchFindingsRequest request,
+            SearchSourceBuilder searchSourceBuilder,
+            String findingsIndex,
+            String pitId,
+            ActionListener<SearchFindingsResponse> listener
+    ) {
+        SearchRequest searchRequest;
+        if (pitId != null) {
+            // Point in time searches must not specify indices
+            searchSourceBuilder.pointInTimeBuilder(new PointInTimeBuilder(pitId).setKeepAlive(request.getKeepAlive()));
+            searchRequest = new SearchRequest().source(searchSourceBuilder);
+        } else {
+            searchRequest = new SearchRequest(findingsIndex).source(searchSourceBuilder);
+        }
+
+        client.search(searchRequest, ActionListener.wrap(searchResponse -> {
+            SearchHit[] hits = searchResponse.getHits().getHits();
+            List<Finding> findings = new ArrayList<>(hits.length);
+            for (SearchHit hit : hits) {
+                XContentParser xcp = XContentType.JSON.xContent().createParser(
+                        NamedXContentRegistry.EMPTY,
+                        LoggingDeprecationHandler.INSTANCE,
+                        hit.getSourceAsString()
+                );
+                xcp.nextToken();
+                findings.add(Finding.parse(xcp));
+            }
+            // Sort values of the last finding are the cursor of the next page, a partial page is the last one
+            List<Object> searchAfter = hits.length == request.getSize() ? Arrays.asList(hits[hits.length - 1].getSortValues()) : null;
+            long totalFindings = searchResponse.getHits().getTotalHits() != null ? searchResponse.getHits().getTotalHits().value : findings.size();
+            String responsePitId = searchResponse.pointInTimeId() != null ? searchResponse.pointInTimeId() : pitId;
+
+            FindingDocumentsOptions documentsOptions = request.getDocumentsOptions();
+            ActionListener<Map<String, FindingDocument>> documentsListener = ActionListener.wrap(documents ->
+                getRulesOfMergedBucketLevelFindings(findings, monitorToDetectorsMapping, ActionListener.wrap(ruleIdsByFindingId -> {
+                    List<FindingDto> findingDtos = new ArrayList<>(findings.size());
+                    for (Finding finding : findings) {
+                        List<FindingDocument> findingDocuments = getDocumentsOfFinding(finding, documentsOptions, documents);
+                        for (Detector detector : monitorToDetectorsMapping.getOrDefault(finding.getMonitorId(), List.of())) {
+                            findingDtos.add(mapFindingToFindingDto(
+                                    finding,
+                                    findingDocuments,
+                                    detector,
+                                    ruleIdsByFindingId.get(finding.getId())
+                            ));
+                        }
+                    }
+                    listener.onResponse(new SearchFindingsResponse(totalFindings, findingDtos, searchAfter, responsePitId));
+                }, listener::onFailure)),
+                listener::onFailure
+            );
+
+            if (documentsOptions.isIncludeDocuments() && findings.isEmpty() == false) {
+                getFindingDocuments(findings, documentsOptions, documentsListener);
+            } else {
+                documentsListener.onResponse(Map.of());
+            }
+        }, e -> {
+            log.error("Failed to search findings", e);
+            listener.onFailure(SecurityAnalyticsException.wrap(e));
+        }));
+    }
+
+    /**
+     * Exports the findings matching the search of the request as newline delimited JSON, one finding per line.
+     * Findings are read in batches from a point in time, so that the content of a response is bounded by the max
+     * findings of the request and {@link #MAX_EXPORT_CHUNK_BYTES}, and the export resumes from the returned cursor.
+     * The point in time is deleted once all findings were exported, an abandoned export lets it expire.
+     * @param detectors Detectors of the same type whose findings are exported
+     * @param request Filters, cursor and batch sizes of the export
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void exportFindings(List<Detector> detectors, ExportFindingsRequest request, ActionListener<ExportFindingsResponse> listener) {
+        SearchFindingsRequest search = request.getSearch();
+        try {
+            if (request.getCursor() != null) {
+                FindingsExportCursor cursor = FindingsExportCursor.decode(request.getCursor());
+                search.pointInTime(cursor.getPitId(), EXPORT_KEEP_ALIVE).searchAfter(cursor.getSearchAfter());
+            } else {
+                search.pointInTime(null, EXPORT_KEEP_ALIVE).searchAfter(null);
+            }
+        } catch (Exception e) {
+            listener.onFailure(SecurityAnalyticsException.wrap(e));
+            return;
+        }
+        exportFindings(detectors, search, request, new BytesStreamOutput(), 0L, listener);
+    }
+
+    private void exportFindings(
+            List<Detector> detectors,
+            SearchFindingsRequest search,
+            ExportFindingsRequest request,
+            BytesStreamOutput out,
+            long exported,
+            ActionListener<ExportFindingsResponse> listener
+    ) {
+        search.size((int) Math.min(request.getBatchSize(), request.getMaxFindings() - exported));
+        searchFindings(detectors, search, ActionListener.wrap(response -> {
+            for (FindingDto finding : response.getFindings()) {
+                writeNdjsonLine(finding, out);
+            }
+            long count = exported + response.getFindings().size();
+            if (response.getSearchAfter() == null) {
+                deletePit(response.getPitId());
+                listener.onResponse(new ExportFindingsResponse(out.bytes(), count, null));
+            } else if (count >= request.getMaxFindings() || out.size() >= MAX_EXPORT_CHUNK_BYTES) {
+                String cursor = new FindingsExportCursor(response.getPitId(), response.getSearchAfter()).encode();
+                listener.onResponse(new ExportFindingsResponse(out.bytes(), count, cursor));
+            } else {
+                search.pointInTime(response.getPitId(), EXPORT_KEEP_ALIVE).searchAfter(response.getSearchAfter());
+                exportFindings(detectors, search, request, out, count, listener);
+            }
+        }, listener::onFailure));
+    }
+
+    private void deletePit(String pitId) {
+        if (pitId == null) {
+            return;
+        }
+        client.execute(DeletePitAction.INSTANCE, new DeletePitRequest(pitId), ActionListener.wrap(
+                response -> {},
+                e -> log.warn("Failed to delete point in time of findings export, it expires after " + EXPORT_KEEP_ALIVE, e)
+        ));
+    }
+
+    static void writeNdjsonLine(ToXContent value, StreamOutput out) throws IOException {
+        BytesReference.bytes(value.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)).writeTo(out);
+        out.writeByte((byte) '\n');
+    }
+
+    private static List<FindingDocument> getDocumentsOfFinding(Finding finding, FindingDocumentsOptions options, Map<String, FindingDocument> documents) {
+        List<FindingDocument> findingDocuments = new ArrayList<>();
+        for (String docId : options.docIdsToFetch(finding.getRelatedDocIds())) {
+            FindingDocument document = documents.get(finding.getIndex() + "|" + docId);
+            if (document != null) {
+                findingDocuments.add(document);
+            }
+        }
+        return findingDocuments;
+    }
+
+    /**
+     * Fetches the documents of all findings of a page with a single multi get, applying the document options.
+     * @return index|docId -> document
+     */
+    private void getFindingDocuments(List<Finding> findings, FindingDocumentsOptions options, ActionListener<Map<String, FindingDocument>> listener) {
+        client.multiGet(buildFindingDocumentsRequest(findings, options), ActionListener.wrap(multiGetResponse -> {
+            Map<String, FindingDocument> documents = new HashMap<>();
+            for (MultiGetItemResponse item : multiGetResponse.getResponses()) {
+                String key = item.getIndex() + "|" + item.getId();
+                if (item.isFailed() == false && item.getResponse().isExists()) {
+                    documents.put(key, new FindingDocument(item.getIndex(), item.getId(), true, item.getResponse().getSourceAsString()));
+                } else {
+                    documents.put(key, new FindingDocument(item.getIndex(), item.getId(), false, ""));
+                }
+            }
+            listener.onResponse(documents);
+        }, listener::onFailure));
+    }
+
+    /**
+     * Builds a multi get of the related documents of findings to fetch, grouped by index so that the items of an
+     * index are adjacent. Documents shared by several findings are fetched once.
+     */
+    static MultiGetRequest buildFindingDocumentsRequest(List<Finding> findings, FindingDocumentsOptions options) {
+        Map<String, Set<String>> docIdsByIndex = new TreeMap<>();
+        for (Finding finding : findings) {
+            docIdsByIndex.computeIfAbsent(finding.getIndex(), index -> new LinkedHashSet<>())
+                    .addAll(options.docIdsToFetch(finding.getRelatedDocIds()));
+        }
+        FetchSourceContext fetchSourceContext = options.fetchSourceContext();
+        MultiGetRequest multiGetRequest = new MultiGetRequest();
+        docIdsByIndex.forEach((index, docIds) -> docIds.forEach(
+                docId -> multiGetRequest.add(new MultiGetRequest.Item(index, docId).fetchSourceContext(fetchSourceContext))
+        ));
+        return multiGetRequest;
+    }
+
+    /**
+     * Resolves the source documents of findings by their ids, for clients that list findings without documents.
+     * The findings are read with a single search and their documents with a single multi get.
+     * @param detectors Detectors of the same type the findings belong to
+     * @param request Finding ids and document options
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void getFindingDocuments(List<Detector> detectors, GetFindingDocumentsRequest request, ActionListener<GetFindingDocumentsResponse> listener) {
+        List<String> monitorIds = new ArrayList<>();
+        detectors.forEach(detector -> monitorIds.addAll(detector.getMonitorIds()));
+        // Findings of other detectors are not visible through the requested ones
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(QueryBuilders.boolQuery()
+                        .filter(QueryBuilders.termsQuery(FINDING_ID_FIELD, request.getFindingIds()))
+                        .filter(QueryBuilders.termsQuery(FINDING_MONITOR_ID_FIELD, monitorIds)))
+                .size(request.getFindingIds().size());
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectors.get(0).getDetectorType()))
+                .source(searchSourceBuilder);
+
+        client.search(searchRequest, ActionListener.wrap(searchResponse -> {
+            Map<String, Finding> findingsById = new HashMap<>();
+            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                XContentParser xcp = XContentType.JSON.xContent().createParser(
+                        NamedXContentRegistry.EMPTY,
+                        LoggingDeprecationHandler.INSTANCE,
+                        hit.getSourceAsString()
+                );
+                xcp.nextToken();
+                Finding finding = Finding.parse(xcp);
+                findingsById.put(finding.getId(), finding);
+            }
+            if (findingsById.isEmpty()) {
+                listener.onResponse(new GetFindingDocumentsResponse(Map.of()));
+                return;
+            }
+            getFindingDocuments(new ArrayList<>(findingsById.values()), request.getDocumentsOptions(), ActionListener.wrap(documents -> {
+                Map<String, List<FindingDocument>> documentsByFinding = new LinkedHashMap<>();
+                for (String findingId : request.getFindingIds()) {
+                    Finding finding = findingsById.get(findingId);
+                    if (finding != null) {
+                        documentsByFinding.put(findingId, getDocumentsOfFinding(finding, request.getDocumentsOptions(), documents));
+                    }
+                }
+                listener.onResponse(new GetFindingDocumentsResponse(documentsByFinding));
+            }, listener::onFailure));
+        }, e -> {
+            log.error("Failed to get documents of findings", e);
+            listener.onFailure(SecurityAnalyticsException.wrap(e));
+        }));
+    }
+
+    /**
+     * @return ids of the bucket level monitors evaluating the given rules, their findings do not carry rule ids
+     */
+    static List<String> getBucketLevelMonitorIds(List<Detector> detectors, List<String> ruleIds) {
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            return List.of();
+        }
+        Set<String> bucketLevelMonitorIds = new HashSet<>();
+        for (Detector detector : detectors) {
+            for (String ruleId : ruleIds) {
+                String monitorId = detector.getRuleIdMonitorIdMap().get(ruleId);
+                if (monitorId != null && Detector.DOC_LEVEL_MONITOR.equals(ruleId) == false) {
+                    bucketLevelMonitorIds.add(monitorId);
+                }
+            }
+        }
+        return new ArrayList<>(bucketLevelMonitorIds);
+    }
+
+    /**
+     * Translates the findings search request into a query over the findings indices, sorted by timestamp with
+     * the finding id as tiebreaker so that search_after cursors are stable.
+     */
+    static SearchSourceBuilder buildFindingsSearchSource(SearchFindingsRequest request, List<String> monitorIds, List<String> bucketLevelMonitorIds) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery(FINDING_MONITOR_ID_FIELD, monitorIds));
+
+        if (request.getRuleIds() != null && request.getRuleIds().isEmpty() == false) {
+            BoolQueryBuilder ruleQuery = QueryBuilders.boolQuery()
+                    .should(QueryBuilders.nestedQuery(
+                            FINDING_QUERIES_FIELD,
+                            QueryBuilders.termsQuery(FINDING_QUERY_ID_FIELD, request.getRuleIds()),
+                            ScoreMode.None
+                    ))
+                    .minimumShouldMatch(1);
+            if (bucketLevelMonitorIds.isEmpty() == false) {
+                ruleQuery.should(QueryBuilders.termsQuery(FINDING_MONITOR_ID_FIELD, bucketLevelMonitorIds));
+            }
+            query.filter(ruleQuery);
+        }
+        if (request.getSeverities() != null && request.getSeverities().isEmpty() == false) {
+            // Rule severity is stored as a tag of every doc level query
+            query.filter(QueryBuilders.nestedQuery(
+                    FINDING_QUERIES_FIELD,
+                    QueryBuilders.termsQuery(
+                            FINDING_QUERY_TAGS_KEYWORD_FIELD,
+                            request.getSeverities().stream().map(e -> e.toLowerCase(Locale.ROOT)).collect(Collectors.toList())
+                    ),
+                    ScoreMode.None
+            ));
+        }
+        if (request.getStartTime() != null || request.getEndTime() != null) {
+            RangeQueryBuilder timeRange = QueryBuilders.rangeQuery(FINDING_TIMESTAMP_FIELD);
+            if (request.getStartTime() != null) {
+                timeRange.gte(request.getStartTime().toEpochMilli());
+            }
+            if (request.getEndTime() != null) {
+                timeRange.lte(request.getEndTime().toEpochMilli());
+            }
+            query.filter(timeRange);
+        }
+        if (request.getIndices() != null && request.getIndices().isEmpty() == false) {
+            query.filter(QueryBuilders.termsQuery(FINDING_INDEX_FIELD, request.getIndices()));
+        }
+        if (request.getDocIds() != null && request.getDocIds().isEmpty() == false) {
+            query.filter(QueryBuilders.termsQuery(FINDING_RELATED_DOC_IDS_KEYWORD_FIELD, request.getDocIds()));
+        }
+
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(query)
+                .size(request.getSize())
+                // Counting all matches is only worth it for the first page
+                .trackTotalHits(request.getSearchAfter() == null)
+                .sort(FINDING_TIMESTAMP_FIELD, request.getSortOrder())
+                .sort(FINDING_ID_FIELD, SortOrder.ASC);
+        if (request.getSearchAfter() != null) {
+            searchSourceBuilder.searchAfter(request.getSearchAfter().toArray());
+        }
+        return searchSourceBuilder;
+    }
+
+    /**
+     * Aggregates the findings of the given detectors in their findings indices, and in their findings rollups for
+     * the days that were rolled up.
+     * @param detectors Detectors of the same type whose findings are summarized
+     * @param request Time range, timeline interval and number of rule/detector buckets
+     * @param maxBuckets search.max_buckets, the max number of timeline buckets
+     * @param listener ActionListener to get notified on response or error
+     */
+    public void summarizeFindings(List<Detector> detectors, FindingsSummaryRequest request, int maxBuckets, ActionListener<FindingsSummaryResponse> listener) {
+        if (detectors.size() == 0) {
+            listener.onFailure(new OpenSearchStatusException("detector list is empty!", RestStatus.NOT_FOUND));
+            return;
+        }
+        LongBounds timelineBounds;
+        try {
+            timelineBounds = getTimelineBounds(request, System.currentTimeMillis(), maxBuckets);
+        } catch (OpenSearchStatusException e) {
+            listener.onFailure(SecurityAnalyticsException.wrap(e));
+            return;
+        }
+        List<String> monitorIds = detectors.stream().flatMap(e -> e.getMonitorIds().stream()).distinct().collect(Collectors.toList());
+        String rollupIndex = DetectorMonitorConfig.getFindingsRollupIndex(detectors.get(0).getDetectorType());
+        FindingsRollup.getCheckpoint(client, rollupIndex, ActionListener.wrap(
+                rolledUpUntil -> summarizeFindings(detectors, request, monitorIds, rollupIndex, rolledUpUntil, timelineBounds, listener),
+                e -> {
+                    log.error("Failed to get findings rollup checkpoint", e);
+                    listener.onFailure(SecurityAnalyticsException.wrap(e));
+                }
+        ));
+    }
+
+    private void summarizeFindings(
+            List<Detector> detectors,
+            FindingsSummaryRequest request,
+            List<String> monitorIds,
+            String rollupIndex,
+            Long rolledUpUntil,
+            LongBounds timelineBounds,
+            ActionListener<FindingsSummaryResponse> listener
+    ) {
+        String detectorType = detectors.get(0).getDetectorType();
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllFindingsIndicesPattern(detectorType))
+                .source(buildSummarySearchSource(request, monitorIds, rolledUpUntil, timelineBounds));
+        boolean rolledUp = rolledUpUntil != null && (request.getStartTime() == null || request.getStartTime().toEpochMilli() < rolledUpUntil);
+        Map<String, List<String>> mergedMonitorRules = getMergedBucketLevelMonitorRules(detectors);
+
+        if (rolledUp == false && mergedMonitorRules.isEmpty()) {
+            client.search(searchRequest, ActionListener.wrap(
+                    searchResponse -> listener.onResponse(parseSummary(searchResponse, detectors, request.getSize())),
+                    e -> {
+                        log.error("Failed to summarize findings", e);
+                        listener.onFailure(SecurityAnalyticsException.wrap(e));
+                    }
+            ));
+            return;
+        }
+
+        // Findings of merged bucket level monitors are attributed to the rules of the triggers of their alerts
+        List<String> mergedMonitorIds = new ArrayList<>(mergedMonitorRules.keySet());
+        int mergedRules = mergedMonitorRules.values().stream().mapToInt(List::size).sum();
+        MultiSearchRequest multiSearchRequest = new MultiSearchRequest().add(searchRequest);
+        if (rolledUp) {
+            multiSearchRequest.add(new SearchRequest(rollupIndex)
+                    .source(buildRollupSummarySearchSource(request, monitorIds, mergedMonitorIds, mergedRules, rolledUpUntil, timelineBounds)));
+        }
+        if (mergedMonitorIds.isEmpty() == false) {
+            multiSearchRequest.add(new SearchRequest(DetectorMonitorConfig.getAllAlertsIndicesPattern(detectorType))
+                    .source(buildMergedMonitorRulesSearchSource(request, mergedMonitorIds, mergedRules, rolledUpUntil)));
+        }
+        client.multiSearch(multiSearchRequest, ActionListener.wrap(
+                multiSearchResponse -> {
+                    MultiSearchResponse.Item[] items = multiSearchResponse.getResponses();
+                    for (MultiSearchResponse.Item item : items) {
+                        if (item.isFailure()) {
+                            throw item.getFailure();
+                        }
+                    }
+                    SearchResponse rollupResponse = rolledUp ? items[1].getResponse() : null;
+                    SearchResponse mergedRulesResponse = mergedMonitorIds.isEmpty() ? null : items[items.length - 1].getResponse();
+                    listener.onResponse(parseSummary(items[0].getResponse(), rollupResponse, mergedRulesResponse, detectors, request.getSize()));
+                },
+                e -> {
+                    log.error("Failed to summarize findings", e);
+                    listener.onFailure(SecurityAnalyticsException.wrap(e));
+                }
+        ));
+    }
+
+    static SearchSourceBuilder buildSummarySearchSource(FindingsSummaryRequest request, List<String> monitorIds) {
+        return buildSummarySearchSource(request, monitorIds, null, null);
+    }
+
+    /**
+     * Timeline buckets are created for every interval of the time range, including the empty ones. A time range
+     * needing more than maxBuckets buckets is rejected, the timeline of a time range without start time is bounded
+     * to the last maxBuckets intervals before its end.
+     * @param now end of the time range if the request has no end time
+     * @return bounds of the timeline buckets
+     */
+    static LongBounds getTimelineBounds(FindingsSummaryRequest request, long now, int maxBuckets) {
+        long interval = request.getInterval().millis();
+        long end = request.getEndTime() != null ? request.getEndTime().toEpochMilli() : now;
+        if (request.getStartTime() == null) {
+            long span = interval <= end / Math.max(1, maxBuckets - 1) ? (maxBuckets - 1) * interval : end;
+            return new LongBounds(end - span, end);
+        }
+        long start = request.getStartTime().toEpochMilli();
+        // Fixed intervals are aligned on the epoch
+        long buckets = Math.floorDiv(end, interval) - Math.floorDiv(start, interval) + 1;
+        if (buckets > maxBuckets) {
+            throw new OpenSearchStatusException(String.format(
+                    Locale.getDefault(),
+                    "Timeline of %s needs %d buckets of %s, more than %s [%d], use a larger %s or a shorter time range",
+                    request.getEndTime() != null ? "the time range" : "the time range until now",
+                    buckets,
+                    request.getInterval().getStringRep(),
+                    MultiBucketConsumerService.MAX_BUCKET_SETTING.getKey(),
+                    maxBuckets,
+                    FindingsSummaryRequest.INTERVAL_FIELD
+            ), RestStatus.BAD_REQUEST);
+        }
+        return new LongBounds(start, end);
+    }
+
+    /**
+     * Builds a size 0 search counting findings per monitor, per rule, per severity and per time bucket.
+     * Rule and severity counts are computed on the nested queries and reverse nested back to the findings,
+     * so that a finding matching several queries of the same rule is counted once.
+     * @param rolledUpUntil start of the first day whose findings were not rolled up, or null
+     * @param timelineBounds bounds of the timeline buckets, or null
+     */
+    static SearchSourceBuilder buildSummarySearchSource(FindingsSummaryRequest request, List<String> monitorIds, Long rolledUpUntil, LongBounds timelineBounds) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery(FINDING_MONITOR_ID_FIELD, monitorIds));
+        Long startTime = request.getStartTime() != null ? Long.valueOf(request.getStartTime().toEpochMilli()) : null;
+        if (rolledUpUntil != null) {
+            // Rolled up findings are counted in the rollups
+            startTime = startTime != null ? Math.max(startTime, rolledUpUntil) : rolledUpUntil;
+        }
+        if (startTime != null || request.getEndTime() != null) {
+            RangeQueryBuilder timeRange = QueryBuilders.rangeQuery(FINDING_TIMESTAMP_FIELD);
+            if (startTime != null) {
+                timeRange.gte(startTime);
+            }
+            if (request.getEndTime() != null) {
+                timeRange.lte(request.getEndTime().toEpochMilli());
+            }
+            query.filter(timeRange);
+        }
+
+        // Bucket level monitors are counted per monitor and attributed to their rules afterwards, so all of them are needed
+        DateHistogramAggregationBuilder timeline = AggregationBuilders.dateHistogram(SUMMARY_TIMELINE_AGG)
+                .field(FINDING_TIMESTAMP_FIELD)
+                .fixedInterval(new DateHistogramInterval(request.getInterval().getStringRep()))
+                .minDocCount(0);
+        if (timelineBounds != null) {
+            timeline.hardBounds(timelineBounds);
+        }
+
+        int monitorBuckets = Math.max(request.getSize(), monitorIds.size());
+        return new SearchSourceBuilder()
+                .query(query)
+                .size(0)
+                .trackTotalHits(true)
+                .aggregation(AggregationBuilders.terms(SUMMARY_BY_MONITOR_AGG).field(FINDING_MONITOR_ID_FIELD).size(monitorBuckets))
+                .aggregation(AggregationBuilders.nested(SUMMARY_QUERIES_AGG, FINDING_QUERIES_FIELD)
+                        .subAggregation(AggregationBuilders.terms(SUMMARY_BY_RULE_AGG).field(FINDING_QUERY_ID_FIELD).size(request.getSize())
+                                .subAggregation(AggregationBuilders.reverseNested(SUMMARY_FINDINGS_AGG)))
+                        .subAggregation(AggregationBuilders.terms(SUMMARY_BY_SEVERITY_AGG).field(FINDING_QUERY_TAGS_KEYWORD_FIELD)
+                                .includeExclude(new IncludeExclude(SEVERITIES.toArray(new String[0]), null))
+                                .size(SEVERITIES.size())
+                                .subAggregation(AggregationBuilders.reverseNested(SUMMARY_FINDINGS_AGG))))
+                .aggregation(timeline);
+    }
+
+    /**
+     * Merged bucket level monitors evaluate several rules, with one trigger per rule and the rule id as trigger id.
+     * @return monitor id -> rule ids of the merged bucket level monitors of the detectors
+     */
+    static Map<String, List<String>> getMergedBucketLevelMonitorRules(List<Detector> detectors) {
+        Map<String, List<String>> mergedMonitorRules = new LinkedHashMap<>();
+        for (Detector detector : detectors) {
+            for (String monitorId : detector.getMonitorIds()) {
+                List<String> ruleIds = detector.getRuleIdsByMonitorId(monitorId);
+                if (ruleIds.size() > 1) {
+                    mergedMonitorRules.put(monitorId, ruleIds);
+                }
+            }
+        }
+        return mergedMonitorRules;
+    }
+
+    /**
+     * Builds a size 0 search counting the findings of merged bucket level monitors per rule, as the distinct findings
+     * of the alerts of each trigger. Alerts start with the monitor run creating their findings.
+     * @param rules number of rules of the merged monitors
+     * @param rolledUpUntil start of the first day whose findings were not rolled up, or null
+     */
+    static SearchSourceBuilder buildMergedMonitorRulesSearchSource(FindingsSummaryRequest request, List<String> mergedMonitorIds, int rules, Long rolledUpUntil) {
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery(ALERT_MONITOR_ID_FIELD, mergedMonitorIds))
+                .filter(QueryBuilders.existsQuery(ALERT_FINDING_IDS_KEYWORD_FIELD));
+        Long startTime = request.getStartTime() != null ? Long.valueOf(request.getStartTime().toEpochMilli()) : null;
+        if (rolledUpUntil != null) {
+            // Rolled up findings are counted per trigger in the rollups
+            startTime = startTime != null ? Math.max(startTime, rolledUpUntil) : rolledUpUntil;
+        }
+        if (startTime != null || request.getEndTime() != null) {
+            RangeQueryBuilder timeRange = QueryBuilders.rangeQuery(ALERT_START_TIME_FIELD);
+            if (startTime != null) {
+                timeRange.gte(startTime);
+            }
+            if (request.getEndTime() != null) {
+                timeRange.lte(request.getEndTime().toEpochMilli());
+            }
+            query.filter(timeRange);
+        }
+        return new SearchSourceBuilder()
+                .query(query)
+                .size(0)
+                .trackTotalHits(false)
+                .aggregation(AggregationBuilders.terms(SUMMARY_BY_RULE_AGG).field(ALERT_TRIGGER_ID_FIELD).size(Math.max(1, rules))
+                        .subAggregation(AggregationBuilders.cardinality(SUMMARY_FINDINGS_AGG).field(ALERT_FINDING_IDS_KEYWORD_FIELD)));
+    }
+
+    static SearchSourceBuilder buildRollupSummarySearchSource(FindingsSummaryRequest request, List<String> monitorIds, long rolledUpUntil, LongBounds timelineBounds) {
+        return buildRollupSummarySearchSource(request, monitorIds, List.of(), 0, rolledUpUntil, timelineBounds);
+    }
+
+    /**
+     * Builds a size 0 search summing the rollup counts of the days before the rollup checkpoint. Rollups count whole
+     * days, a day is included if the summarized time range starts within it.
+     * @param mergedMonitorIds merged bucket level monitors, whose findings are counted per rule by the rollups of their triggers
+     * @param mergedRules number of rules of the merged monitors
+     * @param timelineBounds bounds of the timeline buckets, or null
+     */
+    static SearchSourceBuilder buildRollupSummarySearchSource(
+            FindingsSummaryRequest request,
+            List<String> monitorIds,
+            List<String> mergedMonitorIds,
+            int mergedRules,
+            long rolledUpUntil,
+            LongBounds timelineBounds
+    ) {
+        RangeQueryBuilder dayRange = QueryBuilders.rangeQuery(FindingsRollup.DAY_FIELD).lt(rolledUpUntil);
+        if (request.getStartTime() != null) {
+            dayRange.gte(FindingsRollup.startOfDay(request.getStartTime().toEpochMilli()));
+        }
+        if (request.getEndTime() != null) {
+            dayRange.lte(request.getEndTime().toEpochMilli());
+        }
+        BoolQueryBuilder query = QueryBuilders.boolQuery()
+                .filter(QueryBuilders.termsQuery(FindingsRollup.MONITOR_ID_FIELD, monitorIds))
+                .filter(dayRange);
+
+        DateHistogramAggregationBuilder timeline = AggregationBuilders.dateHistogram(SUMMARY_TIMELINE_AGG)
+                .field(FindingsRollup.DAY_FIELD)
+                .fixedInterval(new DateHistogramInterval(request.getInterval().getStringRep()))
+                .minDocCount(0)
+                .subAggregation(AggregationBuilders.sum(ROLLUP_COUNT_AGG).field(FindingsRollup.COUNT_FIELD));
+        if (timelineBounds != null) {
+            // Rollups are keyed by the start of their day
+            timeline.hardBounds(new LongBounds(FindingsRollup.startOfDay(timelineBounds.getMin()), timelineBounds.getMax()));
+        }
+
+        int monitorBuckets = Math.max(request.getSize(), monitorIds.size());
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(query)
+                .size(0)
+                .trackTotalHits(false)
+                .aggregation(AggregationBuilders.filter(ROLLUP_FINDINGS_AGG, QueryBuilders.termQuery(FindingsRollup.TYPE_FIELD, FindingsRollup.FINDINGS_TYPE))
+                        .subAggregation(AggregationBuilders.sum(ROLLUP_COUNT_AGG).field(FindingsRollup.COUNT_FIELD))
+                        .subAggregation(AggregationBuilders.terms(SUMMARY_BY_MONITOR_AGG).field(FindingsRollup.MONITOR_ID_FIELD).size(monitorBuckets)
+                                .subAggregation(AggregationBuilders.sum(ROLLUP_COUNT_AGG).field(FindingsRollup.COUNT_FIELD)))
+                        .subAggregation(timeline))
+                .aggregation(AggregationBuilders.filter(ROLLUP_RULES_AGG, QueryBuilders.termQuery(FindingsRollup.TYPE_FIELD, FindingsRollup.RULE_TYPE))
+                        .subAggregation(AggregationBuilders.terms(SUMMARY_BY_RULE_AGG).field(FindingsRollup.RULE_ID_FIELD).size(request.getSize())
+                                .order(BucketOrder.aggregation(ROLLUP_COUNT_AGG, false))
+                                .subAggregation(AggregationBuilders.sum(ROLLUP_COUNT_AGG).field(FindingsRollup.COUNT_FIELD))))
+                .aggregation(AggregationBuilders.filter(ROLLUP_SEVERITIES_AGG, QueryBuilders.termQuery(FindingsRollup.TYPE_FIELD, FindingsRollup.SEVERITY_TYPE))
+                        .subAggregation(AggregationBuilders.terms(SUMMARY_BY_SEVERITY_AGG).field(FindingsRollup.SEVERITY_FIELD).size(SEVERITIES.size())
+                                .subAggregation(AggregationBuilders.sum(ROLLUP_COUNT_AGG).field(FindingsRollup.COUNT_FIELD))));
+        if (mergedMonitorIds.isEmpty() == false) {
+            BoolQueryBuilder mergedTriggers = QueryBuilders.boolQuery()
+                    .filter(QueryBuilders.termQuery(FindingsRollup.TYPE_FIELD, FindingsRollup.TRIGGER_TYPE))
+                    .filter(QueryBuilders.termsQuery(FindingsRollup.MONITOR_ID_FIELD, mergedMonitorIds));
+            searchSourceBuilder.aggregation(AggregationBuilders.filter(ROLLUP_TRIGGERS_AGG, mergedTriggers)
+                    .subAggregation(AggregationBuilders.terms(SUMMARY_BY_RULE_AGG).field(FindingsRollup.RULE_ID_FIELD).size(Math.max(1, mergedRules))
+                            .subAggregation(AggregationBuilders.sum(ROLLUP_COUNT_AGG).field(FindingsRollup.COUNT_FIELD))));
+        }
+        return searchSourceBuilder;
+    }
+
+    static FindingsSummaryResponse parseSummary(SearchResponse searchResponse, List<Detector> detectors, int size) {
+        return parseSummary(searchResponse, null, null, detectors, size);
+    }
+
+    static FindingsSummaryResponse parseSummary(SearchResponse searchResponse, SearchResponse rollupResponse, List<Detector> detectors, int size) {
+        return parseSummary(searchResponse, rollupResponse, null, detectors, size);
+    }
+
+    /**
+     * @param rollupResponse response of the rollup summary search for the rolled up days, or null
+     * @param mergedRulesResponse response of the search counting the findings of merged bucket level monitors per rule,
+     *                            or null if the detectors have no merged monitors
+     */
+    static FindingsSummaryResponse parseSummary(
+            SearchResponse searchResponse,
+            SearchResponse rollupResponse,
+            SearchResponse mergedRulesResponse,
+            List<Detector> detectors,
+            int size
+    ) {
+        Aggregations aggregations = searchResponse.getAggregations();
+        long totalFindings = searchResponse.getHits().getTotalHits() != null ? searchResponse.getHits().getTotalHits().value : 0L;
+
+        // Bucket level findings carry no queries, they are attributed to the rules their monitor evaluates
+        Map<String, List<Detector>> monitorToDetectors = DetectorUtils.getDetectorsByMonitorId(detectors);
+
+        Map<String, Long> detectorCounts = new HashMap<>();
+        Map<String, Long> ruleCounts = new HashMap<>();
+        Terms byMonitor = aggregations.get(SUMMARY_BY_MONITOR_AGG);
+        for (Terms.Bucket bucket : byMonitor.getBuckets()) {
+            countMonitorFindings(monitorToDetectors, bucket.getKeyAsString(), bucket.getDocCount(), detectorCounts, ruleCounts);
+        }
+
+        if (mergedRulesResponse != null) {
+            Terms byTrigger = mergedRulesResponse.getAggregations().get(SUMMARY_BY_RULE_AGG);
+            for (Terms.Bucket bucket : byTrigger.getBuckets()) {
+                Cardinality findings = bucket.getAggregations().get(SUMMARY_FINDINGS_AGG);
+                ruleCounts.merge(bucket.getKeyAsString(), findings.getValue(), Long::sum);
+            }
+        }
+
+        Nested queries = aggregations.get(SUMMARY_QUERIES_AGG);
+        Terms byRule = queries.getAggregations().get(SUMMARY_BY_RULE_AGG);
+        for (Terms.Bucket bucket : byRule.getBuckets()) {
+            ReverseNested findings = bucket.getAggregations().get(SUMMARY_FINDINGS_AGG);
+            ruleCounts.merge(bucket.getKeyAsString(), findings.getDocCount(), Long::sum);
+        }
+        Map<String, Long> severityCounts = new LinkedHashMap<>();
+        Terms bySeverity = queries.getAggregations().get(SUMMARY_BY_SEVERITY_AGG);
+        for (Terms.Bucket bucket : bySeverity.getBuckets()) {
+            ReverseNested findings = bucket.getAggregations().get(SUMMARY_FINDINGS_AGG);
+            severityCounts.put(bucket.getKeyAsString(), findings.getDocCount());
+        }
+
+        Map<Long, Long> timeline = new TreeMap<>();
+        Histogram histogram = aggregations.get(SUMMARY_TIMELINE_AGG);
+        for (Histogram.Bucket bucket : histogram.getBuckets()) {
+            timeline.put(((ZonedDateTime) bucket.getKey()).toInstant().toEpochMilli(), bucket.getDocCount());
+        }
+
+        if (rollupResponse != null) {
+            Aggregations rollups = rollupResponse.getAggregations();
+            Filter rolledUpFindings = rollups.get(ROLLUP_FINDINGS_AGG);
+            totalFindings += rollupCount(rolledUpFindings.getAggregations());
+            Terms rolledUpByMonitor = rolledUpFindings.getAggregations().get(SUMMARY_BY_MONITOR_AGG);
+            for (Terms.Bucket bucket : rolledUpByMonitor.getBuckets()) {
+                countMonitorFindings(monitorToDetectors, bucket.getKeyAsString(), rollupCount(bucket.getAggregations()), detectorCounts, ruleCounts);
+            }
+            Histogram rolledUpTimeline = rolledUpFindings.getAggregations().get(SUMMARY_TIMELINE_AGG);
+            for (Histogram.Bucket bucket : rolledUpTimeline.getBuckets()) {
+                timeline.merge(((ZonedDateTime) bucket.getKey()).toInstant().toEpochMilli(), rollupCount(bucket.getAggregations()), Long::sum);
+            }
+            Filter rolledUpRules = rollups.get(ROLLUP_RULES_AGG);
+            Terms rolledUpByRule = rolledUpRules.getAggregations().get(SUMMARY_BY_RULE_AGG);
+            for (Terms.Bucket bucket : rolledUpByRule.getBuckets()) {
+                ruleCounts.merge(bucket.getKeyAsString(), rollupCount(bucket.getAggregations()), Long::sum);
+            }
+            Filter rolledUpSeverities = rollups.get(ROLLUP_SEVERITIES_AGG);
+            Terms rolledUpBySeverity = rolledUpSeverities.getAggregations().get(SUMMARY_BY_SEVERITY_AGG);
+            for (Terms.Bucket bucket : rolledUpBySeverity.getBuckets()) {
+                severityCounts.merge(bucket.getKeyAsString(), rollupCount(bucket.getAggregations()), Long::sum);
+            }
+            Filter rolledUpTriggers = rollups.get(ROLLUP_TRIGGERS_AGG);
+            if (rolledUpTriggers != null) {
+                Terms rolledUpByTrigger = rolledUpTriggers.getAggregations().get(SUMMARY_BY_RULE_AGG);
+                for (Terms.Bucket bucket : rolledUpByTrigger.getBuckets()) {
+                    ruleCounts.merge(bucket.getKeyAsString(), rollupCount(bucket.getAggregations()), Long::sum);
+                }
+            }
+        }
+
+        return new FindingsSummaryResponse(totalFindings, topCounts(detectorCounts, size), topCounts(ruleCounts, size), severityCounts, new LinkedHashMap<>(timeline));
+    }
+
+    private static void countMonitorFindings(
+            Map<String, List<Detector>> monitorToDetectors,
+            String monitorId,
+            long count,
+            Map<String, Long> detectorCounts,
+            Map<String, Long> ruleCounts
+    ) {
+        List<Detector> detectors = monitorToDetectors.get(monitorId);
+        if (detectors == null) {
+            return;
+        }
+        // a shared monitor counts for each of its detectors, but its findings only once for the rules
+        detectors.forEach(detector -> detectorCounts.merge(detector.getId(), count, Long::sum));
+        List<String> ruleIds = detectors.get(0).getRuleIdsByMonitorId(monitorId);
+        if (ruleIds.size() > 1) {
+            // findings of merged bucket level monitors are counted per rule by the triggers of their alerts
+            return;
+        }
+        for (String ruleId : ruleIds) {
+            if (Detector.DOC_LEVEL_MONITOR.equals(ruleId) == false) {
+                ruleCounts.merge(ruleId, count, Long::sum);
+            }
+        }
+    }
+
+    private static long rollupCount(Aggregations aggregations) {
+        Sum count = aggregations.get(ROLLUP_COUNT_AGG);
+        return (long) count.getValue();
+    }
+
+    private static Map<String, Long> topCounts(Map<String, Long> counts, int size) {
+        Map<String, Long> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(size)
+                .forEach(e -> top.put(e.getKey(), e.getValue()));
+        return top;
+    }
+
     public FindingDto mapFindingWithDocsToFindingDto(FindingWithDocs findingWithDocs, Detector detector) {
-        List<DocLevelQuery> docLevelQueries = findingWithDocs.getFinding().getDocLevelQueries();
-        if (docLevelQueries.isEmpty()) { // this is finding generated by a bucket level monitor
-            for (Map.Entry<String, String> entry : detector.getRuleIdMonitorIdMap().entrySet()) {
-                if(entry.getValue().equals(findingWithDocs.getFinding().getMonitorId())) {
-                    docLevelQueries = Collections.singletonList(new DocLevelQuery(entry.getKey(),"","",Collections.emptyList()));
+        return mapFindingToFindingDto(findingWithDocs.getFinding(), findingWithDocs.getDocuments(), detector);
+    }
+
+    /**
+     * Resolves the rules of the findings of merged bucket level monitors. Findings of bucket level monitors reference
+     * neither their rule nor their trigger, but the alerts of their buckets do. A merged monitor has one trigger per
+     * rule, with the rule id as trigger id, so the trigger of the alert of a finding is the rule of the finding.
+     * Findings of monitors of a single rule need no lookup. A failed lookup is logged and resolves no rules.
+     * @param findings Findings of one detector type
+     * @param monitorToDetectorsMapping Detectors of a monitor id, bucket level monitors belong to a single detector
+     * @param listener ActionListener notified with finding id -> rule id
+     */
+    public void getRulesOfMergedBucketLevelFindings(List<Finding> findings, Map<String, List<Detector>> monitorToDetectorsMapping, ActionListener<Map<String, String>> listener) {
+        Set<String> findingIds = new HashSet<>();
+        String detectorType = null;
+        for (Finding finding : findings) {
+            List<Detector> detectors = monitorToDetectorsMapping.get(finding.getMonitorId());
+            Detector detector = detectors != null && detectors.isEmpty() == false ? detectors.get(0) : null;
+            if (finding.getDocLevelQueries().isEmpty() && detector != null && detector.getRuleIdsByMonitorId(finding.getMonitorId()).size() > 1) {
+                findingIds.add(finding.getId());
+                detectorType = detector.getDetectorType();
+            }
+        }
+        if (findingIds.isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+                .query(QueryBuilders.termsQuery(ALERT_FINDING_IDS_KEYWORD_FIELD, findingIds))
+                .fetchSource(new String[]{ALERT_TRIGGER_ID_FIELD, ALERT_FINDING_IDS_FIELD}, null)
+                .size(findingIds.size());
+        SearchRequest searchRequest = new SearchRequest(DetectorMonitorConfig.getAllAlertsIndicesPattern(detectorType))
+                .source(searchSourceBuilder);
+        client.search(searchRequest, ActionListener.wrap(searchResponse -> {
+            Map<String, String> ruleIdsByFindingId = new HashMap<>();
+            for (SearchHit hit : searchResponse.getHits().getHits()) {
+                Map<String, Object> alert = hit.getSourceAsMap();
+                Object triggerId = alert.get(ALERT_TRIGGER_ID_FIELD);
+                Object alertFindingIds = alert.get(ALERT_FINDING_IDS_FIELD);
+                if (triggerId == null || alertFindingIds instanceof List == false) {
+                    continue;
+                }
+                for (Object findingId : (List<?>) alertFindingIds) {
+                    if (findingIds.contains(String.valueOf(findingId))) {
+                        ruleIdsByFindingId.put(String.valueOf(findingId), triggerId.toString());
+                    }
                 }
             }
+            listener.onResponse(ruleIdsByFindingId);
+        }, e -> {
+            log.warn("Failed to resolve the rules of findings of merged bucket level monitors", e);
+            listener.onResponse(Map.of());
+        }));
+    }
+
+    public FindingDto mapFindingToFindingDto(Finding finding, List<FindingDocument> documents, Detector detector) {
+        return mapFindingToFindingDto(finding, documents, detector, null);
+    }
+
+    /**
+     * @param ruleId rule of a finding of a bucket level monitor, as resolved by {@link #getRulesOfMergedBucketLevelFindings},
+     *               null to attribute the finding to all rules of its monitor
+     */
+    public FindingDto mapFindingToFindingDto(Finding finding, List<FindingDocument> documents, Detector detector, String ruleId) {
+        List<DocLevelQuery> docLevelQueries = finding.getDocLevelQueries();
+        if (docLevelQueries.isEmpty()) { // this is finding generated by a bucket level monitor
+            // a bucket level monitor evaluates several rules when aggregation rules are merged
+            List<String> ruleIds = ruleId != null ? List.of(ruleId) : detector.getRuleIdsByMonitorId(finding.getMonitorId());
+            List<DocLevelQuery> bucketLevelQueries = new ArrayList<>(ruleIds.size());
+            for (String bucketLevelRuleId : ruleIds) {
+                bucketLevelQueries.add(new DocLevelQuery(bucketLevelRuleId, "", "", Collections.emptyList()));
+            }
+            docLevelQueries = bucketLevelQueries;
         }
         return new FindingDto(
                 detector.getId(),
-                findingWithDocs.getFinding().getId(),
-                findingWithDocs.getFinding().getRelatedDocIds(),
-                findingWithDocs.getFinding().getIndex(),
+                finding.getId(),
+                finding.getRelatedDocIds(),
+                finding.getIndex(),
                 docLevelQueries,
-                findingWithDocs.getFinding().getTimestamp(),
-                findingWithDocs.getDocuments()
+                finding.getTimestamp(),
+                documents
         );
     }
 }
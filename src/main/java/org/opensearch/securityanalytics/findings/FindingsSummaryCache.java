@@ -0,0 +1,69 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.findings;
+
+import java.util.List;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.securityanalytics.action.FindingsSummaryRequest;
+import org.opensearch.securityanalytics.action.FindingsSummaryResponse;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+
+/**
+ * Node-local short lived cache of findings summaries, so that dashboards polling the same summary do not
+ * aggregate the findings indices on every refresh.
+ *
+ * Entries are keyed by the request parameters and the requesting user, as the detectors visible to a user
+ * depend on their backend roles. Entries are never invalidated, they expire after the configured ttl.
+ */
+public class FindingsSummaryCache {
+
+    static final int MAX_ENTRIES = 1000;
+
+    private final Cache<String, FindingsSummaryResponse> summaries;
+
+    private final boolean enabled;
+
+    public FindingsSummaryCache(Settings settings) {
+        TimeValue ttl = SecurityAnalyticsSettings.FINDINGS_SUMMARY_CACHE_TTL.get(settings);
+        this.enabled = ttl.millis() > 0;
+        this.summaries = CacheBuilder.<String, FindingsSummaryResponse>builder()
+                .setMaximumWeight(MAX_ENTRIES)
+                .setExpireAfterWrite(enabled ? ttl : TimeValue.timeValueMillis(1))
+                .build();
+    }
+
+    /**
+     * @return cached summary or null if the summary was not computed on this node within the ttl
+     */
+    public FindingsSummaryResponse get(FindingsSummaryRequest request, User user) {
+        if (!enabled) {
+            return null;
+        }
+        return summaries.get(key(request, user));
+    }
+
+    public void put(FindingsSummaryRequest request, User user, FindingsSummaryResponse response) {
+        if (!enabled) {
+            return;
+        }
+        summaries.put(key(request, user), response);
+    }
+
+    public int count() {
+        return summaries.count();
+    }
+
+    static String key(FindingsSummaryRequest request, User user) {
+        if (user == null) {
+            return request.cacheKey();
+        }
+        List<String> backendRoles = user.getBackendRoles();
+        return request.cacheKey() + "|" + user.getName() + "|" + (backendRoles != null ? String.join(",", backendRoles) : "");
+    }
+}
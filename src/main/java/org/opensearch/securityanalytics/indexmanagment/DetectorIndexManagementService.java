@@ -4,37 +4,36 @@
  */
 package org.opensearch.securityanalytics.indexmanagment;
 
-import com.carrotsearch.hppc.cursors.ObjectCursor;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.ActionListener;
-import org.opensearch.action.admin.cluster.state.ClusterStateRequest;
-import org.opensearch.action.admin.cluster.state.ClusterStateResponse;
-import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.opensearch.action.admin.indices.rollover.RolloverRequest;
 import org.opensearch.action.admin.indices.rollover.RolloverResponse;
-import org.opensearch.action.support.IndicesOptions;
-import org.opensearch.action.support.master.AcknowledgedResponse;
+import org.opensearch.action.admin.indices.stats.IndicesStatsRequest;
+import org.opensearch.action.admin.indices.stats.IndicesStatsResponse;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.ClusterChangedEvent;
 import org.opensearch.cluster.ClusterStateListener;
-import org.opensearch.cluster.metadata.AliasMetadata;
-import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexAbstraction;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.component.AbstractLifecycleComponent;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.ByteSizeValue;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.shard.DocsStats;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.findings.FindingsRollup;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
@@ -43,13 +42,18 @@ import org.opensearch.threadpool.ThreadPool;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ALERT_HISTORY_ENABLED;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ALERT_HISTORY_INDEX_MAX_AGE;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ALERT_HISTORY_MAX_DOCS;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ALERT_HISTORY_RETENTION_PERIOD;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.ALERT_HISTORY_ROLLOVER_PERIOD;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_ENABLED;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_INDEX_MAX_AGE;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_MAX_DOCS;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_ROLLOVER_PERIOD;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_ROLLOVER_MIN_DOCS;
 
 public class DetectorIndexManagementService extends AbstractLifecycleComponent implements ClusterStateListener {
 
@@ -58,6 +62,11 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
     private final Client client;
     private final ThreadPool threadPool;
     private final ClusterService clusterService;
+    private final HistoryIndexOptimizer historyIndexOptimizer;
+    private final HistoryIndexRetention alertHistoryRetention;
+    private final HistoryIndexRetention findingHistoryRetention;
+    private final FindingsRollup findingsRollup;
+    private final HistoryIndexTemplates historyIndexTemplates;
     private Settings settings;
 
     private volatile Boolean alertHistoryEnabled;
@@ -75,6 +84,11 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
     private volatile TimeValue alertHistoryRetentionPeriod;
     private volatile TimeValue findingHistoryRetentionPeriod;
 
+    private volatile ByteSizeValue alertHistoryMaxPrimaryShardSize;
+    private volatile ByteSizeValue findingHistoryMaxPrimaryShardSize;
+
+    private volatile Long historyRolloverMinDocs;
+
     private volatile boolean isClusterManager = false;
 
     private Scheduler.Cancellable scheduledAlertsRollover = null;
@@ -89,6 +103,11 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
         this.client = client;
         this.threadPool = threadPool;
         this.clusterService = clusterService;
+        this.historyIndexOptimizer = new HistoryIndexOptimizer(settings, client, clusterService);
+        this.alertHistoryRetention = new HistoryIndexRetention("Alert", DetectorMonitorConfig.getAllAlertsIndicesPatternForAllTypes(), client, threadPool);
+        this.findingHistoryRetention = new HistoryIndexRetention("Finding", DetectorMonitorConfig.getAllFindingsIndicesPatternForAllTypes(), client, threadPool);
+        this.findingsRollup = new FindingsRollup(settings, client, clusterService, threadPool);
+        this.historyIndexTemplates = new HistoryIndexTemplates(settings, client, clusterService, findingMapping(), alertMapping());
 
         clusterService.addListener(this);
 
@@ -130,6 +149,10 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
         });
         clusterService.getClusterSettings().addSettingsUpdateConsumer(FINDING_HISTORY_RETENTION_PERIOD, this::setFindingHistoryRetentionPeriod);
 
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE, this::setAlertHistoryMaxPrimaryShardSize);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE, this::setFindingHistoryMaxPrimaryShardSize);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(HISTORY_ROLLOVER_MIN_DOCS, this::setHistoryRolloverMinDocs);
+
         initFromClusterSettings();
 
         initAllIndexLists();
@@ -143,6 +166,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
                     String alertsHistoryIndexPattern = DetectorMonitorConfig.getAlertsHistoryIndexPattern(detectorType.getDetectorType());
 
                     alertHistoryIndices.add(new HistoryIndexInfo(
+                            detectorType.getDetectorType(),
                             alertsHistoryIndex,
                             alertsHistoryIndexPattern,
                             alertMapping(),
@@ -155,6 +179,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
                     String findingsIndexPattern = DetectorMonitorConfig.getFindingsIndexPattern(detectorType.getDetectorType());
 
                     findingHistoryIndices.add(new HistoryIndexInfo(
+                            detectorType.getDetectorType(),
                             findingsIndex,
                             findingsIndexPattern,
                             findingMapping(),
@@ -176,6 +201,9 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
         findingHistoryRolloverPeriod = FINDING_HISTORY_ROLLOVER_PERIOD.get(settings);
         alertHistoryRetentionPeriod = ALERT_HISTORY_RETENTION_PERIOD.get(settings);
         findingHistoryRetentionPeriod = FINDING_HISTORY_RETENTION_PERIOD.get(settings);
+        alertHistoryMaxPrimaryShardSize = ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE.get(settings);
+        findingHistoryMaxPrimaryShardSize = FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE.get(settings);
+        historyRolloverMinDocs = HISTORY_ROLLOVER_MIN_DOCS.get(settings);
     }
 
     @Override
@@ -191,6 +219,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
                 offMaster();
             }
         }
+        alertHistoryRetention.clusterChanged(event);
+        findingHistoryRetention.clusterChanged(event);
         for (HistoryIndexInfo h : alertHistoryIndices) {
             h.isInitialized = event.state().metadata().hasAlias(h.indexAlias);
         }
@@ -201,6 +231,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
 
     private void onMaster() {
         try {
+            // templates first, so that indices created by the rollover below already use them
+            historyIndexTemplates.updateTemplates();
             // try to rollover immediately as we might be restarting the cluster
             rolloverAlertHistoryIndices();
             rolloverFindingHistoryIndices();
@@ -232,199 +264,145 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
         return ThreadPool.Names.MANAGEMENT;
     }
 
-    private void deleteOldIndices(String tag, String... indices) {
-        logger.error("info deleteOldIndices");
-        ClusterStateRequest clusterStateRequest = new ClusterStateRequest()
-                .clear()
-                .indices(indices)
-                .metadata(true)
-                .local(true)
-                .indicesOptions(IndicesOptions.strictExpand());
-        client.admin().cluster().state(
-                clusterStateRequest,
-                new ActionListener<>() {
-                    @Override
-                    public void onResponse(ClusterStateResponse clusterStateResponse) {
-                        if (!clusterStateResponse.getState().metadata().getIndices().isEmpty()) {
-                            List<String> indicesToDelete = getIndicesToDelete(clusterStateResponse);
-                            logger.info("Checking if we should delete " + tag + " indices: [" + indicesToDelete + "]");
-                            deleteAllOldHistoryIndices(indicesToDelete);
-                        } else {
-                            logger.info("No Old " + tag + " Indices to delete");
-                        }
-                    }
+    private void rolloverAndDeleteAlertHistoryIndices() {
+        if (alertHistoryEnabled) rolloverAlertHistoryIndices();
+        // Indices rolled over before optimization was enabled, or whose optimization failed
+        historyIndexOptimizer.optimizeRolledOverIndices(clusterService.state().metadata(), DetectorMonitorConfig.getAllAlertsIndicesPatternForAllTypes());
+        alertHistoryRetention.deleteExpiredIndices(alertHistoryRetentionPeriod, alertHistoryEnabled, clusterService.state().metadata(), writeAliases(alertHistoryIndices));
+    }
 
-                    @Override
-                    public void onFailure(Exception e) {
-                        logger.error("Error fetching cluster state");
-                    }
+    private void rolloverAndDeleteFindingHistoryIndices() {
+        if (findingHistoryEnabled) rolloverFindingHistoryIndices();
+        historyIndexOptimizer.optimizeRolledOverIndices(clusterService.state().metadata(), DetectorMonitorConfig.getAllFindingsIndicesPatternForAllTypes());
+        // Findings are rolled up before they are deleted, retention only deletes the indices whose findings were all
+        // rolled up, so indices of a failed or unfinished rollup are kept until a later run rolled them up
+        findingsRollup.rollupAllTypes(ActionListener.wrap(
+                r -> deleteExpiredFindingIndices(),
+                e -> {
+                    logger.error("Failed to roll up findings", e);
+                    deleteExpiredFindingIndices();
                 }
+        ));
+    }
+
+    private void deleteExpiredFindingIndices() {
+        findingHistoryRetention.deleteExpiredIndices(
+                findingHistoryRetentionPeriod,
+                findingHistoryEnabled,
+                clusterService.state().metadata(),
+                writeAliases(findingHistoryIndices),
+                findingsRollup::filterRolledUpIndices
         );
     }
 
-    private List<String> getIndicesToDelete(ClusterStateResponse clusterStateResponse) {
-        List<String> indicesToDelete = new ArrayList<>();
-        for (ObjectCursor<IndexMetadata> in : clusterStateResponse.getState().metadata().indices().values()) {
-            IndexMetadata indexMetaData = in.value;
-            String indexToDelete = getHistoryIndexToDelete(indexMetaData, alertHistoryRetentionPeriod.millis(), alertHistoryIndices, alertHistoryEnabled);
-            if (indexToDelete != null) {
-                indicesToDelete.add(indexToDelete);
-            }
-            indexToDelete = getHistoryIndexToDelete(indexMetaData, findingHistoryRetentionPeriod.millis(), findingHistoryIndices, findingHistoryEnabled);
-            if (indexToDelete != null) {
-                indicesToDelete.add(indexToDelete);
-            }
-        }
-        return indicesToDelete;
+    private static Set<String> writeAliases(List<HistoryIndexInfo> historyIndices) {
+        return historyIndices.stream().map(h -> h.indexAlias).collect(Collectors.toSet());
     }
 
-    private String getHistoryIndexToDelete(
-            IndexMetadata indexMetadata,
-            Long retentionPeriodMillis,
-            List<HistoryIndexInfo> historyIndices,
-            Boolean historyEnabled
-    ) {
-        long creationTime = indexMetadata.getCreationDate();
-        if ((Instant.now().toEpochMilli() - creationTime) > retentionPeriodMillis) {
-            String alias = null;
-            for (ObjectCursor<AliasMetadata> aliasMetadata : indexMetadata.getAliases().values()) {
-                Optional<HistoryIndexInfo> historyIndexInfoOptional = historyIndices
-                        .stream()
-                        .filter(e -> e.indexAlias.equals(aliasMetadata.value.alias()))
-                        .findFirst();
-                if (historyIndexInfoOptional.isPresent()) {
-                    alias = historyIndexInfoOptional.get().indexAlias;
-                    break;
-                }
-            }
-            if (alias != null) {
-                if (historyEnabled) {
-                    // If the index has the write alias and history is enabled, don't delete the index
-                    return null;
-                }
-            }
-            return indexMetadata.getIndex().getName();
+    private void rolloverIndex(HistoryIndexInfo h, ByteSizeValue maxPrimaryShardSize) {
+        if (!h.isInitialized) {
+            return;
         }
-        return null;
-    }
-
-    private void deleteAllOldHistoryIndices(List<String> indicesToDelete) {
-        if (indicesToDelete.size() > 0) {
-            DeleteIndexRequest deleteIndexRequest = new DeleteIndexRequest(indicesToDelete.toArray(new String[0]));
-            client.admin().indices().delete(
-                    deleteIndexRequest,
-                    new ActionListener<>() {
-                        @Override
-                        public void onResponse(AcknowledgedResponse deleteIndicesResponse) {
-                            if (!deleteIndicesResponse.isAcknowledged()) {
-                                logger.error(
-                                        "Could not delete one or more Alerting/Finding history indices: [" + indicesToDelete + "]. Retrying one by one."
-                                );
-                                deleteOldHistoryIndex(indicesToDelete);
-                            } else {
-                                logger.info("Succsessfuly deleted indices: [" + indicesToDelete + "]");
-                            }
-                        }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            logger.error("Delete for Alerting/Finding History Indices failed: [" + indicesToDelete + "]. Retrying one By one.");
-                            deleteOldHistoryIndex(indicesToDelete);
-                        }
-                    }
-            );
+        // Rollover conditions of this version do not include a primary shard size or a min docs condition,
+        // so the size condition is derived from the number of primary shards and the docs floor is checked here
+        IndexAbstraction alias = clusterService.state().metadata().getIndicesLookup().get(h.indexAlias);
+        int primaryShards = alias != null && alias.getWriteIndex() != null ? alias.getWriteIndex().getNumberOfShards() : 1;
+        long minDocs = historyRolloverMinDocs;
+        if (minDocs <= 0) {
+            // without a docs floor the number of documents does not matter
+            executeRollover(h, buildRolloverRequest(h.indexAlias, h.indexPattern, h.indexMappings, h.maxDocs, h.maxAge, maxPrimaryShardSize, primaryShards, 0L, 0L));
+            return;
         }
-    }
-
-    private void deleteOldHistoryIndex(List<String> indicesToDelete) {
-        for (String index : indicesToDelete) {
-            final DeleteIndexRequest singleDeleteRequest = new DeleteIndexRequest(indicesToDelete.toArray(new String[0]));
+        IndicesStatsRequest statsRequest = new IndicesStatsRequest().indices(h.indexAlias).clear().docs(true);
+        client.admin().indices().stats(statsRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(IndicesStatsResponse statsResponse) {
+                DocsStats docsStats = statsResponse.getPrimaries().getDocs();
+                RolloverRequest request = buildRolloverRequest(
+                        h.indexAlias, h.indexPattern, h.indexMappings,
+                        h.maxDocs, h.maxAge, maxPrimaryShardSize,
+                        primaryShards, docsStats != null ? docsStats.getCount() : 0L, minDocs
+                );
+                executeRollover(h, request);
+            }
 
-            client.admin().indices().delete(
-                    singleDeleteRequest,
-                    new ActionListener<>() {
-                        @Override
-                        public void onResponse(AcknowledgedResponse acknowledgedResponse) {
-                            if (!acknowledgedResponse.isAcknowledged()) {
-                                logger.error("Could not delete one or more Alerting/Finding history indices: " + index);
-                            }
-                        }
+            @Override
+            public void onFailure(Exception e) {
+                logger.error("Failed to get stats of index [" + h.indexAlias + "] to roll it over.", e);
+            }
+        });
+    }
 
-                        @Override
-                        public void onFailure(Exception e) {
-                            logger.debug("Exception: [" + e.getMessage() + "] while deleting the index " + index);
+    private void executeRollover(HistoryIndexInfo h, RolloverRequest request) {
+        client.admin().indices().rolloverIndex(
+                request,
+                new ActionListener<>() {
+                    @Override
+                    public void onResponse(RolloverResponse rolloverResponse) {
+                        if (!rolloverResponse.isRolledOver()) {
+                            logger.info(h.indexAlias + "not rolled over. Conditions were: " + rolloverResponse.getConditionStatus());
+                        } else {
+                            historyIndexOptimizer.optimize(rolloverResponse.getOldIndex());
                         }
                     }
-            );
-        }
-    }
 
-    private void rolloverAndDeleteAlertHistoryIndices() {
-        if (alertHistoryEnabled) rolloverAlertHistoryIndices();
-        deleteOldIndices("Alert", DetectorMonitorConfig.getAllAlertsIndicesPatternForAllTypes().toArray(new String[0]));
-    }
-
-    private void rolloverAndDeleteFindingHistoryIndices() {
-        if (findingHistoryEnabled) rolloverFindingHistoryIndices();
-        deleteOldIndices("Finding", DetectorMonitorConfig.getAllFindingsIndicesPatternForAllTypes().toArray(new String[0]));
+                    @Override
+                    public void onFailure(Exception e) {
+                        logger.error("rollover failed for index [" + h.indexAlias + "].");
+                    }
+                }
+        );
     }
 
-    private void rolloverIndex(
-            Boolean initialized,
+    static RolloverRequest buildRolloverRequest(
             String index,
             String pattern,
             String map,
             Long docsCondition,
-            TimeValue ageCondition
+            TimeValue ageCondition,
+            ByteSizeValue maxPrimaryShardSize,
+            int primaryShards,
+            long docs,
+            long minDocs
     ) {
-        if (!initialized) {
-            return;
-        }
-
         // We have to pass null for newIndexName in order to get Elastic to increment the index count.
         RolloverRequest request = new RolloverRequest(index, null);
         request.getCreateIndexRequest().index(pattern)
                 .mapping(map)
                 .settings(Settings.builder().put("index.hidden", true).build());
         request.addMaxIndexDocsCondition(docsCondition);
-        request.addMaxIndexAgeCondition(ageCondition);
-        client.admin().indices().rolloverIndex(
-                request,
-                new ActionListener<>() {
-                    @Override
-                    public void onResponse(RolloverResponse rolloverResponse) {
-                        if (!rolloverResponse.isRolledOver()) {
-                            logger.info(index + "not rolled over. Conditions were: " + rolloverResponse.getConditionStatus());
-                        }
-                    }
-
-                    @Override
-                    public void onFailure(Exception e) {
-                        logger.error("rollover failed for index [" + index + "].");
-                    }
-                }
-        );
+        if (docs >= minDocs) {
+            request.addMaxIndexAgeCondition(ageCondition);
+        }
+        if (maxPrimaryShardSize.getBytes() > 0) {
+            long maxSize = maxPrimaryShardSize.getBytes() > Long.MAX_VALUE / primaryShards ?
+                    Long.MAX_VALUE :
+                    maxPrimaryShardSize.getBytes() * primaryShards;
+            request.addMaxIndexSizeCondition(new ByteSizeValue(maxSize));
+        }
+        return request;
     }
 
     private void rolloverAlertHistoryIndices() {
         for(HistoryIndexInfo h : alertHistoryIndices) {
-            rolloverIndex(
-                h.isInitialized, h.indexAlias,
-                h.indexPattern, h.indexMappings,
-                h.maxDocs, h.maxAge
-            );
+            rolloverIndex(h, maxPrimaryShardSize(h, ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE, alertHistoryMaxPrimaryShardSize));
         }
     }
     private void rolloverFindingHistoryIndices() {
         for (HistoryIndexInfo h : findingHistoryIndices) {
-            rolloverIndex(
-                h.isInitialized, h.indexAlias,
-                h.indexPattern, h.indexMappings,
-                h.maxDocs, h.maxAge
-            );
+            rolloverIndex(h, maxPrimaryShardSize(h, FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE, findingHistoryMaxPrimaryShardSize));
         }
     }
 
+    /**
+     * @return shard size override of the detector type of the history index, or the default shard size
+     */
+    private ByteSizeValue maxPrimaryShardSize(HistoryIndexInfo h, Setting.AffixSetting<ByteSizeValue> overrides, ByteSizeValue defaultSize) {
+        ByteSizeValue override = clusterService.getClusterSettings().get(overrides.getConcreteSettingForNamespace(h.detectorType));
+        return override.getBytes() >= 0 ? override : defaultSize;
+    }
+
     private void rescheduleAlertRollover() {
         if (clusterService.state().getNodes().isLocalNodeElectedMaster()) {
             if (scheduledAlertsRollover != null) {
@@ -511,6 +489,18 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
         this.findingHistoryRetentionPeriod = findingHistoryRetentionPeriod;
     }
 
+    public void setAlertHistoryMaxPrimaryShardSize(ByteSizeValue alertHistoryMaxPrimaryShardSize) {
+        this.alertHistoryMaxPrimaryShardSize = alertHistoryMaxPrimaryShardSize;
+    }
+
+    public void setFindingHistoryMaxPrimaryShardSize(ByteSizeValue findingHistoryMaxPrimaryShardSize) {
+        this.findingHistoryMaxPrimaryShardSize = findingHistoryMaxPrimaryShardSize;
+    }
+
+    public void setHistoryRolloverMinDocs(Long historyRolloverMinDocs) {
+        this.historyRolloverMinDocs = historyRolloverMinDocs;
+    }
+
     public void setClusterManager(boolean clusterManager) {
         isClusterManager = clusterManager;
     }
@@ -542,6 +532,7 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
 
     private static class HistoryIndexInfo {
 
+        String detectorType;
         String indexAlias;
         String indexPattern;
         String indexMappings;
@@ -549,7 +540,8 @@ public class DetectorIndexManagementService extends AbstractLifecycleComponent i
         TimeValue maxAge;
         boolean isInitialized;
 
-        public HistoryIndexInfo(String indexAlias, String indexPattern, String indexMappings, Long maxDocs, TimeValue maxAge, boolean isInitialized) {
+        public HistoryIndexInfo(String detectorType, String indexAlias, String indexPattern, String indexMappings, Long maxDocs, TimeValue maxAge, boolean isInitialized) {
+            this.detectorType = detectorType;
             this.indexAlias = indexAlias;
             this.indexPattern = indexPattern;
             this.indexMappings = indexMappings;
@@ -0,0 +1,333 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import com.carrotsearch.hppc.cursors.ObjectCursor;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.opensearch.action.admin.indices.close.CloseIndexRequest;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.opensearch.action.admin.indices.open.OpenIndexRequest;
+import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.admin.indices.shrink.ResizeRequest;
+import org.opensearch.action.admin.indices.shrink.ResizeType;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.routing.ShardRouting;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.codec.CodecService;
+import org.opensearch.index.engine.EngineConfig;
+
+
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_BEST_COMPRESSION;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_FORCE_MERGE_MAX_NUM_SEGMENTS;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_OPTIMIZATION_ENABLED;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_OPTIMIZATION_MAX_CONCURRENT;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_SHRINK_NUMBER_OF_SHARDS;
+
+/**
+ * Optimizes alert and finding history indices once they were rolled over and no longer receive writes: switches
+ * them to best_compression, force merges them, optionally shrinks them to fewer primaries and marks them read-only.
+ *
+ * Indices are queued and optimized by a bounded number of workers, as force merges and shrinks are expensive.
+ * The write block is applied last and marks an index as optimized, an index whose optimization failed halfway is
+ * queued again on the next rollover.
+ */
+public class HistoryIndexOptimizer {
+
+    private static final Logger log = LogManager.getLogger(HistoryIndexOptimizer.class);
+
+    static final String SHRUNK_INDEX_SUFFIX = "-shrunk";
+
+    private static final TimeValue SHRINK_ALLOCATION_TIMEOUT = TimeValue.timeValueMinutes(30);
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private volatile boolean enabled;
+    private volatile int maxNumSegments;
+    private volatile boolean bestCompression;
+    private volatile int shrinkNumberOfShards;
+    private volatile int maxConcurrent;
+
+    public HistoryIndexOptimizer(Settings settings, Client client, ClusterService clusterService) {
+        this.client = client;
+        this.clusterService = clusterService;
+
+        this.enabled = HISTORY_INDEX_OPTIMIZATION_ENABLED.get(settings);
+        this.maxNumSegments = HISTORY_INDEX_FORCE_MERGE_MAX_NUM_SEGMENTS.get(settings);
+        this.bestCompression = HISTORY_INDEX_BEST_COMPRESSION.get(settings);
+        this.shrinkNumberOfShards = HISTORY_INDEX_SHRINK_NUMBER_OF_SHARDS.get(settings);
+        this.maxConcurrent = HISTORY_INDEX_OPTIMIZATION_MAX_CONCURRENT.get(settings);
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(HISTORY_INDEX_OPTIMIZATION_ENABLED, value -> this.enabled = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(HISTORY_INDEX_FORCE_MERGE_MAX_NUM_SEGMENTS, value -> this.maxNumSegments = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(HISTORY_INDEX_BEST_COMPRESSION, value -> this.bestCompression = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(HISTORY_INDEX_SHRINK_NUMBER_OF_SHARDS, value -> this.shrinkNumberOfShards = value);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(HISTORY_INDEX_OPTIMIZATION_MAX_CONCURRENT, value -> {
+            this.maxConcurrent = value;
+            startWorkers();
+        });
+    }
+
+    /**
+     * Queues the rolled over history indices matching the patterns that were not optimized yet.
+     */
+    public void optimizeRolledOverIndices(Metadata metadata, List<String> indexPatterns) {
+        if (!enabled) {
+            return;
+        }
+        String[] patterns = indexPatterns.toArray(new String[0]);
+        for (ObjectCursor<IndexMetadata> indexMetadata : metadata.indices().values()) {
+            if (needsOptimization(indexMetadata.value, patterns)) {
+                queue(indexMetadata.value.getIndex().getName());
+            }
+        }
+        startWorkers();
+    }
+
+    /**
+     * Queues a history index that was just rolled over.
+     */
+    public void optimize(String index) {
+        if (!enabled) {
+            return;
+        }
+        queue(index);
+        startWorkers();
+    }
+
+    static boolean needsOptimization(IndexMetadata indexMetadata, String[] patterns) {
+        // The active alerts index matches the alerts pattern as well, only indices that rolled over are optimized
+        return indexMetadata.getState() == IndexMetadata.State.OPEN &&
+                indexMetadata.getRolloverInfos().isEmpty() == false &&
+                IndexMetadata.INDEX_BLOCKS_WRITE_SETTING.get(indexMetadata.getSettings()) == false &&
+                Regex.simpleMatch(patterns, indexMetadata.getIndex().getName());
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+
+    private void queue(String index) {
+        if (queued.add(index)) {
+            pending.add(index);
+        }
+    }
+
+    private void startWorkers() {
+        while (true) {
+            int current = running.get();
+            if (current >= maxConcurrent || pending.isEmpty()) {
+                return;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                optimizeNext();
+            }
+        }
+    }
+
+    private void optimizeNext() {
+        String index = pending.poll();
+        if (index != null && !enabled) {
+            queued.remove(index);
+            pending.forEach(queued::remove);
+            pending.clear();
+            index = null;
+        }
+        if (index == null) {
+            running.decrementAndGet();
+            // An index may have been queued between the poll and the decrement
+            startWorkers();
+            return;
+        }
+        String optimizing = index;
+        optimizeIndex(optimizing, ActionListener.wrap(
+                optimizedIndex -> {
+                    log.info("Optimized history index [" + optimizing + "] into [" + optimizedIndex + "]");
+                    queued.remove(optimizing);
+                    optimizeNext();
+                },
+                e -> {
+                    log.error("Failed to optimize history index [" + optimizing + "]", e);
+                    queued.remove(optimizing);
+                    optimizeNext();
+                }
+        ));
+    }
+
+    private void optimizeIndex(String index, ActionListener<String> listener) {
+        IndexMetadata indexMetadata = clusterService.state().metadata().index(index);
+        if (indexMetadata == null) {
+            // Deleted by retention in the meantime
+            listener.onResponse(index);
+            return;
+        }
+        int numberOfShards = indexMetadata.getNumberOfShards();
+        if (shrinkNumberOfShards > 0 && shrinkNumberOfShards < numberOfShards && numberOfShards % shrinkNumberOfShards == 0) {
+            shrink(indexMetadata, ActionListener.wrap(
+                    target -> forceMerge(target, listener),
+                    listener::onFailure
+            ));
+        } else {
+            ActionListener<String> forceMergeAndBlock = ActionListener.wrap(
+                    ignored -> forceMerge(index, ActionListener.wrap(
+                            merged -> setReadOnly(index, listener),
+                            listener::onFailure
+                    )),
+                    listener::onFailure
+            );
+            if (bestCompression && !CodecService.BEST_COMPRESSION_CODEC.equals(EngineConfig.INDEX_CODEC_SETTING.get(indexMetadata.getSettings()))) {
+                setBestCompression(index, forceMergeAndBlock);
+            } else {
+                forceMergeAndBlock.onResponse(index);
+            }
+        }
+    }
+
+    /**
+     * The codec is a static index setting, the index is closed while it is changed. Segments are only rewritten
+     * with the new codec by the following force merge.
+     */
+    private void setBestCompression(String index, ActionListener<String> listener) {
+        client.admin().indices().close(new CloseIndexRequest(index), ActionListener.wrap(
+                closeIndexResponse -> {
+                    UpdateSettingsRequest updateSettingsRequest = new UpdateSettingsRequest(index)
+                            .settings(Settings.builder().put(EngineConfig.INDEX_CODEC_SETTING.getKey(), CodecService.BEST_COMPRESSION_CODEC));
+                    client.admin().indices().updateSettings(updateSettingsRequest, ActionListener.wrap(
+                            updated -> open(index, listener, null),
+                            e -> open(index, listener, e)
+                    ));
+                },
+                listener::onFailure
+        ));
+    }
+
+    private void open(String index, ActionListener<String> listener, Exception failure) {
+        client.admin().indices().open(new OpenIndexRequest(index), ActionListener.wrap(
+                openIndexResponse -> {
+                    if (failure != null) {
+                        listener.onFailure(failure);
+                    } else {
+                        listener.onResponse(index);
+                    }
+                },
+                e -> {
+                    if (failure != null) {
+                        e.addSuppressed(failure);
+                    }
+                    listener.onFailure(e);
+                }
+        ));
+    }
+
+    private void forceMerge(String index, ActionListener<String> listener) {
+        ForceMergeRequest forceMergeRequest = new ForceMergeRequest(index).maxNumSegments(maxNumSegments);
+        client.admin().indices().forceMerge(forceMergeRequest, ActionListener.wrap(
+                forceMergeResponse -> listener.onResponse(index),
+                listener::onFailure
+        ));
+    }
+
+    private void setReadOnly(String index, ActionListener<String> listener) {
+        UpdateSettingsRequest updateSettingsRequest = new UpdateSettingsRequest(index)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_BLOCKS_WRITE, true));
+        client.admin().indices().updateSettings(updateSettingsRequest, ActionListener.wrap(
+                updated -> listener.onResponse(index),
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Shrinks the index into a read-only copy with fewer primaries and deletes it. A copy of every shard has to be
+     * on the same node, so the index is write blocked, its replicas dropped and its shards moved to the node of its
+     * first primary before it is shrunk.
+     */
+    private void shrink(IndexMetadata indexMetadata, ActionListener<String> listener) {
+        String index = indexMetadata.getIndex().getName();
+        ShardRouting primary = clusterService.state().routingTable().index(index).shard(0).primaryShard();
+        if (primary == null || primary.assignedToNode() == false) {
+            listener.onFailure(new IllegalStateException("primary of [" + index + "] is not assigned"));
+            return;
+        }
+        String nodeName = clusterService.state().nodes().get(primary.currentNodeId()).getName();
+
+        UpdateSettingsRequest prepareRequest = new UpdateSettingsRequest(index).settings(Settings.builder()
+                .put(IndexMetadata.SETTING_BLOCKS_WRITE, true)
+                .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+                .put(IndexMetadata.INDEX_ROUTING_REQUIRE_GROUP_PREFIX + "._name", nodeName));
+        ActionListener<String> restoreOnFailure = ActionListener.wrap(listener::onResponse, e -> {
+            // Give the index its replicas back, it stays write blocked as it was rolled over
+            UpdateSettingsRequest restoreRequest = new UpdateSettingsRequest(index).settings(Settings.builder()
+                    .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, indexMetadata.getNumberOfReplicas())
+                    .putNull(IndexMetadata.INDEX_ROUTING_REQUIRE_GROUP_PREFIX + "._name"));
+            client.admin().indices().updateSettings(restoreRequest, ActionListener.wrap(
+                    restored -> listener.onFailure(e),
+                    restoreFailure -> {
+                        e.addSuppressed(restoreFailure);
+                        listener.onFailure(e);
+                    }
+            ));
+        });
+        client.admin().indices().updateSettings(prepareRequest, ActionListener.wrap(updated -> {
+            ClusterHealthRequest healthRequest = new ClusterHealthRequest(index)
+                    .waitForNoRelocatingShards(true)
+                    .waitForNoInitializingShards(true)
+                    .timeout(SHRINK_ALLOCATION_TIMEOUT);
+            client.admin().cluster().health(healthRequest, ActionListener.wrap(health -> {
+                if (health.isTimedOut()) {
+                    restoreOnFailure.onFailure(new IllegalStateException("shards of [" + index + "] were not moved to [" + nodeName + "] in time"));
+                    return;
+                }
+                String target = index + SHRUNK_INDEX_SUFFIX;
+                client.admin().indices().resizeIndex(buildShrinkRequest(indexMetadata, target, shrinkNumberOfShards, bestCompression), ActionListener.wrap(
+                        resizeResponse -> client.admin().indices().delete(new DeleteIndexRequest(index), ActionListener.wrap(
+                                deleted -> listener.onResponse(target),
+                                listener::onFailure
+                        )),
+                        restoreOnFailure::onFailure
+                ));
+            }, restoreOnFailure::onFailure));
+        }, listener::onFailure));
+    }
+
+    static ResizeRequest buildShrinkRequest(IndexMetadata source, String target, int numberOfShards, boolean bestCompression) {
+        ResizeRequest resizeRequest = new ResizeRequest(target, source.getIndex().getName());
+        resizeRequest.setResizeType(ResizeType.SHRINK);
+        Settings.Builder targetSettings = Settings.builder()
+                .put(IndexMetadata.SETTING_NUMBER_OF_SHARDS, numberOfShards)
+                .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, source.getNumberOfReplicas())
+                .put(IndexMetadata.SETTING_BLOCKS_WRITE, true)
+                .put("index.hidden", true)
+                // Retention goes by creation date, the shrunk index keeps the one of its source
+                .put(IndexMetadata.SETTING_CREATION_DATE, source.getCreationDate())
+                .putNull(IndexMetadata.INDEX_ROUTING_REQUIRE_GROUP_PREFIX + "._name");
+        if (bestCompression) {
+            targetSettings.put(EngineConfig.INDEX_CODEC_SETTING.getKey(), CodecService.BEST_COMPRESSION_CODEC);
+        }
+        resizeRequest.getTargetIndexRequest().settings(targetSettings);
+        return resizeRequest;
+    }
+}
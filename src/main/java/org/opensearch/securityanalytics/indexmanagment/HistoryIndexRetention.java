@@ -0,0 +1,275 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import com.carrotsearch.hppc.cursors.ObjectCursor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.bulk.BackoffPolicy;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.index.Index;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.threadpool.ThreadPool;
+
+/**
+ * Tracks the alert or finding history indices of all detector types sorted by creation date, so that the indices
+ * past retention are found without scanning the cluster state on every run.
+ *
+ * The tracked indices are built from the cluster state once the local node becomes cluster manager and then kept
+ * up to date from the created and deleted indices of every cluster changed event. Expired indices are deleted in
+ * batches, indices of a failed batch are retried one by one with backoff.
+ */
+public class HistoryIndexRetention {
+
+    private static final Logger log = LogManager.getLogger(HistoryIndexRetention.class);
+
+    static final int DELETE_BATCH_SIZE = 100;
+
+    static final TimeValue RETRY_INITIAL_DELAY = TimeValue.timeValueSeconds(1);
+    static final int MAX_RETRIES = 3;
+
+    private static final Comparator<HistoryIndex> OLDEST_FIRST =
+            Comparator.comparingLong((HistoryIndex h) -> h.creationDate).thenComparing(h -> h.name);
+
+    private final String tag;
+
+    private final String[] patterns;
+
+    private final Client client;
+
+    private final ThreadPool threadPool;
+
+    private final NavigableSet<HistoryIndex> indices = new TreeSet<>(OLDEST_FIRST);
+
+    private final Map<String, HistoryIndex> indicesByName = new HashMap<>();
+
+    private final Set<String> deleting = ConcurrentHashMap.newKeySet();
+
+    private boolean tracking = false;
+
+    /**
+     * @param tag Alert or Finding, used in logs
+     * @param patterns patterns of the history indices of all detector types
+     */
+    public HistoryIndexRetention(String tag, List<String> patterns, Client client, ThreadPool threadPool) {
+        this.tag = tag;
+        this.patterns = patterns.toArray(new String[0]);
+        this.client = client;
+        this.threadPool = threadPool;
+    }
+
+    public synchronized void clusterChanged(ClusterChangedEvent event) {
+        if (event.localNodeClusterManager() == false) {
+            // Only the cluster manager deletes history indices
+            if (tracking) {
+                indices.clear();
+                indicesByName.clear();
+                tracking = false;
+            }
+            return;
+        }
+        if (tracking == false) {
+            for (ObjectCursor<IndexMetadata> indexMetadata : event.state().metadata().indices().values()) {
+                add(indexMetadata.value);
+            }
+            tracking = true;
+            return;
+        }
+        if (event.metadataChanged() == false) {
+            return;
+        }
+        for (Index index : event.indicesDeleted()) {
+            remove(index.getName());
+        }
+        for (String index : event.indicesCreated()) {
+            IndexMetadata indexMetadata = event.state().metadata().index(index);
+            if (indexMetadata != null) {
+                add(indexMetadata);
+            }
+        }
+    }
+
+    private void add(IndexMetadata indexMetadata) {
+        String name = indexMetadata.getIndex().getName();
+        if (Regex.simpleMatch(patterns, name) && indicesByName.containsKey(name) == false) {
+            HistoryIndex historyIndex = new HistoryIndex(name, indexMetadata.getCreationDate());
+            indices.add(historyIndex);
+            indicesByName.put(name, historyIndex);
+        }
+    }
+
+    private synchronized void remove(String name) {
+        HistoryIndex historyIndex = indicesByName.remove(name);
+        if (historyIndex != null) {
+            indices.remove(historyIndex);
+        }
+    }
+
+    /**
+     * @param writeAliases aliases of the current history write indices, kept while history is enabled
+     * @return tracked indices created before the retention period, oldest first
+     */
+    synchronized List<String> getExpiredIndices(long nowMillis, TimeValue retentionPeriod, boolean historyEnabled, Metadata metadata, Set<String> writeAliases) {
+        List<String> expired = new ArrayList<>();
+        long createdBefore = nowMillis - retentionPeriod.millis();
+        for (HistoryIndex historyIndex : indices) {
+            if (historyIndex.creationDate >= createdBefore) {
+                break;
+            }
+            if (deleting.contains(historyIndex.name)) {
+                continue;
+            }
+            if (historyEnabled && hasWriteAlias(metadata.index(historyIndex.name), writeAliases)) {
+                continue;
+            }
+            expired.add(historyIndex.name);
+        }
+        return expired;
+    }
+
+    private static boolean hasWriteAlias(IndexMetadata indexMetadata, Set<String> writeAliases) {
+        if (indexMetadata == null) {
+            return false;
+        }
+        for (String alias : writeAliases) {
+            if (indexMetadata.getAliases().containsKey(alias)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int size() {
+        return indicesByName.size();
+    }
+
+    /**
+     * Deletes the history indices created before the retention period.
+     */
+    public void deleteExpiredIndices(TimeValue retentionPeriod, boolean historyEnabled, Metadata metadata, Set<String> writeAliases) {
+        deleteExpiredIndices(retentionPeriod, historyEnabled, metadata, writeAliases, (expired, listener) -> listener.onResponse(expired));
+    }
+
+    /**
+     * Deletes the history indices created before the retention period that are kept by deletableFilter.
+     * @param deletableFilter completes its listener with the expired indices that can be deleted now, the others are
+     *                        checked again on the next run
+     */
+    public void deleteExpiredIndices(
+            TimeValue retentionPeriod,
+            boolean historyEnabled,
+            Metadata metadata,
+            Set<String> writeAliases,
+            BiConsumer<List<String>, ActionListener<List<String>>> deletableFilter
+    ) {
+        List<String> expired = getExpiredIndices(threadPool.absoluteTimeInMillis(), retentionPeriod, historyEnabled, metadata, writeAliases);
+        if (expired.isEmpty()) {
+            log.debug("No old " + tag + " indices to delete");
+            return;
+        }
+        deletableFilter.accept(expired, ActionListener.wrap(
+                deletable -> {
+                    if (deletable.size() < expired.size()) {
+                        log.info("Keeping old " + tag + " indices until they can be deleted: " +
+                                expired.stream().filter(index -> deletable.contains(index) == false).collect(Collectors.toList()));
+                    }
+                    if (deletable.isEmpty()) {
+                        return;
+                    }
+                    log.info("Deleting old " + tag + " indices: " + deletable);
+                    for (int i = 0; i < deletable.size(); i += DELETE_BATCH_SIZE) {
+                        deleteBatch(deletable.subList(i, Math.min(i + DELETE_BATCH_SIZE, deletable.size())));
+                    }
+                },
+                e -> log.error("Failed to check which old " + tag + " indices can be deleted: " + expired, e)
+        ));
+    }
+
+    private void deleteBatch(List<String> batch) {
+        List<String> batchIndices = new ArrayList<>(batch);
+        deleting.addAll(batchIndices);
+        client.admin().indices().delete(new DeleteIndexRequest(batchIndices.toArray(new String[0])), ActionListener.wrap(
+                response -> {
+                    if (response.isAcknowledged()) {
+                        batchIndices.forEach(this::deleted);
+                    } else {
+                        log.error("Could not delete one or more " + tag + " history indices: " + batchIndices + ". Retrying one by one.");
+                        batchIndices.forEach(index -> deleteIndex(index, BackoffPolicy.exponentialBackoff(RETRY_INITIAL_DELAY, MAX_RETRIES).iterator()));
+                    }
+                },
+                e -> {
+                    log.error("Delete of " + tag + " history indices failed: " + batchIndices + ". Retrying one by one.", e);
+                    batchIndices.forEach(index -> deleteIndex(index, BackoffPolicy.exponentialBackoff(RETRY_INITIAL_DELAY, MAX_RETRIES).iterator()));
+                }
+        ));
+    }
+
+    private void deleteIndex(String index, Iterator<TimeValue> backoff) {
+        client.admin().indices().delete(new DeleteIndexRequest(index), ActionListener.wrap(
+                response -> {
+                    if (response.isAcknowledged()) {
+                        deleted(index);
+                    } else {
+                        retry(index, backoff, null);
+                    }
+                },
+                e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                        deleted(index);
+                    } else {
+                        retry(index, backoff, e);
+                    }
+                }
+        ));
+    }
+
+    private void retry(String index, Iterator<TimeValue> backoff, Exception e) {
+        if (backoff.hasNext()) {
+            TimeValue delay = backoff.next();
+            log.debug("Retrying delete of " + tag + " history index [" + index + "] in " + delay, e);
+            threadPool.schedule(() -> deleteIndex(index, backoff), delay, ThreadPool.Names.MANAGEMENT);
+        } else {
+            // Left for the next run
+            log.error("Could not delete " + tag + " history index [" + index + "]", e);
+            deleting.remove(index);
+        }
+    }
+
+    private void deleted(String index) {
+        remove(index);
+        deleting.remove(index);
+    }
+
+    private static class HistoryIndex {
+
+        private final String name;
+        private final long creationDate;
+
+        HistoryIndex(String name, long creationDate) {
+            this.name = name;
+            this.creationDate = creationDate;
+        }
+    }
+}
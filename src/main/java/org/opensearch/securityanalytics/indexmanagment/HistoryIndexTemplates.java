@@ -0,0 +1,175 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.indexmanagment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceNotFoundException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.template.delete.DeleteComposableIndexTemplateAction;
+import org.opensearch.action.admin.indices.template.put.PutComposableIndexTemplateAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.metadata.ComposableIndexTemplate;
+import org.opensearch.cluster.metadata.Template;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
+import org.opensearch.securityanalytics.model.Detector;
+
+
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_SORTING_ENABLED;
+
+/**
+ * Manages the index templates of finding and alert history indices, which sort new history indices by time so that
+ * time range queries and searches sorted by time skip most segments and terminate early.
+ *
+ * Index sorting only applies to indices created after the templates were put, existing history indices stay unsorted
+ * until they are rolled over. The templates only hold settings, mappings are still set by alerting and on rollover.
+ * Indices with nested fields cannot be sorted, so no template is put for history indices whose mapping has nested
+ * fields and a template put before is deleted, as it would fail the creation and rollover of those indices.
+ */
+public class HistoryIndexTemplates {
+
+    private static final Logger log = LogManager.getLogger(HistoryIndexTemplates.class);
+
+    static final String FINDINGS_TEMPLATE = ".opensearch-sap-findings-template";
+    static final String ALERTS_HISTORY_TEMPLATE = ".opensearch-sap-alerts-history-template";
+
+    static final String FINDINGS_SORT_FIELD = "timestamp";
+    static final String ALERTS_SORT_FIELD = "start_time";
+
+    private static final long TEMPLATE_PRIORITY = 100L;
+    private static final long TEMPLATE_VERSION = 1L;
+
+    private final Client client;
+
+    private final ClusterService clusterService;
+
+    private final boolean findingsSortable;
+
+    private final boolean alertsSortable;
+
+    private volatile boolean enabled;
+
+    /**
+     * @param findingMapping mapping of the finding history indices
+     * @param alertMapping mapping of the alert history indices
+     */
+    public HistoryIndexTemplates(Settings settings, Client client, ClusterService clusterService, String findingMapping, String alertMapping) {
+        this.client = client;
+        this.clusterService = clusterService;
+        this.findingsSortable = isSortable(findingMapping);
+        this.alertsSortable = isSortable(alertMapping);
+        this.enabled = HISTORY_INDEX_SORTING_ENABLED.get(settings);
+
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(HISTORY_INDEX_SORTING_ENABLED, value -> {
+            this.enabled = value;
+            if (clusterService.state().getNodes().isLocalNodeElectedMaster()) {
+                updateTemplates();
+            }
+        });
+    }
+
+    /**
+     * Puts the templates of the sortable history indices when index sorting is enabled and deletes the others.
+     */
+    public void updateTemplates() {
+        updateTemplate(FINDINGS_TEMPLATE, findingsSortable, DetectorMonitorConfig.getAllFindingsIndicesPatternForAllTypes(), FINDINGS_SORT_FIELD);
+        updateTemplate(ALERTS_HISTORY_TEMPLATE, alertsSortable, alertsHistoryIndicesPatterns(), ALERTS_SORT_FIELD);
+    }
+
+    private void updateTemplate(String name, boolean sortable, List<String> indexPatterns, String sortField) {
+        if (enabled && sortable) {
+            putTemplate(name, buildTemplate(indexPatterns, sortField));
+            return;
+        }
+        if (enabled) {
+            log.info("History indices of template " + name + " have nested fields and are not sorted");
+        }
+        deleteTemplate(name);
+    }
+
+    private static boolean isSortable(String mapping) {
+        if (mapping == null) {
+            return false;
+        }
+        try {
+            return hasNestedFields(XContentHelper.convertToMap(JsonXContent.jsonXContent, mapping, false)) == false;
+        } catch (Exception e) {
+            log.error("Failed to parse history index mapping", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return whether the mapping, or the properties of an object field, have a nested field at any depth
+     */
+    @SuppressWarnings("unchecked")
+    static boolean hasNestedFields(Map<String, Object> mapping) {
+        Object properties = mapping.get("properties");
+        if (properties instanceof Map == false) {
+            return false;
+        }
+        for (Object field : ((Map<String, Object>) properties).values()) {
+            if (field instanceof Map == false) {
+                continue;
+            }
+            Map<String, Object> fieldMapping = (Map<String, Object>) field;
+            if ("nested".equals(fieldMapping.get("type")) || hasNestedFields(fieldMapping)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ComposableIndexTemplate buildTemplate(List<String> indexPatterns, String sortField) {
+        Settings settings = Settings.builder()
+                .putList("index.sort.field", sortField)
+                .putList("index.sort.order", "desc")
+                .build();
+        return new ComposableIndexTemplate(indexPatterns, new Template(settings, null, null), null, TEMPLATE_PRIORITY, TEMPLATE_VERSION, null);
+    }
+
+    static List<String> alertsHistoryIndicesPatterns() {
+        // The active alerts index is updated in place and keeps its insertion order
+        List<String> patterns = new ArrayList<>();
+        for (Detector.DetectorType detectorType : Detector.DetectorType.values()) {
+            patterns.add(DetectorMonitorConfig.getAlertsHistoryIndex(detectorType.getDetectorType()) + "*");
+        }
+        return patterns;
+    }
+
+    private void putTemplate(String name, ComposableIndexTemplate template) {
+        PutComposableIndexTemplateAction.Request request = new PutComposableIndexTemplateAction.Request(name).indexTemplate(template);
+        client.execute(PutComposableIndexTemplateAction.INSTANCE, request, ActionListener.wrap(
+                response -> {
+                    if (!response.isAcknowledged()) {
+                        log.error("Put of index template " + name + " was not acknowledged");
+                    }
+                },
+                e -> log.error("Failed to put index template " + name, e)
+        ));
+    }
+
+    private void deleteTemplate(String name) {
+        if (clusterService.state().metadata().templatesV2().containsKey(name) == false) {
+            return;
+        }
+        client.execute(DeleteComposableIndexTemplateAction.INSTANCE, new DeleteComposableIndexTemplateAction.Request(name), ActionListener.wrap(
+                response -> {},
+                e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof ResourceNotFoundException == false) {
+                        log.error("Failed to delete index template " + name, e);
+                    }
+                }
+        ));
+    }
+}
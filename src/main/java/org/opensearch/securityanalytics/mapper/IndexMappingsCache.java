@@ -0,0 +1,175 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.mapper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.MappingMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.util.concurrent.ConcurrentCollections;
+
+/**
+ * Caches the flattened fields and aliases of every index the mapping APIs looked at, keyed by index UUID.
+ * Entries are built from the index mappings in the cluster state on first access and are dropped once the
+ * mapping version of the index changes or the index is deleted, so unchanged indices are never flattened twice.
+ */
+public class IndexMappingsCache implements ClusterStateListener {
+
+    private static final Logger log = LogManager.getLogger(IndexMappingsCache.class);
+
+    private final ClusterService clusterService;
+
+    // index UUID -> flattened fields of the index
+    private final Map<String, IndexFields> fieldsByIndexUUID = ConcurrentCollections.newConcurrentMap();
+
+    public IndexMappingsCache(ClusterService clusterService) {
+        this.clusterService = clusterService;
+        clusterService.addListener(this);
+    }
+
+    /**
+     * @param indexName Concrete index name
+     * @return flattened fields of the index or null if there is no such concrete index in the cluster state
+     */
+    public IndexFields get(String indexName) throws IOException {
+        IndexMetadata indexMetadata = clusterService.state().metadata().index(indexName);
+        if (indexMetadata == null) {
+            return null;
+        }
+        return get(indexMetadata);
+    }
+
+    public IndexFields get(IndexMetadata indexMetadata) throws IOException {
+        String indexUUID = indexMetadata.getIndexUUID();
+        IndexFields fields = fieldsByIndexUUID.get(indexUUID);
+        if (fields != null && fields.getMappingVersion() == indexMetadata.getMappingVersion()) {
+            return fields;
+        }
+        IndexFields newFields = IndexFields.of(indexMetadata.getIndex().getName(), indexMetadata.getMappingVersion(), indexMetadata.mapping());
+        // Concurrent readers may have built another mapping version in the meantime, keep the newest one
+        return fieldsByIndexUUID.merge(indexUUID, newFields, (oldValue, newValue) ->
+                oldValue.getMappingVersion() >= newValue.getMappingVersion() ? oldValue : newValue);
+    }
+
+    public int size() {
+        return fieldsByIndexUUID.size();
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if (event.metadataChanged() == false || fieldsByIndexUUID.isEmpty()) {
+            return;
+        }
+        Metadata metadata = event.state().metadata();
+        fieldsByIndexUUID.entrySet().removeIf(entry -> {
+            IndexMetadata indexMetadata = metadata.index(entry.getValue().getIndexName());
+            boolean stale = indexMetadata == null ||
+                    indexMetadata.getIndexUUID().equals(entry.getKey()) == false ||
+                    indexMetadata.getMappingVersion() != entry.getValue().getMappingVersion();
+            if (stale) {
+                log.debug("Evicting flattened fields of index [{}]", entry.getValue().getIndexName());
+            }
+            return stale;
+        });
+    }
+
+    /**
+     * Flattened fields of a single index mapping version. All collections are immutable.
+     */
+    public static final class IndexFields {
+
+        private final String indexName;
+        private final long mappingVersion;
+        private final MappingMetadata mappingMetadata;
+        private final boolean empty;
+        private final List<String> allFields;
+        private final Set<String> allFieldSet;
+        private final List<String> nonAliasFields;
+        private final Set<String> nonAliasFieldSet;
+        private final List<Pair<String, String>> aliasPathPairs;
+
+        private IndexFields(String indexName, long mappingVersion, MappingMetadata mappingMetadata) throws IOException {
+            this.indexName = indexName;
+            this.mappingVersion = mappingVersion;
+            this.mappingMetadata = mappingMetadata;
+            this.empty = mappingMetadata == null || MappingsTraverser.isEmpty(mappingMetadata);
+            if (empty) {
+                this.allFields = List.of();
+                this.nonAliasFields = List.of();
+                this.aliasPathPairs = List.of();
+            } else {
+                this.allFields = Collections.unmodifiableList(MapperUtils.extractAllFieldsFlat(mappingMetadata));
+                this.nonAliasFields = Collections.unmodifiableList(MapperUtils.getAllNonAliasFieldsFromIndex(mappingMetadata));
+                this.aliasPathPairs = Collections.unmodifiableList(MapperUtils.getAllAliasPathPairs(mappingMetadata));
+            }
+            this.allFieldSet = Collections.unmodifiableSet(new HashSet<>(allFields));
+            this.nonAliasFieldSet = Collections.unmodifiableSet(new HashSet<>(nonAliasFields));
+        }
+
+        public static IndexFields of(String indexName, long mappingVersion, MappingMetadata mappingMetadata) throws IOException {
+            return new IndexFields(indexName, mappingVersion, mappingMetadata);
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+
+        public long getMappingVersion() {
+            return mappingVersion;
+        }
+
+        /**
+         * @return mappings of the index, null if the index has no mappings
+         */
+        public MappingMetadata getMappingMetadata() {
+            return mappingMetadata;
+        }
+
+        public boolean isEmpty() {
+            return empty;
+        }
+
+        /**
+         * @return all leaf fields including aliases, in traversal order
+         */
+        public List<String> getAllFields() {
+            return allFields;
+        }
+
+        public Set<String> getAllFieldSet() {
+            return allFieldSet;
+        }
+
+        /**
+         * @return all leaf fields except aliases, in traversal order
+         */
+        public List<String> getNonAliasFields() {
+            return nonAliasFields;
+        }
+
+        public Set<String> getNonAliasFieldSet() {
+            return nonAliasFieldSet;
+        }
+
+        /**
+         * @return alias -> path pairs of the aliases defined in the index mappings
+         */
+        public List<Pair<String, String>> getAliasPathPairs() {
+            return aliasPathPairs;
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package org.opensearch.securityanalytics.mapper;
 
 import java.util.Locale;
+import com.carrotsearch.hppc.cursors.ObjectObjectCursor;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -15,6 +16,7 @@ import org.opensearch.action.ActionListener;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsRequest;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsResponse;
 import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
+import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.IndicesAdminClient;
 import org.opensearch.cluster.metadata.MappingMetadata;
@@ -26,10 +28,16 @@ import org.opensearch.securityanalytics.action.GetIndexMappingsResponse;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 import org.opensearch.securityanalytics.action.GetMappingsViewResponse;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 
 
@@ -40,29 +48,123 @@ public class MapperService {
 
     private static final Logger log = LogManager.getLogger(MapperService.class);
 
+    public static final int DEFAULT_MAX_CONCURRENT_PUT_MAPPINGS = 5;
+
     IndicesAdminClient indicesClient;
 
+    IndexMappingsCache indexMappingsCache;
+
+    SecurityAnalyticsStats stats = new SecurityAnalyticsStats();
+
     public MapperService() {}
 
     public MapperService(IndicesAdminClient indicesClient) {
         this.indicesClient = indicesClient;
     }
 
+    public MapperService(IndicesAdminClient indicesClient, IndexMappingsCache indexMappingsCache) {
+        this.indicesClient = indicesClient;
+        this.indexMappingsCache = indexMappingsCache;
+    }
+
+    public MapperService(IndicesAdminClient indicesClient, IndexMappingsCache indexMappingsCache, SecurityAnalyticsStats stats) {
+        this.indicesClient = indicesClient;
+        this.indexMappingsCache = indexMappingsCache;
+        this.stats = stats;
+    }
+
     void setIndicesAdminClient(IndicesAdminClient client) {
         this.indicesClient = client;
     }
 
+    void setIndexMappingsCache(IndexMappingsCache indexMappingsCache) {
+        this.indexMappingsCache = indexMappingsCache;
+    }
+
+    /**
+     * Resolves flattened fields of the given indices. Concrete indices known to the cluster state are served by
+     * {@link IndexMappingsCache} without a GetMappings round trip, anything else (patterns, aliases, data streams)
+     * goes through GetMappings and the cache is consulted for the returned indices.
+     */
+    private void getIndexFields(String[] indices, ActionListener<Map<String, IndexMappingsCache.IndexFields>> listener) {
+        try {
+            if (indexMappingsCache != null) {
+                // index mappings are not specific to a detector type, so cache lookups are always recorded without one
+                Map<String, IndexMappingsCache.IndexFields> fieldsByIndex = new LinkedHashMap<>();
+                for (String index : indices) {
+                    IndexMappingsCache.IndexFields fields = indexMappingsCache.get(index);
+                    if (fields == null) {
+                        stats.cacheMiss(SecurityAnalyticsStats.CacheType.INDEX_MAPPINGS, null);
+                        break;
+                    }
+                    stats.cacheHit(SecurityAnalyticsStats.CacheType.INDEX_MAPPINGS, null);
+                    fieldsByIndex.put(index, fields);
+                }
+                if (fieldsByIndex.size() == indices.length) {
+                    listener.onResponse(fieldsByIndex);
+                    return;
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            listener.onFailure(e);
+            return;
+        }
+
+        GetMappingsRequest getMappingsRequest = new GetMappingsRequest().indices(indices);
+        indicesClient.getMappings(getMappingsRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(GetMappingsResponse getMappingsResponse) {
+                Map<String, IndexMappingsCache.IndexFields> fieldsByIndex = new LinkedHashMap<>();
+                try {
+                    for (ObjectObjectCursor<String, MappingMetadata> indexMapping : getMappingsResponse.mappings()) {
+                        IndexMappingsCache.IndexFields fields = null;
+                        if (indexMappingsCache != null) {
+                            fields = indexMappingsCache.get(indexMapping.key);
+                            if (fields != null) {
+                                stats.cacheHit(SecurityAnalyticsStats.CacheType.INDEX_MAPPINGS, null);
+                            } else {
+                                stats.cacheMiss(SecurityAnalyticsStats.CacheType.INDEX_MAPPINGS, null);
+                            }
+                        }
+                        if (fields == null) {
+                            fields = IndexMappingsCache.IndexFields.of(indexMapping.key, -1L, indexMapping.value);
+                        }
+                        fieldsByIndex.put(indexMapping.key, fields);
+                    }
+                } catch (IOException | IllegalArgumentException e) {
+                    listener.onFailure(e);
+                    return;
+                }
+                listener.onResponse(fieldsByIndex);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
     public void createMappingAction(String indexName, String ruleTopic, boolean partial, ActionListener<AcknowledgedResponse> actionListener) {
         this.createMappingAction(indexName, ruleTopic, null, partial, actionListener);
     }
 
     public void createMappingAction(String indexName, String ruleTopic, String aliasMappings, boolean partial, ActionListener<AcknowledgedResponse> actionListener) {
+        this.createMappingAction(new String[] { indexName }, ruleTopic, aliasMappings, partial, DEFAULT_MAX_CONCURRENT_PUT_MAPPINGS, actionListener);
+    }
 
-        GetMappingsRequest getMappingsRequest = new GetMappingsRequest().indices(indexName);
-        indicesClient.getMappings(getMappingsRequest, new ActionListener<>() {
+    /**
+     * Applies alias mappings to every given index. Each index is validated against the alias mappings on its own, indices
+     * ending up with the same alias mappings share one PutMapping request and at most maxConcurrentRequests of those run at once.
+     * @param indices Concrete indices, e.g. all indices matching a pattern or all backing indices of a data stream
+     */
+    public void createMappingAction(String[] indices, String ruleTopic, String aliasMappings, boolean partial, int maxConcurrentRequests, ActionListener<AcknowledgedResponse> listener) {
+        ActionListener<AcknowledgedResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.MAPPING_CREATE, ruleTopic, listener);
+
+        getIndexFields(indices, new ActionListener<>() {
             @Override
-            public void onResponse(GetMappingsResponse getMappingsResponse) {
-                createMappingActionContinuation(getMappingsResponse.getMappings(), ruleTopic, aliasMappings, partial, actionListener);
+            public void onResponse(Map<String, IndexMappingsCache.IndexFields> fieldsByIndex) {
+                createMappingActionContinuation(fieldsByIndex, ruleTopic, aliasMappings, partial, maxConcurrentRequests, actionListener);
             }
 
             @Override
@@ -72,63 +174,111 @@ public class MapperService {
         });
     }
 
-    private void createMappingActionContinuation(ImmutableOpenMap<String, MappingMetadata> indexMappings, String ruleTopic, String aliasMappings, boolean partial, ActionListener<AcknowledgedResponse> actionListener) {
+    private void createMappingActionContinuation(Map<String, IndexMappingsCache.IndexFields> fieldsByIndex, String ruleTopic, String aliasMappings, boolean partial, int maxConcurrentRequests, ActionListener<AcknowledgedResponse> actionListener) {
 
-        PutMappingRequest request;
+        // Indices grouped by the alias mapping paths missing in them, every group gets one PutMapping request
+        Map<List<String>, List<String>> indicesByMissingPaths = new HashMap<>();
+        String aliasMappingsJSON;
         try {
-
-            String indexName = indexMappings.iterator().next().key;
-            String aliasMappingsJSON;
+            if (fieldsByIndex.isEmpty()) {
+                throw new IllegalArgumentException("Invalid Index Mappings");
+            }
             // aliasMappings parameter has higher priority then ruleTopic
             if (aliasMappings != null) {
                 aliasMappingsJSON = aliasMappings;
             } else {
                 aliasMappingsJSON = MapperTopicStore.aliasMappings(ruleTopic);
             }
+            // Get all paths (field names) to which we're going to apply aliases
+            List<String> aliasPaths = MapperUtils.getAllPathsFromAliasMappings(aliasMappingsJSON);
 
-            List<String> missingPathsInIndex = MapperUtils.validateIndexMappings(indexMappings, aliasMappingsJSON);
+            for (IndexMappingsCache.IndexFields indexFields : fieldsByIndex.values()) {
+                // Check if index's mapping is empty
+                if (indexFields.isEmpty()) {
+                    throw new IllegalArgumentException("Index mappings are empty");
+                }
+                // Paths from Alias Mappings which are missing in Index Mappings
+                Set<String> flatFields = indexFields.getNonAliasFieldSet();
+                List<String> missingPathsInIndex = aliasPaths.stream()
+                        .filter(e -> !flatFields.contains(e))
+                        .collect(Collectors.toList());
 
-            if(missingPathsInIndex.size() > 0) {
                 // If user didn't allow partial apply, we should error out here
-                if (!partial) {
+                if (missingPathsInIndex.size() > 0 && !partial) {
                     actionListener.onFailure(
                             new IllegalArgumentException("Not all paths were found in index mappings: " +
                                     missingPathsInIndex.stream()
                                             .collect(Collectors.joining(", ", "[", "]")))
                     );
+                    return;
                 }
-                // Filter out missing paths from alias mappings so that our PutMappings request succeeds
-                List<Pair<String, String>> pathsToSkip =
-                        missingPathsInIndex.stream()
-                                .map(e -> Pair.of(PATH, e))
-                                .collect(Collectors.toList());
-                MappingsTraverser mappingsTraverser = new MappingsTraverser(aliasMappingsJSON, pathsToSkip);
-                Map<String, Object> filteredMappings = mappingsTraverser.traverseAndShallowCopy();
-
-                request = new PutMappingRequest(indexName).source(filteredMappings);
-            } else {
-                request = new PutMappingRequest(indexName).source(
-                        aliasMappingsJSON, XContentType.JSON
-                );
+                indicesByMissingPaths.computeIfAbsent(missingPathsInIndex, k -> new ArrayList<>()).add(indexFields.getIndexName());
             }
+        } catch (IOException | IllegalArgumentException e) {
+            actionListener.onFailure(e);
+            return;
+        }
 
-            indicesClient.putMapping(request, new ActionListener<>() {
-                @Override
-                public void onResponse(AcknowledgedResponse acknowledgedResponse) {
-                    actionListener.onResponse(acknowledgedResponse);
-                }
-
-                @Override
-                public void onFailure(Exception e) {
-                    actionListener.onFailure(e);
+        Queue<PutMappingRequest> requests = new ConcurrentLinkedQueue<>();
+        try {
+            for (Map.Entry<List<String>, List<String>> entry : indicesByMissingPaths.entrySet()) {
+                String[] indexNames = entry.getValue().toArray(new String[0]);
+                List<String> missingPathsInIndex = entry.getKey();
+                if (missingPathsInIndex.size() > 0) {
+                    // Filter out missing paths from alias mappings so that our PutMappings request succeeds
+                    List<Pair<String, String>> pathsToSkip =
+                            missingPathsInIndex.stream()
+                                    .map(e -> Pair.of(PATH, e))
+                                    .collect(Collectors.toList());
+                    MappingsTraverser mappingsTraverser = new MappingsTraverser(aliasMappingsJSON, pathsToSkip);
+                    Map<String, Object> filteredMappings = mappingsTraverser.traverseAndShallowCopy();
+
+                    requests.add(new PutMappingRequest(indexNames).source(filteredMappings));
+                } else {
+                    requests.add(new PutMappingRequest(indexNames).source(
+                            aliasMappingsJSON, XContentType.JSON
+                    ));
                 }
-            });
+            }
         } catch (IOException | IllegalArgumentException e) {
             actionListener.onFailure(e);
+            return;
+        }
+
+        int numberOfRequests = requests.size();
+        GroupedActionListener<AcknowledgedResponse> putMappingsListener = new GroupedActionListener<>(ActionListener.wrap(
+                responses -> actionListener.onResponse(
+                        new AcknowledgedResponse(responses.stream().allMatch(AcknowledgedResponse::isAcknowledged))
+                ),
+                actionListener::onFailure
+        ), numberOfRequests);
+        // Every worker sends the next queued request once its previous one completed
+        for (int i = 0; i < Math.min(Math.max(1, maxConcurrentRequests), numberOfRequests); i++) {
+            putNextMapping(requests, putMappingsListener);
         }
     }
 
-    public void updateMappingAction(String indexName, String field, String alias, ActionListener<AcknowledgedResponse> actionListener) {
+    private void putNextMapping(Queue<PutMappingRequest> requests, ActionListener<AcknowledgedResponse> listener) {
+        PutMappingRequest request = requests.poll();
+        if (request == null) {
+            return;
+        }
+        indicesClient.putMapping(request, new ActionListener<>() {
+            @Override
+            public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                listener.onResponse(acknowledgedResponse);
+                putNextMapping(requests, listener);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    public void updateMappingAction(String indexName, String field, String alias, ActionListener<AcknowledgedResponse> listener) {
+        ActionListener<AcknowledgedResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.MAPPING_UPDATE, null, listener);
         PutMappingRequest request = new PutMappingRequest(indexName).source(field, alias);
         indicesClient.putMapping(request, new ActionListener<>() {
             @Override
@@ -143,38 +293,37 @@ public class MapperService {
         });
     }
 
-    public void getMappingAction(String indexName, ActionListener<GetIndexMappingsResponse> actionListener) {
-        GetMappingsRequest getMappingsRequest = new GetMappingsRequest().indices(indexName);
-        indicesClient.getMappings(getMappingsRequest, new ActionListener<>() {
+    public void getMappingAction(String indexName, ActionListener<GetIndexMappingsResponse> listener) {
+        ActionListener<GetIndexMappingsResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.MAPPING_GET, null, listener);
+        getIndexFields(new String[] { indexName }, new ActionListener<>() {
             @Override
-            public void onResponse(GetMappingsResponse getMappingsResponse) {
+            public void onResponse(Map<String, IndexMappingsCache.IndexFields> fieldsByIndex) {
                 try {
                     // Extract indexName and MappingMetadata
-                    String indexName = getMappingsResponse.mappings().iterator().next().key;
-                    MappingMetadata mappingMetadata = getMappingsResponse.mappings().iterator().next().value;
-                    // List of all found applied aliases on index
-                    List<String> appliedAliases = new ArrayList<>();
-                    // Get list of alias -> path pairs from index mappings
-                    List<Pair<String, String>> indexAliasPathPairs = MapperUtils.getAllAliasPathPairs(mappingMetadata);
-
-                    Map<String, String> aliasMappingsMap = MapperTopicStore.getAliasMappingsMap();
-                    for (String mapperTopic : aliasMappingsMap.keySet()) {
-                        // Get stored Alias Mappings as JSON string
-                        String aliasMappingsJson = MapperTopicStore.aliasMappings(mapperTopic);
-                        // Get list of alias -> path pairs from stored alias mappings
-                        List<Pair<String, String>> aliasPathPairs = MapperUtils.getAllAliasPathPairs(aliasMappingsJson);
+                    IndexMappingsCache.IndexFields indexFields = fieldsByIndex.values().iterator().next();
+                    String indexName = indexFields.getIndexName();
+                    MappingMetadata mappingMetadata = indexFields.getMappingMetadata();
+                    // Set of all found applied aliases on index
+                    Set<String> appliedAliases = new HashSet<>();
+                    // Get aliases from index mappings
+                    Set<String> indexAliases = indexFields.getAliasPathPairs()
+                            .stream()
+                            .map(Pair::getKey)
+                            .collect(Collectors.toSet());
+
+                    for (MapperTopicStore.MapperTopic mapperTopic : MapperTopicStore.getMapperTopics()) {
+                        // Get alias -> path lookup of stored alias mappings
+                        Map<String, String> aliasToPath = mapperTopic.getAliasToPath();
                         // Try to find any alias mappings in index mappings which are present in stored alias mappings
-                        for (Pair<String, String> p1 : indexAliasPathPairs) {
-                            for (Pair<String, String> p2 : aliasPathPairs) {
-                                // Match by alias only here since user can match alias to some other path
-                                if (p1.getKey().equals(p2.getKey())) {
-                                    // Maintain list of found alias mappings
-                                    appliedAliases.add(p1.getKey());
-                                }
+                        for (String alias : indexAliases) {
+                            // Match by alias only here since user can match alias to some other path
+                            if (aliasToPath.containsKey(alias)) {
+                                // Maintain set of found alias mappings
+                                appliedAliases.add(alias);
                             }
                         }
                         // If we found all aliases we can stop searching further
-                        if (indexAliasPathPairs.size() == appliedAliases.size()) {
+                        if (indexAliases.size() == appliedAliases.size()) {
                             break;
                         }
                     }
@@ -236,32 +385,33 @@ public class MapperService {
     public void getMappingsViewAction(
             String indexName,
             String mapperTopic,
-            ActionListener<GetMappingsViewResponse> actionListener
+            ActionListener<GetMappingsViewResponse> listener
     ) {
-        GetMappingsRequest getMappingsRequest = new GetMappingsRequest().indices(indexName);
-        indicesClient.getMappings(getMappingsRequest, new ActionListener<>() {
+        ActionListener<GetMappingsViewResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.MAPPING_GET, mapperTopic, listener);
+        getIndexFields(new String[] { indexName }, new ActionListener<>() {
             @Override
-            public void onResponse(GetMappingsResponse getMappingsResponse) {
+            public void onResponse(Map<String, IndexMappingsCache.IndexFields> fieldsByIndex) {
                 try {
-                    // Extract MappingMetadata from GET _mapping response
-                    MappingMetadata mappingMetadata = getMappingsResponse.mappings().iterator().next().value;
+                    // Flattened fields of the first matching index
+                    IndexMappingsCache.IndexFields indexFields = fieldsByIndex.values().iterator().next();
                     // Get list of all non-alias fields in index
-                    List<String> allFieldsFromIndex = MapperUtils.getAllNonAliasFieldsFromIndex(mappingMetadata);
-                    // Get stored Alias Mappings as JSON string
-                    String aliasMappingsJson = MapperTopicStore.aliasMappings(mapperTopic);
+                    List<String> allFieldsFromIndex = indexFields.getNonAliasFields();
+                    Set<String> allFieldsFromIndexSet = indexFields.getNonAliasFieldSet();
+                    // Get stored Alias Mappings, preloaded by the topic store
+                    MapperTopicStore.MapperTopic topic = MapperTopicStore.getMapperTopic(mapperTopic);
                     // Get list of alias -> path pairs from stored alias mappings
-                    List<Pair<String, String>> aliasPathPairs = MapperUtils.getAllAliasPathPairs(aliasMappingsJson);
-                    // List of all found applied aliases on index
-                    List<String> applyableAliases = new ArrayList<>();
-                    // List of paths of found
-                    List<String> pathsOfApplyableAliases = new ArrayList<>();
+                    List<Pair<String, String>> aliasPathPairs = topic.getAliasPathPairs();
+                    // Set of all found applied aliases on index
+                    Set<String> applyableAliases = new HashSet<>();
+                    // Set of paths of found
+                    Set<String> pathsOfApplyableAliases = new HashSet<>();
                     // List of unapplayable aliases
                     List<String> unmappedFieldAliases = new ArrayList<>();
 
                     for (Pair<String, String> p : aliasPathPairs) {
                         String alias = p.getKey();
                         String path = p.getValue();
-                        if (allFieldsFromIndex.contains(path)) {
+                        if (allFieldsFromIndexSet.contains(path)) {
                             // Maintain list of found paths in index
                             applyableAliases.add(alias);
                             pathsOfApplyableAliases.add(path);
@@ -271,7 +421,7 @@ public class MapperService {
                     }
                     // Gather all applyable alias mappings
                     Map<String, Object> aliasMappings =
-                            MapperUtils.getAliasMappingsWithFilter(aliasMappingsJson, applyableAliases);
+                            MapperUtils.getAliasMappingsWithFilter(topic.getAliasMappings(), applyableAliases);
                     // Unmapped fields from index for which we don't have alias to apply to
                     List<String> unmappedIndexFields = allFieldsFromIndex
                             .stream()
@@ -8,33 +8,53 @@ package org.opensearch.securityanalytics.mapper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.OpenSearchParseException;
 import org.opensearch.common.settings.SettingsException;
+import org.opensearch.common.xcontent.DeprecationHandler;
+import org.opensearch.common.xcontent.NamedXContentRegistry;
 import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.XContentParser;
 import org.opensearch.common.xcontent.json.JsonXContent;
 
+/**
+ * Holds the alias mappings of every mapper topic. Topics are read from the classpath and parsed once, when they are
+ * registered or on {@link #reload()}, so the mapping APIs never read or parse alias mappings per request.
+ */
 public class MapperTopicStore {
 
     private static final String MAPPER_CONFIG_FILE = "OSMapping/mapper_topics.json";
 
     private static final Logger log = LogManager.getLogger(MapperTopicStore.class);
 
-    private Map<String, String> mapperMap;
+    // topic -> classpath location of its alias mappings
+    private volatile Map<String, String> mapperMap;
+    // topic -> preloaded alias mappings, replaced as a whole on every change
+    private volatile Map<String, MapperTopic> topics;
     private static MapperTopicStore INSTANCE = new MapperTopicStore();
     private MapperTopicStore() {
+        mapperMap = loadMapperConfig();
+        topics = loadTopics(mapperMap);
+    }
 
+    private static Map<String, String> loadMapperConfig() {
         String mapperTopicsJson;
         try (
                 InputStream is = MapperTopicStore.class.getClassLoader().getResourceAsStream(MAPPER_CONFIG_FILE)
         ) {
-            mapperMap = new HashMap<>();
+            Map<String, String> mapperMap = new HashMap<>();
             mapperTopicsJson = new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8);
 
             if (mapperTopicsJson != null) {
@@ -47,6 +67,7 @@ public class MapperTopicStore {
 
                 log.info("Loaded {} mapper topics", mapperMap.size());
             }
+            return mapperMap;
         } catch (OpenSearchParseException e) {
             throw e;
         } catch (Exception e) {
@@ -54,22 +75,187 @@ public class MapperTopicStore {
         }
     }
 
+    private static Map<String, MapperTopic> loadTopics(Map<String, String> mapperMap) {
+        Map<String, MapperTopic> topics = new HashMap<>();
+        for (Map.Entry<String, String> entry : mapperMap.entrySet()) {
+            topics.put(entry.getKey(), MapperTopic.load(entry.getKey(), entry.getValue()));
+        }
+        return Collections.unmodifiableMap(topics);
+    }
+
     public static String aliasMappings(String mapperTopic) throws IOException {
-        if (INSTANCE.mapperMap.containsKey(mapperTopic.toLowerCase(Locale.ROOT))) {
-            return new String(Objects.requireNonNull(
+        return getMapperTopic(mapperTopic).getAliasMappingsJson();
+    }
 
-                    INSTANCE.getClass().getClassLoader().getResourceAsStream(INSTANCE.
-                            mapperMap.get(mapperTopic.toLowerCase(Locale.ROOT)))).readAllBytes(),
-                    StandardCharsets.UTF_8);
+    /**
+     * @return preloaded alias mappings of the topic
+     * @throws IllegalArgumentException if there is no such topic
+     */
+    public static MapperTopic getMapperTopic(String mapperTopic) {
+        MapperTopic topic = INSTANCE.topics.get(mapperTopic.toLowerCase(Locale.ROOT));
+        if (topic == null) {
+            throw new IllegalArgumentException("Mapper not found: [" + mapperTopic + "]");
         }
-        throw new IllegalArgumentException("Mapper not found: [" + mapperTopic + "]");
+        return topic;
+    }
+
+    public static Collection<MapperTopic> getMapperTopics() {
+        return INSTANCE.topics.values();
     }
 
     public static void putAliasMappings(String mapperTopic, String mappingFilePath) {
-        INSTANCE.mapperMap.put(mapperTopic, mappingFilePath);
+        MapperTopic topic = MapperTopic.load(mapperTopic, mappingFilePath);
+        synchronized (INSTANCE) {
+            Map<String, String> mapperMap = new HashMap<>(INSTANCE.mapperMap);
+            mapperMap.put(mapperTopic, mappingFilePath);
+            Map<String, MapperTopic> topics = new HashMap<>(INSTANCE.topics);
+            topics.put(mapperTopic, topic);
+            INSTANCE.mapperMap = mapperMap;
+            INSTANCE.topics = Collections.unmodifiableMap(topics);
+        }
+    }
+
+    /**
+     * Reads and parses the alias mappings of all registered topics again, including topics added with
+     * {@link #putAliasMappings(String, String)}.
+     */
+    public static void reload() {
+        synchronized (INSTANCE) {
+            Map<String, String> mapperMap = new HashMap<>(INSTANCE.mapperMap);
+            mapperMap.putAll(loadMapperConfig());
+            INSTANCE.topics = loadTopics(mapperMap);
+            INSTANCE.mapperMap = mapperMap;
+        }
     }
 
     public static Map<String, String> getAliasMappingsMap() {
-        return INSTANCE.mapperMap;
+        return Collections.unmodifiableMap(INSTANCE.mapperMap);
+    }
+
+    /**
+     * Alias mappings of a single topic, as raw JSON and pre-parsed into immutable lookup structures.
+     * Mappings which fail to parse keep their raw JSON, the parse error is rethrown by the parsed accessors.
+     */
+    public static final class MapperTopic {
+
+        private final String name;
+        private final String aliasMappingsJson;
+        private final Map<String, Object> aliasMappings;
+        private final List<Pair<String, String>> aliasPathPairs;
+        private final Map<String, String> aliasToPath;
+        private final Map<String, List<String>> pathToAliases;
+        private final Exception parseError;
+
+        private MapperTopic(String name, String aliasMappingsJson) {
+            this.name = name;
+            this.aliasMappingsJson = aliasMappingsJson;
+
+            Map<String, Object> aliasMappings = null;
+            List<Pair<String, String>> aliasPathPairs = null;
+            Map<String, String> aliasToPath = null;
+            Map<String, List<String>> pathToAliases = null;
+            Exception parseError = null;
+            try {
+                aliasMappings = parse(aliasMappingsJson);
+                aliasPathPairs = Collections.unmodifiableList(MapperUtils.getAllAliasPathPairs(aliasMappingsJson));
+                aliasToPath = new HashMap<>();
+                pathToAliases = new HashMap<>();
+                for (Pair<String, String> aliasPathPair : aliasPathPairs) {
+                    aliasToPath.put(aliasPathPair.getKey(), aliasPathPair.getValue());
+                    pathToAliases.computeIfAbsent(aliasPathPair.getValue(), path -> new ArrayList<>()).add(aliasPathPair.getKey());
+                }
+                aliasToPath = Collections.unmodifiableMap(aliasToPath);
+                pathToAliases = Collections.unmodifiableMap(pathToAliases.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, e -> Collections.unmodifiableList(e.getValue()))));
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Failed to parse alias mappings of mapper topic [{}]: {}", name, e.getMessage());
+                parseError = e;
+            }
+            this.aliasMappings = aliasMappings;
+            this.aliasPathPairs = aliasPathPairs;
+            this.aliasToPath = aliasToPath;
+            this.pathToAliases = pathToAliases;
+            this.parseError = parseError;
+        }
+
+        static MapperTopic load(String name, String mappingFilePath) {
+            try (InputStream is = MapperTopicStore.class.getClassLoader().getResourceAsStream(mappingFilePath)) {
+                if (is == null) {
+                    throw new IllegalArgumentException("Alias mappings not found for mapper topic [" + name + "]: [" + mappingFilePath + "]");
+                }
+                return new MapperTopic(name, new String(is.readAllBytes(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new SettingsException("Failed to load alias mappings from [" + mappingFilePath + "]", e);
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getAliasMappingsJson() {
+            return aliasMappingsJson;
+        }
+
+        /**
+         * @return alias mappings as immutable map, starting with root element "properties"
+         */
+        public Map<String, Object> getAliasMappings() throws IOException {
+            ensureParsed();
+            return aliasMappings;
+        }
+
+        /**
+         * @return alias -> path pairs in traversal order
+         */
+        public List<Pair<String, String>> getAliasPathPairs() throws IOException {
+            ensureParsed();
+            return aliasPathPairs;
+        }
+
+        public Map<String, String> getAliasToPath() throws IOException {
+            ensureParsed();
+            return aliasToPath;
+        }
+
+        public Map<String, List<String>> getPathToAliases() throws IOException {
+            ensureParsed();
+            return pathToAliases;
+        }
+
+        private void ensureParsed() throws IOException {
+            if (parseError instanceof IOException) {
+                throw (IOException) parseError;
+            } else if (parseError != null) {
+                throw (IllegalArgumentException) parseError;
+            }
+        }
+
+        private static Map<String, Object> parse(String aliasMappingsJson) throws IOException {
+            try (
+                    XContentParser parser = JsonXContent.jsonXContent
+                            .createParser(
+                                    NamedXContentRegistry.EMPTY,
+                                    DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                                    aliasMappingsJson)
+            ) {
+                return immutableCopy(parser.map());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> immutableCopy(Map<String, Object> map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : map.entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof Map) {
+                    value = immutableCopy((Map<String, Object>) value);
+                } else if (value instanceof List) {
+                    value = Collections.unmodifiableList(new ArrayList<>((List<Object>) value));
+                }
+                copy.put(entry.getKey(), value);
+            }
+            return Collections.unmodifiableMap(copy);
+        }
     }
 }
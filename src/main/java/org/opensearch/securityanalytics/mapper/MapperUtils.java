@@ -13,6 +13,8 @@ import org.opensearch.common.collect.ImmutableOpenMap;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -107,9 +109,23 @@ public class MapperUtils {
         String indexName = indexMappings.iterator().next().key;
         MappingMetadata mappingMetadata = indexMappings.get(indexName);
 
-        List<String> flatFields = getAllNonAliasFieldsFromIndex(mappingMetadata);
+        return validateIndexMappings(mappingMetadata, paths);
+    }
+
+    /**
+     * Same as {@link #validateIndexMappings(ImmutableOpenMap, String)} for a single index, with the paths of the alias mappings
+     * already extracted by {@link #getAllPathsFromAliasMappings(String)}.
+     * @return list of alias mappings paths which are missing in index mappings
+     */
+    public static List<String> validateIndexMappings(MappingMetadata mappingMetadata, List<String> aliasPaths) throws IOException {
+        // Check if index's mapping is empty
+        if (MappingsTraverser.isEmpty(mappingMetadata)) {
+            throw new IllegalArgumentException("Index mappings are empty");
+        }
+
+        Set<String> flatFields = new HashSet<>(getAllNonAliasFieldsFromIndex(mappingMetadata));
         // Return list of paths from Alias Mappings which are missing in Index Mappings
-        return paths.stream()
+        return aliasPaths.stream()
                 .filter(e -> !flatFields.contains(e))
                 .collect(Collectors.toList());
     }
@@ -120,23 +136,7 @@ public class MapperUtils {
      * @return list of fields in mappings.
      */
     public static List<String> extractAllFieldsFlat(MappingMetadata mappingMetadata) {
-        MappingsTraverser mappingsTraverser = new MappingsTraverser(mappingMetadata);
-        List<String> flatProperties = new ArrayList<>();
-        // Setup
-        mappingsTraverser.addListener(new MappingsTraverser.MappingsTraverserListener() {
-            @Override
-            public void onLeafVisited(MappingsTraverser.Node node) {
-                flatProperties.add(node.currentPath);
-            }
-
-            @Override
-            public void onError(String error) {
-                throw new IllegalArgumentException(error);
-            }
-        });
-        // Do traverse
-        mappingsTraverser.traverse();
-        return flatProperties;
+        return MappingsTraverser.extractFlatFields(mappingMetadata, Set.of());
     }
 
     public static List<String> extractAllFieldsFlat(Map<String, Object> mappingsMap) {
@@ -164,19 +164,31 @@ public class MapperUtils {
         return mappingsTraverser.extractFlatNonAliasFields();
     }
 
-    public static boolean isIndexMappingsEmpty(ImmutableOpenMap<String, MappingMetadata> indexMappings) {
+    public static boolean isIndexMappingsEmpty(ImmutableOpenMap<String, MappingMetadata> indexMappings) throws IOException {
         if (indexMappings.iterator().hasNext()) {
-            return indexMappings.iterator().next().value.getSourceAsMap().size() == 0;
+            return MappingsTraverser.isEmpty(indexMappings.iterator().next().value);
         }
         throw new IllegalArgumentException("Invalid Index Mappings");
     }
 
     public static Map<String, Object> getAliasMappingsWithFilter(
             String aliasMappingsJson,
-            List<String> aliasesToInclude) throws IOException {
+            Collection<String> aliasesToInclude) throws IOException {
+        return getAliasMappingsWithFilter(new MappingsTraverser(aliasMappingsJson, Set.of()), aliasesToInclude);
+    }
+
+    public static Map<String, Object> getAliasMappingsWithFilter(
+            Map<String, Object> aliasMappings,
+            Collection<String> aliasesToInclude) {
+        return getAliasMappingsWithFilter(new MappingsTraverser(aliasMappings, Set.of()), aliasesToInclude);
+    }
 
+    private static Map<String, Object> getAliasMappingsWithFilter(
+            MappingsTraverser mappingsTraverser,
+            Collection<String> aliasesToInclude) {
+
+        Set<String> aliasesToIncludeSet = aliasesToInclude instanceof Set ? (Set<String>) aliasesToInclude : new HashSet<>(aliasesToInclude);
         // Traverse mappings and do copy with excluded type=alias properties
-        MappingsTraverser mappingsTraverser = new MappingsTraverser(aliasMappingsJson, Set.of());
         // Resulting properties after filtering
         Map<String, Object> filteredProperties = new HashMap<>();
 
@@ -184,7 +196,7 @@ public class MapperUtils {
             @Override
             public void onLeafVisited(MappingsTraverser.Node node) {
                 // Skip everything except ones in include filter
-                if (aliasesToInclude.contains(node.currentPath) == false) {
+                if (aliasesToIncludeSet.contains(node.currentPath) == false) {
                     return;
                 }
                 MappingsTraverser.Node n = node;
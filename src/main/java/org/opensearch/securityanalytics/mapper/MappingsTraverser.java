@@ -9,7 +9,9 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.common.xcontent.DeprecationHandler;
 import org.opensearch.common.xcontent.NamedXContentRegistry;
+import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.securityanalytics.rules.condition.ConditionListener;
@@ -17,6 +19,7 @@ import org.opensearch.securityanalytics.rules.condition.ConditionListener;
 import java.io.IOException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,6 +28,7 @@ import java.util.HashMap;
 import java.util.Stack;
 
 import static org.opensearch.securityanalytics.mapper.MapperUtils.NESTED;
+import static org.opensearch.securityanalytics.mapper.MapperUtils.PATH;
 import static org.opensearch.securityanalytics.mapper.MapperUtils.PROPERTIES;
 import static org.opensearch.securityanalytics.mapper.MapperUtils.TYPE;
 import static org.opensearch.securityanalytics.mapper.MapperUtils.ALIAS;
@@ -32,7 +36,9 @@ import static org.opensearch.securityanalytics.mapper.MapperUtils.ALIAS;
 /**
  * This class implementats traversal of index mappings returned by core's GET _mapping.
  * {@link MappingsTraverserListener} can be setup to process all leaves. Also {@link MappingsTraverser#propertiesToSkip}
- * can be setup, to skip any nodes which contains them, during traversal
+ * can be setup, to skip any nodes which contains them, during traversal.
+ * Mappings can also be traversed in streaming mode with {@link #traverse(XContentParser, String, Set, MappingsLeafListener)},
+ * which reads leaves directly from the parser without materializing the mappings tree.
  */
 public class MappingsTraverser {
 
@@ -44,8 +50,23 @@ public class MappingsTraverser {
         void onError(String error);
     }
 
+    /**
+     * Listener used to process leaves in streaming mode
+     */
+    public interface MappingsLeafListener {
+        /**
+         * @param path Full path of the leaf, e.g. "netflow.event_data.SourceAddress"
+         * @param type Value of the leaf's "type" property or null
+         * @param aliasPath Value of the leaf's "path" property or null, set for fields of type alias
+         */
+        void onLeafVisited(String path, String type, String aliasPath);
+        void onError(String error);
+    }
+
     private Map<String, Object> mappingsMap;
 
+    private MappingMetadata mappingMetadata;
+
     private Set<String> typesToSkip = new HashSet<>();
     private List<Pair<String, String>> propertiesToSkip = new ArrayList<>();
 
@@ -57,7 +78,8 @@ public class MappingsTraverser {
      * @param mappingMetadata Index mappings as {@link MappingMetadata}
      */
     public MappingsTraverser(MappingMetadata mappingMetadata) {
-        this.mappingsMap = mappingMetadata.getSourceAsMap();
+        // the mappings tree is only built when it is needed, streaming traversal reads the source directly
+        this.mappingMetadata = mappingMetadata;
     }
 
     /**
@@ -126,6 +148,9 @@ public class MappingsTraverser {
      * @return list of fields in mappings.
      */
     public List<String> extractFlatNonAliasFields() {
+        if (mappingsMap == null && mappingMetadata != null && mappingsTraverserListeners.isEmpty() && propertiesToSkip.isEmpty()) {
+            return extractFlatFields(mappingMetadata, Set.of(ALIAS));
+        }
         List<String> flatProperties = new ArrayList<>();
         // Setup
         this.propertiesToSkip.add(Pair.of(TYPE, ALIAS));
@@ -151,6 +176,9 @@ public class MappingsTraverser {
     * Before calling this function listener(s) should be setup and optionally field types to skip during traversal
     * */
     public void traverse() {
+        if (this.mappingsMap == null) {
+            this.mappingsMap = mappingMetadata.getSourceAsMap();
+        }
         try {
 
             Map<String, Object> rootProperties = (Map<String, Object>) this.mappingsMap.get(PROPERTIES);
@@ -194,6 +222,144 @@ public class MappingsTraverser {
         }
     }
 
+    /**
+     * Streaming counterpart of {@link #extractFlatNonAliasFields()}: collects all fields of the index mappings
+     * without building the mappings tree. Nested fields are flattened.
+     * @param mappingMetadata Index mappings
+     * @param typesToSkip Field types which are skipped
+     * @return list of fields in mappings, in the same order as {@link #traverse()} visits them
+     */
+    public static List<String> extractFlatFields(MappingMetadata mappingMetadata, Set<String> typesToSkip) {
+        List<String> flatProperties = new ArrayList<>();
+        try (XContentParser parser = createParser(mappingMetadata)) {
+            traverse(parser, mappingMetadata.type(), typesToSkip, new MappingsLeafListener() {
+                @Override
+                public void onLeafVisited(String path, String type, String aliasPath) {
+                    flatProperties.add(path);
+                }
+
+                @Override
+                public void onError(String error) {
+                    throw new IllegalArgumentException(error);
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Error traversing mappings tree", e);
+        }
+        // traverse() pops siblings from a stack and visits them last to first, which is exactly the reverse of the source order
+        Collections.reverse(flatProperties);
+        return flatProperties;
+    }
+
+    /**
+     * @return true if index mappings define nothing, checked without building the mappings tree
+     */
+    public static boolean isEmpty(MappingMetadata mappingMetadata) throws IOException {
+        try (XContentParser parser = createParser(mappingMetadata)) {
+            if (parser.nextToken() != XContentParser.Token.START_OBJECT || parser.nextToken() != XContentParser.Token.FIELD_NAME) {
+                return true;
+            }
+            // mappings are wrapped into their type, which is not part of the mappings
+            if (parser.currentName().equals(mappingMetadata.type()) == false ||
+                    parser.nextToken() != XContentParser.Token.START_OBJECT ||
+                    parser.nextToken() != XContentParser.Token.END_OBJECT) {
+                return false;
+            }
+            return parser.nextToken() == XContentParser.Token.END_OBJECT;
+        }
+    }
+
+    /**
+     * Traverses mappings directly over the parser tokens and notifies the listener when a leaf is visited. Memory use
+     * is bounded by the depth of the mappings, the path prefix of the current level is shared by all of its children.
+     * Leaves are visited in source order.
+     * @param parser Parser positioned before or at the start of the mappings object
+     * @param typeName Name of the type wrapping the mappings, e.g. "_doc", or null if mappings start with "properties"
+     * @param typesToSkip Leaves of these types are not notified
+     * @param listener Listener notified for every leaf
+     */
+    public static void traverse(XContentParser parser, String typeName, Set<String> typesToSkip, MappingsLeafListener listener) {
+        try {
+            XContentParser.Token token = parser.currentToken() == null ? parser.nextToken() : parser.currentToken();
+            if (token != XContentParser.Token.START_OBJECT || traverseRoot(parser, typeName, new StringBuilder(), typesToSkip, listener) == false) {
+                listener.onError("Error traversing mappings tree");
+            }
+        } catch (IllegalArgumentException e) {
+            // This is coming from listeners.
+            throw e;
+        } catch (Exception e) {
+            listener.onError("Error traversing mappings tree");
+        }
+    }
+
+    private static boolean traverseRoot(XContentParser parser, String typeName, StringBuilder path, Set<String> typesToSkip,
+                                        MappingsLeafListener listener) throws IOException {
+        boolean hasProperties = false;
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String name = parser.currentName();
+            XContentParser.Token token = parser.nextToken();
+            if (token == XContentParser.Token.START_OBJECT && PROPERTIES.equals(name)) {
+                traverseProperties(parser, path, typesToSkip, listener);
+                hasProperties = true;
+            } else if (token == XContentParser.Token.START_OBJECT && name.equals(typeName)) {
+                hasProperties |= traverseRoot(parser, null, path, typesToSkip, listener);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return hasProperties;
+    }
+
+    private static void traverseProperties(XContentParser parser, StringBuilder path, Set<String> typesToSkip,
+                                           MappingsLeafListener listener) throws IOException {
+        int prefixLength = path.length();
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            if (prefixLength > 0) {
+                path.append('.');
+            }
+            path.append(parser.currentName());
+            if (parser.nextToken() == XContentParser.Token.START_OBJECT) {
+                traverseField(parser, path, typesToSkip, listener);
+            } else {
+                parser.skipChildren();
+            }
+            path.setLength(prefixLength);
+        }
+    }
+
+    private static void traverseField(XContentParser parser, StringBuilder path, Set<String> typesToSkip,
+                                      MappingsLeafListener listener) throws IOException {
+        String type = null;
+        String aliasPath = null;
+        boolean isLeaf = true;
+        while (parser.nextToken() == XContentParser.Token.FIELD_NAME) {
+            String name = parser.currentName();
+            XContentParser.Token token = parser.nextToken();
+            if ((PROPERTIES.equals(name) || NESTED.equals(name)) && token == XContentParser.Token.START_OBJECT) {
+                isLeaf = false;
+                traverseProperties(parser, path, typesToSkip, listener);
+            } else if (TYPE.equals(name) && token.isValue()) {
+                type = parser.text();
+            } else if (PATH.equals(name) && token.isValue()) {
+                aliasPath = parser.text();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (isLeaf && (type == null || typesToSkip.contains(type) == false)) {
+            listener.onLeafVisited(path.toString(), type, aliasPath);
+        }
+    }
+
+    private static XContentParser createParser(MappingMetadata mappingMetadata) throws IOException {
+        return XContentHelper.createParser(
+                NamedXContentRegistry.EMPTY,
+                DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                mappingMetadata.source().compressedReference(),
+                XContentType.JSON
+        );
+    }
+
     /**
      * Checks if node has any properties which we want to skip.
      * Properties to skip are defined as KV Pair: propertyName -> propertyValue
@@ -99,6 +99,11 @@ public class Detector implements Writeable, ToXContentObject {
 
     private Map<String, String> ruleIdMonitorIdMap;
 
+    /**
+     * Inverse of ruleIdMonitorIdMap, a merged bucket level monitor evaluates several rules
+     */
+    private Map<String, List<String>> monitorIdRuleIdsMap;
+
     private String ruleIndex;
 
     private String alertsIndex;
@@ -139,6 +144,7 @@ public class Detector implements Writeable, ToXContentObject {
         this.findingsIndex = findingsIndex;
         this.findingsIndexPattern = findingsIndexPattern;
         this.ruleIdMonitorIdMap = rulePerMonitor;
+        this.monitorIdRuleIdsMap = invert(rulePerMonitor);
 
         if (enabled) {
             Objects.requireNonNull(enabledTime);
@@ -593,12 +599,58 @@ public class Detector implements Writeable, ToXContentObject {
     }
     public void setRuleIdMonitorIdMap(Map<String, String> ruleIdMonitorIdMap) {
         this.ruleIdMonitorIdMap = ruleIdMonitorIdMap;
+        this.monitorIdRuleIdsMap = invert(ruleIdMonitorIdMap);
+    }
+
+    /**
+     * @return ids of the rules evaluated by the given monitor, in the iteration order of ruleIdMonitorIdMap
+     */
+    public List<String> getRuleIdsByMonitorId(String monitorId) {
+        return monitorIdRuleIdsMap.getOrDefault(monitorId, Collections.emptyList());
+    }
+
+    private static Map<String, List<String>> invert(Map<String, String> ruleIdMonitorIdMap) {
+        if (ruleIdMonitorIdMap == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<String>> monitorIdRuleIdsMap = new HashMap<>();
+        for (Map.Entry<String, String> entry : ruleIdMonitorIdMap.entrySet()) {
+            monitorIdRuleIdsMap.computeIfAbsent(entry.getValue(), k -> new ArrayList<>()).add(entry.getKey());
+        }
+        return monitorIdRuleIdsMap;
     }
 
     public String getDocLevelMonitorId() {
         return ruleIdMonitorIdMap.get(DOC_LEVEL_MONITOR);
     }
 
+    /**
+     * @return copy of this detector whose inputs, monitor ids and rule to monitor mapping can be changed without changing this detector
+     */
+    public Detector copy() {
+        return new Detector(
+                id,
+                version,
+                name,
+                enabled,
+                schedule,
+                lastUpdateTime,
+                enabledTime,
+                detectorType,
+                user,
+                inputs != null ? inputs.stream().map(DetectorInput::copy).collect(Collectors.toList()) : null,
+                triggers != null ? new ArrayList<>(triggers) : null,
+                new ArrayList<>(monitorIds),
+                ruleIndex,
+                alertsIndex,
+                alertsHistoryIndex,
+                alertsHistoryIndexPattern,
+                findingsIndex,
+                findingsIndexPattern,
+                ruleIdMonitorIdMap != null ? new HashMap<>(ruleIdMonitorIdMap) : null
+        );
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -146,6 +146,13 @@ public class DetectorInput implements Writeable, ToXContentObject {
         return new DetectorInput(sin);
     }
 
+    /**
+     * @return copy of this input whose indices and rules lists can be changed without changing this input
+     */
+    public DetectorInput copy() {
+        return new DetectorInput(description, new ArrayList<>(indices), new ArrayList<>(customRules), new ArrayList<>(prePackagedRules));
+    }
+
     public void setCustomRules(List<DetectorRule> customRules) {
         this.customRules = customRules;
     }
@@ -30,6 +30,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import static org.opensearch.securityanalytics.model.Detector.LAST_UPDATE_TIME_FIELD;
@@ -104,6 +105,9 @@ public class Rule implements Writeable, ToXContentObject {
 
     private List<Value> aggregationQueries;
 
+    // detection.timeframe of the rule yaml, parsed on first access
+    private volatile Optional<String> timeframe;
+
     public Rule(String id, Long version, String title, String category, String logSource,
                 String description, List<Value> references, List<Value> tags, String level,
                 List<Value> falsePositives, String author, String status, Instant date,
@@ -156,6 +160,7 @@ public class Rule implements Writeable, ToXContentObject {
                 original,
                 // If one of the queries is AggregationQuery -> the whole rule can be considered as Agg
                 queries.stream().filter(query -> query instanceof AggregationQueries).map(it -> new Value(it.toString())).collect(Collectors.toList()));
+        this.timeframe = Optional.ofNullable(rule.getDetection() != null? rule.getDetection().getTimeframe(): null);
     }
 
     public Rule(StreamInput sin) throws IOException {
@@ -485,4 +490,15 @@ public class Rule implements Writeable, ToXContentObject {
         }
         return aggregationItems;
     }
+
+    /**
+     * @return detection.timeframe of the sigma rule, e.g. 5m, or null if the rule does not define one
+     */
+    public String getTimeframe() throws SigmaError {
+        if (timeframe == null) {
+            SigmaRule sigmaRule = SigmaRule.fromYaml(rule, true);
+            timeframe = Optional.ofNullable(sigmaRule.getDetection() != null? sigmaRule.getDetection().getTimeframe(): null);
+        }
+        return timeframe.orElse(null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestCancellableNodeClient;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryAction;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryRequest;
+import org.opensearch.securityanalytics.util.DetectorUtils;
+
+/**
+ * Acknowledge all active alerts of a detector matching rules and severities.
+ */
+public class RestAckAlertsByQueryAction extends BaseRestHandler {
+    @Override
+    public String getName() {
+        return "ack_detector_alerts_by_query_action";
+    }
+
+    @Override
+    public List<Route> routes() {
+        return Collections.singletonList(
+                new Route(RestRequest.Method.POST, String.format(
+                        Locale.getDefault(),
+                        "%s/{%s}/_acknowledge/alerts/_by_query",
+                        SecurityAnalyticsPlugin.DETECTOR_BASE_URI,
+                        DetectorUtils.DETECTOR_ID_FIELD)
+                ));
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient nodeClient) throws IOException {
+        String detectorId = request.param(DetectorUtils.DETECTOR_ID_FIELD);
+        AckAlertsByQueryRequest ackAlertsByQueryRequest;
+        if (request.hasContentOrSourceParam()) {
+            try (XContentParser xcp = request.contentOrSourceParamParser()) {
+                ackAlertsByQueryRequest = AckAlertsByQueryRequest.parse(detectorId, xcp);
+            }
+        } else {
+            ackAlertsByQueryRequest = new AckAlertsByQueryRequest(detectorId, null, null, AckAlertsByQueryRequest.DEFAULT_BATCH_SIZE);
+        }
+        // Closing the connection cancels the acknowledgement after the batch in flight
+        return channel -> new RestCancellableNodeClient(nodeClient, request.getHttpChannel()).execute(
+                AckAlertsByQueryAction.INSTANCE,
+                ackAlertsByQueryRequest,
+                new RestToXContentListener<>(channel)
+        );
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.util.List;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestChannel;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.RestResponse;
+import org.opensearch.rest.action.RestResponseListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.ExportFindingsAction;
+import org.opensearch.securityanalytics.action.ExportFindingsRequest;
+import org.opensearch.securityanalytics.action.ExportFindingsResponse;
+import org.opensearch.securityanalytics.action.SearchFindingsRequest;
+
+
+import static java.util.Collections.singletonList;
+import static org.opensearch.rest.RestRequest.Method.POST;
+import static org.opensearch.rest.RestStatus.OK;
+
+/**
+ * Exports findings as newline delimited JSON. The body holds the same filters as a findings search, the cursor
+ * to continue the export with is returned in the {@link #CURSOR_HEADER} header until all findings were exported.
+ */
+public class RestExportFindingsAction extends BaseRestHandler {
+
+    public static final String CURSOR_HEADER = "X-Findings-Export-Cursor";
+    public static final String COUNT_HEADER = "X-Findings-Export-Count";
+    public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    @Override
+    public String getName() {
+        return "export_findings_action_sa";
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        SearchFindingsRequest search;
+        try (XContentParser xcp = request.contentParser()) {
+            search = SearchFindingsRequest.parse(xcp);
+        }
+        ExportFindingsRequest req = new ExportFindingsRequest(
+                search,
+                request.param(ExportFindingsRequest.CURSOR_FIELD),
+                request.paramAsInt(ExportFindingsRequest.BATCH_SIZE_FIELD, ExportFindingsRequest.DEFAULT_BATCH_SIZE),
+                request.paramAsInt(ExportFindingsRequest.MAX_FINDINGS_FIELD, ExportFindingsRequest.DEFAULT_MAX_FINDINGS)
+        );
+
+        return channel -> client.execute(
+                ExportFindingsAction.INSTANCE,
+                req,
+                exportFindingsResponse(channel)
+        );
+    }
+
+    private RestResponseListener<ExportFindingsResponse> exportFindingsResponse(RestChannel channel) {
+        return new RestResponseListener<>(channel) {
+            @Override
+            public RestResponse buildResponse(ExportFindingsResponse response) {
+                BytesRestResponse restResponse = new BytesRestResponse(OK, NDJSON_CONTENT_TYPE, response.getContent());
+                restResponse.addHeader(COUNT_HEADER, Long.toString(response.getCount()));
+                if (response.getCursor() != null) {
+                    restResponse.addHeader(CURSOR_HEADER, response.getCursor());
+                }
+                return restResponse;
+            }
+        };
+    }
+
+    @Override
+    public List<Route> routes() {
+        return singletonList(new Route(POST, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_export"));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.FindingsSummaryAction;
+import org.opensearch.securityanalytics.action.FindingsSummaryRequest;
+import org.opensearch.securityanalytics.model.Detector;
+
+
+import static java.util.Collections.singletonList;
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+public class RestFindingsSummaryAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "findings_summary_action_sa";
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+
+        String detectorId = request.param("detector_id", null);
+        String detectorType = request.param("detectorType", null);
+        long startTime = request.paramAsLong("start_time", -1L);
+        long endTime = request.paramAsLong("end_time", -1L);
+
+        FindingsSummaryRequest req = new FindingsSummaryRequest(
+                detectorId,
+                detectorType != null ? Detector.DetectorType.valueOf(detectorType.toUpperCase(Locale.ROOT)) : null,
+                startTime >= 0 ? Instant.ofEpochMilli(startTime) : null,
+                endTime >= 0 ? Instant.ofEpochMilli(endTime) : null,
+                request.paramAsTime("interval", FindingsSummaryRequest.DEFAULT_INTERVAL),
+                request.paramAsInt("size", FindingsSummaryRequest.DEFAULT_SIZE),
+                request.paramAsBoolean("use_cache", true)
+        );
+
+        return channel -> client.execute(
+                FindingsSummaryAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+
+    @Override
+    public List<Route> routes() {
+        return singletonList(new Route(GET, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_summary"));
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestCancellableNodeClient;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.GetChangesAction;
+import org.opensearch.securityanalytics.action.GetChangesRequest;
+import org.opensearch.securityanalytics.model.Detector;
+
+
+import static java.util.Collections.singletonList;
+import static org.opensearch.rest.RestRequest.Method.GET;
+
+public class RestGetChangesAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "get_changes_action_sa";
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+
+        String detectorId = request.param("detector_id", null);
+        String detectorType = request.param("detectorType", null);
+        long since = request.paramAsLong(GetChangesRequest.SINCE_FIELD, -1L);
+
+        GetChangesRequest req = new GetChangesRequest(
+                detectorId,
+                detectorType != null ? Detector.DetectorType.valueOf(detectorType.toUpperCase(Locale.ROOT)) : null,
+                request.param(GetChangesRequest.CURSOR_FIELD, null),
+                since >= 0 ? Instant.ofEpochMilli(since) : null,
+                request.paramAsInt(GetChangesRequest.SIZE_FIELD, GetChangesRequest.DEFAULT_SIZE),
+                request.paramAsTime(GetChangesRequest.TIMEOUT_FIELD, TimeValue.ZERO)
+        );
+
+        // Long polls of disconnected clients are cancelled instead of searching until they time out
+        return channel -> new RestCancellableNodeClient(client, request.getHttpChannel()).execute(
+                GetChangesAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+
+    @Override
+    public List<Route> routes() {
+        return singletonList(new Route(GET, SecurityAnalyticsPlugin.PLUGINS_BASE_URI + "/changes"));
+    }
+}
@@ -5,6 +5,7 @@ SPDX-License-Identifier: Apache-2.0
 package org.opensearch.securityanalytics.resthandler;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import org.opensearch.client.node.NodeClient;
@@ -15,6 +16,7 @@ import org.opensearch.rest.action.RestToXContentListener;
 import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
 import org.opensearch.securityanalytics.action.GetFindingsAction;
 import org.opensearch.securityanalytics.action.GetFindingsRequest;
+import org.opensearch.securityanalytics.findings.FindingDocumentsOptions;
 import org.opensearch.securityanalytics.model.Detector;
 
 
@@ -40,6 +42,13 @@ public class RestGetFindingsAction extends BaseRestHandler {
         int size = request.paramAsInt("size", 20);
         int startIndex = request.paramAsInt("startIndex", 0);
         String searchString = request.param("searchString", "");
+        // Document params, documents are left out or sampled for list views
+        FindingDocumentsOptions documentsOptions = new FindingDocumentsOptions(
+                request.paramAsBoolean(FindingDocumentsOptions.INCLUDE_DOCUMENTS_FIELD, true),
+                request.paramAsInt(FindingDocumentsOptions.MAX_DOCUMENTS_FIELD, FindingDocumentsOptions.ALL_DOCUMENTS),
+                paramAsStringList(request, FindingDocumentsOptions.SOURCE_INCLUDES_FIELD),
+                paramAsStringList(request, FindingDocumentsOptions.SOURCE_EXCLUDES_FIELD)
+        );
 
         Table table = new Table(
                 sortOrder,
@@ -53,7 +62,8 @@ public class RestGetFindingsAction extends BaseRestHandler {
         GetFindingsRequest req = new GetFindingsRequest(
                 detectorId,
                 detectorType != null ? Detector.DetectorType.valueOf(detectorType.toUpperCase(Locale.ROOT)) : null,
-                table
+                table,
+                documentsOptions
         );
 
         return channel -> client.execute(
@@ -63,6 +73,11 @@ public class RestGetFindingsAction extends BaseRestHandler {
         );
     }
 
+    private static List<String> paramAsStringList(RestRequest request, String param) {
+        String[] values = request.paramAsStringArray(param, null);
+        return values != null ? Arrays.asList(values) : null;
+    }
+
     @Override
     public List<Route> routes() {
         return singletonList(new Route(GET, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_search"));
@@ -0,0 +1,47 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.util.List;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.SearchFindingsAction;
+import org.opensearch.securityanalytics.action.SearchFindingsRequest;
+
+
+import static java.util.Collections.singletonList;
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+public class RestSearchFindingsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "search_findings_action_sa";
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        SearchFindingsRequest req;
+        try (XContentParser xcp = request.contentParser()) {
+            req = SearchFindingsRequest.parse(xcp);
+        }
+
+        return channel -> client.execute(
+                SearchFindingsAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+
+    @Override
+    public List<Route> routes() {
+        return singletonList(new Route(POST, SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_query"));
+    }
+}
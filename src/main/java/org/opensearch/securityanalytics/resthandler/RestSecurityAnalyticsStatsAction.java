@@ -0,0 +1,52 @@
+/*
+Copyright OpenSearch Contributors
+SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.util.List;
+import org.opensearch.client.node.NodeClient;
+import org.opensearch.common.Strings;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.rest.action.RestToXContentListener;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsAction;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsRequest;
+
+
+import static org.opensearch.rest.RestRequest.Method.GET;
+import static org.opensearch.rest.RestRequest.Method.POST;
+
+public class RestSecurityAnalyticsStatsAction extends BaseRestHandler {
+
+    @Override
+    public String getName() {
+        return "stats_action_sa";
+    }
+
+    @Override
+    protected RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String[] nodeIds = Strings.splitStringByCommaToArray(request.param("nodeId"));
+        boolean reset = request.method() == POST;
+
+        SecurityAnalyticsStatsRequest req = new SecurityAnalyticsStatsRequest(reset, nodeIds);
+
+        return channel -> client.execute(
+                SecurityAnalyticsStatsAction.INSTANCE,
+                req,
+                new RestToXContentListener<>(channel)
+        );
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(
+                new Route(GET, SecurityAnalyticsPlugin.STATS_BASE_URI),
+                new Route(GET, SecurityAnalyticsPlugin.STATS_BASE_URI + "/{nodeId}"),
+                new Route(POST, SecurityAnalyticsPlugin.STATS_BASE_URI + "/_reset"),
+                new Route(POST, SecurityAnalyticsPlugin.STATS_BASE_URI + "/{nodeId}/_reset")
+        );
+    }
+}
@@ -17,8 +17,10 @@ import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.common.xcontent.XContentParser;
 import org.opensearch.common.xcontent.XContentParserUtils;
 import org.opensearch.commons.alerting.aggregation.bucketselectorext.BucketSelectorExtAggregationBuilder;
+import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.script.Script;
 import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.bucket.filter.FilterAggregationBuilder;
 import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
 import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.condition.ConditionAND;
@@ -408,6 +410,58 @@ public class OSQueryBackend extends QueryBackend {
         return aggregationQueries;
     }
 
+    /**
+     * Converts the aggregation of a rule into a filter aggregation limited to the documents matching the rule query.
+     * Rules grouping by the same field nest their filter aggregations under one shared terms aggregation on that field,
+     * the bucket selector condition reads the rule metric through the filter aggregation.
+     *
+     * @param aggregation   Aggregation of the rule
+     * @param filterAggName Name of the filter aggregation, unique within the shared terms aggregation
+     * @param filter        Query of the rule
+     * @return Filter aggregation to add as subaggregation of "result_agg" and its bucket selector condition
+     */
+    public AggregationQueries convertFilteredAggregation(AggregationItem aggregation, String filterAggName, QueryBuilder filter) {
+        FilterAggregationBuilder aggBuilder = new FilterAggregationBuilder(filterAggName, filter);
+        String bucketTriggerSelectorId = UUIDs.base64UUID();
+
+        String metricName;
+        String metricPath;
+        if (aggregation.getAggFunction().equals("count")) {
+            metricName = "_cnt";
+            metricPath = filterAggName + ">_count";
+        } else {
+            metricName = aggregation.getAggField();
+            metricPath = filterAggName + ">" + aggregation.getAggField();
+
+            AggregationBuilder subAgg = AggregationBuilders.getAggregationBuilderByFunction(aggregation.getAggFunction(), aggregation.getAggField());
+            if (subAgg != null) {
+                aggBuilder.subAggregation(subAgg);
+            }
+        }
+
+        String fmtBucketTriggerQuery = String.format(Locale.getDefault(), bucketTriggerQuery, metricName, metricPath, "result_agg", metricName, aggregation.getCompOperator(), aggregation.getThreshold());
+        Script script = new Script(String.format(Locale.getDefault(), bucketTriggerScript, metricName, aggregation.getCompOperator(), aggregation.getThreshold()));
+        BucketSelectorExtAggregationBuilder condition = new BucketSelectorExtAggregationBuilder(bucketTriggerSelectorId, Collections.singletonMap(metricName, metricPath), script, "result_agg", null);
+
+        AggregationQueries aggregationQueries = new AggregationQueries();
+        aggregationQueries.setAggQuery(aggBuilder.toString());
+        aggregationQueries.setBucketTriggerQuery(fmtBucketTriggerQuery);
+        aggregationQueries.setAggBuilder(aggBuilder);
+        aggregationQueries.setCondition(condition);
+
+        return aggregationQueries;
+    }
+
+    /**
+     * @return field the terms aggregation of the rule groups by, "_index" for counts without group by
+     */
+    public static String getGroupByField(AggregationItem aggregation) {
+        if (aggregation.getAggFunction().equals("count") && aggregation.getAggField().equals("*") && aggregation.getGroupByField() == null) {
+            return "_index";
+        }
+        return aggregation.getGroupByField();
+    }
+
     private boolean comparePrecedence(ConditionType outer, ConditionType inner) {
         Class<?> outerClass = outer.getClazz();
 
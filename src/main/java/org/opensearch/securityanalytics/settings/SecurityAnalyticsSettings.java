@@ -6,6 +6,8 @@ package org.opensearch.securityanalytics.settings;
 
 import java.util.concurrent.TimeUnit;
 import org.opensearch.common.settings.Setting;
+import org.opensearch.common.unit.ByteSizeUnit;
+import org.opensearch.common.unit.ByteSizeValue;
 import org.opensearch.common.unit.TimeValue;
 
 public class SecurityAnalyticsSettings {
@@ -54,18 +56,122 @@ public class SecurityAnalyticsSettings {
 
     public static final Setting<Long> ALERT_HISTORY_MAX_DOCS = Setting.longSetting(
             "plugins.security_analytics.alert_history_max_docs",
-            1000L,
+            10000000L,
             0L,
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
 
     public static final Setting<Long> FINDING_HISTORY_MAX_DOCS = Setting.longSetting(
             "plugins.security_analytics.alert_finding_max_docs",
-            1000L,
+            10000000L,
             0L,
             Setting.Property.NodeScope, Setting.Property.Dynamic, Setting.Property.Deprecated
     );
 
+    public static final Setting<ByteSizeValue> ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE = Setting.byteSizeSetting(
+            "plugins.security_analytics.alert_history_max_primary_shard_size",
+            new ByteSizeValue(20, ByteSizeUnit.GB),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<ByteSizeValue> FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE = Setting.byteSizeSetting(
+            "plugins.security_analytics.finding_history_max_primary_shard_size",
+            new ByteSizeValue(20, ByteSizeUnit.GB),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Per detector type override of the alert history shard size, as plugins.security_analytics.detector_type.&lt;type&gt;.alert_history_max_primary_shard_size
+     */
+    public static final Setting.AffixSetting<ByteSizeValue> ALERT_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE = Setting.affixKeySetting(
+            "plugins.security_analytics.detector_type.",
+            "alert_history_max_primary_shard_size",
+            key -> Setting.byteSizeSetting(key, ByteSizeValue.MINUS_ONE, ByteSizeValue.MINUS_ONE, new ByteSizeValue(Long.MAX_VALUE), Setting.Property.NodeScope, Setting.Property.Dynamic)
+    );
+
+    /**
+     * Per detector type override of the finding history shard size, as plugins.security_analytics.detector_type.&lt;type&gt;.finding_history_max_primary_shard_size
+     */
+    public static final Setting.AffixSetting<ByteSizeValue> FINDING_HISTORY_MAX_PRIMARY_SHARD_SIZE_BY_TYPE = Setting.affixKeySetting(
+            "plugins.security_analytics.detector_type.",
+            "finding_history_max_primary_shard_size",
+            key -> Setting.byteSizeSetting(key, ByteSizeValue.MINUS_ONE, ByteSizeValue.MINUS_ONE, new ByteSizeValue(Long.MAX_VALUE), Setting.Property.NodeScope, Setting.Property.Dynamic)
+    );
+
+    /**
+     * History indices with fewer documents are not rolled over when they reach their max age, 0 rolls over empty indices as well
+     */
+    public static final Setting<Long> HISTORY_ROLLOVER_MIN_DOCS = Setting.longSetting(
+            "plugins.security_analytics.history_rollover_min_docs",
+            0L,
+            0L,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> HISTORY_INDEX_OPTIMIZATION_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.history_index_optimization_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> HISTORY_INDEX_FORCE_MERGE_MAX_NUM_SEGMENTS = Setting.intSetting(
+            "plugins.security_analytics.history_index_force_merge_max_num_segments",
+            1,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> HISTORY_INDEX_BEST_COMPRESSION = Setting.boolSetting(
+            "plugins.security_analytics.history_index_best_compression",
+            true,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Number of primaries rolled over history indices are shrunk to, 0 to not shrink them
+     */
+    public static final Setting<Integer> HISTORY_INDEX_SHRINK_NUMBER_OF_SHARDS = Setting.intSetting(
+            "plugins.security_analytics.history_index_shrink_number_of_shards",
+            0,
+            0,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> HISTORY_INDEX_OPTIMIZATION_MAX_CONCURRENT = Setting.intSetting(
+            "plugins.security_analytics.history_index_optimization_max_concurrent",
+            1,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Whether new finding and alert history indices are sorted by time, indices whose mapping has nested fields are not sorted
+     */
+    public static final Setting<Boolean> HISTORY_INDEX_SORTING_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.history_index_sorting_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Whether findings are rolled up, findings indices past retention are then only deleted once they were rolled up
+     */
+    public static final Setting<Boolean> FINDING_HISTORY_ROLLUP_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.finding_history_rollup_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Age after which findings are rolled up per day, findings are rolled up at least one index max age and one rollover
+     * period before the finding history retention period regardless
+     */
+    public static final Setting<TimeValue> FINDING_HISTORY_ROLLUP_AGE = Setting.positiveTimeSetting(
+            "plugins.security_analytics.finding_history_rollup_age",
+            new TimeValue(30, TimeUnit.DAYS),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
     public static final Setting<TimeValue> ALERT_HISTORY_RETENTION_PERIOD = Setting.positiveTimeSetting(
             "plugins.security_analytics.alert_history_retention_period",
             new TimeValue(60, TimeUnit.DAYS),
@@ -95,4 +201,82 @@ public class SecurityAnalyticsSettings {
             false,
             Setting.Property.NodeScope, Setting.Property.Dynamic
     );
-}
\ No newline at end of file
+
+    public static final Setting<Integer> DETECTOR_CACHE_MAX_SIZE = Setting.intSetting(
+            "plugins.security_analytics.detector_cache_max_size",
+            1000,
+            0,
+            Setting.Property.NodeScope
+    );
+
+    public static final Setting<TimeValue> DETECTOR_CACHE_TTL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.detector_cache_ttl",
+            TimeValue.timeValueMinutes(10),
+            Setting.Property.NodeScope
+    );
+
+    public static final Setting<Integer> RULE_UPDATE_MAX_CONCURRENT_DETECTOR_UPDATES = Setting.intSetting(
+            "plugins.security_analytics.rule_update_max_concurrent_detector_updates",
+            10,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> SHARED_QUERY_SETS_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.shared_query_sets_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<String> BUCKET_LEVEL_MONITOR_TIMESTAMP_FIELD = Setting.simpleString(
+            "plugins.security_analytics.bucket_level_monitor_timestamp_field",
+            "@timestamp",
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> BUCKET_LEVEL_MONITOR_COMPOSITE_AGGREGATION_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.bucket_level_monitor_composite_aggregation_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Boolean> MERGE_AGGREGATION_RULES_ENABLED = Setting.boolSetting(
+            "plugins.security_analytics.merge_aggregation_rules_enabled",
+            false,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<Integer> MAPPINGS_MAX_CONCURRENT_PUT_MAPPINGS = Setting.intSetting(
+            "plugins.security_analytics.mappings_max_concurrent_put_mappings",
+            5,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Max number of mappings views a rule validation resolves at once, one view is resolved per rule topic and index
+     */
+    public static final Setting<Integer> RULE_VALIDATION_MAX_CONCURRENT_REQUESTS = Setting.intSetting(
+            "plugins.security_analytics.rule_validation_max_concurrent_requests",
+            5,
+            1,
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    /**
+     * Age below which changes are not returned by the changes API yet, has to cover the refresh interval of the finding
+     * and alert indices and the duration of monitor runs
+     */
+    public static final Setting<TimeValue> CHANGES_SAFETY_LAG = Setting.timeSetting(
+            "plugins.security_analytics.changes_safety_lag",
+            TimeValue.timeValueSeconds(10),
+            TimeValue.timeValueSeconds(1),
+            Setting.Property.NodeScope, Setting.Property.Dynamic
+    );
+
+    public static final Setting<TimeValue> FINDINGS_SUMMARY_CACHE_TTL = Setting.positiveTimeSetting(
+            "plugins.security_analytics.findings_summary_cache_ttl",
+            TimeValue.timeValueSeconds(30),
+            Setting.Property.NodeScope
+    );
+}
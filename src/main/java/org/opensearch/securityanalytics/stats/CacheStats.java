@@ -0,0 +1,62 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import java.io.IOException;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+/**
+ * Snapshot of the lookups of one cache for one detector type.
+ */
+public class CacheStats implements Writeable, ToXContentObject {
+
+    private static final String HITS_FIELD = "hits";
+    private static final String MISSES_FIELD = "misses";
+    private static final String HIT_RATE_FIELD = "hit_rate";
+
+    private final long hits;
+    private final long misses;
+
+    public CacheStats(long hits, long misses) {
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    public CacheStats(StreamInput sin) throws IOException {
+        this(sin.readVLong(), sin.readVLong());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(hits);
+        out.writeVLong(misses);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        return builder.startObject()
+                .field(HITS_FIELD, hits)
+                .field(MISSES_FIELD, misses)
+                .field(HIT_RATE_FIELD, getHitRate())
+                .endObject();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups > 0 ? (double) hits / lookups : 0.0;
+    }
+}
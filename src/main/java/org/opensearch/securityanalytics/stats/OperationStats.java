@@ -0,0 +1,107 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.common.io.stream.Writeable;
+import org.opensearch.common.xcontent.ToXContentObject;
+import org.opensearch.common.xcontent.XContentBuilder;
+
+import static org.opensearch.securityanalytics.stats.SecurityAnalyticsStats.LATENCY_BUCKETS_MILLIS;
+
+/**
+ * Snapshot of the counters of one operation of one detector type.
+ */
+public class OperationStats implements Writeable, ToXContentObject {
+
+    private static final String COUNT_FIELD = "count";
+    private static final String FAILURES_FIELD = "failures";
+    private static final String TOTAL_TIME_FIELD = "total_time_in_millis";
+    private static final String AVG_TIME_FIELD = "avg_time_in_millis";
+    private static final String LATENCY_FIELD = "latency_histogram";
+    private static final String LE_FIELD = "le_millis";
+    private static final String ERRORS_FIELD = "errors";
+
+    private final long count;
+    private final long failures;
+    private final long totalMillis;
+    private final long[] latency;
+    private final Map<String, Long> errors;
+
+    /**
+     * @param latency number of operations per bucket of {@link SecurityAnalyticsStats#LATENCY_BUCKETS_MILLIS}, plus the overflow bucket
+     * @param errors number of errors per exception type
+     */
+    public OperationStats(long count, long failures, long totalMillis, long[] latency, Map<String, Long> errors) {
+        this.count = count;
+        this.failures = failures;
+        this.totalMillis = totalMillis;
+        this.latency = latency;
+        this.errors = errors;
+    }
+
+    public OperationStats(StreamInput sin) throws IOException {
+        this.count = sin.readVLong();
+        this.failures = sin.readVLong();
+        this.totalMillis = sin.readVLong();
+        this.latency = sin.readVLongArray();
+        this.errors = new TreeMap<>(sin.readMap(StreamInput::readString, StreamInput::readVLong));
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(count);
+        out.writeVLong(failures);
+        out.writeVLong(totalMillis);
+        out.writeVLongArray(latency);
+        out.writeMap(errors, StreamOutput::writeString, StreamOutput::writeVLong);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject()
+                .field(COUNT_FIELD, count)
+                .field(FAILURES_FIELD, failures)
+                .field(TOTAL_TIME_FIELD, totalMillis)
+                .field(AVG_TIME_FIELD, count > 0 ? (double) totalMillis / count : 0.0);
+        builder.startArray(LATENCY_FIELD);
+        for (int i = 0; i < latency.length; i++) {
+            builder.startObject();
+            if (i < LATENCY_BUCKETS_MILLIS.length) {
+                builder.field(LE_FIELD, LATENCY_BUCKETS_MILLIS[i]);
+            } else {
+                builder.field(LE_FIELD, "+Inf");
+            }
+            builder.field(COUNT_FIELD, latency[i]).endObject();
+        }
+        builder.endArray();
+        builder.field(ERRORS_FIELD, errors);
+        return builder.endObject();
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public long[] getLatency() {
+        return latency;
+    }
+
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.stats;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.common.CheckedSupplier;
+import org.opensearch.securityanalytics.model.Detector;
+
+/**
+ * Node-local counters and latency histograms of the operations of the plugin, per detector type.
+ *
+ * Operations are timed from their start until their listener is notified, failures are counted per exception type.
+ * Cache lookups are counted as hits and misses. All stats of a node can be reset, which starts counting from zero.
+ */
+public class SecurityAnalyticsStats {
+
+    /**
+     * Detector type of operations that do not belong to a single detector type
+     */
+    public static final String NO_DETECTOR_TYPE = "_none";
+
+    /**
+     * Upper bounds in millis of the latency histogram buckets, the last bucket holds all slower operations
+     */
+    public static final long[] LATENCY_BUCKETS_MILLIS = {1, 5, 10, 50, 100, 500, 1000, 5000, 10000, 30000};
+
+    public enum Operation {
+        RULE_PARSE,
+        RULE_CONVERT,
+        PREPACKAGED_RULES_IMPORT,
+        DETECTOR_CREATE,
+        DETECTOR_UPDATE,
+        DETECTOR_DELETE,
+        DETECTOR_INDEX,
+        MONITOR_INDEX,
+        MONITOR_DELETE,
+        MAPPING_CREATE,
+        MAPPING_UPDATE,
+        MAPPING_GET,
+        FINDINGS_GET,
+        FINDINGS_SEARCH,
+        FINDINGS_SUMMARY,
+        FINDINGS_EXPORT,
+        FINDINGS_DOCUMENTS,
+        ALERTS_GET,
+        ALERTS_ACKNOWLEDGE,
+        CHANGES_GET;
+
+        public String value() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public enum CacheType {
+        DETECTOR,
+        FINDINGS_SUMMARY,
+        INDEX_MAPPINGS;
+
+        public String value() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final ConcurrentMap<Operation, ConcurrentMap<String, OperationCounters>> operations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<CacheType, ConcurrentMap<String, CacheCounters>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @return listener recording the time until it is notified and the failure it is notified with, if any
+     */
+    public <T> ActionListener<T> time(Operation operation, String detectorType, ActionListener<T> listener) {
+        long startNanos = System.nanoTime();
+        return ActionListener.wrap(
+                response -> {
+                    record(operation, detectorType, startNanos, null);
+                    listener.onResponse(response);
+                },
+                e -> {
+                    record(operation, detectorType, startNanos, e);
+                    listener.onFailure(e);
+                }
+        );
+    }
+
+    /**
+     * Times a synchronous operation, a thrown exception is counted as failure and rethrown.
+     */
+    public <T, E extends Exception> T time(Operation operation, String detectorType, CheckedSupplier<T, E> supplier) throws E {
+        long startNanos = System.nanoTime();
+        try {
+            T result = supplier.get();
+            record(operation, detectorType, startNanos, null);
+            return result;
+        } catch (Exception e) {
+            record(operation, detectorType, startNanos, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Counts errors collected by an operation that itself completed, as the errors of parsing a rule, as one failure.
+     */
+    public void recordErrors(Operation operation, String detectorType, List<? extends Exception> errors) {
+        if (errors == null || errors.isEmpty()) {
+            return;
+        }
+        OperationCounters counters = operationCounters(operation, detectorType);
+        counters.failures.increment();
+        for (Exception error : errors) {
+            counters.errors.computeIfAbsent(errorType(error), k -> new LongAdder()).increment();
+        }
+    }
+
+    public void cacheHit(CacheType cacheType, String detectorType) {
+        cacheCounters(cacheType, detectorType).hits.increment();
+    }
+
+    public void cacheMiss(CacheType cacheType, String detectorType) {
+        cacheCounters(cacheType, detectorType).misses.increment();
+    }
+
+    /**
+     * Records a completed operation, for operations whose detector type is only known once they complete.
+     * @param startNanos {@link System#nanoTime()} at the start of the operation
+     * @param failure the failure of the operation, null if it succeeded
+     */
+    public void record(Operation operation, String detectorType, long startNanos, Exception failure) {
+        long tookMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        OperationCounters counters = operationCounters(operation, detectorType);
+        counters.count.increment();
+        counters.totalMillis.add(tookMillis);
+        counters.latency[latencyBucket(tookMillis)].increment();
+        if (failure != null) {
+            counters.failures.increment();
+            counters.errors.computeIfAbsent(errorType(failure), k -> new LongAdder()).increment();
+        }
+    }
+
+    static int latencyBucket(long tookMillis) {
+        for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; i++) {
+            if (tookMillis <= LATENCY_BUCKETS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS_MILLIS.length;
+    }
+
+    /**
+     * Exceptions surfaced by the transport actions are mostly wrapped in {@link org.opensearch.securityanalytics.util.SecurityAnalyticsException},
+     * so the status of OpenSearch exceptions is part of their error type.
+     */
+    static String errorType(Exception e) {
+        Throwable cause = ExceptionsHelper.unwrapCause(e);
+        String errorType = cause.getClass().getSimpleName();
+        if (cause instanceof OpenSearchException) {
+            errorType += "[" + ((OpenSearchException) cause).status().name().toLowerCase(Locale.ROOT) + "]";
+        }
+        return errorType;
+    }
+
+    private OperationCounters operationCounters(Operation operation, String detectorType) {
+        return operations.computeIfAbsent(operation, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(normalize(detectorType), k -> new OperationCounters());
+    }
+
+    private CacheCounters cacheCounters(CacheType cacheType, String detectorType) {
+        return caches.computeIfAbsent(cacheType, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(normalize(detectorType), k -> new CacheCounters());
+    }
+
+    private static String normalize(String detectorType) {
+        return detectorType != null ? detectorType.toLowerCase(Locale.ROOT) : NO_DETECTOR_TYPE;
+    }
+
+    /**
+     * @return the detector type to record operations of requests optionally filtered by detector type with
+     */
+    public static String detectorType(Detector.DetectorType detectorType) {
+        return detectorType != null ? detectorType.getDetectorType() : null;
+    }
+
+    /**
+     * @return stats of all operations and caches per detector type, sorted by name
+     */
+    public Map<String, Map<String, OperationStats>> operationStats() {
+        Map<String, Map<String, OperationStats>> stats = new TreeMap<>();
+        operations.forEach((operation, byType) -> {
+            Map<String, OperationStats> typeStats = new TreeMap<>();
+            byType.forEach((detectorType, counters) -> typeStats.put(detectorType, counters.snapshot()));
+            stats.put(operation.value(), typeStats);
+        });
+        return stats;
+    }
+
+    public Map<String, Map<String, CacheStats>> cacheStats() {
+        Map<String, Map<String, CacheStats>> stats = new TreeMap<>();
+        caches.forEach((cacheType, byType) -> {
+            Map<String, CacheStats> typeStats = new TreeMap<>();
+            byType.forEach((detectorType, counters) -> typeStats.put(detectorType, new CacheStats(counters.hits.sum(), counters.misses.sum())));
+            stats.put(cacheType.value(), typeStats);
+        });
+        return stats;
+    }
+
+    public void reset() {
+        operations.clear();
+        caches.clear();
+    }
+
+    private static class OperationCounters {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAdder[] latency = new LongAdder[LATENCY_BUCKETS_MILLIS.length + 1];
+        private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        OperationCounters() {
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LongAdder();
+            }
+        }
+
+        OperationStats snapshot() {
+            long[] latencyCounts = new long[latency.length];
+            for (int i = 0; i < latency.length; i++) {
+                latencyCounts[i] = latency[i].sum();
+            }
+            Map<String, Long> errorCounts = new TreeMap<>();
+            errors.forEach((type, count) -> errorCounts.put(type, count.sum()));
+            return new OperationStats(count.sum(), failures.sum(), totalMillis.sum(), latencyCounts, errorCounts);
+        }
+    }
+
+    private static class CacheCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryAction;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryRequest;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryResponse;
+import org.opensearch.securityanalytics.action.GetDetectorAction;
+import org.opensearch.securityanalytics.action.GetDetectorRequest;
+import org.opensearch.securityanalytics.alerts.AckAlertsByQueryTask;
+import org.opensearch.securityanalytics.alerts.AlertsService;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+public class TransportAckAlertsByQueryAction extends HandledTransportAction<AckAlertsByQueryRequest, AckAlertsByQueryResponse> implements SecureTransportAction {
+
+    private final Client client;
+
+    private final AlertsService alertsService;
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    private static final Logger log = LogManager.getLogger(TransportAckAlertsByQueryAction.class);
+
+    @Inject
+    public TransportAckAlertsByQueryAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, ThreadPool threadPool, Settings settings, Client client) {
+        super(AckAlertsByQueryAction.NAME, transportService, actionFilters, AckAlertsByQueryRequest::new);
+        this.client = client;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.alertsService = new AlertsService(client);
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+    }
+
+    @Override
+    protected void doExecute(Task task, AckAlertsByQueryRequest request, ActionListener<AckAlertsByQueryResponse> actionListener) {
+
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        client.execute(GetDetectorAction.INSTANCE, new GetDetectorRequest(request.getDetectorId(), -3L), ActionListener.wrap(
+                getDetectorResponse -> alertsService.acknowledgeAlertsByQuery(
+                        getDetectorResponse.getDetector(),
+                        request,
+                        (AckAlertsByQueryTask) task,
+                        actionListener
+                ),
+                actionListener::onFailure
+        ));
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+}
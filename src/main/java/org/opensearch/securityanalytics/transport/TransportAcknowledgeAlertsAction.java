@@ -29,6 +29,7 @@ import org.opensearch.securityanalytics.action.GetDetectorResponse;
 import org.opensearch.securityanalytics.alerts.AlertsService;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
@@ -45,13 +46,16 @@ public class TransportAcknowledgeAlertsAction extends HandledTransportAction<Ack
     private final ThreadPool threadPool;
     private final AlertsService alertsService;
 
+    private final SecurityAnalyticsStats stats;
+
     private volatile Boolean filterByEnabled;
 
     private static final Logger log = LogManager.getLogger(TransportAcknowledgeAlertsAction.class);
 
     @Inject
-    public TransportAcknowledgeAlertsAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, ThreadPool threadPool, Settings settings, TransportGetDetectorAction transportGetDetectorAction, NamedXContentRegistry xContentRegistry, Client client) {
+    public TransportAcknowledgeAlertsAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, ThreadPool threadPool, Settings settings, TransportGetDetectorAction transportGetDetectorAction, NamedXContentRegistry xContentRegistry, Client client, SecurityAnalyticsStats stats) {
         super(AckAlertsAction.NAME, transportService, actionFilters, AckAlertsRequest::new);
+        this.stats = stats;
         this.transportGetDetectorAction = transportGetDetectorAction;
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
@@ -63,7 +67,8 @@ public class TransportAcknowledgeAlertsAction extends HandledTransportAction<Ack
     }
 
     @Override
-    protected void doExecute(Task task, AckAlertsRequest request, ActionListener<AckAlertsResponse> actionListener) {
+    protected void doExecute(Task task, AckAlertsRequest request, ActionListener<AckAlertsResponse> listener) {
+        ActionListener<AckAlertsResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.ALERTS_ACKNOWLEDGE, null, listener);
 
         User user = readUserFromThreadContext(this.threadPool);
 
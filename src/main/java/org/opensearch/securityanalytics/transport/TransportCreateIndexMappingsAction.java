@@ -7,13 +7,16 @@ package org.opensearch.securityanalytics.transport;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.action.support.master.AcknowledgedResponse;
-import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.securityanalytics.action.CreateIndexMappingsAction;
 import org.opensearch.securityanalytics.mapper.MapperService;
 import org.opensearch.securityanalytics.action.CreateIndexMappingsRequest;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
@@ -21,9 +24,11 @@ import org.opensearch.transport.TransportService;
 public class TransportCreateIndexMappingsAction extends HandledTransportAction<CreateIndexMappingsRequest, AcknowledgedResponse> {
     private MapperService mapperService;
     private ClusterService clusterService;
+    private final IndexNameExpressionResolver indexNameExpressionResolver;
 
     private final ThreadPool threadPool;
 
+    private volatile int maxConcurrentPutMappings;
 
     @Inject
     public TransportCreateIndexMappingsAction(
@@ -31,29 +36,46 @@ public class TransportCreateIndexMappingsAction extends HandledTransportAction<C
             ActionFilters actionFilters,
             ThreadPool threadPool,
             MapperService mapperService,
-            ClusterService clusterService
+            ClusterService clusterService,
+            IndexNameExpressionResolver indexNameExpressionResolver,
+            Settings settings
     ) {
         super(CreateIndexMappingsAction.NAME, transportService, actionFilters, CreateIndexMappingsRequest::new);
         this.clusterService = clusterService;
         this.mapperService = mapperService;
         this.threadPool = threadPool;
+        this.indexNameExpressionResolver = indexNameExpressionResolver;
+
+        this.maxConcurrentPutMappings = SecurityAnalyticsSettings.MAPPINGS_MAX_CONCURRENT_PUT_MAPPINGS.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.MAPPINGS_MAX_CONCURRENT_PUT_MAPPINGS, this::setMaxConcurrentPutMappings);
     }
 
     @Override
     protected void doExecute(Task task, CreateIndexMappingsRequest request, ActionListener<AcknowledgedResponse> actionListener) {
         this.threadPool.getThreadContext().stashContext();
 
-        IndexMetadata index = clusterService.state().metadata().index(request.getIndexName());
-        if (index == null) {
+        // Index name can be a concrete index, an index pattern, an alias or a data stream
+        String[] concreteIndices = indexNameExpressionResolver.concreteIndexNames(
+                clusterService.state(),
+                IndicesOptions.lenientExpandOpen(),
+                true,
+                request.getIndexName()
+        );
+        if (concreteIndices.length == 0) {
             actionListener.onFailure(new IllegalStateException("Could not find index [" + request.getIndexName() + "]"));
             return;
         }
         mapperService.createMappingAction(
-                request.getIndexName(),
+                concreteIndices,
                 request.getRuleTopic(),
                 request.getAliasMappings(),
                 request.getPartial(),
+                maxConcurrentPutMappings,
                 actionListener
         );
     }
-}
\ No newline at end of file
+
+    private void setMaxConcurrentPutMappings(int maxConcurrentPutMappings) {
+        this.maxConcurrentPutMappings = maxConcurrentPutMappings;
+    }
+}
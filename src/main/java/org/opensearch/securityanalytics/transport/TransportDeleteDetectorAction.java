@@ -36,13 +36,17 @@ import org.opensearch.securityanalytics.action.DeleteDetectorAction;
 import org.opensearch.securityanalytics.action.DeleteDetectorRequest;
 import org.opensearch.securityanalytics.action.DeleteDetectorResponse;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.securityanalytics.util.DetectorCache;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.securityanalytics.util.SharedQuerySets;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
@@ -63,13 +67,22 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
 
     private final ThreadPool threadPool;
 
+    private final DetectorCache detectorCache;
+
+    private final SharedQuerySets sharedQuerySets;
+
+    private final SecurityAnalyticsStats stats;
+
     @Inject
-    public TransportDeleteDetectorAction(TransportService transportService, Client client, ActionFilters actionFilters, NamedXContentRegistry xContentRegistry, RuleTopicIndices ruleTopicIndices) {
+    public TransportDeleteDetectorAction(TransportService transportService, Client client, ActionFilters actionFilters, NamedXContentRegistry xContentRegistry, RuleTopicIndices ruleTopicIndices, DetectorCache detectorCache, SharedQuerySets sharedQuerySets, SecurityAnalyticsStats stats) {
         super(DeleteDetectorAction.NAME, transportService, actionFilters, DeleteDetectorRequest::new);
         this.client = client;
         this.ruleTopicIndices = ruleTopicIndices;
         this.xContentRegistry = xContentRegistry;
         this.threadPool = client.threadPool();
+        this.detectorCache = detectorCache;
+        this.sharedQuerySets = sharedQuerySets;
+        this.stats = stats;
     }
 
     @Override
@@ -78,9 +91,9 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
         asyncAction.start();
     }
 
-    private void deleteAlertingMonitor(String monitorId, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<DeleteMonitorResponse> listener) {
+    private void deleteAlertingMonitor(String monitorId, String detectorType, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<DeleteMonitorResponse> listener) {
         DeleteMonitorRequest request = new DeleteMonitorRequest(monitorId, refreshPolicy);
-        AlertingPluginInterface.INSTANCE.deleteMonitor((NodeClient) client, request, listener);
+        AlertingPluginInterface.INSTANCE.deleteMonitor((NodeClient) client, request, stats.time(SecurityAnalyticsStats.Operation.MONITOR_DELETE, detectorType, listener));
     }
 
     private void deleteDetector(String detectorId, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<DeleteResponse> listener) {
@@ -96,6 +109,9 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
         private final Task task;
+        private final long startNanos = System.nanoTime();
+        // known once the detector was read
+        private volatile String detectorType;
 
         AsyncDeleteDetectorAction(Task task, DeleteDetectorRequest request, ActionListener<DeleteDetectorResponse> listener) {
             this.task = task;
@@ -136,9 +152,34 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
         }
 
         private void onGetResponse(Detector detector) {
-            List<String> monitorIds = detector.getMonitorIds();
+            detectorType = detector.getDetectorType();
+            String docLevelMonitorId = detector.getDocLevelMonitorId();
+            if (docLevelMonitorId == null) {
+                deleteMonitors(detector, detector.getMonitorIds());
+                return;
+            }
+
+            // the doc level monitor may be shared with other detectors and is only deleted with its last reference
+            sharedQuerySets.release(docLevelMonitorId, new ActionListener<>() {
+                @Override
+                public void onResponse(Boolean stillShared) {
+                    List<String> monitorIds = new ArrayList<>(detector.getMonitorIds());
+                    if (stillShared) {
+                        monitorIds.remove(docLevelMonitorId);
+                    }
+                    deleteMonitors(detector, monitorIds);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    onFailures(e);
+                }
+            });
+        }
+
+        private void deleteMonitors(Detector detector, List<String> monitorIds) {
             String ruleIndex = detector.getRuleIndex();
-            ActionListener<DeleteMonitorResponse> deletesListener = new GroupedActionListener<>(new ActionListener<>() {
+            ActionListener<Collection<DeleteMonitorResponse>> monitorsDeletedListener = new ActionListener<>() {
                 @Override
                 public void onResponse(Collection<DeleteMonitorResponse> responses) {
                     SetOnce<RestStatus> errorStatusSupplier = new SetOnce<>();
@@ -202,9 +243,15 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
                         finishHim(null, e);
                     }
                 }
-            }, monitorIds.size());
+            };
+            if (monitorIds.isEmpty()) {
+                monitorsDeletedListener.onResponse(List.of());
+                return;
+            }
+
+            ActionListener<DeleteMonitorResponse> deletesListener = new GroupedActionListener<>(monitorsDeletedListener, monitorIds.size());
             for (String monitorId : monitorIds) {
-                deleteAlertingMonitor(monitorId, request.getRefreshPolicy(),
+                deleteAlertingMonitor(monitorId, detector.getDetectorType(), request.getRefreshPolicy(),
                         deletesListener);
             }
         }
@@ -214,7 +261,8 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
                     new ActionListener<>() {
                         @Override
                         public void onResponse(DeleteResponse response) {
-                            onOperation(response);
+                            detectorCache.invalidateOnAllNodes(response.getId(), response.getSeqNo(), response.getPrimaryTerm(),
+                                    ActionListener.wrap(r -> onOperation(response), e -> onOperation(response)));
                         }
 
                         @Override
@@ -238,6 +286,7 @@ public class TransportDeleteDetectorAction extends HandledTransportAction<Delete
         }
 
         private void finishHim(String detectorId, Exception t) {
+            stats.record(SecurityAnalyticsStats.Operation.DETECTOR_DELETE, detectorType, startNanos, t);
             threadPool.executor(ThreadPool.Names.GENERIC).execute(ActionRunnable.supply(listener, () -> {
                 if (t != null) {
                     throw SecurityAnalyticsException.wrap(t);
@@ -0,0 +1,106 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.NamedXContentRegistry;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.aggregations.MultiBucketConsumerService;
+import org.opensearch.securityanalytics.action.FindingsSummaryAction;
+import org.opensearch.securityanalytics.action.FindingsSummaryRequest;
+import org.opensearch.securityanalytics.action.FindingsSummaryResponse;
+import org.opensearch.securityanalytics.findings.FindingsService;
+import org.opensearch.securityanalytics.findings.FindingsSummaryCache;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+public class TransportFindingsSummaryAction extends HandledTransportAction<FindingsSummaryRequest, FindingsSummaryResponse> implements SecureTransportAction {
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final FindingsService findingsService;
+
+    private final FindingsSummaryCache findingsSummaryCache;
+
+    private final SecurityAnalyticsStats stats;
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    private volatile Boolean filterByEnabled;
+
+    private volatile int maxBuckets;
+
+    private static final Logger log = LogManager.getLogger(TransportFindingsSummaryAction.class);
+
+    @Inject
+    public TransportFindingsSummaryAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, ThreadPool threadPool, Settings settings, NamedXContentRegistry xContentRegistry, Client client, FindingsSummaryCache findingsSummaryCache, SecurityAnalyticsStats stats) {
+        super(FindingsSummaryAction.NAME, transportService, actionFilters, FindingsSummaryRequest::new);
+        this.xContentRegistry = xContentRegistry;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.findingsService = new FindingsService(client);
+        this.findingsSummaryCache = findingsSummaryCache;
+        this.stats = stats;
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+        this.maxBuckets = MultiBucketConsumerService.MAX_BUCKET_SETTING.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(MultiBucketConsumerService.MAX_BUCKET_SETTING, this::setMaxBuckets);
+    }
+
+    @Override
+    protected void doExecute(Task task, FindingsSummaryRequest request, ActionListener<FindingsSummaryResponse> listener) {
+        String detectorType = SecurityAnalyticsStats.detectorType(request.getDetectorType());
+        ActionListener<FindingsSummaryResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.FINDINGS_SUMMARY, detectorType, listener);
+
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        if (request.isUseCache()) {
+            FindingsSummaryResponse cached = findingsSummaryCache.get(request, user);
+            if (cached != null) {
+                stats.cacheHit(SecurityAnalyticsStats.CacheType.FINDINGS_SUMMARY, detectorType);
+                actionListener.onResponse(cached);
+                return;
+            }
+            stats.cacheMiss(SecurityAnalyticsStats.CacheType.FINDINGS_SUMMARY, detectorType);
+        }
+
+        findingsService.getDetectors(request.getDetectorId(), request.getDetectorType(), xContentRegistry, ActionListener.wrap(
+                detectors -> findingsService.summarizeFindings(detectors, request, maxBuckets, ActionListener.wrap(response -> {
+                    findingsSummaryCache.put(request, user, response);
+                    actionListener.onResponse(response);
+                }, actionListener::onFailure)),
+                actionListener::onFailure
+        ));
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+
+    private void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+}
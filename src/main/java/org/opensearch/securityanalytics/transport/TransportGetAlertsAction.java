@@ -33,6 +33,7 @@ import org.opensearch.securityanalytics.action.SearchDetectorRequest;
 import org.opensearch.securityanalytics.alerts.AlertsService;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.util.DetectorUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -55,14 +56,17 @@ public class TransportGetAlertsAction extends HandledTransportAction<GetAlertsRe
 
     private final AlertsService alertsService;
 
+    private final SecurityAnalyticsStats stats;
+
     private volatile Boolean filterByEnabled;
 
     private static final Logger log = LogManager.getLogger(TransportGetAlertsAction.class);
 
 
     @Inject
-    public TransportGetAlertsAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, TransportSearchDetectorAction transportSearchDetectorAction, ThreadPool threadPool, Settings settings, NamedXContentRegistry xContentRegistry, Client client) {
+    public TransportGetAlertsAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, TransportSearchDetectorAction transportSearchDetectorAction, ThreadPool threadPool, Settings settings, NamedXContentRegistry xContentRegistry, Client client, SecurityAnalyticsStats stats) {
         super(GetAlertsAction.NAME, transportService, actionFilters, GetAlertsRequest::new);
+        this.stats = stats;
         this.transportSearchDetectorAction = transportSearchDetectorAction;
         this.xContentRegistry = xContentRegistry;
         this.alertsService = new AlertsService(client);
@@ -74,7 +78,8 @@ public class TransportGetAlertsAction extends HandledTransportAction<GetAlertsRe
     }
 
     @Override
-    protected void doExecute(Task task, GetAlertsRequest request, ActionListener<GetAlertsResponse> actionListener) {
+    protected void doExecute(Task task, GetAlertsRequest request, ActionListener<GetAlertsResponse> listener) {
+        ActionListener<GetAlertsResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.ALERTS_GET, SecurityAnalyticsStats.detectorType(request.getDetectorType()), listener);
 
         User user = readUserFromThreadContext(this.threadPool);
 
@@ -18,6 +18,7 @@ import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.lucene.uid.Versions;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.xcontent.XContentHelper;
 import org.opensearch.rest.RestResponse;
@@ -35,7 +36,9 @@ import org.opensearch.securityanalytics.model.DetectorInput;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.securityanalytics.util.DetectorCache;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
@@ -55,6 +58,10 @@ public class TransportGetDetectorAction extends HandledTransportAction<GetDetect
 
     private final DetectorIndices detectorIndices;
 
+    private final DetectorCache detectorCache;
+
+    private final SecurityAnalyticsStats stats;
+
     private final ClusterService clusterService;
 
     private final Settings settings;
@@ -67,11 +74,13 @@ public class TransportGetDetectorAction extends HandledTransportAction<GetDetect
 
 
     @Inject
-    public TransportGetDetectorAction(TransportService transportService, ActionFilters actionFilters, DetectorIndices detectorIndices, ClusterService clusterService, NamedXContentRegistry xContentRegistry, Client client, Settings settings) {
+    public TransportGetDetectorAction(TransportService transportService, ActionFilters actionFilters, DetectorIndices detectorIndices, DetectorCache detectorCache, ClusterService clusterService, NamedXContentRegistry xContentRegistry, Client client, Settings settings, SecurityAnalyticsStats stats) {
         super(GetDetectorAction.NAME, transportService, actionFilters, GetDetectorRequest::new);
         this.xContentRegistry = xContentRegistry;
         this.client = client;
         this.detectorIndices = detectorIndices;
+        this.detectorCache = detectorCache;
+        this.stats = stats;
         this.clusterService = clusterService;
         this.threadPool = this.detectorIndices.getThreadPool();
         this.settings = settings;
@@ -93,6 +102,21 @@ public class TransportGetDetectorAction extends HandledTransportAction<GetDetect
 
         this.threadPool.getThreadContext().stashContext();
 
+        // misses are counted once the detector was read and its type is known
+        boolean cacheLookup = request.getVersion() == Versions.MATCH_ANY;
+        if (cacheLookup) {
+            Detector cached = detectorCache.get(request.getDetectorId());
+            if (cached != null) {
+                stats.cacheHit(SecurityAnalyticsStats.CacheType.DETECTOR, cached.getDetectorType());
+                if (!checkUserPermissionsWithResource(user, cached.getUser(), "detector", cached.getId(), this.filterByEnabled)) {
+                    actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+                    return;
+                }
+                actionListener.onResponse(new GetDetectorResponse(cached.getId(), cached.getVersion(), OK, cached));
+                return;
+            }
+        }
+
         GetRequest getRequest = new GetRequest(Detector.DETECTORS_INDEX, request.getDetectorId())
                 .version(request.getVersion());
 
@@ -112,6 +136,10 @@ public class TransportGetDetectorAction extends HandledTransportAction<GetDetect
                         );
                         detector = Detector.docParse(xcp, response.getId(), response.getVersion());
                         assert detector != null;
+                        if (cacheLookup) {
+                            stats.cacheMiss(SecurityAnalyticsStats.CacheType.DETECTOR, detector.getDetectorType());
+                        }
+                        detectorCache.put(detector, response.getSeqNo(), response.getPrimaryTerm());
                         // security is enabled and filterby is enabled
                         if (!checkUserPermissionsWithResource(
                                 user,
@@ -0,0 +1,79 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.client.Client;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.NamedXContentRegistry;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.action.GetFindingDocumentsAction;
+import org.opensearch.securityanalytics.action.GetFindingDocumentsRequest;
+import org.opensearch.securityanalytics.action.GetFindingDocumentsResponse;
+import org.opensearch.securityanalytics.findings.FindingsService;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.tasks.Task;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+public class TransportGetFindingDocumentsAction extends HandledTransportAction<GetFindingDocumentsRequest, GetFindingDocumentsResponse> implements SecureTransportAction {
+
+    private final NamedXContentRegistry xContentRegistry;
+
+    private final FindingsService findingsService;
+
+    private final ClusterService clusterService;
+
+    private final ThreadPool threadPool;
+
+    private final SecurityAnalyticsStats stats;
+
+    private volatile Boolean filterByEnabled;
+
+    private static final Logger log = LogManager.getLogger(TransportGetFindingDocumentsAction.class);
+
+    @Inject
+    public TransportGetFindingDocumentsAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, ThreadPool threadPool, Settings settings, NamedXContentRegistry xContentRegistry, Client client, SecurityAnalyticsStats stats) {
+        super(GetFindingDocumentsAction.NAME, transportService, actionFilters, GetFindingDocumentsRequest::new);
+        this.stats = stats;
+        this.xContentRegistry = xContentRegistry;
+        this.clusterService = clusterService;
+        this.threadPool = threadPool;
+        this.findingsService = new FindingsService(client);
+        this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+    }
+
+    @Override
+    protected void doExecute(Task task, GetFindingDocumentsRequest request, ActionListener<GetFindingDocumentsResponse> listener) {
+        ActionListener<GetFindingDocumentsResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.FINDINGS_DOCUMENTS, SecurityAnalyticsStats.detectorType(request.getDetectorType()), listener);
+
+        User user = readUserFromThreadContext(this.threadPool);
+
+        String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
+        if (!"".equals(validateBackendRoleMessage)) {
+            actionListener.onFailure(new OpenSearchStatusException("Do not have permissions to resource", RestStatus.FORBIDDEN));
+            return;
+        }
+
+        findingsService.getDetectors(request.getDetectorId(), request.getDetectorType(), xContentRegistry, ActionListener.wrap(
+                detectors -> findingsService.getFindingDocuments(detectors, request, actionListener),
+                actionListener::onFailure
+        ));
+    }
+
+    private void setFilterByEnabled(boolean filterByEnabled) {
+        this.filterByEnabled = filterByEnabled;
+    }
+}
@@ -33,6 +33,7 @@ import org.opensearch.securityanalytics.action.SearchDetectorRequest;
 import org.opensearch.securityanalytics.findings.FindingsService;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.DetectorUtils;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
@@ -59,14 +60,17 @@ public class TransportGetFindingsAction extends HandledTransportAction<GetFindin
 
     private final ThreadPool threadPool;
 
+    private final SecurityAnalyticsStats stats;
+
     private volatile Boolean filterByEnabled;
 
     private static final Logger log = LogManager.getLogger(TransportGetFindingsAction.class);
 
 
     @Inject
-    public TransportGetFindingsAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, Settings settings, TransportSearchDetectorAction transportSearchDetectorAction, NamedXContentRegistry xContentRegistry, Client client) {
+    public TransportGetFindingsAction(TransportService transportService, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, Settings settings, TransportSearchDetectorAction transportSearchDetectorAction, NamedXContentRegistry xContentRegistry, Client client, SecurityAnalyticsStats stats) {
         super(GetFindingsAction.NAME, transportService, actionFilters, GetFindingsRequest::new);
+        this.stats = stats;
         this.xContentRegistry = xContentRegistry;
         this.transportSearchDetectorAction = transportSearchDetectorAction;
         this.detectorIndices = detectorIndices;
@@ -79,7 +83,8 @@ public class TransportGetFindingsAction extends HandledTransportAction<GetFindin
     }
 
     @Override
-    protected void doExecute(Task task, GetFindingsRequest request, ActionListener<GetFindingsResponse> actionListener) {
+    protected void doExecute(Task task, GetFindingsRequest request, ActionListener<GetFindingsResponse> listener) {
+        ActionListener<GetFindingsResponse> actionListener = stats.time(SecurityAnalyticsStats.Operation.FINDINGS_GET, SecurityAnalyticsStats.detectorType(request.getDetectorType()), listener);
 
         User user = readUserFromThreadContext(this.threadPool);
 
@@ -93,6 +98,7 @@ public class TransportGetFindingsAction extends HandledTransportAction<GetFindin
             findingsService.getFindingsByDetectorId(
                     request.getDetectorId(),
                     request.getTable(),
+                    request.getDocumentsOptions(),
                     actionListener
                     );
         } else {
@@ -134,6 +140,7 @@ public class TransportGetFindingsAction extends HandledTransportAction<GetFindin
                                 detectors,
                                 request.getDetectorType(),
                                 request.getTable(),
+                                request.getDocumentsOptions(),
                                 actionListener
                         );
                     } catch (IOException e) {
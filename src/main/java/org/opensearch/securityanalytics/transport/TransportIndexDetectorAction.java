@@ -5,14 +5,18 @@
 package org.opensearch.securityanalytics.transport;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -68,8 +72,19 @@ import org.opensearch.commons.alerting.model.Monitor.MonitorType;
 import org.opensearch.commons.alerting.model.SearchInput;
 import org.opensearch.commons.alerting.model.action.Action;
 import org.opensearch.commons.authuser.User;
+import org.opensearch.index.query.BoolQueryBuilder;
 import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.cluster.metadata.IndexAbstraction;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.commons.alerting.model.IntervalSchedule;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.composite.CompositeValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.composite.TermsValuesSourceBuilder;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.securityanalytics.mapper.IndexMappingsCache;
 import org.opensearch.index.reindex.BulkByScrollResponse;
 import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.rest.RestRequest;
@@ -77,7 +92,6 @@ import org.opensearch.rest.RestRequest.Method;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.script.Script;
 import org.opensearch.search.SearchHit;
-import org.opensearch.search.SearchHits;
 import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.securityanalytics.action.IndexDetectorAction;
 import org.opensearch.securityanalytics.action.IndexDetectorRequest;
@@ -93,13 +107,18 @@ import org.opensearch.securityanalytics.model.Value;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend.AggregationQueries;
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.rules.aggregation.AggregationItem;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.securityanalytics.util.DetectorCache;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.securityanalytics.util.RuleIndices;
 import org.opensearch.securityanalytics.util.RuleTopicIndices;
+import org.opensearch.securityanalytics.util.SearchAfterPaginator;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.securityanalytics.util.SharedQuerySets;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.TransportService;
@@ -107,6 +126,7 @@ import org.opensearch.transport.TransportService;
 public class TransportIndexDetectorAction extends HandledTransportAction<IndexDetectorRequest, IndexDetectorResponse> implements SecureTransportAction {
 
     public static final String PLUGIN_OWNER_FIELD = "security_analytics";
+    private static final int COMPOSITE_AGGREGATION_PAGE_SIZE = 1000;
     private static final Logger log = LogManager.getLogger(TransportIndexDetectorAction.class);
 
     private final Client client;
@@ -132,7 +152,23 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
     private final NamedWriteableRegistry namedWriteableRegistry;
 
+    private final DetectorCache detectorCache;
+
+    private final IndexMappingsCache indexMappingsCache;
+
+    private final SharedQuerySets sharedQuerySets;
+
+    private final SecurityAnalyticsStats stats;
+
     private volatile TimeValue indexTimeout;
+
+    private volatile boolean sharedQuerySetsEnabled;
+
+    private volatile String bucketLevelMonitorTimestampField;
+
+    private volatile boolean compositeAggregationEnabled;
+
+    private volatile boolean mergeAggregationRulesEnabled;
     @Inject
     public TransportIndexDetectorAction(TransportService transportService,
                                         Client client,
@@ -142,9 +178,13 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                                         RuleTopicIndices ruleTopicIndices,
                                         RuleIndices ruleIndices,
                                         MapperService mapperService,
+                                        DetectorCache detectorCache,
+                                        IndexMappingsCache indexMappingsCache,
+                                        SharedQuerySets sharedQuerySets,
                                         ClusterService clusterService,
                                         Settings settings,
-                                        NamedWriteableRegistry namedWriteableRegistry) {
+                                        NamedWriteableRegistry namedWriteableRegistry,
+                                        SecurityAnalyticsStats stats) {
         super(IndexDetectorAction.NAME, transportService, actionFilters, IndexDetectorRequest::new);
         this.client = client;
         this.xContentRegistry = xContentRegistry;
@@ -152,19 +192,34 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         this.ruleTopicIndices = ruleTopicIndices;
         this.ruleIndices = ruleIndices;
         this.mapperService = mapperService;
+        this.detectorCache = detectorCache;
+        this.indexMappingsCache = indexMappingsCache;
+        this.sharedQuerySets = sharedQuerySets;
+        this.stats = stats;
         this.clusterService = clusterService;
         this.settings = settings;
         this.namedWriteableRegistry = namedWriteableRegistry;
         this.threadPool = this.detectorIndices.getThreadPool();
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
         this.filterByEnabled = SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES.get(this.settings);
+        this.sharedQuerySetsEnabled = SecurityAnalyticsSettings.SHARED_QUERY_SETS_ENABLED.get(this.settings);
+        this.bucketLevelMonitorTimestampField = SecurityAnalyticsSettings.BUCKET_LEVEL_MONITOR_TIMESTAMP_FIELD.get(this.settings);
+        this.compositeAggregationEnabled = SecurityAnalyticsSettings.BUCKET_LEVEL_MONITOR_COMPOSITE_AGGREGATION_ENABLED.get(this.settings);
+        this.mergeAggregationRulesEnabled = SecurityAnalyticsSettings.MERGE_AGGREGATION_RULES_ENABLED.get(this.settings);
 
         this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.FILTER_BY_BACKEND_ROLES, this::setFilterByEnabled);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.SHARED_QUERY_SETS_ENABLED, this::setSharedQuerySetsEnabled);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.BUCKET_LEVEL_MONITOR_TIMESTAMP_FIELD, this::setBucketLevelMonitorTimestampField);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.BUCKET_LEVEL_MONITOR_COMPOSITE_AGGREGATION_ENABLED, this::setCompositeAggregationEnabled);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.MERGE_AGGREGATION_RULES_ENABLED, this::setMergeAggregationRulesEnabled);
 
     }
 
     @Override
-    protected void doExecute(Task task, IndexDetectorRequest request, ActionListener<IndexDetectorResponse> listener) {
+    protected void doExecute(Task task, IndexDetectorRequest request, ActionListener<IndexDetectorResponse> actionListener) {
+        SecurityAnalyticsStats.Operation operation = request.getMethod() == RestRequest.Method.POST ?
+                SecurityAnalyticsStats.Operation.DETECTOR_CREATE : SecurityAnalyticsStats.Operation.DETECTOR_UPDATE;
+        ActionListener<IndexDetectorResponse> listener = stats.time(operation, request.getDetector().getDetectorType(), actionListener);
         User user = readUserFromThreadContext(this.threadPool);
 
         String validateBackendRoleMessage = validateUserBackendRoles(user, this.filterByEnabled);
@@ -202,7 +257,12 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
         // Indexing monitors in two steps in order to prevent all shards failed error from alerting
         // https://github.com/opensearch-project/alerting/issues/646
-        AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, monitorRequests.get(0), namedWriteableRegistry, addFirstMonitorStep);
+        if (sharedQuerySetsEnabled && !docLevelRules.isEmpty()) {
+            // doc level monitor request is always the first one
+            acquireSharedDocLevelMonitor(index, docLevelRules, detector, monitorRequests.get(0), addFirstMonitorStep);
+        } else {
+            indexAlertingMonitor(monitorRequests.get(0), detector.getDetectorType(), addFirstMonitorStep);
+        }
         addFirstMonitorStep.whenComplete(addedFirstMonitorResponse -> {
                 monitorResponses.add(addedFirstMonitorResponse);
                 int numberOfUnprocessedResponses = monitorRequests.size() - 1;
@@ -223,7 +283,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                         }, numberOfUnprocessedResponses);
 
                     for(int i = 1; i < monitorRequests.size(); i++){
-                        AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, monitorRequests.get(i), namedWriteableRegistry, monitorResponseListener);
+                        indexAlertingMonitor(monitorRequests.get(i), detector.getDetectorType(), monitorResponseListener);
                     }
                 }
             },
@@ -232,6 +292,24 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     }
 
     private void updateMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy) throws SigmaError, IOException {
+        if (detector.getDocLevelMonitorId() == null) {
+            updateMonitorFromQueries(index, rulesById, detector, listener, refreshPolicy, false);
+            return;
+        }
+        // the doc level monitor may be registered as shared query set, even after sharing was disabled
+        sharedQuerySets.refCount(detector.getDocLevelMonitorId(), ActionListener.wrap(
+                refCount -> updateMonitorFromQueries(index, rulesById, detector, listener, refreshPolicy, refCount != null),
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * @param docLevelMonitorShared whether the current doc level monitor of the detector is registered as shared query set.
+     *                              Such a monitor is never updated in place, since other detectors may use it or join it by
+     *                              its fingerprint. The detector gets a new or another shared monitor instead, and releases
+     *                              its reference to the current one only once the new monitors are committed.
+     */
+    private void updateMonitorFromQueries(String index, List<Pair<String, Rule>> rulesById, Detector detector, ActionListener<List<IndexMonitorResponse>> listener, WriteRequest.RefreshPolicy refreshPolicy, boolean docLevelMonitorShared) throws SigmaError, IOException {
         List<IndexMonitorRequest> monitorsToBeUpdated = new ArrayList<>();
 
         List<Pair<String, Rule>> bucketLevelRules = rulesById.stream().filter(it -> it.getRight().isAggregationRule()).collect(
@@ -241,37 +319,44 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         if (!bucketLevelRules.isEmpty()) {
             List<String> ruleCategories = bucketLevelRules.stream().map(Pair::getRight).map(Rule::getCategory).distinct().collect(
                 Collectors.toList());
-            Map<String, QueryBackend> queryBackendMap = new HashMap<>();
+            Map<String, OSQueryBackend> queryBackendMap = new HashMap<>();
             for(String category: ruleCategories){
                 queryBackendMap.put(category, new OSQueryBackend(category, true, true));
             }
 
             // Pair of RuleId - MonitorId for existing monitors of the detector
             Map<String, String> monitorPerRule = detector.getRuleIdMonitorIdMap();
-
-            for (Pair<String, Rule> query: bucketLevelRules) {
-                Rule rule = query.getRight();
-                if(rule.getAggregationQueries() != null){
-                    // Detect if the monitor should be added or updated
-                    if (monitorPerRule.containsKey(rule.getId())) {
-                        String monitorId = monitorPerRule.get(rule.getId());
-                        monitorsToBeUpdated.add(createBucketLevelMonitorRequest(query.getRight(),
-                            index,
-                            detector,
-                            refreshPolicy,
-                            monitorId,
-                            Method.PUT,
-                            queryBackendMap.get(rule.getCategory())));
-                    } else {
-                        monitorsToBeAdded.add(createBucketLevelMonitorRequest(query.getRight(),
-                            index,
-                            detector,
-                            refreshPolicy,
-                            Monitor.NO_ID,
-                            Method.POST,
-                            queryBackendMap.get(rule.getCategory())));
+            // Merged monitors are mapped once per rule, each existing monitor is reused by one group of rules only
+            Set<String> reusedMonitorIds = new HashSet<>();
+
+            for (List<Rule> rules: groupBucketLevelRules(bucketLevelRules)) {
+                // Detect if the monitor should be added or updated
+                String monitorId = null;
+                for (Rule rule: rules) {
+                    String existingMonitorId = monitorPerRule.get(rule.getId());
+                    if (existingMonitorId != null && reusedMonitorIds.add(existingMonitorId)) {
+                        monitorId = existingMonitorId;
+                        break;
                     }
                 }
+
+                if (monitorId != null) {
+                    monitorsToBeUpdated.add(createBucketLevelMonitorRequest(rules,
+                        index,
+                        detector,
+                        refreshPolicy,
+                        monitorId,
+                        Method.PUT,
+                        queryBackendMap.get(rules.get(0).getCategory())));
+                } else {
+                    monitorsToBeAdded.add(createBucketLevelMonitorRequest(rules,
+                        index,
+                        detector,
+                        refreshPolicy,
+                        Monitor.NO_ID,
+                        Method.POST,
+                        queryBackendMap.get(rules.get(0).getCategory())));
+                }
             }
         }
 
@@ -279,19 +364,70 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             Collectors.toList());
 
         // Process doc level monitors
+        IndexMonitorRequest sharedDocLevelMonitorRequest = null;
         if (!docLevelRules.isEmpty()) {
-            if (detector.getDocLevelMonitorId() == null) {
+            if (sharedQuerySetsEnabled && (detector.getDocLevelMonitorId() == null || docLevelMonitorShared)) {
+                sharedDocLevelMonitorRequest = createDocLevelMonitorRequest(Pair.of(index, docLevelRules), detector, refreshPolicy, Monitor.NO_ID, Method.POST);
+            } else if (detector.getDocLevelMonitorId() == null || docLevelMonitorShared) {
                 monitorsToBeAdded.add(createDocLevelMonitorRequest(Pair.of(index, docLevelRules), detector, refreshPolicy, Monitor.NO_ID, Method.POST));
             } else {
                 monitorsToBeUpdated.add(createDocLevelMonitorRequest(Pair.of(index, docLevelRules), detector, refreshPolicy, detector.getDocLevelMonitorId(), Method.PUT));
             }
         }
 
-        List<String> monitorIdsToBeDeleted = detector.getRuleIdMonitorIdMap().values().stream().collect(Collectors.toList());
+        List<String> monitorIdsToBeDeleted = detector.getRuleIdMonitorIdMap().values().stream().distinct().collect(Collectors.toList());
         monitorIdsToBeDeleted.removeAll(monitorsToBeUpdated.stream().map(IndexMonitorRequest::getMonitorId).collect(
             Collectors.toList()));
+        if (docLevelMonitorShared) {
+            monitorIdsToBeDeleted.remove(detector.getDocLevelMonitorId());
+        }
 
-        updateAlertingMonitors(monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, refreshPolicy, listener);
+        ActionListener<List<IndexMonitorResponse>> committedListener = docLevelMonitorShared ?
+                releaseSharedDocLevelMonitor(detector, refreshPolicy, listener) : listener;
+
+        if (sharedDocLevelMonitorRequest != null) {
+            StepListener<IndexMonitorResponse> sharedMonitorStep = new StepListener<>();
+            acquireSharedDocLevelMonitor(index, docLevelRules, detector, sharedDocLevelMonitorRequest, sharedMonitorStep);
+            sharedMonitorStep.whenComplete(sharedMonitorResponse -> {
+                // the acquired monitor may be the detector's current one, which must not be deleted then
+                monitorIdsToBeDeleted.remove(sharedMonitorResponse.getId());
+                updateAlertingMonitors(monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, detector.getDetectorType(), refreshPolicy, ActionListener.wrap(monitorResponses -> {
+                    List<IndexMonitorResponse> allMonitorResponses = new ArrayList<>(monitorResponses);
+                    allMonitorResponses.add(sharedMonitorResponse);
+                    committedListener.onResponse(allMonitorResponses);
+                }, listener::onFailure));
+            }, listener::onFailure);
+        } else {
+            updateAlertingMonitors(monitorsToBeAdded, monitorsToBeUpdated, monitorIdsToBeDeleted, detector.getDetectorType(), refreshPolicy, committedListener);
+        }
+    }
+
+    /**
+     * Releases the reference of the detector to its previous shared doc level monitor once its new monitors are committed,
+     * and deletes the previous monitor if no other detector uses it anymore.
+     */
+    private ActionListener<List<IndexMonitorResponse>> releaseSharedDocLevelMonitor(Detector detector, RefreshPolicy refreshPolicy, ActionListener<List<IndexMonitorResponse>> listener) {
+        String previousMonitorId = detector.getDocLevelMonitorId();
+        return ActionListener.wrap(monitorResponses -> sharedQuerySets.release(previousMonitorId, ActionListener.wrap(stillShared -> {
+            boolean reused = monitorResponses.stream().anyMatch(it -> previousMonitorId.equals(it.getId()));
+            if (stillShared || reused) {
+                listener.onResponse(monitorResponses);
+                return;
+            }
+            deleteAlertingMonitors(List.of(previousMonitorId), detector.getDetectorType(), refreshPolicy, ActionListener.wrap(
+                    deleteResponses -> listener.onResponse(monitorResponses),
+                    listener::onFailure
+            ));
+        }, listener::onFailure)), listener::onFailure);
+    }
+
+    private void acquireSharedDocLevelMonitor(String index, List<Pair<String, Rule>> docLevelRules, Detector detector, IndexMonitorRequest monitorRequest, ActionListener<IndexMonitorResponse> listener) {
+        sharedQuerySets.acquire(
+                SharedQuerySets.fingerprint(detector, index, docLevelRules),
+                monitorRequest.getMonitor(),
+                monitorListener -> indexAlertingMonitor(monitorRequest, detector.getDetectorType(), monitorListener),
+                listener
+        );
     }
 
     /**
@@ -304,6 +440,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
      * @param monitorsToBeAdded Newly added monitors by the user
      * @param monitorsToBeUpdated Existing monitors that will be updated
      * @param monitorsToBeDeleted Monitors omitted by the user
+     * @param detectorType type of the detector the monitors belong to
      * @param refreshPolicy
      * @param listener Listener that accepts the list of updated monitors if the action was successful
      */
@@ -311,6 +448,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         List<IndexMonitorRequest> monitorsToBeAdded,
         List<IndexMonitorRequest> monitorsToBeUpdated,
         List<String> monitorsToBeDeleted,
+        String detectorType,
         RefreshPolicy refreshPolicy,
         ActionListener<List<IndexMonitorResponse>> listener
     ) {
@@ -318,7 +456,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
         // Update monitor steps
         StepListener<List<IndexMonitorResponse>> addNewMonitorsStep = new StepListener();
-        executeMonitorActionRequest(monitorsToBeAdded, addNewMonitorsStep);
+        executeMonitorActionRequest(monitorsToBeAdded, detectorType, addNewMonitorsStep);
         // 1. Add new alerting monitors (for the rules that didn't exist previously)
         addNewMonitorsStep.whenComplete(addNewMonitorsResponse -> {
             if(addNewMonitorsResponse != null && !addNewMonitorsResponse.isEmpty()) {
@@ -326,7 +464,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             }
 
             StepListener<List<IndexMonitorResponse>> updateMonitorsStep = new StepListener<>();
-            executeMonitorActionRequest(monitorsToBeUpdated, updateMonitorsStep);
+            executeMonitorActionRequest(monitorsToBeUpdated, detectorType, updateMonitorsStep);
             // 2. Update existing alerting monitors (based on the common rules)
             updateMonitorsStep.whenComplete(updateMonitorResponse -> {
                 if(updateMonitorResponse!=null && !updateMonitorResponse.isEmpty()) {
@@ -334,7 +472,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                 }
 
                     StepListener<List<DeleteMonitorResponse>> deleteMonitorStep = new StepListener<>();
-                    deleteAlertingMonitors(monitorsToBeDeleted, refreshPolicy, deleteMonitorStep);
+                    deleteAlertingMonitors(monitorsToBeDeleted, detectorType, refreshPolicy, deleteMonitorStep);
                     // 3. Delete alerting monitors (rules that are not provided by the user)
                     deleteMonitorStep.whenComplete(deleteMonitorResponses ->
                             // Return list of all updated + newly added monitors
@@ -401,7 +539,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     private List<IndexMonitorRequest> buildBucketLevelMonitorRequests(Pair<String, List<Pair<String, Rule>>> logIndexToQueries, Detector detector, WriteRequest.RefreshPolicy refreshPolicy, String monitorId, RestRequest.Method restMethod) throws IOException, SigmaError {
         List<String> ruleCategories = logIndexToQueries.getRight().stream().map(Pair::getRight).map(Rule::getCategory).distinct().collect(
             Collectors.toList());
-        Map<String, QueryBackend> queryBackendMap = new HashMap<>();
+        Map<String, OSQueryBackend> queryBackendMap = new HashMap<>();
 
         for(String category: ruleCategories){
             queryBackendMap.put(category, new OSQueryBackend(category, true, true));
@@ -409,22 +547,57 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
         List<IndexMonitorRequest> monitorRequests = new ArrayList<>();
 
-        for (Pair<String, Rule> query: logIndexToQueries.getRight()) {
+        // Creating bucket level monitor per each aggregation rule, or per group of merged aggregation rules
+        for (List<Rule> rules: groupBucketLevelRules(logIndexToQueries.getRight())) {
+            monitorRequests.add(createBucketLevelMonitorRequest(
+                rules,
+                logIndexToQueries.getLeft(),
+                detector,
+                refreshPolicy,
+                Monitor.NO_ID,
+                Method.POST,
+                queryBackendMap.get(rules.get(0).getCategory())));
+        }
+        return monitorRequests;
+    }
+
+    /**
+     * Groups the aggregation rules by the bucket level monitor evaluating them. Every rule has its own monitor, unless
+     * merging is enabled and rules of the same category group by the same field over the same timeframe.
+     */
+    private Collection<List<Rule>> groupBucketLevelRules(List<Pair<String, Rule>> bucketLevelRules) throws SigmaError {
+        Map<String, List<Rule>> rulesByMonitor = new LinkedHashMap<>();
+        for (Pair<String, Rule> query: bucketLevelRules) {
             Rule rule = query.getRight();
+            if (rule.getAggregationQueries() == null) {
+                continue;
+            }
 
-            // Creating bucket level monitor per each aggregation rule
-            if(rule.getAggregationQueries() != null){
-                monitorRequests.add(createBucketLevelMonitorRequest(
-                    query.getRight(),
-                    logIndexToQueries.getLeft(),
-                    detector,
-                    refreshPolicy,
-                    Monitor.NO_ID,
-                    Method.POST,
-                    queryBackendMap.get(rule.getCategory())));
+            String monitorKey = "rule:" + rule.getId();
+            if (mergeAggregationRulesEnabled) {
+                String groupByField = OSQueryBackend.getGroupByField(rule.getAggregationItemsFromRule().get(0));
+                if (groupByField != null) {
+                    monitorKey = String.join(":", "group", rule.getCategory(), groupByField, String.valueOf(rule.getTimeframe()));
+                }
             }
+            rulesByMonitor.computeIfAbsent(monitorKey, key -> new ArrayList<>()).add(rule);
         }
-        return monitorRequests;
+        return rulesByMonitor.values();
+    }
+
+    private IndexMonitorRequest createBucketLevelMonitorRequest(
+        List<Rule> rules,
+        String index,
+        Detector detector,
+        WriteRequest.RefreshPolicy refreshPolicy,
+        String monitorId,
+        RestRequest.Method restMethod,
+        OSQueryBackend queryBackend
+    ) throws SigmaError {
+        if (rules.size() == 1) {
+            return createBucketLevelMonitorRequest(rules.get(0), index, detector, refreshPolicy, monitorId, restMethod, queryBackend);
+        }
+        return createMergedBucketLevelMonitorRequest(rules, index, detector, refreshPolicy, monitorId, restMethod, queryBackend);
     }
 
     private IndexMonitorRequest createBucketLevelMonitorRequest(
@@ -438,15 +611,17 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
     ) throws SigmaError {
         AggregationQueries aggregationQueries = queryBackend.convertAggregation(rule.getAggregationItemsFromRule().get(0));
 
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
-            .seqNoAndPrimaryTerm(true)
-            .version(true)
-            // Build query string filter
-            .query(QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue()))
-            .aggregation(aggregationQueries.getAggBuilder());
+        // Build query string filter, limited to the rule timeframe when the log index has a timestamp
+        QueryBuilder query = QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue());
+        RangeQueryBuilder timeRange = bucketLevelMonitorTimeRange(rule, index, detector);
+        if (timeRange != null) {
+            query = QueryBuilders.boolQuery().must(query).filter(timeRange);
+        }
 
-        List<SearchInput> bucketLevelMonitorInputs = new ArrayList<>();
-        bucketLevelMonitorInputs.add(new SearchInput(Arrays.asList(index), searchSourceBuilder));
+        AggregationBuilder aggBuilder = aggregationQueries.getAggBuilder();
+        if (compositeAggregationEnabled) {
+            aggBuilder = toCompositeAggregation(aggBuilder);
+        }
 
         List<BucketLevelTrigger> triggers = new ArrayList<>();
         BucketLevelTrigger bucketLevelTrigger = new BucketLevelTrigger(rule.getId(), rule.getTitle(), rule.getLevel(), aggregationQueries.getCondition(),
@@ -466,6 +641,75 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
          triggers.add(bucketLevelTrigger1);
          } **/
 
+        return createBucketLevelMonitorRequest(query, aggBuilder, triggers, index, detector, refreshPolicy, monitorId, restMethod);
+    }
+
+    /**
+     * Creates one bucket level monitor for several aggregation rules sharing the group by field and timeframe.
+     * The monitor searches the union of the rule queries once, every rule nests a filter aggregation with its own
+     * metric under the shared terms aggregation and has its own trigger. Trigger ids are rule ids, so alerts stay
+     * attributed to the rule whose condition matched.
+     */
+    private IndexMonitorRequest createMergedBucketLevelMonitorRequest(
+        List<Rule> rules,
+        String index,
+        Detector detector,
+        WriteRequest.RefreshPolicy refreshPolicy,
+        String monitorId,
+        RestRequest.Method restMethod,
+        OSQueryBackend queryBackend
+    ) throws SigmaError {
+        AggregationItem firstAggregation = rules.get(0).getAggregationItemsFromRule().get(0);
+        TermsAggregationBuilder termsAggBuilder = new TermsAggregationBuilder("result_agg")
+            .field(OSQueryBackend.getGroupByField(firstAggregation));
+
+        BoolQueryBuilder rulesQuery = QueryBuilders.boolQuery().minimumShouldMatch(1);
+        List<BucketLevelTrigger> triggers = new ArrayList<>();
+        for (Rule rule: rules) {
+            QueryBuilder ruleQuery = QueryBuilders.queryStringQuery(rule.getQueries().get(0).getValue());
+            rulesQuery.should(ruleQuery);
+
+            AggregationQueries aggregationQueries = queryBackend.convertFilteredAggregation(
+                rule.getAggregationItemsFromRule().get(0), "rule_" + rule.getId(), ruleQuery);
+            termsAggBuilder.subAggregation(aggregationQueries.getAggBuilder());
+            triggers.add(new BucketLevelTrigger(rule.getId(), rule.getTitle(), rule.getLevel(), aggregationQueries.getCondition(),
+                Collections.emptyList()));
+        }
+
+        // Rules are only merged when they share the timeframe
+        QueryBuilder query = rulesQuery;
+        RangeQueryBuilder timeRange = bucketLevelMonitorTimeRange(rules.get(0), index, detector);
+        if (timeRange != null) {
+            query = QueryBuilders.boolQuery().must(rulesQuery).filter(timeRange);
+        }
+
+        AggregationBuilder aggBuilder = termsAggBuilder;
+        if (compositeAggregationEnabled) {
+            aggBuilder = toCompositeAggregation(aggBuilder);
+        }
+
+        return createBucketLevelMonitorRequest(query, aggBuilder, triggers, index, detector, refreshPolicy, monitorId, restMethod);
+    }
+
+    private IndexMonitorRequest createBucketLevelMonitorRequest(
+        QueryBuilder query,
+        AggregationBuilder aggBuilder,
+        List<BucketLevelTrigger> triggers,
+        String index,
+        Detector detector,
+        WriteRequest.RefreshPolicy refreshPolicy,
+        String monitorId,
+        RestRequest.Method restMethod
+    ) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
+            .seqNoAndPrimaryTerm(true)
+            .version(true)
+            .query(query)
+            .aggregation(aggBuilder);
+
+        List<SearchInput> bucketLevelMonitorInputs = new ArrayList<>();
+        bucketLevelMonitorInputs.add(new SearchInput(Arrays.asList(index), searchSourceBuilder));
+
         Monitor monitor = new Monitor(monitorId, Monitor.NO_VERSION, detector.getName(), detector.getEnabled(), detector.getSchedule(), detector.getLastUpdateTime(), detector.getEnabledTime(),
             MonitorType.BUCKET_LEVEL_MONITOR, detector.getUser(), 1, bucketLevelMonitorInputs, triggers, Map.of(),
             new DataSources(detector.getRuleIndex(),
@@ -480,13 +724,93 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         return new IndexMonitorRequest(monitorId, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, refreshPolicy, restMethod, monitor, null);
     }
 
+    /**
+     * Builds the range filter of a bucket level monitor query. The window is the sigma detection.timeframe of the rule,
+     * or the detector schedule interval if the rule has none, and always ends at the period end of the monitor run.
+     * @return range filter or null if the log index has no timestamp field to filter on
+     */
+    private RangeQueryBuilder bucketLevelMonitorTimeRange(Rule rule, String index, Detector detector) throws SigmaError {
+        String timestampField = bucketLevelMonitorTimestampField;
+        if (timestampField == null || timestampField.isEmpty() || !indexHasField(index, timestampField)) {
+            return null;
+        }
+
+        TimeValue window = null;
+        String timeframe = rule.getTimeframe();
+        if (timeframe != null) {
+            try {
+                window = TimeValue.parseTimeValue(timeframe, "detection.timeframe");
+            } catch (IllegalArgumentException e) {
+                log.warn("Rule {} has unsupported timeframe {}, falling back to detector schedule", rule.getId(), timeframe);
+            }
+        }
+        if (window == null && detector.getSchedule() instanceof IntervalSchedule) {
+            IntervalSchedule schedule = (IntervalSchedule) detector.getSchedule();
+            window = TimeValue.timeValueMillis(Duration.of(schedule.getInterval(), schedule.getUnit()).toMillis());
+        }
+        if (window == null) {
+            return null;
+        }
+
+        // date math has no millisecond unit, round up to full seconds
+        long windowSeconds = Math.max(1L, (window.millis() + 999L) / 1000L);
+        return QueryBuilders.rangeQuery(timestampField)
+            .gte("{{period_end}}||-" + windowSeconds + "s")
+            .lte("{{period_end}}")
+            .format("epoch_millis");
+    }
+
+    private boolean indexHasField(String index, String field) {
+        IndexAbstraction indexAbstraction = clusterService.state().metadata().getIndicesLookup().get(index);
+        if (indexAbstraction == null) {
+            // wildcard patterns are not resolved here, assume the field is present
+            return true;
+        }
+        // backing indices share their mappings mostly, the first index with the field settles it
+        for (IndexMetadata indexMetadata: indexAbstraction.getIndices()) {
+            try {
+                if (indexMappingsCache.get(indexMetadata).getAllFieldSet().contains(field)) {
+                    return true;
+                }
+            } catch (IOException e) {
+                log.warn("Failed to read the mappings of index " + indexMetadata.getIndex().getName(), e);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the terms aggregation of a rule by a composite aggregation on the same group by field, which the
+     * bucket level monitor runner pages through with after keys instead of returning all buckets at once.
+     */
+    private AggregationBuilder toCompositeAggregation(AggregationBuilder aggBuilder) {
+        if (!(aggBuilder instanceof TermsAggregationBuilder)) {
+            return aggBuilder;
+        }
+        TermsAggregationBuilder termsAggBuilder = (TermsAggregationBuilder) aggBuilder;
+        String groupByField = termsAggBuilder.field();
+        if (groupByField == null || "_index".equals(groupByField)) {
+            return aggBuilder;
+        }
+
+        List<CompositeValuesSourceBuilder<?>> sources = List.of(new TermsValuesSourceBuilder(groupByField).field(groupByField));
+        CompositeAggregationBuilder compositeAggBuilder = new CompositeAggregationBuilder(termsAggBuilder.getName(), sources)
+            .size(COMPOSITE_AGGREGATION_PAGE_SIZE);
+        for (AggregationBuilder subAggregation: termsAggBuilder.getSubAggregations()) {
+            compositeAggBuilder.subAggregation(subAggregation);
+        }
+        return compositeAggBuilder;
+    }
+
     /**
      * Executes monitor related requests (PUT/POST) - returns the response once all the executions are completed
      * @param indexMonitors  Monitors to be updated/added
+     * @param detectorType type of the detector the monitors belong to
      * @param listener actionListener for handling updating/creating monitors
      */
     public void executeMonitorActionRequest(
         List<IndexMonitorRequest> indexMonitors,
+        String detectorType,
         ActionListener<List<IndexMonitorResponse>> listener) {
 
         // In the case of not provided monitors, just return empty list
@@ -509,17 +833,18 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
         // Persist monitors sequentially
         for (IndexMonitorRequest req: indexMonitors) {
-            AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, req, namedWriteableRegistry, monitorResponseListener);
+            indexAlertingMonitor(req, detectorType, monitorResponseListener);
         }
     }
 
     /**
      * Deletes the alerting monitors based on the given ids and notifies the listener that will be notified once all monitors have been deleted
      * @param monitorIds monitor ids to be deleted
+     * @param detectorType type of the detector the monitors belong to
      * @param refreshPolicy
      * @param listener listener that will be notified once all the monitors are being deleted
      */
-    private void deleteAlertingMonitors(List<String> monitorIds, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<List<DeleteMonitorResponse>> listener){
+    private void deleteAlertingMonitors(List<String> monitorIds, String detectorType, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<List<DeleteMonitorResponse>> listener){
         if (monitorIds == null || monitorIds.isEmpty()) {
             listener.onResponse(new ArrayList<>());
             return;
@@ -547,12 +872,16 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         }, monitorIds.size());
 
         for (String monitorId : monitorIds) {
-            deleteAlertingMonitor(monitorId, refreshPolicy, deletesListener);
+            deleteAlertingMonitor(monitorId, detectorType, refreshPolicy, deletesListener);
         }
     }
-    private void deleteAlertingMonitor(String monitorId, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<DeleteMonitorResponse> listener) {
+    private void deleteAlertingMonitor(String monitorId, String detectorType, WriteRequest.RefreshPolicy refreshPolicy, ActionListener<DeleteMonitorResponse> listener) {
         DeleteMonitorRequest request = new DeleteMonitorRequest(monitorId, refreshPolicy);
-        AlertingPluginInterface.INSTANCE.deleteMonitor((NodeClient) client, request, listener);
+        AlertingPluginInterface.INSTANCE.deleteMonitor((NodeClient) client, request, stats.time(SecurityAnalyticsStats.Operation.MONITOR_DELETE, detectorType, listener));
+    }
+
+    private void indexAlertingMonitor(IndexMonitorRequest request, String detectorType, ActionListener<IndexMonitorResponse> listener) {
+        AlertingPluginInterface.INSTANCE.indexMonitor((NodeClient) client, request, namedWriteableRegistry, stats.time(SecurityAnalyticsStats.Operation.MONITOR_INDEX, detectorType, listener));
     }
 
     private void onCreateMappingsResponse(CreateIndexResponse response) throws IOException {
@@ -922,46 +1251,27 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
 
             List<String> ruleIds = detectorInput.getPrePackagedRules().stream().map(DetectorRule::getId).collect(Collectors.toList());
 
-            QueryBuilder queryBuilder =
-                    QueryBuilders.nestedQuery("rule",
-                            QueryBuilders.boolQuery().must(
-                                    QueryBuilders.matchQuery("rule.category", ruleTopic)
-                            ).must(
-                                    QueryBuilders.termsQuery("_id", ruleIds.toArray(new String[]{}))
-                            ),
-                            ScoreMode.Avg
-                    );
-
-            SearchRequest searchRequest = new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX)
-                    .source(new SearchSourceBuilder()
-                            .seqNoAndPrimaryTerm(true)
-                            .version(true)
-                            .query(queryBuilder)
-                            .size(10000));
+            List<Pair<String, Rule>> queries = new ArrayList<>();
+            SearchAfterPaginator.searchAllByIds(client::search, ruleIds, ids -> {
+                QueryBuilder queryBuilder =
+                        QueryBuilders.nestedQuery("rule",
+                                QueryBuilders.boolQuery().must(
+                                        QueryBuilders.matchQuery("rule.category", ruleTopic)
+                                ).must(
+                                        QueryBuilders.termsQuery("_id", ids.toArray(new String[]{}))
+                                ),
+                                ScoreMode.Avg
+                        );
 
-            client.search(searchRequest, new ActionListener<>() {
+                return new SearchRequest(Rule.PRE_PACKAGED_RULES_INDEX)
+                        .source(new SearchSourceBuilder()
+                                .seqNoAndPrimaryTerm(true)
+                                .version(true)
+                                .query(queryBuilder));
+            }, SearchAfterPaginator.DEFAULT_PAGE_SIZE, hit -> queries.add(Pair.of(hit.getId(), parseRule(hit))), new ActionListener<>() {
                 @Override
-                public void onResponse(SearchResponse response) {
-                    if (response.isTimedOut()) {
-                        onFailures(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
-                    }
-
-                    SearchHits hits = response.getHits();
-                    List<Pair<String, Rule>> queries = new ArrayList<>();
-
+                public void onResponse(Long count) {
                     try {
-                        for (SearchHit hit: hits) {
-                            XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                    xContentRegistry,
-                                    LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                            );
-
-                            Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
-                            String id = hit.getId();
-
-                            queries.add(Pair.of(id, rule));
-                        }
-
                         if (ruleIndices.ruleIndexExists(false)) {
                             importCustomRules(detector, detectorInput, queries, listener);
                         } else if (detectorInput.getCustomRules().size() > 0) {
@@ -990,36 +1300,15 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             final String logIndex = detectorInput.getIndices().get(0);
             List<String> ruleIds = detectorInput.getCustomRules().stream().map(DetectorRule::getId).collect(Collectors.toList());
 
-            QueryBuilder queryBuilder = QueryBuilders.termsQuery("_id", ruleIds.toArray(new String[]{}));
-            SearchRequest searchRequest = new SearchRequest(Rule.CUSTOM_RULES_INDEX)
+            SearchAfterPaginator.searchAllByIds(client::search, ruleIds, ids -> new SearchRequest(Rule.CUSTOM_RULES_INDEX)
                     .source(new SearchSourceBuilder()
                             .seqNoAndPrimaryTerm(true)
                             .version(true)
-                            .query(queryBuilder)
-                            .size(10000));
-
-            client.search(searchRequest, new ActionListener<>() {
+                            .query(QueryBuilders.termsQuery("_id", ids.toArray(new String[]{})))),
+                    SearchAfterPaginator.DEFAULT_PAGE_SIZE, hit -> queries.add(Pair.of(hit.getId(), parseRule(hit))), new ActionListener<>() {
                 @Override
-                public void onResponse(SearchResponse response) {
-                    if (response.isTimedOut()) {
-                        onFailures(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
-                    }
-
-                    SearchHits hits = response.getHits();
-
+                public void onResponse(Long count) {
                     try {
-                        for (SearchHit hit : hits) {
-                            XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                    xContentRegistry,
-                                    LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                            );
-
-                            Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
-                            String id = hit.getId();
-
-                            queries.add(Pair.of(id, rule));
-                        }
-
                         if (request.getMethod() == RestRequest.Method.POST) {
                             createMonitorFromQueries(logIndex, queries, detector, listener, request.getRefreshPolicy());
                         } else if (request.getMethod() == RestRequest.Method.PUT) {
@@ -1037,6 +1326,14 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
             });
         }
 
+        private Rule parseRule(SearchHit hit) throws IOException {
+            XContentParser xcp = XContentType.JSON.xContent().createParser(
+                    xContentRegistry,
+                    LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+            );
+            return Rule.docParse(xcp, hit.getId(), hit.getVersion());
+        }
+
         public void indexDetector() throws IOException {
             IndexRequest indexRequest;
             if (request.getMethod() == RestRequest.Method.POST) {
@@ -1052,11 +1349,16 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                         .timeout(indexTimeout);
             }
 
-            client.index(indexRequest, new ActionListener<>() {
+            client.index(indexRequest, stats.time(SecurityAnalyticsStats.Operation.DETECTOR_INDEX, request.getDetector().getDetectorType(), new ActionListener<IndexResponse>() {
                 @Override
                 public void onResponse(IndexResponse response) {
                     Detector responseDetector = request.getDetector();
                     responseDetector.setId(response.getId());
+                    if (request.getMethod() == RestRequest.Method.PUT) {
+                        detectorCache.invalidateOnAllNodes(response.getId(), response.getSeqNo(), response.getPrimaryTerm(),
+                                ActionListener.wrap(r -> onOperation(response, responseDetector), e -> onOperation(response, responseDetector)));
+                        return;
+                    }
                     onOperation(response, responseDetector);
                 }
 
@@ -1064,7 +1366,7 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
                 public void onFailure(Exception e) {
                     onFailures(e);
                 }
-            });
+            }));
         }
 
         private void onOperation(IndexResponse response, Detector detector) {
@@ -1102,19 +1404,16 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
          * @return map of monitor ids
          */
         private Map<String, String> mapMonitorIds(List<IndexMonitorResponse> monitorResponses) {
-            return monitorResponses.stream().collect(
-                    Collectors.toMap(
-                        // In the case of bucket level monitors rule id is trigger id
-                        it -> {
-                            if (MonitorType.BUCKET_LEVEL_MONITOR == it.getMonitor().getMonitorType()) {
-                                return it.getMonitor().getTriggers().get(0).getId();
-                            } else {
-                                return Detector.DOC_LEVEL_MONITOR;
-                            }
-                        },
-                        IndexMonitorResponse::getId
-                    )
-                );
+            Map<String, String> monitorIds = new HashMap<>();
+            for (IndexMonitorResponse monitorResponse: monitorResponses) {
+                if (MonitorType.BUCKET_LEVEL_MONITOR == monitorResponse.getMonitor().getMonitorType()) {
+                    // In the case of bucket level monitors rule id is trigger id, merged monitors have a trigger per rule
+                    monitorResponse.getMonitor().getTriggers().forEach(trigger -> monitorIds.put(trigger.getId(), monitorResponse.getId()));
+                } else {
+                    monitorIds.put(Detector.DOC_LEVEL_MONITOR, monitorResponse.getId());
+                }
+            }
+            return monitorIds;
         }
     }
 
@@ -1122,4 +1421,20 @@ public class TransportIndexDetectorAction extends HandledTransportAction<IndexDe
         this.filterByEnabled = filterByEnabled;
     }
 
+    private void setSharedQuerySetsEnabled(boolean sharedQuerySetsEnabled) {
+        this.sharedQuerySetsEnabled = sharedQuerySetsEnabled;
+    }
+
+    private void setBucketLevelMonitorTimestampField(String bucketLevelMonitorTimestampField) {
+        this.bucketLevelMonitorTimestampField = bucketLevelMonitorTimestampField;
+    }
+
+    private void setCompositeAggregationEnabled(boolean compositeAggregationEnabled) {
+        this.compositeAggregationEnabled = compositeAggregationEnabled;
+    }
+
+    private void setMergeAggregationRulesEnabled(boolean mergeAggregationRulesEnabled) {
+        this.mergeAggregationRulesEnabled = mergeAggregationRulesEnabled;
+    }
+
 }
\ No newline at end of file
@@ -8,19 +8,24 @@ import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.search.join.ScoreMode;
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.ActionRunnable;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.ClearScrollRequest;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.WriteRequest;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
@@ -36,6 +41,7 @@ import org.opensearch.rest.RestRequest;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.FieldSortBuilder;
 import org.opensearch.securityanalytics.action.IndexDetectorAction;
 import org.opensearch.securityanalytics.action.IndexDetectorRequest;
 import org.opensearch.securityanalytics.action.IndexDetectorResponse;
@@ -49,9 +55,11 @@ import org.opensearch.securityanalytics.rules.backend.QueryBackend;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.util.DetectorIndices;
 import org.opensearch.securityanalytics.util.IndexUtils;
 import org.opensearch.securityanalytics.util.RuleIndices;
+import org.opensearch.securityanalytics.util.SearchAfterPaginator;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
 import org.opensearch.threadpool.ThreadPool;
@@ -63,9 +71,13 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import static org.opensearch.securityanalytics.model.Detector.NO_ID;
@@ -75,6 +87,8 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
 
     private static final Logger log = LogManager.getLogger(TransportIndexRuleAction.class);
 
+    private static final TimeValue DETECTORS_SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1L);
+
     private final Client client;
 
     private final RuleIndices ruleIndices;
@@ -89,10 +103,14 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
 
     private final Settings settings;
 
+    private final SecurityAnalyticsStats stats;
+
     private volatile TimeValue indexTimeout;
 
+    private volatile int maxConcurrentDetectorUpdates;
+
     @Inject
-    public TransportIndexRuleAction(TransportService transportService, Client client, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, RuleIndices ruleIndices, NamedXContentRegistry xContentRegistry, Settings settings) {
+    public TransportIndexRuleAction(TransportService transportService, Client client, ActionFilters actionFilters, ClusterService clusterService, DetectorIndices detectorIndices, RuleIndices ruleIndices, NamedXContentRegistry xContentRegistry, Settings settings, SecurityAnalyticsStats stats) {
         super(IndexRuleAction.NAME, transportService, actionFilters, IndexRuleRequest::new);
         this.client = client;
         this.detectorIndices = detectorIndices;
@@ -101,8 +119,12 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
         this.clusterService = clusterService;
         this.xContentRegistry = xContentRegistry;
         this.settings = settings;
+        this.stats = stats;
 
         this.indexTimeout = SecurityAnalyticsSettings.INDEX_TIMEOUT.get(this.settings);
+        this.maxConcurrentDetectorUpdates = SecurityAnalyticsSettings.RULE_UPDATE_MAX_CONCURRENT_DETECTOR_UPDATES.get(this.settings);
+
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.RULE_UPDATE_MAX_CONCURRENT_DETECTOR_UPDATES, this::setMaxConcurrentDetectorUpdates);
     }
 
     @Override
@@ -117,8 +139,9 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
         private final ActionListener<IndexRuleResponse> listener;
         private final AtomicReference<Object> response;
         private final AtomicBoolean counter = new AtomicBoolean();
-        private final AtomicInteger checker = new AtomicInteger();
         private final Task task;
+        private volatile List<String> updatedDetectors = List.of();
+        private volatile Map<String, String> failedDetectors = Map.of();
 
         AsyncIndexRulesAction(Task task, IndexRuleRequest request, ActionListener<IndexRuleResponse> listener) {
             this.task = task;
@@ -174,14 +197,15 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             String category = request.getLogType().toLowerCase(Locale.ROOT);
 
             try {
-                SigmaRule parsedRule = SigmaRule.fromYaml(rule, true);
+                SigmaRule parsedRule = stats.time(SecurityAnalyticsStats.Operation.RULE_PARSE, category, () -> SigmaRule.fromYaml(rule, true));
+                stats.recordErrors(SecurityAnalyticsStats.Operation.RULE_PARSE, category, parsedRule.getErrors());
                 if (parsedRule.getErrors() != null && parsedRule.getErrors().size() > 0) {
                     onFailures(parsedRule.getErrors().toArray(new SigmaError[]{}));
                     return;
                 }
 
                 final QueryBackend backend = new OSQueryBackend(category, true, true);
-                List<Object> queries = backend.convertRule(parsedRule);
+                List<Object> queries = stats.time(SecurityAnalyticsStats.Operation.RULE_CONVERT, category, () -> backend.convertRule(parsedRule));
                 Set<String> queryFieldNames = backend.getQueryFields().keySet();
                 Rule ruleDoc = new Rule(
                         NO_ID, NO_VERSION, parsedRule, category,
@@ -200,40 +224,16 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                 if (detectorIndices.detectorIndexExists()) {
                     searchDetectors(request.getRuleId(), new ActionListener<>() {
                         @Override
-                        public void onResponse(SearchResponse response) {
-                            if (response.isTimedOut()) {
-                                onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s cannot be updated", rule.getId()), RestStatus.INTERNAL_SERVER_ERROR));
+                        public void onResponse(List<Detector> detectors) {
+                            if (detectors.size() > 0 && !request.isForced()) {
+                                onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s is actively used by detectors. Update can be forced by setting forced flag to true", request.getRuleId()), RestStatus.BAD_REQUEST));
                                 return;
                             }
 
-                            if (response.getHits().getTotalHits().value > 0) {
-                                if (!request.isForced()) {
-                                    onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s is actively used by detectors. Update can be forced by setting forced flag to true", request.getRuleId()), RestStatus.BAD_REQUEST));
-                                    return;
-                                }
-
-                                List<Detector> detectors = new ArrayList<>();
-                                try {
-                                    for (SearchHit hit : response.getHits()) {
-                                        XContentParser xcp = XContentType.JSON.xContent().createParser(
-                                                xContentRegistry,
-                                                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
-                                        );
-
-                                        Detector detector = Detector.docParse(xcp, hit.getId(), hit.getVersion());
-                                        detectors.add(detector);
-                                    }
-
-                                    updateRule(rule, detectors);
-                                } catch (IOException ex) {
-                                    onFailures(ex);
-                                }
-                            } else {
-                                try {
-                                    updateRule(rule, List.of());
-                                } catch (IOException ex) {
-                                    onFailures(ex);
-                                }
+                            try {
+                                updateRule(rule, detectors);
+                            } catch (IOException ex) {
+                                onFailures(ex);
                             }
                         }
 
@@ -266,47 +266,110 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             }
         }
 
-        private void searchDetectors(String ruleId, ActionListener<SearchResponse> listener) {
+        private void searchDetectors(String ruleId, ActionListener<List<Detector>> listener) {
             QueryBuilder queryBuilder =
                     QueryBuilders.nestedQuery("detector.inputs.detector_input.custom_rules",
                             QueryBuilders.boolQuery().must(
                                     QueryBuilders.matchQuery("detector.inputs.detector_input.custom_rules.id", ruleId)
                             ), ScoreMode.Avg);
 
+            // Detectors do not store their id in the document, so there is no tiebreaker to page with search_after
+            // and they are walked with a scroll instead
             SearchRequest searchRequest = new SearchRequest(Detector.DETECTORS_INDEX)
+                    .scroll(DETECTORS_SCROLL_KEEP_ALIVE)
                     .source(new SearchSourceBuilder()
                             .seqNoAndPrimaryTerm(true)
                             .version(true)
-                            .query(queryBuilder)
-                            .size(10000));
+                            .size(SearchAfterPaginator.DEFAULT_PAGE_SIZE)
+                            .sort(FieldSortBuilder.DOC_FIELD_NAME)
+                            .query(queryBuilder));
+
+            client.search(searchRequest, new ActionListener<>() {
+                @Override
+                public void onResponse(SearchResponse response) {
+                    onDetectorsPage(response, new ArrayList<>(), listener);
+                }
 
-            client.search(searchRequest, listener);
+                @Override
+                public void onFailure(Exception e) {
+                    listener.onFailure(e);
+                }
+            });
         }
 
-        private void updateDetectors(IndexResponse indexResponse, Rule rule, List<Detector> detectors) {
-            for (Detector detector: detectors) {
-                IndexDetectorRequest indexRequest = new IndexDetectorRequest(detector.getId(), request.getRefreshPolicy(), RestRequest.Method.PUT, detector);
-                client.execute(IndexDetectorAction.INSTANCE, indexRequest,
-                        new ActionListener<>() {
-                            @Override
-                            public void onResponse(IndexDetectorResponse response) {
-                                if (response.getStatus() != RestStatus.OK) {
-                                    onFailures(new OpenSearchStatusException(String.format(Locale.getDefault(), "Rule with id %s cannot be updated", request.getRuleId()), RestStatus.INTERNAL_SERVER_ERROR));
-                                }
-                                onComplete(indexResponse, rule, detectors.size());
-                            }
+        private void onDetectorsPage(SearchResponse response, List<Detector> detectors, ActionListener<List<Detector>> listener) {
+            String scrollId = response.getScrollId();
+            SearchHit[] hits = response.getHits().getHits();
+            try {
+                for (SearchHit hit: hits) {
+                    XContentParser xcp = XContentType.JSON.xContent().createParser(
+                            xContentRegistry,
+                            LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString()
+                    );
+                    detectors.add(Detector.docParse(xcp, hit.getId(), hit.getVersion()));
+                }
+            } catch (IOException e) {
+                clearScroll(scrollId);
+                listener.onFailure(e);
+                return;
+            }
 
-                            @Override
-                            public void onFailure(Exception e) {
-                                onFailures(e);
-                            }
-                        });
+            if (hits.length == 0) {
+                clearScroll(scrollId);
+                listener.onResponse(detectors);
+                return;
             }
+            client.searchScroll(new SearchScrollRequest(scrollId).scroll(DETECTORS_SCROLL_KEEP_ALIVE), new ActionListener<>() {
+                @Override
+                public void onResponse(SearchResponse nextResponse) {
+                    onDetectorsPage(nextResponse, detectors, listener);
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    clearScroll(scrollId);
+                    listener.onFailure(e);
+                }
+            });
+        }
+
+        private void clearScroll(String scrollId) {
+            if (scrollId == null) {
+                return;
+            }
+            ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+            clearScrollRequest.addScrollId(scrollId);
+            client.clearScroll(clearScrollRequest, ActionListener.wrap(
+                    r -> {},
+                    e -> log.warn("Failed to clear scroll of detectors search", e)
+            ));
+        }
+
+        private void updateDetector(Detector detector, ActionListener<Void> listener) {
+            IndexDetectorRequest indexRequest = new IndexDetectorRequest(detector.getId(), request.getRefreshPolicy(), RestRequest.Method.PUT, detector);
+            client.execute(IndexDetectorAction.INSTANCE, indexRequest,
+                    new ActionListener<>() {
+                        @Override
+                        public void onResponse(IndexDetectorResponse response) {
+                            if (response.getStatus() != RestStatus.OK) {
+                                onFailure(new OpenSearchStatusException(String.format(Locale.getDefault(), "Detector with id %s cannot be updated", detector.getId()), response.getStatus()));
+                            } else {
+                                listener.onResponse(null);
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            log.error(String.format(Locale.getDefault(), "Detector with id %s could not be updated with rule %s", detector.getId(), request.getRuleId()), e);
+                            listener.onFailure(e);
+                        }
+                    });
         }
 
         private void updateRule(Rule rule, List<Detector> detectors) throws IOException {
+            // detectors re-read the rule from the index, so it has to be searchable before they are updated
             IndexRequest indexRequest = new IndexRequest(Rule.CUSTOM_RULES_INDEX)
-                    .setRefreshPolicy(request.getRefreshPolicy())
+                    .setRefreshPolicy(detectors.isEmpty() ? request.getRefreshPolicy() : WriteRequest.RefreshPolicy.IMMEDIATE)
                     .source(rule.toXContent(XContentFactory.jsonBuilder(), new ToXContent.MapParams(Map.of("with_type", "true"))))
                     .id(request.getRuleId())
                     .timeout(indexTimeout);
@@ -317,7 +380,10 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                     rule.setId(response.getId());
 
                     if (detectors.size() > 0) {
-                        updateDetectors(response, rule, detectors);
+                        updateDetectors(detectors, maxConcurrentDetectorUpdates, AsyncIndexRulesAction.this::updateDetector, ActionListener.wrap(
+                                results -> onOperation(response, rule, results.v1(), results.v2()),
+                                e -> onFailures(e)
+                        ));
                     } else {
                         onOperation(response, rule);
                     }
@@ -330,10 +396,15 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
             });
         }
 
-        private void onComplete(IndexResponse response, Rule rule, int target) {
-            if (checker.incrementAndGet() == target) {
-                onOperation(response, rule);
-            }
+        /**
+         * The rule is updated even if some of the detectors using it could not be updated, so the response
+         * reports the updated and failed detectors instead of failing the request.
+         */
+        private void onOperation(IndexResponse response, Rule rule, List<String> updatedDetectors, Map<String, Exception> failedDetectors) {
+            this.updatedDetectors = updatedDetectors;
+            this.failedDetectors = failedDetectors.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, e -> String.valueOf(ExceptionsHelper.unwrapCause(e.getValue()).getMessage())));
+            onOperation(response, rule);
         }
 
         private void onOperation(IndexResponse response, Rule rule) {
@@ -358,9 +429,70 @@ public class TransportIndexRuleAction extends HandledTransportAction<IndexRuleRe
                         throw SecurityAnalyticsException.wrap(t[0]);
                     }
                 } else {
-                    return new IndexRuleResponse(rule.getId(), rule.getVersion(), RestStatus.CREATED, rule);
+                    return new IndexRuleResponse(rule.getId(), rule.getVersion(), RestStatus.CREATED, rule, updatedDetectors, failedDetectors);
                 }
             }));
         }
     }
+
+    /**
+     * Runs updater on every detector, keeping at most maxConcurrentUpdates updates in flight. Every detector is
+     * attempted, the listener gets the ids of the updated detectors and the failure per id of the others.
+     */
+    static void updateDetectors(List<Detector> detectors,
+                                int maxConcurrentUpdates,
+                                BiConsumer<Detector, ActionListener<Void>> updater,
+                                ActionListener<Tuple<List<String>, Map<String, Exception>>> listener) {
+        if (detectors.isEmpty()) {
+            listener.onResponse(Tuple.tuple(List.of(), Map.of()));
+            return;
+        }
+        Queue<Detector> pending = new ConcurrentLinkedQueue<>(detectors);
+        Queue<String> updated = new ConcurrentLinkedQueue<>();
+        Map<String, Exception> failures = new ConcurrentHashMap<>();
+        AtomicInteger completed = new AtomicInteger();
+
+        int workers = Math.min(Math.max(maxConcurrentUpdates, 1), detectors.size());
+        for (int i = 0; i < workers; ++i) {
+            updateNextDetector(pending, updater, updated, failures, completed, detectors.size(), listener);
+        }
+    }
+
+    private static void updateNextDetector(Queue<Detector> pending,
+                                           BiConsumer<Detector, ActionListener<Void>> updater,
+                                           Queue<String> updated,
+                                           Map<String, Exception> failures,
+                                           AtomicInteger completed,
+                                           int target,
+                                           ActionListener<Tuple<List<String>, Map<String, Exception>>> listener) {
+        Detector detector = pending.poll();
+        if (detector == null) {
+            return;
+        }
+        updater.accept(detector, new ActionListener<>() {
+            @Override
+            public void onResponse(Void unused) {
+                updated.add(detector.getId());
+                onDetectorUpdated();
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                failures.put(detector.getId(), e);
+                onDetectorUpdated();
+            }
+
+            private void onDetectorUpdated() {
+                if (completed.incrementAndGet() == target) {
+                    listener.onResponse(Tuple.tuple(new ArrayList<>(updated), failures));
+                } else {
+                    updateNextDetector(pending, updater, updated, failures, completed, target, listener);
+                }
+            }
+        });
+    }
+
+    private void setMaxConcurrentDetectorUpdates(int maxConcurrentDetectorUpdates) {
+        this.maxConcurrentDetectorUpdates = maxConcurrentDetectorUpdates;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.BaseNodeRequest;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheAction;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheRequest;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheResponse;
+import org.opensearch.securityanalytics.util.DetectorCache;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.List;
+
+public class TransportInvalidateDetectorCacheAction extends TransportNodesAction<InvalidateDetectorCacheRequest, InvalidateDetectorCacheResponse,
+        TransportInvalidateDetectorCacheAction.NodeRequest, InvalidateDetectorCacheResponse.NodeResponse> {
+
+    private final DetectorCache detectorCache;
+
+    @Inject
+    public TransportInvalidateDetectorCacheAction(ThreadPool threadPool, ClusterService clusterService, TransportService transportService,
+                                                  ActionFilters actionFilters, DetectorCache detectorCache) {
+        super(InvalidateDetectorCacheAction.NAME, threadPool, clusterService, transportService, actionFilters,
+                InvalidateDetectorCacheRequest::new, NodeRequest::new, ThreadPool.Names.MANAGEMENT, InvalidateDetectorCacheResponse.NodeResponse.class);
+        this.detectorCache = detectorCache;
+    }
+
+    @Override
+    protected InvalidateDetectorCacheResponse newResponse(InvalidateDetectorCacheRequest request, List<InvalidateDetectorCacheResponse.NodeResponse> responses, List<FailedNodeException> failures) {
+        return new InvalidateDetectorCacheResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(InvalidateDetectorCacheRequest request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected InvalidateDetectorCacheResponse.NodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new InvalidateDetectorCacheResponse.NodeResponse(in);
+    }
+
+    @Override
+    protected InvalidateDetectorCacheResponse.NodeResponse nodeOperation(NodeRequest request) {
+        InvalidateDetectorCacheRequest nodesRequest = request.request;
+        detectorCache.invalidate(nodesRequest.getDetectorId(), nodesRequest.getSeqNo(), nodesRequest.getPrimaryTerm());
+        return new InvalidateDetectorCacheResponse.NodeResponse(clusterService.localNode());
+    }
+
+    public static class NodeRequest extends BaseNodeRequest {
+
+        private final InvalidateDetectorCacheRequest request;
+
+        public NodeRequest(InvalidateDetectorCacheRequest request) {
+            this.request = request;
+        }
+
+        public NodeRequest(StreamInput in) throws IOException {
+            super(in);
+            this.request = new InvalidateDetectorCacheRequest(in);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            request.writeTo(out);
+        }
+    }
+}
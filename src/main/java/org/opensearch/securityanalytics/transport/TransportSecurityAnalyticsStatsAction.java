@@ -0,0 +1,83 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.FailedNodeException;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.nodes.BaseNodeRequest;
+import org.opensearch.action.support.nodes.TransportNodesAction;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.common.io.stream.StreamOutput;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsAction;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsRequest;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsResponse;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
+import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportService;
+
+import java.io.IOException;
+import java.util.List;
+
+public class TransportSecurityAnalyticsStatsAction extends TransportNodesAction<SecurityAnalyticsStatsRequest, SecurityAnalyticsStatsResponse,
+        TransportSecurityAnalyticsStatsAction.NodeRequest, SecurityAnalyticsStatsResponse.NodeResponse> {
+
+    private final SecurityAnalyticsStats stats;
+
+    @Inject
+    public TransportSecurityAnalyticsStatsAction(ThreadPool threadPool, ClusterService clusterService, TransportService transportService,
+                                                 ActionFilters actionFilters, SecurityAnalyticsStats stats) {
+        super(SecurityAnalyticsStatsAction.NAME, threadPool, clusterService, transportService, actionFilters,
+                SecurityAnalyticsStatsRequest::new, NodeRequest::new, ThreadPool.Names.MANAGEMENT, SecurityAnalyticsStatsResponse.NodeResponse.class);
+        this.stats = stats;
+    }
+
+    @Override
+    protected SecurityAnalyticsStatsResponse newResponse(SecurityAnalyticsStatsRequest request, List<SecurityAnalyticsStatsResponse.NodeResponse> responses, List<FailedNodeException> failures) {
+        return new SecurityAnalyticsStatsResponse(clusterService.getClusterName(), responses, failures);
+    }
+
+    @Override
+    protected NodeRequest newNodeRequest(SecurityAnalyticsStatsRequest request) {
+        return new NodeRequest(request);
+    }
+
+    @Override
+    protected SecurityAnalyticsStatsResponse.NodeResponse newNodeResponse(StreamInput in) throws IOException {
+        return new SecurityAnalyticsStatsResponse.NodeResponse(in);
+    }
+
+    @Override
+    protected SecurityAnalyticsStatsResponse.NodeResponse nodeOperation(NodeRequest request) {
+        SecurityAnalyticsStatsResponse.NodeResponse response =
+                new SecurityAnalyticsStatsResponse.NodeResponse(clusterService.localNode(), stats.operationStats(), stats.cacheStats());
+        if (request.request.isReset()) {
+            // operations completing between the snapshot and the reset are not reported
+            stats.reset();
+        }
+        return response;
+    }
+
+    public static class NodeRequest extends BaseNodeRequest {
+
+        private final SecurityAnalyticsStatsRequest request;
+
+        public NodeRequest(SecurityAnalyticsStatsRequest request) {
+            this.request = request;
+        }
+
+        public NodeRequest(StreamInput in) throws IOException {
+            super(in);
+            this.request = new SecurityAnalyticsStatsRequest(in);
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            super.writeTo(out);
+            request.writeTo(out);
+        }
+    }
+}
@@ -4,21 +4,27 @@
  */
 package org.opensearch.securityanalytics.transport;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.action.support.IndicesOptions;
 import org.opensearch.client.Client;
 import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.IndexNameExpressionResolver;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
 import org.opensearch.common.xcontent.NamedXContentRegistry;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.securityanalytics.action.ValidateRulesAction;
 import org.opensearch.securityanalytics.action.ValidateRulesRequest;
 import org.opensearch.securityanalytics.action.ValidateRulesResponse;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.securityanalytics.util.RuleValidator;
 import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
 import org.opensearch.tasks.Task;
@@ -28,6 +34,9 @@ public class TransportValidateRulesAction extends HandledTransportAction<Validat
 
     private final RuleValidator ruleValidator;
     private final ClusterService clusterService;
+    private final IndexNameExpressionResolver indexNameExpressionResolver;
+
+    private volatile int maxConcurrentRequests;
 
     @Inject
     public TransportValidateRulesAction(
@@ -35,15 +44,25 @@ public class TransportValidateRulesAction extends HandledTransportAction<Validat
             ActionFilters actionFilters,
             ClusterService clusterService,
             Client client,
-            NamedXContentRegistry namedXContentRegistry
+            NamedXContentRegistry namedXContentRegistry,
+            IndexNameExpressionResolver indexNameExpressionResolver,
+            Settings settings
     ) {
         super(ValidateRulesAction.NAME, transportService, actionFilters, ValidateRulesRequest::new);
         this.clusterService = clusterService;
+        this.indexNameExpressionResolver = indexNameExpressionResolver;
         this.ruleValidator = new RuleValidator(client, namedXContentRegistry);
+
+        this.maxConcurrentRequests = SecurityAnalyticsSettings.RULE_VALIDATION_MAX_CONCURRENT_REQUESTS.get(settings);
+        this.clusterService.getClusterSettings().addSettingsUpdateConsumer(SecurityAnalyticsSettings.RULE_VALIDATION_MAX_CONCURRENT_REQUESTS, this::setMaxConcurrentRequests);
     }
 
     @Override
     protected void doExecute(Task task, ValidateRulesRequest request, ActionListener<ValidateRulesResponse> actionListener) {
+        if (request.getIndexNames() != null) {
+            validateRulesInBulk(request, actionListener);
+            return;
+        }
         IndexMetadata index = clusterService.state().metadata().index(request.getIndexName());
         if (index == null) {
             actionListener.onFailure(
@@ -59,6 +78,40 @@ public class TransportValidateRulesAction extends HandledTransportAction<Validat
         validateRulesResponseListener.whenComplete(validateRulesResponse -> {
             actionListener.onResponse(new ValidateRulesResponse(validateRulesResponse));
         }, actionListener::onFailure);
-        ruleValidator.validateCustomRules(request.getRules(), request.getIndexName(), validateRulesResponseListener);
+        ruleValidator.validateCustomRules(request.getRules(), request.getIndexName(), maxConcurrentRequests, validateRulesResponseListener);
+    }
+
+    private void validateRulesInBulk(ValidateRulesRequest request, ActionListener<ValidateRulesResponse> actionListener) {
+        List<String> indexExpressions = new ArrayList<>(request.getIndexNames());
+        if (request.getIndexName() != null) {
+            indexExpressions.add(request.getIndexName());
+        }
+        // Index names can be concrete indices, index patterns, aliases or data streams
+        String[] concreteIndices = indexNameExpressionResolver.concreteIndexNames(
+                clusterService.state(),
+                IndicesOptions.lenientExpandOpen(),
+                true,
+                indexExpressions.toArray(new String[0])
+        );
+        if (concreteIndices.length == 0) {
+            actionListener.onFailure(
+                    SecurityAnalyticsException.wrap(
+                            new OpenSearchStatusException(
+                                    "Could not find indices " + indexExpressions, RestStatus.NOT_FOUND
+                            )
+                    )
+            );
+            return;
+        }
+        ruleValidator.validateCustomRules(request.getRules(), Arrays.asList(concreteIndices), maxConcurrentRequests, ActionListener.wrap(
+                missingFields -> actionListener.onResponse(
+                        new ValidateRulesResponse(RuleValidator.getNonapplicableRuleIds(missingFields), missingFields)
+                ),
+                actionListener::onFailure
+        ));
+    }
+
+    private void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
     }
-}
\ No newline at end of file
+}
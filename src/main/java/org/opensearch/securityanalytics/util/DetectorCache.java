@@ -0,0 +1,159 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.ActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheAction;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheRequest;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+
+/**
+ * Node-local cache of parsed detectors keyed by detector id.
+ *
+ * Every entry remembers the seqNo/primaryTerm of the document it was parsed from. Writes to the detector
+ * config index broadcast the new seqNo/primaryTerm to all nodes, which drop older entries and refuse to
+ * cache anything older afterwards, so a slow reader can never re-populate a detector that was just updated.
+ *
+ * Entries hold the parsed detector, so lookups never re-parse it. Detectors are mutable, so entries are copied
+ * when they are cached and every lookup gets its own copy.
+ */
+public class DetectorCache {
+
+    private static final Logger log = LogManager.getLogger(DetectorCache.class);
+
+    private final Client client;
+
+    private final Cache<String, CachedDetector> detectors;
+
+    /**
+     * Latest known seqNo/primaryTerm per detector id, including deleted ones.
+     */
+    private final Cache<String, SeqNoPrimaryTerm> latest;
+
+    private final boolean enabled;
+
+    public DetectorCache(Client client, Settings settings) {
+        this.client = client;
+
+        int maxSize = SecurityAnalyticsSettings.DETECTOR_CACHE_MAX_SIZE.get(settings);
+        TimeValue ttl = SecurityAnalyticsSettings.DETECTOR_CACHE_TTL.get(settings);
+        this.enabled = maxSize > 0;
+        this.detectors = CacheBuilder.<String, CachedDetector>builder()
+                .setMaximumWeight(Math.max(maxSize, 1))
+                .setExpireAfterWrite(ttl)
+                .build();
+        this.latest = CacheBuilder.<String, SeqNoPrimaryTerm>builder()
+                .setMaximumWeight(Math.max(maxSize, 1))
+                .setExpireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * @return copy of the cached detector or null if the detector is not cached on this node
+     */
+    public Detector get(String detectorId) {
+        if (!enabled) {
+            return null;
+        }
+        CachedDetector cached = detectors.get(detectorId);
+        return cached != null ? cached.detector.copy() : null;
+    }
+
+    public synchronized void put(Detector detector, long seqNo, long primaryTerm) {
+        if (!enabled) {
+            return;
+        }
+        SeqNoPrimaryTerm version = new SeqNoPrimaryTerm(seqNo, primaryTerm);
+        SeqNoPrimaryTerm known = latest.get(detector.getId());
+        if (known != null && version.isOlderThan(known)) {
+            return;
+        }
+        CachedDetector cached = detectors.get(detector.getId());
+        if (cached != null && version.isOlderThan(cached.version)) {
+            return;
+        }
+        detectors.put(detector.getId(), new CachedDetector(detector.copy(), version));
+    }
+
+    /**
+     * Drops the local entry of a detector unless it is already at least as new as the given seqNo/primaryTerm.
+     */
+    public synchronized void invalidate(String detectorId, long seqNo, long primaryTerm) {
+        SeqNoPrimaryTerm version = new SeqNoPrimaryTerm(seqNo, primaryTerm);
+        SeqNoPrimaryTerm known = latest.get(detectorId);
+        if (known == null || known.isOlderThan(version)) {
+            latest.put(detectorId, version);
+        }
+        CachedDetector cached = detectors.get(detectorId);
+        if (cached != null && cached.version.isOlderThan(version)) {
+            detectors.invalidate(detectorId);
+        }
+    }
+
+    /**
+     * Invalidates the detector on every node of the cluster and notifies the listener once all nodes answered,
+     * so a write is only acknowledged after no node serves the previous detector anymore. Failures are only
+     * logged, entries on nodes which did not get the broadcast expire after the configured ttl.
+     */
+    public void invalidateOnAllNodes(String detectorId, long seqNo, long primaryTerm, ActionListener<Void> listener) {
+        invalidate(detectorId, seqNo, primaryTerm);
+        client.execute(InvalidateDetectorCacheAction.INSTANCE, new InvalidateDetectorCacheRequest(detectorId, seqNo, primaryTerm), new ActionListener<>() {
+            @Override
+            public void onResponse(InvalidateDetectorCacheResponse response) {
+                if (response.hasFailures()) {
+                    log.warn("Detector cache invalidation of [{}] failed on some nodes: {}", detectorId, response.failures());
+                }
+                listener.onResponse(null);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.warn("Detector cache invalidation of [" + detectorId + "] failed", e);
+                listener.onResponse(null);
+            }
+        });
+    }
+
+    public void clear() {
+        detectors.invalidateAll();
+    }
+
+    public int count() {
+        return detectors.count();
+    }
+
+    private static class CachedDetector {
+        private final Detector detector;
+        private final SeqNoPrimaryTerm version;
+
+        private CachedDetector(Detector detector, SeqNoPrimaryTerm version) {
+            this.detector = detector;
+            this.version = version;
+        }
+    }
+
+    private static class SeqNoPrimaryTerm {
+        private final long seqNo;
+        private final long primaryTerm;
+
+        private SeqNoPrimaryTerm(long seqNo, long primaryTerm) {
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+        }
+
+        private boolean isOlderThan(SeqNoPrimaryTerm other) {
+            return primaryTerm < other.primaryTerm || (primaryTerm == other.primaryTerm && seqNo < other.seqNo);
+        }
+    }
+}
@@ -17,8 +17,11 @@ import org.opensearch.search.SearchHit;
 import org.opensearch.securityanalytics.model.Detector;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 public class DetectorUtils {
 
@@ -36,4 +39,16 @@ public class DetectorUtils {
         }
         return detectors;
     }
-}
\ No newline at end of file
+
+    /**
+     * Maps every monitor id to the detectors using the monitor. Doc level monitors may be shared by several detectors,
+     * so results of a monitor are credited to each of its detectors.
+     */
+    public static Map<String, List<Detector>> getDetectorsByMonitorId(List<Detector> detectors) {
+        Map<String, List<Detector>> monitorToDetectorsMapping = new LinkedHashMap<>();
+        detectors.forEach(detector -> detector.getMonitorIds().forEach(
+                monitorId -> monitorToDetectorsMapping.computeIfAbsent(monitorId, k -> new ArrayList<>()).add(detector)
+        ));
+        return monitorToDetectorsMapping;
+    }
+}
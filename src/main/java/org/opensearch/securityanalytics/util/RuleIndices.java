@@ -43,6 +43,7 @@ import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.model.Rule;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
 import org.opensearch.securityanalytics.rules.backend.QueryBackend;
+import org.opensearch.securityanalytics.stats.SecurityAnalyticsStats;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
 import org.opensearch.threadpool.ThreadPool;
@@ -78,12 +79,19 @@ public class RuleIndices {
 
     private final ThreadPool threadPool;
 
+    private final SecurityAnalyticsStats stats;
+
     private static FileSystem fs;
 
     public RuleIndices(Client client, ClusterService clusterService, ThreadPool threadPool) {
+        this(client, clusterService, threadPool, new SecurityAnalyticsStats());
+    }
+
+    public RuleIndices(Client client, ClusterService clusterService, ThreadPool threadPool, SecurityAnalyticsStats stats) {
         this.client = client;
         this.clusterService = clusterService;
         this.threadPool = threadPool;
+        this.stats = stats;
     }
 
     public static String ruleMappings() throws IOException {
@@ -188,7 +196,8 @@ public class RuleIndices {
         }
     }
 
-    public void importRules(WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> listener) {
+    public void importRules(WriteRequest.RefreshPolicy refreshPolicy, TimeValue indexTimeout, ActionListener<BulkResponse> importListener) {
+        ActionListener<BulkResponse> listener = stats.time(SecurityAnalyticsStats.Operation.PREPACKAGED_RULES_IMPORT, null, importListener);
         try {
             final String url = Objects.requireNonNull(getClass().getClassLoader().getResource("rules/")).toURI().toString();
 
@@ -283,8 +292,9 @@ public class RuleIndices {
     private List<Rule> getQueries(QueryBackend backend, String category, List<String> rules) throws SigmaError {
         List<Rule> queries = new ArrayList<>();
         for (String ruleStr: rules) {
-            SigmaRule rule = SigmaRule.fromYaml(ruleStr, true);
-            List<Object> ruleQueries = backend.convertRule(rule);
+            SigmaRule rule = stats.time(SecurityAnalyticsStats.Operation.RULE_PARSE, category, () -> SigmaRule.fromYaml(ruleStr, true));
+            stats.recordErrors(SecurityAnalyticsStats.Operation.RULE_PARSE, category, rule.getErrors());
+            List<Object> ruleQueries = stats.time(SecurityAnalyticsStats.Operation.RULE_CONVERT, category, () -> backend.convertRule(rule));
             Set<String> queryFieldNames = backend.getQueryFields().keySet();
 
             Rule ruleModel = new Rule(
@@ -6,18 +6,28 @@ package org.opensearch.securityanalytics.util;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.StepListener;
 import org.opensearch.action.search.SearchRequest;
 import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.GroupedActionListener;
 import org.opensearch.client.Client;
 import org.opensearch.common.xcontent.LoggingDeprecationHandler;
 import org.opensearch.common.xcontent.NamedXContentRegistry;
 import org.opensearch.common.xcontent.XContentParser;
 import org.opensearch.common.xcontent.XContentType;
-import org.opensearch.index.query.QueryBuilder;
 import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.search.SearchHit;
 import org.opensearch.search.builder.SearchSourceBuilder;
@@ -29,11 +39,10 @@ import org.opensearch.securityanalytics.action.SearchRuleAction;
 import org.opensearch.securityanalytics.action.SearchRuleRequest;
 import org.opensearch.securityanalytics.mapper.MapperUtils;
 import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
 
 public class RuleValidator
 {
-    private final static int MAX_RULES_TO_VALIDATE = 1000;
-
     private final static String RULE_ID = "_id";
 
     private final Client client;
@@ -44,72 +53,157 @@ public class RuleValidator
         this.namedXContentRegistry = namedXContentRegistry;
     }
 
-    public void validateCustomRules(List<String> ruleIds, String indexName, ActionListener<List<String>> listener) {
+    public void validateCustomRules(List<String> ruleIds, String indexName, int maxConcurrentRequests, ActionListener<List<String>> listener) {
+        validateCustomRules(ruleIds, List.of(indexName), maxConcurrentRequests, ActionListener.wrap(
+                missingFields -> listener.onResponse(getNonapplicableRuleIds(missingFields)),
+                listener::onFailure
+        ));
+    }
+
+    /**
+     * Validates every rule against every index.
+     * @param indexNames Concrete index names
+     * @param maxConcurrentRequests Max number of mappings views resolved at once
+     * @return rule id -> index name -> rule fields missing in the index, an empty list means the rule is applicable to the index
+     */
+    public void validateCustomRules(
+            List<String> ruleIds,
+            List<String> indexNames,
+            int maxConcurrentRequests,
+            ActionListener<Map<String, Map<String, List<String>>>> listener
+    ) {
+
+        List<Rule> rules = new ArrayList<>();
+        StepListener<Long> searchRuleResponseListener = new StepListener();
+        searchRuleResponseListener.whenComplete(count -> validateRules(rules, indexNames, maxConcurrentRequests, listener), listener::onFailure);
+        SearchAfterPaginator.searchAllByIds(
+                (request, pageListener) -> client.execute(SearchRuleAction.INSTANCE, new SearchRuleRequest(false, request), pageListener),
+                ruleIds,
+                ids -> new SearchRequest(Rule.CUSTOM_RULES_INDEX)
+                        .source(new SearchSourceBuilder()
+                                .seqNoAndPrimaryTerm(false)
+                                .version(false)
+                                .query(QueryBuilders.termsQuery(RULE_ID, ids.toArray(new String[]{})))
+                                .fetchSource(FetchSourceContext.FETCH_SOURCE)
+                        )
+                        .indices(Rule.CUSTOM_RULES_INDEX),
+                SearchAfterPaginator.DEFAULT_PAGE_SIZE,
+                hit -> rules.add(getRule(hit, namedXContentRegistry)),
+                searchRuleResponseListener
+        );
+    }
+
+    void validateRules(List<Rule> rules, List<String> indexNames, int maxConcurrentRequests, ActionListener<Map<String, Map<String, List<String>>>> listener) {
+        if (rules.isEmpty() || indexNames.isEmpty()) {
+            listener.onResponse(Map.of());
+            return;
+        }
+        // Fields of every index are resolved once per rule topic, through the mappings view of the index
+        Set<String> ruleTopics = rules.stream().map(Rule::getCategory).collect(Collectors.toCollection(LinkedHashSet::new));
+        Queue<Pair<String, String>> views = new ConcurrentLinkedQueue<>();
+        for (String ruleTopic : ruleTopics) {
+            for (String indexName : indexNames) {
+                views.add(Pair.of(ruleTopic, indexName));
+            }
+        }
+        int numberOfViews = views.size();
 
-        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder();
-        searchSourceBuilder.fetchSource(FetchSourceContext.FETCH_SOURCE);
+        GroupedActionListener<Triple<String, String, Set<String>>> getMappingsViewsListener = new GroupedActionListener<>(ActionListener.wrap(views -> {
+            // rule topic -> index name -> fields available in the index
+            Map<String, Map<String, Set<String>>> fieldsByTopicAndIndex = new HashMap<>();
+            for (Triple<String, String, Set<String>> view : views) {
+                fieldsByTopicAndIndex.computeIfAbsent(view.getLeft(), k -> new HashMap<>()).put(view.getMiddle(), view.getRight());
+            }
+            listener.onResponse(getMissingFields(rules, indexNames, fieldsByTopicAndIndex));
+        }, listener::onFailure), numberOfViews);
 
-        QueryBuilder queryBuilder = QueryBuilders.termsQuery( RULE_ID, ruleIds.toArray(new String[]{}));
-        SearchRequest searchRequest = new SearchRequest(Rule.CUSTOM_RULES_INDEX)
-                .source(new SearchSourceBuilder()
-                        .seqNoAndPrimaryTerm(false)
-                        .version(false)
-                        .query(queryBuilder)
-                        .fetchSource(FetchSourceContext.FETCH_SOURCE)
-                        .size(MAX_RULES_TO_VALIDATE)
-                )
-                .indices(Rule.CUSTOM_RULES_INDEX);
+        // Every worker requests the next queued mappings view once its previous one completed
+        for (int i = 0; i < Math.min(Math.max(1, maxConcurrentRequests), numberOfViews); i++) {
+            getNextMappingsView(views, getMappingsViewsListener);
+        }
+    }
 
-        StepListener<SearchResponse> searchRuleResponseListener = new StepListener();
-        searchRuleResponseListener.whenComplete(searchRuleResponse -> {
+    private void getNextMappingsView(Queue<Pair<String, String>> views, ActionListener<Triple<String, String, Set<String>>> listener) {
+        Pair<String, String> view = views.poll();
+        if (view == null) {
+            return;
+        }
+        String ruleTopic = view.getLeft();
+        String indexName = view.getRight();
+        client.execute(GetMappingsViewAction.INSTANCE, new GetMappingsViewRequest(indexName, ruleTopic), new ActionListener<>() {
+            @Override
+            public void onResponse(GetMappingsViewResponse getMappingsViewResponse) {
+                listener.onResponse(Triple.of(ruleTopic, indexName, getAvailableFields(getMappingsViewResponse)));
+                getNextMappingsView(views, listener);
+            }
 
-            List<Rule> rules = getRules(searchRuleResponse, namedXContentRegistry);
-            validateRules(rules, indexName, listener);
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
 
-        }, listener::onFailure);
-        client.execute(SearchRuleAction.INSTANCE, new SearchRuleRequest(false, searchRequest), searchRuleResponseListener);
+    /**
+     * @return all fields rules can query in the index: applicable template aliases and index fields not covered by them
+     */
+    static Set<String> getAvailableFields(GetMappingsViewResponse getMappingsViewResponse) {
+        Set<String> availableFields = new HashSet<>(MapperUtils.extractAllFieldsFlat(getMappingsViewResponse.getAliasMappings()));
+        availableFields.addAll(getMappingsViewResponse.getUnmappedIndexFields());
+        return availableFields;
     }
 
-    private void validateRules(List<Rule> rules, String indexName, ActionListener<List<String>> listener) {
-        // Get index mappings
-        String ruleTopic = rules.get(0).getCategory();
-        StepListener<GetMappingsViewResponse> getMappingsViewResponseListener = new StepListener();
-        getMappingsViewResponseListener.whenComplete(getMappingsViewResponse -> {
-
-            List<String> nonapplicableRuleIds = new ArrayList<>();
-            for(Rule r : rules) {
-                // We will check against all index fields and applicable template aliases too
-                List<String> allIndexFields = MapperUtils.extractAllFieldsFlat(getMappingsViewResponse.getAliasMappings());
-                allIndexFields.addAll(getMappingsViewResponse.getUnmappedIndexFields());
+    /**
+     * Builds the rule x index applicability matrix.
+     * @param fieldsByTopicAndIndex rule topic -> index name -> fields available in the index
+     * @return rule id -> index name -> rule fields missing in the index
+     */
+    static Map<String, Map<String, List<String>>> getMissingFields(List<Rule> rules, List<String> indexNames, Map<String, Map<String, Set<String>>> fieldsByTopicAndIndex) {
+        Map<String, Map<String, List<String>>> missingFieldsByRule = new LinkedHashMap<>();
+        for (Rule rule : rules) {
+            Map<String, Set<String>> fieldsByIndex = fieldsByTopicAndIndex.getOrDefault(rule.getCategory(), Map.of());
+            List<String> ruleFields = rule.getQueryFieldNames()
+                    .stream()
+                    .map(Value::getValue)
+                    .distinct()
+                    .collect(Collectors.toList());
+
+            Map<String, List<String>> missingFieldsByIndex = new LinkedHashMap<>();
+            for (String indexName : indexNames) {
+                Set<String> availableFields = fieldsByIndex.getOrDefault(indexName, Set.of());
                 // check if all rule fields are present in index fields
-                List<String> missingRuleFields = r.getQueryFieldNames()
-                        .stream()
-                        .map(e -> e.getValue())
-                        .filter(e -> allIndexFields.contains(e) == false)
-                        .collect(Collectors.toList());
-
-                if (missingRuleFields.size() > 0) {
-                    nonapplicableRuleIds.add(r.getId());
-                }
+                missingFieldsByIndex.put(indexName, ruleFields.stream()
+                        .filter(e -> availableFields.contains(e) == false)
+                        .collect(Collectors.toList()));
             }
-            listener.onResponse(nonapplicableRuleIds);
-        }, listener::onFailure);
-        client.execute(
-                GetMappingsViewAction.INSTANCE,
-                new GetMappingsViewRequest(indexName, ruleTopic),
-                getMappingsViewResponseListener
-        );
+            missingFieldsByRule.put(rule.getId(), missingFieldsByIndex);
+        }
+        return missingFieldsByRule;
+    }
+
+    /**
+     * @return ids of rules which are missing fields in at least one index
+     */
+    public static List<String> getNonapplicableRuleIds(Map<String, Map<String, List<String>>> missingFields) {
+        return missingFields.entrySet()
+                .stream()
+                .filter(e -> e.getValue().values().stream().anyMatch(fields -> fields.isEmpty() == false))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
     }
 
     public static List<Rule> getRules(SearchResponse response, NamedXContentRegistry xContentRegistry) throws IOException {
         List<Rule> rules = new ArrayList<>((int) response.getHits().getTotalHits().value);
         for (SearchHit hit : response.getHits()) {
-            XContentParser xcp = XContentType.JSON.xContent().createParser(
-                    xContentRegistry,
-                    LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString());
-            Rule rule = Rule.docParse(xcp, hit.getId(), hit.getVersion());
-            rules.add(rule);
+            rules.add(getRule(hit, xContentRegistry));
         }
         return rules;
     }
+
+    public static Rule getRule(SearchHit hit, NamedXContentRegistry xContentRegistry) throws IOException {
+        XContentParser xcp = XContentType.JSON.xContent().createParser(
+                xContentRegistry,
+                LoggingDeprecationHandler.INSTANCE, hit.getSourceAsString());
+        return Rule.docParse(xcp, hit.getId(), hit.getVersion());
+    }
 }
@@ -0,0 +1,204 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.client.Client;
+import org.opensearch.common.CheckedConsumer;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.SortOrder;
+
+/**
+ * Walks all hits matching a search request page by page using search_after, so that callers are never
+ * limited by index.max_result_window and never hold more than one page of raw hits in memory.
+ *
+ * Pages are sorted on a tiebreaker field given by the caller, which must be unique per document and have doc values,
+ * as the keyword id stored in alerts and findings. _id is not used as it would load fielddata of all ids on the heap.
+ * Lookups of documents by their ids do not need a tiebreaker and are split in batches of ids instead.
+ */
+public class SearchAfterPaginator {
+
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+
+    private final BiConsumer<SearchRequest, ActionListener<SearchResponse>> searcher;
+    private final SearchRequest searchRequest;
+    private final BiConsumer<SearchHit[], ActionListener<Void>> pageConsumer;
+    private final ActionListener<Long> listener;
+
+    private long totalHits = 0L;
+
+    private SearchAfterPaginator(BiConsumer<SearchRequest, ActionListener<SearchResponse>> searcher,
+                                 SearchRequest searchRequest,
+                                 String tiebreakerField,
+                                 int pageSize,
+                                 BiConsumer<SearchHit[], ActionListener<Void>> pageConsumer,
+                                 ActionListener<Long> listener) {
+        this.searcher = searcher;
+        this.searchRequest = searchRequest;
+        this.pageConsumer = pageConsumer;
+        this.listener = listener;
+
+        SearchSourceBuilder source = searchRequest.source() != null ? searchRequest.source() : new SearchSourceBuilder();
+        source.size(pageSize).from(0).sort(tiebreakerField, SortOrder.ASC);
+        searchRequest.source(source);
+    }
+
+    /**
+     * Runs the search with the given client and hands every hit to hitConsumer in tiebreaker order.
+     * The listener is completed with the number of visited hits.
+     */
+    public static void searchAll(Client client,
+                                 SearchRequest searchRequest,
+                                 String tiebreakerField,
+                                 CheckedConsumer<SearchHit, Exception> hitConsumer,
+                                 ActionListener<Long> listener) {
+        searchAll(client::search, searchRequest, tiebreakerField, DEFAULT_PAGE_SIZE, hitConsumer, listener);
+    }
+
+    /**
+     * Same as {@link #searchAll(Client, SearchRequest, String, CheckedConsumer, ActionListener)} but lets the caller
+     * choose how every page is executed, e.g. through a plugin transport action instead of a plain search.
+     */
+    public static void searchAll(BiConsumer<SearchRequest, ActionListener<SearchResponse>> searcher,
+                                 SearchRequest searchRequest,
+                                 String tiebreakerField,
+                                 int pageSize,
+                                 CheckedConsumer<SearchHit, Exception> hitConsumer,
+                                 ActionListener<Long> listener) {
+        searchAllPages(searcher, searchRequest, tiebreakerField, pageSize, hitsConsumer(hitConsumer), listener);
+    }
+
+    /**
+     * Hands every page of hits to pageConsumer, which may process it asynchronously. The next page is only
+     * requested once pageConsumer completed its listener, failing it stops the search and fails the listener.
+     */
+    public static void searchAllPages(BiConsumer<SearchRequest, ActionListener<SearchResponse>> searcher,
+                                      SearchRequest searchRequest,
+                                      String tiebreakerField,
+                                      int pageSize,
+                                      BiConsumer<SearchHit[], ActionListener<Void>> pageConsumer,
+                                      ActionListener<Long> listener) {
+        if (pageSize <= 0) {
+            listener.onFailure(new IllegalArgumentException("Page size must be positive"));
+            return;
+        }
+        new SearchAfterPaginator(searcher, searchRequest, tiebreakerField, pageSize, pageConsumer, listener).nextPage();
+    }
+
+    /**
+     * Looks up the documents of the given ids, at most one per id, with one search per batch of pageSize ids.
+     * Every batch fits in a single page, so no sort is needed. The listener is completed with the number of found documents.
+     * @param searchRequestOfIds builds the search request of one batch of ids
+     */
+    public static void searchAllByIds(BiConsumer<SearchRequest, ActionListener<SearchResponse>> searcher,
+                                      List<String> ids,
+                                      Function<List<String>, SearchRequest> searchRequestOfIds,
+                                      int pageSize,
+                                      CheckedConsumer<SearchHit, Exception> hitConsumer,
+                                      ActionListener<Long> listener) {
+        if (pageSize <= 0) {
+            listener.onFailure(new IllegalArgumentException("Page size must be positive"));
+            return;
+        }
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += pageSize) {
+            batches.add(ids.subList(i, Math.min(i + pageSize, ids.size())));
+        }
+        searchNextBatch(searcher, batches, 0, searchRequestOfIds, hitsConsumer(hitConsumer), 0L, listener);
+    }
+
+    private static void searchNextBatch(BiConsumer<SearchRequest, ActionListener<SearchResponse>> searcher,
+                                        List<List<String>> batches,
+                                        int batch,
+                                        Function<List<String>, SearchRequest> searchRequestOfIds,
+                                        BiConsumer<SearchHit[], ActionListener<Void>> pageConsumer,
+                                        long totalHits,
+                                        ActionListener<Long> listener) {
+        if (batch >= batches.size()) {
+            listener.onResponse(totalHits);
+            return;
+        }
+        List<String> ids = batches.get(batch);
+        SearchRequest searchRequest = searchRequestOfIds.apply(ids);
+        SearchSourceBuilder source = searchRequest.source() != null ? searchRequest.source() : new SearchSourceBuilder();
+        searchRequest.source(source.size(ids.size()).from(0));
+
+        searcher.accept(searchRequest, ActionListener.wrap(response -> {
+            if (response.isTimedOut()) {
+                listener.onFailure(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
+                return;
+            }
+            SearchHit[] hits = response.getHits().getHits();
+            pageConsumer.accept(hits, ActionListener.wrap(
+                    r -> searchNextBatch(searcher, batches, batch + 1, searchRequestOfIds, pageConsumer, totalHits + hits.length, listener),
+                    listener::onFailure
+            ));
+        }, listener::onFailure));
+    }
+
+    private static BiConsumer<SearchHit[], ActionListener<Void>> hitsConsumer(CheckedConsumer<SearchHit, Exception> hitConsumer) {
+        return (hits, pageListener) -> {
+            try {
+                for (SearchHit hit: hits) {
+                    hitConsumer.accept(hit);
+                }
+            } catch (Exception e) {
+                pageListener.onFailure(e);
+                return;
+            }
+            pageListener.onResponse(null);
+        };
+    }
+
+    private void nextPage() {
+        searcher.accept(searchRequest, new ActionListener<>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                onPage(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+
+    private void onPage(SearchResponse response) {
+        if (response.isTimedOut()) {
+            listener.onFailure(new OpenSearchStatusException(response.toString(), RestStatus.REQUEST_TIMEOUT));
+            return;
+        }
+
+        SearchHit[] hits = response.getHits().getHits();
+        pageConsumer.accept(hits, new ActionListener<>() {
+            @Override
+            public void onResponse(Void unused) {
+                totalHits += hits.length;
+
+                if (hits.length < searchRequest.source().size()) {
+                    listener.onResponse(totalHits);
+                } else {
+                    searchRequest.source().searchAfter(hits[hits.length - 1].getSortValues());
+                    nextPage();
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                listener.onFailure(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,343 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.ResourceAlreadyExistsException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.client.Client;
+import org.opensearch.common.hash.MessageDigests;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.commons.alerting.action.IndexMonitorResponse;
+import org.opensearch.commons.alerting.model.Monitor;
+import org.opensearch.commons.alerting.model.action.Action;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorTrigger;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Lets detectors with identical compiled doc level rule sets share a single doc level monitor, and with it
+ * a single copy of every query in the detector type's rule topic index.
+ *
+ * Shared sets are tracked in a hidden index of the plugin with two documents: one keyed by the fingerprint of
+ * the rule set pointing at the shared monitor, and one keyed by the monitor id holding the reference count.
+ * The rule topic index only holds the queries of the monitors, which alerting owns and rewrites on every update.
+ */
+public class SharedQuerySets {
+
+    private static final Logger log = LogManager.getLogger(SharedQuerySets.class);
+
+    public static final String SHARED_QUERY_SETS_INDEX = ".opensearch-sap-shared-query-sets";
+
+    private static final String FINGERPRINT_DOC_PREFIX = "sap_shared_query_set_fingerprint_";
+    private static final String REF_COUNT_DOC_PREFIX = "sap_shared_query_set_monitor_";
+
+    public static final String MONITOR_ID_FIELD = "monitor_id";
+    public static final String FINGERPRINT_FIELD = "fingerprint";
+    public static final String REF_COUNT_FIELD = "ref_count";
+
+    private static final int MAX_RETRIES = 3;
+
+    private final Client client;
+
+    private volatile boolean indexCreated = false;
+
+    public SharedQuerySets(Client client) {
+        this.client = client;
+    }
+
+    /**
+     * Fingerprint of everything a doc level monitor is built from: the monitored index, the compiled queries
+     * with their tags, the triggers, the schedule and the user the monitor runs as.
+     */
+    public static String fingerprint(Detector detector, String logIndex, List<Pair<String, Rule>> docLevelRules) {
+        StringBuilder canonical = new StringBuilder();
+        canonical.append(detector.getDetectorType()).append('\n');
+        canonical.append(logIndex).append('\n');
+        canonical.append(detector.getEnabled()).append('\n');
+        canonical.append(detector.getSchedule()).append('\n');
+
+        User user = detector.getUser();
+        if (user != null) {
+            canonical.append(user.getName()).append(user.getBackendRoles()).append(user.getRoles()).append('\n');
+        }
+
+        List<Pair<String, Rule>> sortedRules = new ArrayList<>(docLevelRules);
+        sortedRules.sort(Comparator.comparing(Pair::getLeft));
+        for (Pair<String, Rule> rule: sortedRules) {
+            canonical.append(rule.getLeft()).append('|')
+                    .append(rule.getRight().getQueries().get(0).getValue()).append('|')
+                    .append(rule.getRight().getLevel()).append('|')
+                    .append(rule.getRight().getCategory()).append('|')
+                    .append(rule.getRight().getTags().stream().map(Value::getValue).collect(Collectors.toList()))
+                    .append('\n');
+        }
+
+        for (DetectorTrigger trigger: detector.getTriggers()) {
+            canonical.append(trigger.getName()).append('|')
+                    .append(trigger.getSeverity()).append('|')
+                    .append(trigger.convertToCondition().getIdOrCode()).append('|');
+            for (Action action: trigger.getActions()) {
+                canonical.append(action.getName()).append(',').append(action.getDestinationId()).append(',')
+                        .append(action.getSubjectTemplate().getIdOrCode()).append(',')
+                        .append(action.getMessageTemplate().getIdOrCode()).append(';');
+            }
+            canonical.append('\n');
+        }
+
+        return MessageDigests.toHexString(MessageDigests.sha256().digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Joins the shared monitor registered for the fingerprint, or creates the monitor with monitorCreator and
+     * registers it when there is none.
+     */
+    public void acquire(String fingerprint,
+                        Monitor monitor,
+                        Consumer<ActionListener<IndexMonitorResponse>> monitorCreator,
+                        ActionListener<IndexMonitorResponse> listener) {
+        client.get(new GetRequest(SHARED_QUERY_SETS_INDEX, FINGERPRINT_DOC_PREFIX + fingerprint), new ActionListener<>() {
+            @Override
+            public void onResponse(GetResponse response) {
+                if (!response.isExists()) {
+                    createAndRegister(fingerprint, monitorCreator, listener);
+                    return;
+                }
+
+                String monitorId = (String) response.getSourceAsMap().get(MONITOR_ID_FIELD);
+                updateRefCount(monitorId, 1, MAX_RETRIES, ActionListener.wrap(refCount -> {
+                    if (refCount == null) {
+                        // stale pointer to a monitor whose last reference was released
+                        deleteFingerprint(fingerprint, response.getSeqNo(), response.getPrimaryTerm(),
+                                () -> createAndRegister(fingerprint, monitorCreator, listener));
+                    } else {
+                        log.debug("Detector joins shared query set {} of monitor {}, {} references", fingerprint, monitorId, refCount.count);
+                        listener.onResponse(new IndexMonitorResponse(monitorId, 1L, 0L, 0L, monitor));
+                    }
+                }, listener::onFailure));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                    createAndRegister(fingerprint, monitorCreator, listener);
+                } else {
+                    listener.onFailure(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops one reference to the monitor. Completes with true if other detectors still use the monitor, in which
+     * case it must be neither updated nor deleted, and with false if no detector references the monitor anymore.
+     *
+     * Dropping the last reference deletes the reference count document conditionally on the version it was read at,
+     * so a concurrent {@link #acquire} either joins before and keeps the monitor alive, or finds no reference count
+     * afterwards and creates a new monitor.
+     */
+    public void release(String monitorId, ActionListener<Boolean> listener) {
+        updateRefCount(monitorId, -1, MAX_RETRIES, ActionListener.wrap(refCount -> {
+            if (refCount == null) {
+                listener.onResponse(false);
+            } else if (refCount.count > 0) {
+                listener.onResponse(true);
+            } else {
+                unregister(refCount.fingerprint, monitorId, () -> listener.onResponse(false));
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Completes with the number of detectors referencing the monitor, or with null if the monitor is not registered
+     * as shared query set and is used by a single detector only.
+     */
+    public void refCount(String monitorId, ActionListener<Integer> listener) {
+        client.get(new GetRequest(SHARED_QUERY_SETS_INDEX, REF_COUNT_DOC_PREFIX + monitorId), ActionListener.wrap(
+                response -> listener.onResponse(response.isExists() ? ((Number) response.getSourceAsMap().get(REF_COUNT_FIELD)).intValue() : null),
+                e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                        listener.onResponse(null);
+                    } else {
+                        listener.onFailure(e);
+                    }
+                }
+        ));
+    }
+
+    private void createAndRegister(String fingerprint,
+                                   Consumer<ActionListener<IndexMonitorResponse>> monitorCreator,
+                                   ActionListener<IndexMonitorResponse> listener) {
+        ensureIndex(ActionListener.wrap(created -> monitorCreator.accept(ActionListener.wrap(monitorResponse -> {
+            String monitorId = monitorResponse.getId();
+            IndexRequest refCountRequest = new IndexRequest(SHARED_QUERY_SETS_INDEX)
+                    .id(REF_COUNT_DOC_PREFIX + monitorId)
+                    .source(Map.of(MONITOR_ID_FIELD, monitorId, FINGERPRINT_FIELD, fingerprint, REF_COUNT_FIELD, 1))
+                    .opType(DocWriteRequest.OpType.CREATE)
+                    .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+            client.index(refCountRequest, ActionListener.wrap(refCountResponse -> {
+                IndexRequest fingerprintRequest = new IndexRequest(SHARED_QUERY_SETS_INDEX)
+                        .id(FINGERPRINT_DOC_PREFIX + fingerprint)
+                        .source(Map.of(MONITOR_ID_FIELD, monitorId, FINGERPRINT_FIELD, fingerprint))
+                        .opType(DocWriteRequest.OpType.CREATE)
+                        .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+                client.index(fingerprintRequest, ActionListener.wrap(
+                        fingerprintResponse -> listener.onResponse(monitorResponse),
+                        e -> {
+                            // another detector registered the same fingerprint concurrently, this monitor stays private
+                            log.debug("Shared query set {} was registered concurrently", fingerprint);
+                            listener.onResponse(monitorResponse);
+                        }
+                ));
+            }, listener::onFailure));
+        }, listener::onFailure)), listener::onFailure));
+    }
+
+    private void ensureIndex(ActionListener<Void> listener) {
+        if (indexCreated) {
+            listener.onResponse(null);
+            return;
+        }
+        CreateIndexRequest createIndexRequest = new CreateIndexRequest(SHARED_QUERY_SETS_INDEX)
+                .mapping(sharedQuerySetsMapping())
+                .settings(Settings.builder().put("index.hidden", true).put("index.number_of_shards", 1).build());
+        client.admin().indices().create(createIndexRequest, ActionListener.wrap(
+                createIndexResponse -> {
+                    indexCreated = true;
+                    listener.onResponse(null);
+                },
+                e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof ResourceAlreadyExistsException) {
+                        indexCreated = true;
+                        listener.onResponse(null);
+                    } else {
+                        listener.onFailure(e);
+                    }
+                }
+        ));
+    }
+
+    private static String sharedQuerySetsMapping() {
+        try (InputStream is = SharedQuerySets.class.getClassLoader().getResourceAsStream("mappings/shared_query_sets.json")) {
+            return new String(Objects.requireNonNull(is).readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Removes the fingerprint pointer of a monitor whose last reference was released, unless the fingerprint was
+     * registered for another monitor in the meantime.
+     */
+    private void unregister(String fingerprint, String monitorId, Runnable next) {
+        client.get(new GetRequest(SHARED_QUERY_SETS_INDEX, FINGERPRINT_DOC_PREFIX + fingerprint), ActionListener.wrap(response -> {
+            if (response.isExists() && monitorId.equals(response.getSourceAsMap().get(MONITOR_ID_FIELD))) {
+                deleteFingerprint(fingerprint, response.getSeqNo(), response.getPrimaryTerm(), next);
+            } else {
+                next.run();
+            }
+        }, e -> {
+            log.warn("Failed to read shared query set " + fingerprint, e);
+            next.run();
+        }));
+    }
+
+    private void deleteFingerprint(String fingerprint, long seqNo, long primaryTerm, Runnable next) {
+        DeleteRequest request = new DeleteRequest(SHARED_QUERY_SETS_INDEX, FINGERPRINT_DOC_PREFIX + fingerprint)
+                .setIfSeqNo(seqNo)
+                .setIfPrimaryTerm(primaryTerm)
+                .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        client.delete(request, ActionListener.wrap(response -> next.run(), e -> {
+            // a conflict means the fingerprint was registered again concurrently and must be kept
+            if (!(ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException)) {
+                log.warn("Failed to delete shared query set " + fingerprint, e);
+            }
+            next.run();
+        }));
+    }
+
+    /**
+     * Applies delta to the reference count of the monitor with a single write conditional on the seqNo/primaryTerm
+     * the count was read at, retrying on conflicts. A count dropping to zero deletes the document instead.
+     * Completes with the new count, or with null if the monitor is not shared.
+     */
+    private void updateRefCount(String monitorId, int delta, int retries, ActionListener<RefCount> listener) {
+        client.get(new GetRequest(SHARED_QUERY_SETS_INDEX, REF_COUNT_DOC_PREFIX + monitorId), ActionListener.wrap(response -> {
+            if (!response.isExists()) {
+                listener.onResponse(null);
+                return;
+            }
+
+            Map<String, Object> source = response.getSourceAsMap();
+            String fingerprint = (String) source.get(FINGERPRINT_FIELD);
+            RefCount refCount = new RefCount(Math.max(0, ((Number) source.get(REF_COUNT_FIELD)).intValue() + delta), fingerprint);
+            ActionListener<Object> writeListener = ActionListener.wrap(writeResponse -> listener.onResponse(refCount), e -> {
+                if (ExceptionsHelper.unwrapCause(e) instanceof VersionConflictEngineException && retries > 0) {
+                    updateRefCount(monitorId, delta, retries - 1, listener);
+                } else {
+                    listener.onFailure(e);
+                }
+            });
+
+            if (refCount.count == 0) {
+                DeleteRequest request = new DeleteRequest(SHARED_QUERY_SETS_INDEX, REF_COUNT_DOC_PREFIX + monitorId)
+                        .setIfSeqNo(response.getSeqNo())
+                        .setIfPrimaryTerm(response.getPrimaryTerm())
+                        .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+                client.delete(request, ActionListener.wrap(writeListener::onResponse, writeListener::onFailure));
+            } else {
+                IndexRequest request = new IndexRequest(SHARED_QUERY_SETS_INDEX)
+                        .id(REF_COUNT_DOC_PREFIX + monitorId)
+                        .source(Map.of(MONITOR_ID_FIELD, monitorId, FINGERPRINT_FIELD, fingerprint, REF_COUNT_FIELD, refCount.count))
+                        .setIfSeqNo(response.getSeqNo())
+                        .setIfPrimaryTerm(response.getPrimaryTerm())
+                        .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+                client.index(request, ActionListener.wrap(writeListener::onResponse, writeListener::onFailure));
+            }
+        }, e -> {
+            if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                listener.onResponse(null);
+            } else {
+                listener.onFailure(e);
+            }
+        }));
+    }
+
+    private static class RefCount {
+        private final int count;
+        private final String fingerprint;
+
+        private RefCount(int count, String fingerprint) {
+            this.count = count;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.action;
+
+import org.opensearch.common.Strings;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.rules.objects.SigmaRule;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomRule;
+
+public class IndexRuleResponseTests extends OpenSearchTestCase {
+
+    public void testIndexRuleResponseWithDetectorUpdates() throws Exception {
+        IndexRuleResponse response = new IndexRuleResponse("rule_1", 2L, RestStatus.OK, rule(), List.of("d1"), Map.of("d2", "cannot be updated"));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        IndexRuleResponse newResponse = new IndexRuleResponse(sin);
+
+        assertEquals("rule_1", newResponse.getId());
+        assertEquals(List.of("d1"), newResponse.getUpdatedDetectors());
+        assertEquals(Map.of("d2", "cannot be updated"), newResponse.getFailedDetectors());
+
+        String json = Strings.toString(newResponse);
+        assertTrue(json.contains("\"detectors\":{\"updated\":[\"d1\"],\"failed\":{\"d2\":\"cannot be updated\"}}"));
+    }
+
+    public void testIndexRuleResponseWithoutDetectorUpdates() throws IOException {
+        IndexRuleResponse response = new IndexRuleResponse("rule_1", 1L, RestStatus.CREATED, rule());
+        assertFalse(Strings.toString(response).contains("\"detectors\""));
+    }
+
+    private static Rule rule() {
+        try {
+            return new Rule("rule_1", 1L, SigmaRule.fromYaml(randomRule(), true), "windows", List.of(), List.of(), randomRule());
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+}
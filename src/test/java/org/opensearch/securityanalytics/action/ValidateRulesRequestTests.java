@@ -55,4 +55,15 @@ public class ValidateRulesRequestTests extends OpenSearchTestCase {
         assertEquals("rule_id_2", newRequest.getRules().get(1));
     }
 
+    public void testValidateRulesRequest_streamsIndexNames() throws IOException {
+        ValidateRulesRequest request = new ValidateRulesRequest(null, List.of("logs-*", "other"), List.of("rule_id_1"));
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        ValidateRulesRequest newRequest = new ValidateRulesRequest(sin);
+        assertNull(newRequest.getIndexName());
+        assertEquals(List.of("logs-*", "other"), newRequest.getIndexNames());
+    }
 }
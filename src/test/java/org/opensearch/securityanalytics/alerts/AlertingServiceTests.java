@@ -7,19 +7,41 @@ package org.opensearch.securityanalytics.alerts;
 
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
 import org.opensearch.client.Client;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.commons.alerting.action.AcknowledgeAlertRequest;
+import org.opensearch.commons.alerting.action.AcknowledgeAlertResponse;
 import org.opensearch.commons.alerting.model.Alert;
 import org.opensearch.commons.alerting.model.CronSchedule;
 import org.opensearch.commons.alerting.model.DataSources;
 import org.opensearch.commons.alerting.model.DocumentLevelTrigger;
 import org.opensearch.commons.alerting.model.Monitor;
 import org.opensearch.commons.alerting.model.Table;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.TermQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
 import org.opensearch.rest.RestStatus;
 import org.opensearch.script.Script;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryAction;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryRequest;
+import org.opensearch.securityanalytics.action.AckAlertsByQueryResponse;
 import org.opensearch.securityanalytics.action.AlertDto;
 import org.opensearch.securityanalytics.action.GetAlertsResponse;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
@@ -28,6 +50,7 @@ import org.opensearch.securityanalytics.action.GetDetectorResponse;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.model.Detector;
 import org.opensearch.securityanalytics.transport.TransportIndexDetectorAction;
+import org.opensearch.tasks.TaskId;
 import org.opensearch.test.OpenSearchTestCase;
 
 
@@ -37,6 +60,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
 
 public class AlertingServiceTests extends OpenSearchTestCase {
 
@@ -309,4 +333,154 @@ public class AlertingServiceTests extends OpenSearchTestCase {
             }
         });
     }
-}
\ No newline at end of file
+
+    public void testMonitorIdsOfRulesToAcknowledge() {
+        Detector detector = mock(Detector.class);
+        when(detector.getId()).thenReturn("detector_id123");
+        when(detector.getMonitorIds()).thenReturn(List.of("doc_monitor", "bucket_monitor_1", "bucket_monitor_2"));
+        when(detector.getRuleIdMonitorIdMap()).thenReturn(
+                Map.of(Detector.DOC_LEVEL_MONITOR, "doc_monitor", "agg_rule_1", "bucket_monitor_1", "agg_rule_2", "bucket_monitor_2")
+        );
+
+        assertEquals(List.of("doc_monitor", "bucket_monitor_1", "bucket_monitor_2"), AlertsService.getMonitorIds(detector, null));
+        assertEquals(List.of("bucket_monitor_2"), AlertsService.getMonitorIds(detector, List.of("agg_rule_2")));
+
+        OpenSearchStatusException e = expectThrows(
+                OpenSearchStatusException.class,
+                () -> AlertsService.getMonitorIds(detector, List.of("agg_rule_1", "doc_rule", Detector.DOC_LEVEL_MONITOR))
+        );
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+        assertTrue(e.getMessage().contains("[doc_rule, -1]"));
+    }
+
+    public void testBuildAckByQuerySearchSource() {
+        SearchSourceBuilder source = AlertsService.buildAckByQuerySearchSource(List.of("bucket_monitor_1"), List.of("agg_rule_1"), List.of("1", "2"));
+
+        BoolQueryBuilder query = (BoolQueryBuilder) source.query();
+        assertEquals(4, query.filter().size());
+        assertEquals(new TermsQueryBuilder("monitor_id", List.of("bucket_monitor_1")), query.filter().get(0));
+        assertEquals(new TermQueryBuilder("state", "ACTIVE"), query.filter().get(1));
+        // Merged monitors evaluate several rules, only the alerts of the triggers of the requested rules are acknowledged
+        assertEquals(new TermsQueryBuilder("trigger_id", List.of("agg_rule_1")), query.filter().get(2));
+        assertEquals(new TermsQueryBuilder("severity", List.of("1", "2")), query.filter().get(3));
+        assertArrayEquals(new String[] { "monitor_id" }, source.fetchSource().includes());
+
+        BoolQueryBuilder allRulesAndSeverities = (BoolQueryBuilder) AlertsService.buildAckByQuerySearchSource(List.of("bucket_monitor_1"), null, null).query();
+        assertEquals(2, allRulesAndSeverities.filter().size());
+    }
+
+    public void testAcknowledgeAlertsByQueryPagesAndBatchesPerMonitor() {
+        Detector detector = ackDetector();
+        List<String> alertMonitors = List.of("bucket_monitor_1", "bucket_monitor_2", "bucket_monitor_1", "bucket_monitor_2", "bucket_monitor_1");
+        AtomicInteger searches = new AtomicInteger();
+        List<AcknowledgeAlertRequest> ackRequests = new ArrayList<>();
+        AtomicReference<AckAlertsByQueryResponse> result = new AtomicReference<>();
+
+        AlertsService.acknowledgeAlertsByQuery(
+                detector,
+                new AckAlertsByQueryRequest("detector_id123", null, null, 2),
+                ackTask(),
+                (request, listener) -> {
+                    searches.incrementAndGet();
+                    assertEquals(2, ((BoolQueryBuilder) request.source().query()).filter().size());
+                    listener.onResponse(alertsPage(alertMonitors, request.source().searchAfter(), request.source().size()));
+                },
+                (request, listener) -> {
+                    ackRequests.add(request);
+                    if ("bucket_monitor_2".equals(request.getMonitorId())) {
+                        listener.onFailure(new IllegalStateException("monitor is being updated"));
+                    } else {
+                        listener.onResponse(new AcknowledgeAlertResponse(List.of(), List.of(), request.getAlertIds()));
+                    }
+                },
+                ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(3, searches.get());
+        // One acknowledgement per monitor of every page
+        assertEquals(5, ackRequests.size());
+        Map<String, List<String>> acknowledgedAlerts = new HashMap<>();
+        for (AcknowledgeAlertRequest ackRequest : ackRequests) {
+            assertEquals(1, ackRequest.getAlertIds().size());
+            acknowledgedAlerts.computeIfAbsent(ackRequest.getMonitorId(), k -> new ArrayList<>()).addAll(ackRequest.getAlertIds());
+        }
+        assertEquals(List.of("alert_0", "alert_2", "alert_4"), acknowledgedAlerts.get("bucket_monitor_1"));
+        assertEquals(List.of("alert_1", "alert_3"), acknowledgedAlerts.get("bucket_monitor_2"));
+
+        assertEquals(5, result.get().getMatched());
+        assertEquals(0, result.get().getAcknowledged());
+        // A failed batch fails its alerts without stopping the remaining pages
+        assertEquals(2, result.get().getFailed());
+        assertEquals(3, result.get().getMissing());
+        assertFalse(result.get().isCancelled());
+    }
+
+    public void testAcknowledgeAlertsByQueryStopsWhenCancelled() {
+        Detector detector = ackDetector();
+        List<String> alertMonitors = List.of("bucket_monitor_1", "bucket_monitor_1", "bucket_monitor_1", "bucket_monitor_1", "bucket_monitor_1");
+        AckAlertsByQueryTask task = ackTask();
+        AtomicInteger searches = new AtomicInteger();
+        List<AcknowledgeAlertRequest> ackRequests = new ArrayList<>();
+        AtomicReference<AckAlertsByQueryResponse> result = new AtomicReference<>();
+
+        AlertsService.acknowledgeAlertsByQuery(
+                detector,
+                new AckAlertsByQueryRequest("detector_id123", List.of("agg_rule_1"), null, 2),
+                task,
+                (request, listener) -> {
+                    searches.incrementAndGet();
+                    assertEquals(
+                            new TermsQueryBuilder("trigger_id", List.of("agg_rule_1")),
+                            ((BoolQueryBuilder) request.source().query()).filter().get(2)
+                    );
+                    listener.onResponse(alertsPage(alertMonitors, request.source().searchAfter(), request.source().size()));
+                },
+                (request, listener) -> {
+                    ackRequests.add(request);
+                    task.cancel("by user");
+                    listener.onResponse(new AcknowledgeAlertResponse(List.of(), List.of(), request.getAlertIds()));
+                },
+                ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        // The page fetched after the cancellation is not acknowledged
+        assertEquals(2, searches.get());
+        assertEquals(1, ackRequests.size());
+        assertEquals(List.of("alert_0", "alert_1"), ackRequests.get(0).getAlertIds());
+        assertEquals(2, result.get().getMatched());
+        assertEquals(2, result.get().getMissing());
+        assertTrue(result.get().isCancelled());
+    }
+
+    private static Detector ackDetector() {
+        Detector detector = mock(Detector.class);
+        when(detector.getId()).thenReturn("detector_id123");
+        when(detector.getDetectorType()).thenReturn("windows");
+        when(detector.getMonitorIds()).thenReturn(List.of("bucket_monitor_1", "bucket_monitor_2"));
+        when(detector.getRuleIdMonitorIdMap()).thenReturn(
+                Map.of("agg_rule_1", "bucket_monitor_1", "agg_rule_2", "bucket_monitor_1", "agg_rule_3", "bucket_monitor_2")
+        );
+        return detector;
+    }
+
+    private static AckAlertsByQueryTask ackTask() {
+        return new AckAlertsByQueryTask(1L, "transport", AckAlertsByQueryAction.NAME, "ack alerts by query", TaskId.EMPTY_TASK_ID, Map.of());
+    }
+
+    /**
+     * @return the page of alerts following searchAfter, alert i belonging to monitor alertMonitors[i]
+     */
+    private static SearchResponse alertsPage(List<String> alertMonitors, Object[] searchAfter, int size) {
+        int from = searchAfter == null ? 0 : Integer.parseInt(((String) searchAfter[0]).substring("alert_".length())) + 1;
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = from; i < Math.min(from + size, alertMonitors.size()); ++i) {
+            SearchHit hit = new SearchHit(i, "alert_" + i, Collections.emptyMap(), Collections.emptyMap());
+            hit.sourceRef(new BytesArray("{\"monitor_id\":\"" + alertMonitors.get(i) + "\"}"));
+            hit.sortValues(new Object[]{"alert_" + i}, new DocValueFormat[]{DocValueFormat.RAW});
+            hits.add(hit);
+        }
+        SearchHits searchHits = new SearchHits(hits.toArray(new SearchHit[0]), new TotalHits(hits.size(), TotalHits.Relation.EQUAL_TO), 1.0f);
+        InternalSearchResponse internal = new InternalSearchResponse(searchHits, null, null, null, false, null, 1);
+        return new SearchResponse(internal, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
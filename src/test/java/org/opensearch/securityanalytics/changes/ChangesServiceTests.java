@@ -0,0 +1,233 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.changes;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.MultiSearchRequest;
+import org.opensearch.action.search.MultiSearchResponse;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.client.Client;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.ToXContent;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.alerting.model.DocLevelQuery;
+import org.opensearch.commons.alerting.model.Finding;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.search.sort.FieldSortBuilder;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.securityanalytics.action.FindingDto;
+import org.opensearch.securityanalytics.action.GetChangesRequest;
+import org.opensearch.securityanalytics.action.GetChangesResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.tasks.CancellableTask;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChangesServiceTests extends OpenSearchTestCase {
+
+    public void testCursorRoundTrip() {
+        ChangesCursor cursor = ChangesCursor.since(1000L)
+                .afterFindings(new Object[] { 1500L, "finding_1" })
+                .afterAlerts(1, new Object[] { 1200L, "alert_1" });
+
+        ChangesCursor decoded = ChangesCursor.decode(cursor.encode());
+        assertEquals(cursor, decoded);
+        assertEquals(new ChangesCursor.Position(1500L, "finding_1"), decoded.getFindings());
+        assertEquals(new ChangesCursor.Position(1000L, null), decoded.getAlerts(0));
+        assertEquals(new ChangesCursor.Position(1200L, "alert_1"), decoded.getAlerts(1));
+        assertEquals(List.of(1500L, "finding_1"), cursor.getFindings().searchAfter());
+        assertEquals(ChangesCursor.since(1000L), ChangesCursor.decode(ChangesCursor.since(1000L).encode()));
+        assertNull(ChangesCursor.since(1000L).getAlerts(0).searchAfter());
+    }
+
+    public void testVersion1CursorResumesAllAlertTimes() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        out.writeByte((byte) 1);
+        out.writeLong(1500L);
+        out.writeOptionalString("finding_1");
+        out.writeLong(1200L);
+        out.writeOptionalString("alert_1");
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(BytesReference.toBytes(out.bytes()));
+
+        ChangesCursor decoded = ChangesCursor.decode(cursor);
+        assertEquals(new ChangesCursor.Position(1500L, "finding_1"), decoded.getFindings());
+        for (int field = 0; field < ChangesService.ALERT_TIME_FIELDS.size(); field++) {
+            assertEquals(new ChangesCursor.Position(1200L, null), decoded.getAlerts(field));
+        }
+    }
+
+    public void testInvalidCursor() {
+        OpenSearchStatusException e = expectThrows(OpenSearchStatusException.class, () -> ChangesCursor.decode("not a cursor"));
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+    }
+
+    public void testBuildChangesSearchSources() {
+        ChangesCursor cursor = ChangesCursor.since(1000L).afterFindings(new Object[] { 1500L, "finding_1" });
+
+        SearchSourceBuilder findings = ChangesService.buildFindingsChangesSearchSource(List.of("monitor_id1"), cursor, 9000L, 100);
+        RangeQueryBuilder findingsRange = (RangeQueryBuilder) ((BoolQueryBuilder) findings.query()).filter().get(1);
+        assertEquals(1500L, findingsRange.from());
+        // changes within the safety lag are not returned yet
+        assertEquals(9000L, findingsRange.to());
+        assertFalse(findingsRange.includeUpper());
+        assertArrayEquals(new Object[] { 1500L, "finding_1" }, findings.searchAfter());
+        assertEquals(new FieldSortBuilder("timestamp").order(SortOrder.ASC), findings.sorts().get(0));
+        assertEquals(new FieldSortBuilder("id").order(SortOrder.ASC), findings.sorts().get(1));
+
+        for (int field = 0; field < ChangesService.ALERT_TIME_FIELDS.size(); field++) {
+            String timeField = ChangesService.ALERT_TIME_FIELDS.get(field);
+            SearchSourceBuilder alerts = ChangesService.buildAlertsChangesSearchSource(List.of("monitor_id1"), cursor, field, 9000L, 100);
+            RangeQueryBuilder alertsRange = (RangeQueryBuilder) ((BoolQueryBuilder) alerts.query()).filter().get(1);
+            assertEquals(timeField, alertsRange.fieldName());
+            assertEquals(1000L, alertsRange.from());
+            assertEquals(9000L, alertsRange.to());
+            assertNull(alerts.searchAfter());
+            // alerts are sorted on their stored time fields, not on a script
+            assertEquals(new FieldSortBuilder(timeField).order(SortOrder.ASC), alerts.sorts().get(0));
+            assertEquals(100, alerts.size());
+        }
+    }
+
+    public void testChangesOfSharedMonitorReturnedForEveryDetector() {
+        Detector detector1 = mock(Detector.class);
+        when(detector1.getId()).thenReturn("detector_1");
+        when(detector1.getMonitorIds()).thenReturn(List.of("monitor_id1"));
+        when(detector1.getDetectorType()).thenReturn("windows");
+        Detector detector2 = mock(Detector.class);
+        when(detector2.getId()).thenReturn("detector_2");
+        when(detector2.getMonitorIds()).thenReturn(List.of("monitor_id1"));
+        when(detector2.getDetectorType()).thenReturn("windows");
+
+        Client client = mock(Client.class);
+        AtomicReference<MultiSearchRequest> searched = new AtomicReference<>();
+        doAnswer(invocation -> {
+            MultiSearchRequest multiSearchRequest = invocation.getArgument(0);
+            searched.set(multiSearchRequest);
+            MultiSearchResponse.Item[] items = new MultiSearchResponse.Item[multiSearchRequest.requests().size()];
+            items[0] = new MultiSearchResponse.Item(searchResponse(findingHit()), null);
+            for (int i = 1; i < items.length; i++) {
+                items[i] = new MultiSearchResponse.Item(emptySearchResponse(), null);
+            }
+            ActionListener<MultiSearchResponse> l = invocation.getArgument(1);
+            l.onResponse(new MultiSearchResponse(items, 1L));
+            return null;
+        }).when(client).multiSearch(any(), any(ActionListener.class));
+
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.relativeTimeInMillis()).thenReturn(0L);
+        when(threadPool.absoluteTimeInMillis()).thenReturn(20000L);
+        GetChangesRequest request = new GetChangesRequest(
+                null, Detector.DetectorType.WINDOWS, null, Instant.ofEpochMilli(1000L), 10, TimeValue.timeValueSeconds(2)
+        );
+        AtomicReference<GetChangesResponse> response = new AtomicReference<>();
+
+        new ChangesService(client, threadPool, TimeValue.timeValueSeconds(5)).getChanges(
+                List.of(detector1, detector2), request, mock(CancellableTask.class), ActionListener.wrap(response::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(1 + ChangesService.ALERT_TIME_FIELDS.size(), searched.get().requests().size());
+        RangeQueryBuilder range = (RangeQueryBuilder) ((BoolQueryBuilder) searched.get().requests().get(0).source().query()).filter().get(1);
+        assertEquals(15000L, range.to());
+        assertEquals(2, response.get().getFindings().size());
+        assertEquals(Set.of("detector_1", "detector_2"),
+                response.get().getFindings().stream().map(FindingDto::getDetectorId).collect(Collectors.toSet()));
+        assertEquals(new ChangesCursor.Position(5000L, "finding_1"), ChangesCursor.decode(response.get().getCursor()).getFindings());
+    }
+
+    public void testLongPollReturnsEmptyChangesOnTimeout() {
+        Detector detector = mock(Detector.class);
+        when(detector.getMonitorIds()).thenReturn(List.of("monitor_id1"));
+        when(detector.getDetectorType()).thenReturn("windows");
+
+        Client client = mock(Client.class);
+        AtomicInteger searches = new AtomicInteger();
+        doAnswer(invocation -> {
+            searches.incrementAndGet();
+            ActionListener<MultiSearchResponse> l = invocation.getArgument(1);
+            l.onResponse(new MultiSearchResponse(new MultiSearchResponse.Item[] {
+                    new MultiSearchResponse.Item(emptySearchResponse(), null),
+                    new MultiSearchResponse.Item(emptySearchResponse(), null)
+            }, 1L));
+            return null;
+        }).when(client).multiSearch(any(), any(ActionListener.class));
+
+        ThreadPool threadPool = mock(ThreadPool.class);
+        // deadline is computed at 0, first search at 0, second search after the timeout
+        when(threadPool.relativeTimeInMillis()).thenReturn(0L, 0L, 3000L);
+        when(threadPool.getThreadContext()).thenReturn(new ThreadContext(Settings.EMPTY));
+        AtomicReference<TimeValue> scheduledDelay = new AtomicReference<>();
+        doAnswer(invocation -> {
+            scheduledDelay.set(invocation.getArgument(1));
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(threadPool).schedule(any(Runnable.class), any(TimeValue.class), anyString());
+
+        CancellableTask task = mock(CancellableTask.class);
+        GetChangesRequest request = new GetChangesRequest(
+                "detector_id123", null, null, Instant.ofEpochMilli(1000L), 10, TimeValue.timeValueSeconds(2)
+        );
+        AtomicReference<GetChangesResponse> response = new AtomicReference<>();
+
+        new ChangesService(client, threadPool, TimeValue.timeValueSeconds(10)).getChanges(
+                List.of(detector), request, task, ActionListener.wrap(response::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(2, searches.get());
+        assertEquals(ChangesService.POLL_INTERVAL, scheduledDelay.get());
+        assertTrue(response.get().getFindings().isEmpty());
+        assertTrue(response.get().getAlerts().isEmpty());
+        assertFalse(response.get().isHasMore());
+        assertEquals(ChangesCursor.since(1000L), ChangesCursor.decode(response.get().getCursor()));
+    }
+
+    private static SearchHit findingHit() throws IOException {
+        Finding finding = new Finding("finding_1", List.of("doc_1"), "monitor_id1", "monitor_name", "windows",
+                List.of(new DocLevelQuery("rule_1", "rule_1", "field:value", List.of("high"))), Instant.ofEpochMilli(5000L));
+        SearchHit hit = new SearchHit(0, "finding_1", Map.of(), Map.of());
+        hit.sourceRef(BytesReference.bytes(finding.toXContent(XContentFactory.jsonBuilder(), ToXContent.EMPTY_PARAMS)));
+        hit.sortValues(new Object[] { 5000L, "finding_1" }, new DocValueFormat[] { DocValueFormat.RAW, DocValueFormat.RAW });
+        return hit;
+    }
+
+    private static SearchResponse emptySearchResponse() {
+        return searchResponse();
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 0.0f);
+        InternalSearchResponse internal = new InternalSearchResponse(searchHits, null, null, null, false, null, 1);
+        return new SearchResponse(internal, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
@@ -12,6 +12,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.http.HttpStatus;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHeader;
 import org.junit.Assert;
 import org.opensearch.client.Request;
 import org.opensearch.client.Response;
@@ -35,6 +37,7 @@ import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSetting
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_MAX_DOCS;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD;
 import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.FINDING_HISTORY_ROLLOVER_PERIOD;
+import static org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings.HISTORY_INDEX_SORTING_ENABLED;
 
 public class FindingIT extends SecurityAnalyticsRestTestCase {
 
@@ -91,6 +94,53 @@ public class FindingIT extends SecurityAnalyticsRestTestCase {
         Assert.assertEquals(1, getFindingsBody.get("total_findings"));
     }
 
+    @SuppressWarnings("unchecked")
+    public void testSearchFindings_byDocIdAndSeverity_success() throws IOException {
+        String index = createTestIndex(randomIndex(), windowsIndexMapping());
+
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"" + randomDetectorType() + "\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        Detector detector = randomDetectorWithTriggers(getRandomPrePackagedRules(), List.of(new DetectorTrigger(null, "test-trigger", "1", List.of(randomDetectorType()), List.of(), List.of(), List.of(), List.of())));
+        Response createResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.DETECTOR_BASE_URI, Collections.emptyMap(), toHttpEntity(detector));
+        Assert.assertEquals("Create detector failed", RestStatus.CREATED, restStatus(createResponse));
+        String createdId = asMap(createResponse).get("_id").toString();
+
+        String request = "{\n" +
+                "   \"query\" : {\n" +
+                "     \"match\":{\n" +
+                "        \"_id\": \"" + createdId + "\"\n" +
+                "     }\n" +
+                "   }\n" +
+                "}";
+        List<SearchHit> hits = executeSearch(Detector.DETECTORS_INDEX, request);
+        String monitorId = ((List<String>) ((Map<String, Object>) hits.get(0).getSourceAsMap().get("detector")).get("monitor_id")).get(0);
+
+        // a doc id the standard analyzer splits into several tokens, which a filter on the text field does not match
+        String docId = "Doc-1_A";
+        indexDoc(index, docId, randomDoc());
+        executeAlertingMonitor(monitorId, Collections.emptyMap());
+
+        String severities = "[\"critical\", \"high\", \"medium\", \"low\", \"informational\"]";
+        Response searchResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_query", Collections.emptyMap(),
+                new StringEntity("{ \"detector_id\": \"" + createdId + "\", \"doc_ids\": [\"" + docId + "\"], \"severities\": " + severities + " }"), new BasicHeader("Content-Type", "application/json"));
+        Map<String, Object> searchBody = entityAsMap(searchResponse);
+        Assert.assertEquals(1, searchBody.get("total_findings"));
+        List<Map<String, Object>> findings = (List<Map<String, Object>>) searchBody.get("findings");
+        Assert.assertEquals(List.of(docId), findings.get(0).get("related_doc_ids"));
+
+        searchResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_query", Collections.emptyMap(),
+                new StringEntity("{ \"detector_id\": \"" + createdId + "\", \"doc_ids\": [\"Doc-2_A\"] }"), new BasicHeader("Content-Type", "application/json"));
+        Assert.assertEquals(0, entityAsMap(searchResponse).get("total_findings"));
+    }
+
     public void testGetFindings_noDetector_failure() throws IOException {
         Map<String, String> params = new HashMap<>();
         params.put("detector_id", "nonexistent_id");
@@ -389,6 +439,78 @@ public class FindingIT extends SecurityAnalyticsRestTestCase {
         assertTrue("Did not find 3 alert indices", findingIndices.size() >= 2);
     }
 
+    @SuppressWarnings("unchecked")
+    public void testGetFindings_rolloverWithHistoryIndexSortingEnabled_success() throws IOException, InterruptedException {
+        updateClusterSetting(HISTORY_INDEX_SORTING_ENABLED.getKey(), "true");
+        updateClusterSetting(FINDING_HISTORY_ROLLOVER_PERIOD.getKey(), "1s");
+        updateClusterSetting(FINDING_HISTORY_MAX_DOCS.getKey(), "1");
+
+        String index = createTestIndex(randomIndex(), windowsIndexMapping());
+
+        // Execute CreateMappingsAction to add alias mapping for index
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        // both req params and req body are supported
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"" + randomDetectorType() + "\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        Detector detector = randomDetectorWithTriggers(getRandomPrePackagedRules(), List.of(new DetectorTrigger(null, "test-trigger", "1", List.of(randomDetectorType()), List.of(), List.of(), List.of(), List.of())));
+
+        Response createResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.DETECTOR_BASE_URI, Collections.emptyMap(), toHttpEntity(detector));
+        Assert.assertEquals("Create detector failed", RestStatus.CREATED, restStatus(createResponse));
+
+        Map<String, Object> responseBody = asMap(createResponse);
+
+        String detectorId = responseBody.get("_id").toString();
+
+        String request = "{\n" +
+                "   \"query\" : {\n" +
+                "     \"match\":{\n" +
+                "        \"_id\": \"" + detectorId + "\"\n" +
+                "     }\n" +
+                "   }\n" +
+                "}";
+        List<SearchHit> hits = executeSearch(Detector.DETECTORS_INDEX, request);
+        SearchHit hit = hits.get(0);
+
+        String monitorId = ((List<String>) ((Map<String, Object>) hit.getSourceAsMap().get("detector")).get("monitor_id")).get(0);
+
+        indexDoc(index, "1", randomDoc());
+        executeAlertingMonitor(monitorId, Collections.emptyMap());
+
+        List<String> findingIndices = getFindingIndices(detector.getDetectorType());
+        while(findingIndices.size() < 2) {
+            findingIndices = getFindingIndices(detector.getDetectorType());
+            Thread.sleep(1000);
+        }
+
+        // Findings have nested queries, which cannot be sorted, so the history indices are created and rolled over unsorted
+        Response templateResponse = client().performRequest(new Request("HEAD", "/_index_template/.opensearch-sap-findings-template"));
+        assertEquals(HttpStatus.SC_NOT_FOUND, templateResponse.getStatusLine().getStatusCode());
+        for (String findingIndex : findingIndices) {
+            Response settingsResponse = client().performRequest(new Request("GET", "/" + findingIndex + "/_settings?flat_settings=true"));
+            Map<String, Object> indexSettings = (Map<String, Object>) ((Map<String, Object>) entityAsMap(settingsResponse).get(findingIndex)).get("settings");
+            assertFalse(indexSettings.containsKey("index.sort.field"));
+        }
+
+        // The rolled over index takes new findings
+        indexDoc(index, "2", randomDoc());
+        executeAlertingMonitor(monitorId, Collections.emptyMap());
+        client().performRequest(new Request("POST", "_refresh"));
+
+        Map<String, String> params = new HashMap<>();
+        params.put("detector_id", detectorId);
+        Response getFindingsResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.FINDINGS_BASE_URI + "/_search", params, null);
+        Map<String, Object> getFindingsBody = entityAsMap(getFindingsResponse);
+        Assert.assertEquals(2, getFindingsBody.get("total_findings"));
+    }
+
     public void testGetFindings_rolloverByMaxDoc_short_retention_success() throws IOException, InterruptedException {
         updateClusterSetting(FINDING_HISTORY_ROLLOVER_PERIOD.getKey(), "1s");
         updateClusterSetting(FINDING_HISTORY_MAX_DOCS.getKey(), "1");
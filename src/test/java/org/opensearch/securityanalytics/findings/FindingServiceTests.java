@@ -5,38 +5,96 @@
 
 package org.opensearch.securityanalytics.findings;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.stream.Collectors;
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.Version;
 import org.opensearch.action.ActionListener;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.get.MultiGetRequest;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
 import org.opensearch.client.Client;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.bytes.BytesArray;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.settings.ClusterSettings;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.commons.alerting.model.CronSchedule;
 import org.opensearch.commons.alerting.model.DocLevelQuery;
 import org.opensearch.commons.alerting.model.Finding;
 import org.opensearch.commons.alerting.model.FindingDocument;
 import org.opensearch.commons.alerting.model.FindingWithDocs;
 import org.opensearch.commons.alerting.model.Table;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.index.query.BoolQueryBuilder;
+import org.opensearch.index.query.ExistsQueryBuilder;
+import org.opensearch.index.query.NestedQueryBuilder;
+import org.opensearch.index.query.RangeQueryBuilder;
+import org.opensearch.index.query.TermsQueryBuilder;
 import org.opensearch.rest.RestStatus;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.AggregationBuilder;
+import org.opensearch.search.aggregations.Aggregations;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.opensearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.opensearch.search.aggregations.bucket.histogram.Histogram;
+import org.opensearch.search.aggregations.bucket.histogram.LongBounds;
+import org.opensearch.search.aggregations.bucket.nested.Nested;
+import org.opensearch.search.aggregations.bucket.nested.ReverseNested;
+import org.opensearch.search.aggregations.bucket.terms.Terms;
+import org.opensearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.opensearch.search.aggregations.metrics.Cardinality;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.sort.FieldSortBuilder;
+import org.opensearch.search.sort.SortOrder;
 import org.opensearch.securityanalytics.action.FindingDto;
+import org.opensearch.securityanalytics.action.FindingsSummaryRequest;
+import org.opensearch.securityanalytics.action.FindingsSummaryResponse;
 import org.opensearch.securityanalytics.action.GetDetectorAction;
 import org.opensearch.securityanalytics.action.GetDetectorRequest;
 import org.opensearch.securityanalytics.action.GetDetectorResponse;
 import org.opensearch.securityanalytics.action.GetFindingsResponse;
+import org.opensearch.securityanalytics.action.SearchFindingsRequest;
 import org.opensearch.securityanalytics.config.monitors.DetectorMonitorConfig;
 import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
 
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
 
 public class FindingServiceTests extends OpenSearchTestCase {
 
@@ -253,4 +311,654 @@ public class FindingServiceTests extends OpenSearchTestCase {
             }
         });
     }
+
+    public void testBuildFindingsSearchSource() {
+        SearchFindingsRequest request = new SearchFindingsRequest()
+                .detectorId("detector_id123")
+                .ruleIds(List.of("rule_1", "rule_2"))
+                .severities(List.of("High"))
+                .timeRange(Instant.ofEpochMilli(1000L), Instant.ofEpochMilli(2000L))
+                .indices(List.of("windows"))
+                .docIds(List.of("doc_1"))
+                .size(50)
+                .searchAfter(List.of(1500L, "finding_1"));
+
+        SearchSourceBuilder source = FindingsService.buildFindingsSearchSource(request, List.of("monitor_id1"), List.of("monitor_id2"));
+
+        BoolQueryBuilder query = (BoolQueryBuilder) source.query();
+        assertEquals(6, query.filter().size());
+        assertEquals(new TermsQueryBuilder("monitor_id", List.of("monitor_id1")), query.filter().get(0));
+        BoolQueryBuilder ruleQuery = (BoolQueryBuilder) query.filter().get(1);
+        assertEquals(2, ruleQuery.should().size());
+        assertEquals(new TermsQueryBuilder("monitor_id", List.of("monitor_id2")), ruleQuery.should().get(1));
+        // severities and doc ids are filtered on keyword fields, the text fields would only match analyzed tokens
+        NestedQueryBuilder severityQuery = (NestedQueryBuilder) query.filter().get(2);
+        assertEquals(new TermsQueryBuilder("queries.tags.keyword", List.of("high")), severityQuery.query());
+        RangeQueryBuilder range = (RangeQueryBuilder) query.filter().get(3);
+        assertEquals(1000L, range.from());
+        assertEquals(2000L, range.to());
+        assertEquals(new TermsQueryBuilder("index", List.of("windows")), query.filter().get(4));
+        assertEquals(new TermsQueryBuilder("related_doc_ids.keyword", List.of("doc_1")), query.filter().get(5));
+
+        assertEquals(50, source.size());
+        assertArrayEquals(new Object[] { 1500L, "finding_1" }, source.searchAfter());
+        assertEquals(2, source.sorts().size());
+        assertEquals(new FieldSortBuilder("timestamp").order(SortOrder.DESC), source.sorts().get(0));
+        assertEquals(new FieldSortBuilder("id").order(SortOrder.ASC), source.sorts().get(1));
+    }
+
+    public void testBucketLevelMonitorIdsOfRules() {
+        Detector detector = mock(Detector.class);
+        when(detector.getRuleIdMonitorIdMap()).thenReturn(
+                Map.of(Detector.DOC_LEVEL_MONITOR, "doc_monitor", "agg_rule_1", "bucket_monitor_1", "agg_rule_2", "bucket_monitor_1")
+        );
+
+        assertEquals(List.of("bucket_monitor_1"), FindingsService.getBucketLevelMonitorIds(List.of(detector), List.of("agg_rule_1", "agg_rule_2", "doc_rule")));
+        assertEquals(List.of(), FindingsService.getBucketLevelMonitorIds(List.of(detector), null));
+    }
+
+    public void testBuildSummarySearchSource() {
+        FindingsSummaryRequest request = new FindingsSummaryRequest(
+                "detector_id123", null, Instant.ofEpochMilli(1000L), null, TimeValue.timeValueMinutes(30), 5, true
+        );
+
+        SearchSourceBuilder source = FindingsService.buildSummarySearchSource(request, List.of("monitor_id1", "monitor_id2"));
+
+        assertEquals(0, source.size());
+        BoolQueryBuilder query = (BoolQueryBuilder) source.query();
+        assertEquals(2, query.filter().size());
+        assertEquals(new TermsQueryBuilder("monitor_id", List.of("monitor_id1", "monitor_id2")), query.filter().get(0));
+        assertEquals(1000L, ((RangeQueryBuilder) query.filter().get(1)).from());
+
+        List<String> aggregationNames = source.aggregations().getAggregatorFactories().stream()
+                .map(AggregationBuilder::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("by_monitor", "queries", "timeline"), aggregationNames);
+        DateHistogramAggregationBuilder timeline = (DateHistogramAggregationBuilder) source.aggregations().getAggregatorFactories().stream()
+                .filter(e -> e.getName().equals("timeline"))
+                .findFirst()
+                .get();
+        assertEquals(new DateHistogramInterval("30m"), timeline.getFixedInterval());
+    }
+
+    public void testParseSummaryAttributesBucketLevelFindingsToRules() {
+        Detector detector = mock(Detector.class);
+        when(detector.getId()).thenReturn("detector_id123");
+        when(detector.getMonitorIds()).thenReturn(List.of("doc_monitor", "bucket_monitor"));
+        when(detector.getRuleIdsByMonitorId("doc_monitor")).thenReturn(List.of(Detector.DOC_LEVEL_MONITOR));
+        when(detector.getRuleIdsByMonitorId("bucket_monitor")).thenReturn(List.of("agg_rule"));
+
+        Terms byMonitor = terms(Map.of("doc_monitor", 5L, "bucket_monitor", 2L), null);
+        Terms byRule = terms(Map.of("doc_rule", 4L), Map.of("doc_rule", 3L));
+        Terms bySeverity = terms(Map.of("high", 4L), Map.of("high", 3L));
+        Nested queries = mock(Nested.class);
+        when(queries.getAggregations()).thenReturn(new Aggregations(List.of(named(byRule, "by_rule"), named(bySeverity, "by_severity"))));
+        when(queries.getName()).thenReturn("queries");
+        Histogram timeline = mock(Histogram.class);
+        Histogram.Bucket timelineBucket = mock(Histogram.Bucket.class);
+        when(timelineBucket.getKey()).thenReturn(Instant.ofEpochMilli(3600000L).atZone(ZoneId.of("UTC")));
+        when(timelineBucket.getDocCount()).thenReturn(7L);
+        doReturn(List.of(timelineBucket)).when(timeline).getBuckets();
+        when(timeline.getName()).thenReturn("timeline");
+
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        when(searchResponse.getAggregations()).thenReturn(new Aggregations(List.of(named(byMonitor, "by_monitor"), queries, timeline)));
+        when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(7L, TotalHits.Relation.EQUAL_TO), 0.0f));
+
+        FindingsSummaryResponse summary = FindingsService.parseSummary(searchResponse, List.of(detector), 10);
+
+        assertEquals(7L, summary.getTotalFindings());
+        assertEquals(Map.of("detector_id123", 7L), summary.getDetectors());
+        assertEquals(Map.of("doc_rule", 3L, "agg_rule", 2L), summary.getRules());
+        assertEquals(Map.of("high", 3L), summary.getSeverities());
+        assertEquals(Map.of(3600000L, 7L), summary.getTimeline());
+    }
+
+    public void testParseSummaryCreditsSharedMonitorToEachDetector() {
+        Detector detector1 = mock(Detector.class);
+        when(detector1.getId()).thenReturn("detector_id1");
+        when(detector1.getMonitorIds()).thenReturn(List.of("shared_monitor"));
+        when(detector1.getRuleIdsByMonitorId("shared_monitor")).thenReturn(List.of(Detector.DOC_LEVEL_MONITOR));
+        Detector detector2 = mock(Detector.class);
+        when(detector2.getId()).thenReturn("detector_id2");
+        when(detector2.getMonitorIds()).thenReturn(List.of("shared_monitor", "bucket_monitor"));
+        when(detector2.getRuleIdsByMonitorId("shared_monitor")).thenReturn(List.of(Detector.DOC_LEVEL_MONITOR));
+        when(detector2.getRuleIdsByMonitorId("bucket_monitor")).thenReturn(List.of("agg_rule"));
+
+        Terms byMonitor = terms(Map.of("shared_monitor", 5L, "bucket_monitor", 2L), null);
+        Terms byRule = terms(Map.of("doc_rule", 5L), Map.of("doc_rule", 5L));
+        Terms bySeverity = terms(Map.of("high", 5L), Map.of("high", 5L));
+        Nested queries = mock(Nested.class);
+        when(queries.getAggregations()).thenReturn(new Aggregations(List.of(named(byRule, "by_rule"), named(bySeverity, "by_severity"))));
+        when(queries.getName()).thenReturn("queries");
+        Histogram timeline = mock(Histogram.class);
+        doReturn(List.of()).when(timeline).getBuckets();
+        when(timeline.getName()).thenReturn("timeline");
+
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        when(searchResponse.getAggregations()).thenReturn(new Aggregations(List.of(named(byMonitor, "by_monitor"), queries, timeline)));
+        when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(7L, TotalHits.Relation.EQUAL_TO), 0.0f));
+
+        FindingsSummaryResponse summary = FindingsService.parseSummary(searchResponse, List.of(detector1, detector2), 10);
+
+        assertEquals(7L, summary.getTotalFindings());
+        assertEquals(Map.of("detector_id1", 5L, "detector_id2", 7L), summary.getDetectors());
+        assertEquals(Map.of("doc_rule", 5L, "agg_rule", 2L), summary.getRules());
+    }
+
+    public void testParseSummaryAttributesMergedMonitorFindingsToTheirTriggers() {
+        Detector detector = mock(Detector.class);
+        when(detector.getId()).thenReturn("detector_id123");
+        when(detector.getMonitorIds()).thenReturn(List.of("merged_monitor", "bucket_monitor"));
+        when(detector.getRuleIdsByMonitorId("merged_monitor")).thenReturn(List.of("agg_rule_1", "agg_rule_2", "agg_rule_3"));
+        when(detector.getRuleIdsByMonitorId("bucket_monitor")).thenReturn(List.of("agg_rule_4"));
+        assertEquals(Map.of("merged_monitor", List.of("agg_rule_1", "agg_rule_2", "agg_rule_3")),
+                FindingsService.getMergedBucketLevelMonitorRules(List.of(detector)));
+
+        Terms byMonitor = terms(Map.of("merged_monitor", 3L, "bucket_monitor", 2L), null);
+        Terms byRule = terms(Map.of(), Map.of());
+        Terms bySeverity = terms(Map.of(), Map.of());
+        Nested queries = mock(Nested.class);
+        when(queries.getAggregations()).thenReturn(new Aggregations(List.of(named(byRule, "by_rule"), named(bySeverity, "by_severity"))));
+        when(queries.getName()).thenReturn("queries");
+        Histogram timeline = mock(Histogram.class);
+        doReturn(List.of()).when(timeline).getBuckets();
+        when(timeline.getName()).thenReturn("timeline");
+        SearchResponse searchResponse = mock(SearchResponse.class);
+        when(searchResponse.getAggregations()).thenReturn(new Aggregations(List.of(named(byMonitor, "by_monitor"), queries, timeline)));
+        when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[0], new TotalHits(5L, TotalHits.Relation.EQUAL_TO), 0.0f));
+
+        // 2 findings alerted by the trigger of agg_rule_1 and 1 by the trigger of agg_rule_2
+        Terms byTrigger = mock(Terms.class);
+        List<Terms.Bucket> triggerBuckets = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : Map.of("agg_rule_1", 2L, "agg_rule_2", 1L).entrySet()) {
+            Terms.Bucket bucket = mock(Terms.Bucket.class);
+            when(bucket.getKeyAsString()).thenReturn(entry.getKey());
+            Cardinality findings = mock(Cardinality.class);
+            when(findings.getName()).thenReturn("findings");
+            when(findings.getValue()).thenReturn(entry.getValue());
+            when(bucket.getAggregations()).thenReturn(new Aggregations(List.of(findings)));
+            triggerBuckets.add(bucket);
+        }
+        doReturn(triggerBuckets).when(byTrigger).getBuckets();
+        SearchResponse mergedRulesResponse = mock(SearchResponse.class);
+        when(mergedRulesResponse.getAggregations()).thenReturn(new Aggregations(List.of(named(byTrigger, "by_rule"))));
+
+        FindingsSummaryResponse summary = FindingsService.parseSummary(searchResponse, null, mergedRulesResponse, List.of(detector), 10);
+
+        assertEquals(5L, summary.getTotalFindings());
+        assertEquals(Map.of("detector_id123", 5L), summary.getDetectors());
+        // findings of the merged monitor are not counted once per rule of the monitor
+        assertEquals(Map.of("agg_rule_1", 2L, "agg_rule_2", 1L, "agg_rule_4", 2L), summary.getRules());
+
+        FindingsSummaryRequest request = new FindingsSummaryRequest(
+                "detector_id123", null, Instant.ofEpochMilli(1000L), null, TimeValue.timeValueHours(1), 5, true
+        );
+        SearchSourceBuilder mergedRules = FindingsService.buildMergedMonitorRulesSearchSource(request, List.of("merged_monitor"), 3, 5000L);
+        BoolQueryBuilder query = (BoolQueryBuilder) mergedRules.query();
+        assertEquals(new TermsQueryBuilder("monitor_id", List.of("merged_monitor")), query.filter().get(0));
+        assertEquals(5000L, ((RangeQueryBuilder) query.filter().get(2)).from());
+        TermsAggregationBuilder byTriggerAgg = (TermsAggregationBuilder) mergedRules.aggregations().getAggregatorFactories().iterator().next();
+        assertEquals("trigger_id", byTriggerAgg.field());
+        assertEquals(3, byTriggerAgg.size());
+
+        SearchSourceBuilder rollups = FindingsService.buildRollupSummarySearchSource(
+                request, List.of("merged_monitor", "bucket_monitor"), List.of("merged_monitor"), 3, 5000L, null
+        );
+        assertTrue(rollups.aggregations().getAggregatorFactories().stream().anyMatch(agg -> agg.getName().equals("rollup_triggers")));
+    }
+
+    public void testTriggerRollupDoc() {
+        Cardinality findings = mock(Cardinality.class);
+        when(findings.getName()).thenReturn("findings");
+        when(findings.getValue()).thenReturn(4L);
+        Map<String, Object> key = Map.of("day", 86400000L, "monitor_id", "merged_monitor", "rule_id", "agg_rule_1");
+
+        Map<String, Object> doc = FindingsRollup.triggerRollupDoc(key, new Aggregations(List.of(findings)));
+
+        assertEquals(Map.of("type", "trigger", "day", 86400000L, "monitor_id", "merged_monitor", "rule_id", "agg_rule_1", "count", 4L), doc);
+        SearchSourceBuilder source = FindingsRollup.buildTriggerRollupSearchSource(0L, 86400000L, null);
+        assertEquals("rollup", source.aggregations().getAggregatorFactories().iterator().next().getName());
+        // only alerts of bucket level monitors are rolled up
+        BoolQueryBuilder query = (BoolQueryBuilder) source.query();
+        assertEquals(new ExistsQueryBuilder("agg_alert_content"), query.filter().get(1));
+    }
+
+    public void testSummarySplitAtRollupCheckpoint() {
+        long day = FindingsRollup.DAY_MILLIS;
+        FindingsSummaryRequest request = new FindingsSummaryRequest(
+                "detector_id123", null, Instant.ofEpochMilli(day + 1000L), null, TimeValue.timeValueHours(1), 5, true
+        );
+
+        SearchSourceBuilder raw = FindingsService.buildSummarySearchSource(request, List.of("monitor_id1"), 3 * day, null);
+        assertEquals(3 * day, ((RangeQueryBuilder) ((BoolQueryBuilder) raw.query()).filter().get(1)).from());
+
+        SearchSourceBuilder rollups = FindingsService.buildRollupSummarySearchSource(request, List.of("monitor_id1"), 3 * day, null);
+        RangeQueryBuilder dayRange = (RangeQueryBuilder) ((BoolQueryBuilder) rollups.query()).filter().get(1);
+        assertEquals("day", dayRange.fieldName());
+        // the day the time range starts in is included
+        assertEquals(day, dayRange.from());
+        assertEquals(3 * day, dayRange.to());
+        assertFalse(dayRange.includeUpper());
+        List<String> aggregationNames = rollups.aggregations().getAggregatorFactories().stream()
+                .map(AggregationBuilder::getName)
+                .collect(Collectors.toList());
+        assertEquals(List.of("rollup_findings", "rollup_rules", "rollup_severities"), aggregationNames);
+    }
+
+    public void testTimelineBoundedByMaxBuckets() {
+        long hour = TimeValue.timeValueHours(1).millis();
+        FindingsSummaryRequest bounded = new FindingsSummaryRequest(
+                "detector_id123", null, Instant.ofEpochMilli(10 * hour + 1000L), Instant.ofEpochMilli(20 * hour), TimeValue.timeValueHours(1), 5, true
+        );
+        // hours 10 to 20, the partial first hour is a bucket as well
+        assertEquals(new LongBounds(10 * hour + 1000L, 20 * hour), FindingsService.getTimelineBounds(bounded, 0L, 11));
+        OpenSearchStatusException e = expectThrows(OpenSearchStatusException.class, () -> FindingsService.getTimelineBounds(bounded, 0L, 10));
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+        assertTrue(e.getMessage().contains("search.max_buckets [10]"));
+
+        // A time range without start time keeps the last max buckets intervals until now
+        FindingsSummaryRequest open = new FindingsSummaryRequest(
+                "detector_id123", null, null, null, TimeValue.timeValueHours(1), 5, true
+        );
+        LongBounds openBounds = FindingsService.getTimelineBounds(open, 100 * hour, 10);
+        assertEquals(new LongBounds(91 * hour, 100 * hour), openBounds);
+
+        SearchSourceBuilder source = FindingsService.buildSummarySearchSource(open, List.of("monitor_id1"), null, openBounds);
+        DateHistogramAggregationBuilder timeline = (DateHistogramAggregationBuilder) source.aggregations().getAggregatorFactories().stream()
+                .filter(agg -> agg.getName().equals("timeline"))
+                .findFirst()
+                .get();
+        assertEquals(openBounds, timeline.hardBounds());
+    }
+
+    public void testRollupDocs() {
+        Terms byRule = named(terms(Map.of("rule_1", 4L), Map.of("rule_1", 3L)), "by_rule");
+        Terms bySeverity = named(terms(Map.of("high", 4L), Map.of("high", 3L)), "by_severity");
+        Nested queries = mock(Nested.class);
+        when(queries.getAggregations()).thenReturn(new Aggregations(List.of(byRule, bySeverity)));
+        when(queries.getName()).thenReturn("queries");
+        Map<String, Object> key = Map.of("day", 86400000L, "monitor_id", "monitor_id1", "index", "windows");
+
+        List<Map<String, Object>> docs = FindingsRollup.rollupDocs(key, 5L, new Aggregations(List.of(queries)));
+
+        assertEquals(3, docs.size());
+        assertEquals(Map.of("type", "findings", "day", 86400000L, "monitor_id", "monitor_id1", "index", "windows", "count", 5L), docs.get(0));
+        assertEquals("rule_1", docs.get(1).get("rule_id"));
+        assertEquals(3L, docs.get(1).get("count"));
+        assertEquals("high", docs.get(2).get("severity"));
+        assertEquals(3L, docs.get(2).get("count"));
+        // ids are stable across runs and distinct per document
+        assertEquals(FindingsRollup.rollupDocId(docs.get(1)), FindingsRollup.rollupDocId(new HashMap<>(docs.get(1))));
+        assertEquals(3, docs.stream().map(FindingsRollup::rollupDocId).distinct().count());
+        assertEquals(86400000L, FindingsRollup.startOfDay(86400000L + 3600000L));
+    }
+
+    public void testRollupAgeClampedToRetention() {
+        TimeValue rolloverPeriod = TimeValue.timeValueHours(12);
+        TimeValue indexMaxAge = TimeValue.timeValueDays(10);
+        assertEquals(
+                TimeValue.timeValueDays(30),
+                FindingsRollup.effectiveRollupAge(TimeValue.timeValueDays(30), TimeValue.timeValueDays(60), rolloverPeriod, indexMaxAge)
+        );
+        // the newest findings of an index are rolled up one rollover period before retention deletes the index
+        assertEquals(
+                TimeValue.timeValueHours(20 * 24 - 10 * 24 - 12),
+                FindingsRollup.effectiveRollupAge(TimeValue.timeValueDays(30), TimeValue.timeValueDays(20), rolloverPeriod, indexMaxAge)
+        );
+        // with the default max age of 30 days and retention of 60 days
+        assertEquals(
+                TimeValue.timeValueHours(30 * 24 - 12),
+                FindingsRollup.effectiveRollupAge(TimeValue.timeValueDays(30), TimeValue.timeValueDays(60), rolloverPeriod, TimeValue.timeValueDays(30))
+        );
+        assertEquals(
+                0L,
+                FindingsRollup.effectiveRollupAge(TimeValue.timeValueDays(30), TimeValue.timeValueDays(10), rolloverPeriod, indexMaxAge).millis()
+        );
+    }
+
+    public void testOnlyRolledUpIndicesAreDeletable() {
+        long day = FindingsRollup.DAY_MILLIS;
+        List<String> indices = List.of("findings-1", "findings-2", "findings-3");
+        Map<String, Long> newestFindings = Map.of("findings-1", 5 * day + 1, "findings-2", 10 * day);
+
+        // findings-3 has no findings, findings-2 has findings of the checkpoint day which are not rolled up yet
+        assertEquals(List.of("findings-1", "findings-3"), FindingsRollup.rolledUpIndices(indices, 10 * day, newestFindings));
+        assertEquals(indices, FindingsRollup.rolledUpIndices(indices, 11 * day, newestFindings));
+        // nothing was rolled up yet, e.g. the first rollup failed
+        assertEquals(List.of("findings-3"), FindingsRollup.rolledUpIndices(indices, null, newestFindings));
+
+        SearchSourceBuilder source = FindingsRollup.buildNewestFindingsSearchSource(indices.size());
+        assertEquals(0, source.size());
+        assertEquals(FindingsRollup.BY_INDEX_AGG, source.aggregations().getAggregatorFactories().iterator().next().getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testRollupBoundedPerRun() {
+        long day = FindingsRollup.DAY_MILLIS;
+        String rollupIndex = DetectorMonitorConfig.getFindingsRollupIndex("windows");
+        Client client = mock(Client.class);
+        doAnswer(invocation -> {
+            GetRequest request = invocation.getArgument(0);
+            BytesReference source = BytesReference.bytes(XContentFactory.jsonBuilder().map(Map.of("type", "checkpoint", "rolled_up_until", 10 * day)));
+            ActionListener<GetResponse> l = invocation.getArgument(1);
+            l.onResponse(new GetResponse(new GetResult(rollupIndex, request.id(), 0L, 1L, 1L, true, source, Map.of(), Map.of())));
+            return null;
+        }).when(client).get(any(GetRequest.class), any(ActionListener.class));
+        List<RangeQueryBuilder> searchedRanges = new ArrayList<>();
+        List<RangeQueryBuilder> searchedAlertRanges = new ArrayList<>();
+        doAnswer(invocation -> {
+            SearchRequest request = invocation.getArgument(0);
+            RangeQueryBuilder range = (RangeQueryBuilder) ((BoolQueryBuilder) request.source().query()).filter().get(0);
+            if (request.indices()[0].equals(DetectorMonitorConfig.getAllAlertsIndicesPattern("windows"))) {
+                searchedAlertRanges.add(range);
+            } else {
+                searchedRanges.add(range);
+            }
+            // days without findings
+            SearchResponse searchResponse = mock(SearchResponse.class);
+            ActionListener<SearchResponse> l = invocation.getArgument(1);
+            l.onResponse(searchResponse);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        List<Object> checkpoints = new ArrayList<>();
+        doAnswer(invocation -> {
+            IndexRequest request = invocation.getArgument(0);
+            checkpoints.add(request.sourceAsMap().get("rolled_up_until"));
+            ActionListener<IndexResponse> l = invocation.getArgument(1);
+            l.onResponse(mock(IndexResponse.class));
+            return null;
+        }).when(client).index(any(IndexRequest.class), any(ActionListener.class));
+
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.getClusterSettings()).thenReturn(new ClusterSettings(Settings.EMPTY, Set.of(
+                SecurityAnalyticsSettings.FINDING_HISTORY_ROLLUP_ENABLED,
+                SecurityAnalyticsSettings.FINDING_HISTORY_ROLLUP_AGE,
+                SecurityAnalyticsSettings.FINDING_HISTORY_RETENTION_PERIOD,
+                SecurityAnalyticsSettings.FINDING_HISTORY_ROLLOVER_PERIOD,
+                SecurityAnalyticsSettings.FINDING_HISTORY_INDEX_MAX_AGE
+        )));
+        IndexMetadata rollupIndexMetadata = IndexMetadata.builder(rollupIndex)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .build();
+        when(clusterService.state()).thenReturn(ClusterState.builder(ClusterName.DEFAULT)
+                .metadata(Metadata.builder().put(rollupIndexMetadata, false))
+                .build());
+        FindingsRollup rollup = new FindingsRollup(Settings.EMPTY, client, clusterService, mock(ThreadPool.class));
+
+        List<Void> done = new ArrayList<>();
+        rollup.rollup("windows", 39 * day, ActionListener.wrap(done::add, e -> fail(e.getMessage())));
+
+        assertEquals(1, done.size());
+        // one day at a time, with the checkpoint advanced after each day, up to the max days of a run
+        assertEquals(FindingsRollup.MAX_DAYS_PER_RUN, searchedRanges.size());
+        // alerts of bucket level monitors are rolled up per trigger for the same days
+        assertEquals(FindingsRollup.MAX_DAYS_PER_RUN, searchedAlertRanges.size());
+        for (int i = 0; i < FindingsRollup.MAX_DAYS_PER_RUN; i++) {
+            assertEquals((10 + i) * day, searchedRanges.get(i).from());
+            assertEquals((11 + i) * day, searchedRanges.get(i).to());
+            assertEquals((10 + i) * day, searchedAlertRanges.get(i).from());
+            assertEquals("start_time", searchedAlertRanges.get(i).fieldName());
+            assertEquals((11 + i) * day, ((Number) checkpoints.get(i)).longValue());
+        }
+        assertEquals(FindingsRollup.MAX_DAYS_PER_RUN, checkpoints.size());
+    }
+
+    public void testFindingsSummaryCacheKeyedByUser() {
+        FindingsSummaryCache cache = new FindingsSummaryCache(Settings.EMPTY);
+        FindingsSummaryRequest request = new FindingsSummaryRequest(
+                null, Detector.DetectorType.WINDOWS, null, null, FindingsSummaryRequest.DEFAULT_INTERVAL, 10, true
+        );
+        User user = new User("user1", List.of("role1"), List.of(), List.of());
+        FindingsSummaryResponse response = new FindingsSummaryResponse(0L, Map.of(), Map.of(), Map.of(), Map.of());
+
+        cache.put(request, user, response);
+
+        assertSame(response, cache.get(request, user));
+        assertNull(cache.get(request, new User("user1", List.of("role2"), List.of(), List.of())));
+        assertNull(cache.get(request, null));
+
+        FindingsSummaryCache disabled = new FindingsSummaryCache(
+                Settings.builder().put(SecurityAnalyticsSettings.FINDINGS_SUMMARY_CACHE_TTL.getKey(), "0s").build()
+        );
+        disabled.put(request, user, response);
+        assertNull(disabled.get(request, user));
+    }
+
+    public void testFindingsExportCursorRoundTrip() {
+        FindingsExportCursor cursor = new FindingsExportCursor("pit_id", List.of(1667000000000L, "finding_id"));
+
+        assertEquals(cursor, FindingsExportCursor.decode(cursor.encode()));
+
+        OpenSearchStatusException e = expectThrows(OpenSearchStatusException.class, () -> FindingsExportCursor.decode("not a cursor"));
+        assertEquals(RestStatus.BAD_REQUEST, e.status());
+    }
+
+    public void testWriteNdjsonLines() throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+
+        FindingsService.writeNdjsonLine((builder, params) -> builder.startObject().field("id", "1").endObject(), out);
+        FindingsService.writeNdjsonLine((builder, params) -> builder.startObject().field("id", "2").endObject(), out);
+
+        assertEquals("{\"id\":\"1\"}\n{\"id\":\"2\"}\n", out.bytes().utf8ToString());
+    }
+
+    public void testFindingDocumentsOptions() throws IOException {
+        List<String> relatedDocIds = List.of("doc1", "doc2", "doc3");
+        List<FindingDocument> documents = List.of(
+                new FindingDocument("test_index1", "doc1", true, "{\"a\":1,\"b\":{\"c\":2,\"d\":3}}"),
+                new FindingDocument("test_index1", "doc2", false, ""),
+                new FindingDocument("test_index1", "doc3", true, "{\"a\":4}")
+        );
+
+        assertTrue(FindingDocumentsOptions.ALL.isAllDocuments());
+        assertEquals(relatedDocIds, FindingDocumentsOptions.ALL.docIdsToFetch(relatedDocIds));
+        assertSame(documents, FindingDocumentsOptions.ALL.apply(documents));
+
+        FindingDocumentsOptions none = new FindingDocumentsOptions(false, FindingDocumentsOptions.ALL_DOCUMENTS, null, null);
+        assertEquals(List.of(), none.docIdsToFetch(relatedDocIds));
+        assertEquals(List.of(), none.apply(documents));
+
+        FindingDocumentsOptions sample = new FindingDocumentsOptions(true, 2, List.of("b.c"), null);
+        assertEquals(List.of("doc1", "doc2"), sample.docIdsToFetch(relatedDocIds));
+        List<FindingDocument> sampled = sample.apply(documents);
+        assertEquals(2, sampled.size());
+        assertEquals("{\"b\":{\"c\":2}}", sampled.get(0).getDocument());
+        assertFalse(sampled.get(1).getFound());
+    }
+
+    public void testBuildFindingDocumentsRequestGroupsByIndex() {
+        List<Finding> findings = List.of(
+                new Finding("1", List.of("doc1", "doc2"), "monitor_id1", "monitor_name1", "index_b", List.of(), Instant.now()),
+                new Finding("2", List.of("doc3"), "monitor_id1", "monitor_name1", "index_a", List.of(), Instant.now()),
+                new Finding("3", List.of("doc2", "doc4", "doc5"), "monitor_id1", "monitor_name1", "index_b", List.of(), Instant.now())
+        );
+
+        MultiGetRequest multiGetRequest = FindingsService.buildFindingDocumentsRequest(
+                findings,
+                new FindingDocumentsOptions(true, 2, List.of("field"), null)
+        );
+
+        List<String> items = multiGetRequest.getItems().stream()
+                .map(item -> item.index() + "/" + item.id())
+                .collect(Collectors.toList());
+        assertEquals(List.of("index_a/doc3", "index_b/doc1", "index_b/doc2", "index_b/doc4"), items);
+        assertArrayEquals(new String[]{"field"}, multiGetRequest.getItems().get(0).fetchSourceContext().includes());
+    }
+
+    private static Terms terms(Map<String, Long> docCounts, Map<String, Long> reverseNestedDocCounts) {
+        Terms terms = mock(Terms.class);
+        List<Terms.Bucket> buckets = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : docCounts.entrySet()) {
+            Terms.Bucket bucket = mock(Terms.Bucket.class);
+            when(bucket.getKeyAsString()).thenReturn(entry.getKey());
+            when(bucket.getDocCount()).thenReturn(entry.getValue());
+            if (reverseNestedDocCounts != null) {
+                ReverseNested findings = mock(ReverseNested.class);
+                when(findings.getName()).thenReturn("findings");
+                when(findings.getDocCount()).thenReturn(reverseNestedDocCounts.get(entry.getKey()));
+                when(bucket.getAggregations()).thenReturn(new Aggregations(List.of(findings)));
+            }
+            buckets.add(bucket);
+        }
+        doReturn(buckets).when(terms).getBuckets();
+        return terms;
+    }
+
+    private static Terms named(Terms terms, String name) {
+        when(terms.getName()).thenReturn(name);
+        return terms;
+    }
+
+    public void testMergedBucketLevelFindingsAttributedToRuleOfTheirTrigger() {
+        // agg_rule_1 and agg_rule_2 are merged into one bucket level monitor, with one trigger per rule
+        Detector detector = new Detector(
+                "detector_id123",
+                0L,
+                "test-monitor",
+                true,
+                new CronSchedule("31 * * * *", ZoneId.of("Asia/Kolkata"), Instant.ofEpochSecond(1538164858L)),
+                Instant.now(),
+                Instant.now(),
+                Detector.DetectorType.OTHERS_APPLICATION,
+                null,
+                List.of(),
+                List.of(),
+                List.of("merged_monitor", "single_monitor"),
+                DetectorMonitorConfig.getRuleIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                null,
+                DetectorMonitorConfig.getAlertsIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                null,
+                null,
+                DetectorMonitorConfig.getFindingsIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                Map.of("agg_rule_1", "merged_monitor", "agg_rule_2", "merged_monitor", "agg_rule_3", "single_monitor")
+        );
+        Finding merged = new Finding("finding_1", List.of("doc1"), "merged_monitor", "monitor_name", "test_index", List.of(), Instant.now());
+        Finding withoutAlert = new Finding("finding_2", List.of("doc2"), "merged_monitor", "monitor_name", "test_index", List.of(), Instant.now());
+        Finding single = new Finding("finding_3", List.of("doc3"), "single_monitor", "monitor_name", "test_index", List.of(), Instant.now());
+
+        Client client = mock(Client.class);
+        List<SearchRequest> searched = new ArrayList<>();
+        doAnswer(invocation -> {
+            searched.add(invocation.getArgument(0));
+            SearchHit alert = new SearchHit(0, "alert_1", Map.of(), Map.of());
+            alert.sourceRef(new BytesArray("{\"trigger_id\":\"agg_rule_2\",\"finding_ids\":[\"finding_1\",\"finding_0\"]}"));
+            SearchResponse searchResponse = mock(SearchResponse.class);
+            when(searchResponse.getHits()).thenReturn(new SearchHits(new SearchHit[] { alert }, new TotalHits(1L, TotalHits.Relation.EQUAL_TO), 0.0f));
+            ActionListener<SearchResponse> l = invocation.getArgument(1);
+            l.onResponse(searchResponse);
+            return null;
+        }).when(client).search(any(SearchRequest.class), any(ActionListener.class));
+        FindingsService findingsService = new FindingsService(client);
+
+        Map<String, String> ruleIdsByFindingId = new HashMap<>();
+        findingsService.getRulesOfMergedBucketLevelFindings(
+                List.of(merged, withoutAlert, single),
+                Map.of("merged_monitor", List.of(detector), "single_monitor", List.of(detector)),
+                ActionListener.wrap(ruleIdsByFindingId::putAll, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(1, searched.size());
+        assertArrayEquals(
+                new String[] { DetectorMonitorConfig.getAllAlertsIndicesPattern(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()) },
+                searched.get(0).indices()
+        );
+        // only findings of the merged monitor are looked up
+        TermsQueryBuilder findingIds = (TermsQueryBuilder) searched.get(0).source().query();
+        assertEquals(Set.of("finding_1", "finding_2"), new HashSet<>(findingIds.values()));
+        assertEquals(Map.of("finding_1", "agg_rule_2"), ruleIdsByFindingId);
+
+        FindingDto mergedDto = findingsService.mapFindingToFindingDto(merged, List.of(), detector, ruleIdsByFindingId.get(merged.getId()));
+        assertEquals(List.of("agg_rule_2"), mergedDto.getDocLevelQueries().stream().map(DocLevelQuery::getId).collect(Collectors.toList()));
+        FindingDto singleDto = findingsService.mapFindingToFindingDto(single, List.of(), detector, ruleIdsByFindingId.get(single.getId()));
+        assertEquals(List.of("agg_rule_3"), singleDto.getDocLevelQueries().stream().map(DocLevelQuery::getId).collect(Collectors.toList()));
+    }
+
+    /**
+     * Micro-benchmark of mapping a page of bucket level findings of a detector with many aggregation rules,
+     * compares the inverted monitor id index with scanning ruleIdMonitorIdMap for every finding.
+     */
+    public void testMapBucketLevelFindingsOfManyRules() {
+        int rules = 500;
+        int findings = 10000;
+        Map<String, String> ruleIdMonitorIdMap = new HashMap<>();
+        List<String> monitorIds = new ArrayList<>();
+        ruleIdMonitorIdMap.put(Detector.DOC_LEVEL_MONITOR, "doc_monitor");
+        monitorIds.add("doc_monitor");
+        for (int i = 0; i < rules; i++) {
+            // every monitor but the last one evaluates a single rule, the last one is merged
+            String monitorId = "bucket_monitor_" + Math.min(i, rules - 10);
+            ruleIdMonitorIdMap.put("agg_rule_" + i, monitorId);
+            if (monitorIds.contains(monitorId) == false) {
+                monitorIds.add(monitorId);
+            }
+        }
+        Detector detector = new Detector(
+                "detector_id123",
+                0L,
+                "test-monitor",
+                true,
+                new CronSchedule("31 * * * *", ZoneId.of("Asia/Kolkata"), Instant.ofEpochSecond(1538164858L)),
+                Instant.now(),
+                Instant.now(),
+                Detector.DetectorType.OTHERS_APPLICATION,
+                null,
+                List.of(),
+                List.of(),
+                monitorIds,
+                DetectorMonitorConfig.getRuleIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                null,
+                DetectorMonitorConfig.getAlertsIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                null,
+                null,
+                DetectorMonitorConfig.getFindingsIndex(Detector.DetectorType.OTHERS_APPLICATION.getDetectorType()),
+                ruleIdMonitorIdMap
+        );
+        List<Finding> page = new ArrayList<>(findings);
+        for (int i = 0; i < findings; i++) {
+            page.add(new Finding(
+                    String.valueOf(i),
+                    List.of("doc" + i),
+                    monitorIds.get(1 + i % (monitorIds.size() - 1)),
+                    "monitor_name",
+                    "test_index",
+                    List.of(),
+                    Instant.now()
+            ));
+        }
+        FindingsService findingsService = new FindingsService();
+
+        long start = System.nanoTime();
+        List<List<String>> scanned = new ArrayList<>(findings);
+        for (Finding finding : page) {
+            List<String> ruleIds = new ArrayList<>();
+            for (Map.Entry<String, String> entry : detector.getRuleIdMonitorIdMap().entrySet()) {
+                if (entry.getValue().equals(finding.getMonitorId())) {
+                    ruleIds.add(entry.getKey());
+                }
+            }
+            scanned.add(ruleIds);
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<FindingDto> mapped = new ArrayList<>(findings);
+        for (Finding finding : page) {
+            mapped.add(findingsService.mapFindingToFindingDto(finding, List.of(), detector));
+        }
+        long indexedNanos = System.nanoTime() - start;
+
+        logger.info("Mapped {} bucket level findings of {} rules: map scan {} ms, inverted index {} ms",
+                findings, rules, scanNanos / 1_000_000, indexedNanos / 1_000_000);
+        for (int i = 0; i < findings; i++) {
+            assertEquals(
+                    scanned.get(i),
+                    mapped.get(i).getDocLevelQueries().stream().map(DocLevelQuery::getId).collect(Collectors.toList())
+            );
+        }
+        assertEquals(10, detector.getRuleIdsByMonitorId("bucket_monitor_" + (rules - 10)).size());
+        assertEquals(List.of(), detector.getRuleIdsByMonitorId("unknown_monitor"));
+    }
 }
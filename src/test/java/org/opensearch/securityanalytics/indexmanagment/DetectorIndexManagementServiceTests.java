@@ -0,0 +1,65 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.indexmanagment;
+
+import org.opensearch.action.admin.indices.rollover.MaxAgeCondition;
+import org.opensearch.action.admin.indices.rollover.MaxDocsCondition;
+import org.opensearch.action.admin.indices.rollover.MaxSizeCondition;
+import org.opensearch.action.admin.indices.rollover.RolloverRequest;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.ByteSizeUnit;
+import org.opensearch.common.unit.ByteSizeValue;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class DetectorIndexManagementServiceTests extends OpenSearchTestCase {
+
+    public void testRolloverBySizeOfPrimaryShards() {
+        RolloverRequest request = DetectorIndexManagementService.buildRolloverRequest(
+                "alias", "<pattern-{now/d}-1>", "{}",
+                10000000L, TimeValue.timeValueDays(30), new ByteSizeValue(20, ByteSizeUnit.GB),
+                3, 5000L, 1L
+        );
+
+        assertEquals(3, request.getConditions().size());
+        assertEquals(10000000L, request.getConditions().get(MaxDocsCondition.NAME).value());
+        assertEquals(TimeValue.timeValueDays(30), request.getConditions().get(MaxAgeCondition.NAME).value());
+        assertEquals(new ByteSizeValue(60, ByteSizeUnit.GB), request.getConditions().get(MaxSizeCondition.NAME).value());
+    }
+
+    public void testNoRolloverByAgeBelowDocsFloor() {
+        RolloverRequest request = DetectorIndexManagementService.buildRolloverRequest(
+                "alias", "<pattern-{now/d}-1>", "{}",
+                10000000L, TimeValue.timeValueDays(30), new ByteSizeValue(20, ByteSizeUnit.GB),
+                1, 0L, 1L
+        );
+
+        assertNull(request.getConditions().get(MaxAgeCondition.NAME));
+        assertNotNull(request.getConditions().get(MaxDocsCondition.NAME));
+        assertNotNull(request.getConditions().get(MaxSizeCondition.NAME));
+    }
+
+    public void testEmptyIndexRolledOverByAgeWithoutDocsFloor() {
+        RolloverRequest request = DetectorIndexManagementService.buildRolloverRequest(
+                "alias", "<pattern-{now/d}-1>", "{}",
+                1000L, TimeValue.timeValueSeconds(1), new ByteSizeValue(20, ByteSizeUnit.GB),
+                1, 0L, SecurityAnalyticsSettings.HISTORY_ROLLOVER_MIN_DOCS.getDefault(Settings.EMPTY)
+        );
+
+        assertEquals(TimeValue.timeValueSeconds(1), request.getConditions().get(MaxAgeCondition.NAME).value());
+    }
+
+    public void testNoRolloverBySizeWhenDisabled() {
+        RolloverRequest request = DetectorIndexManagementService.buildRolloverRequest(
+                "alias", "<pattern-{now/d}-1>", "{}",
+                1000L, TimeValue.timeValueDays(30), ByteSizeValue.MINUS_ONE,
+                1, 10L, 1L
+        );
+
+        assertNull(request.getConditions().get(MaxSizeCondition.NAME));
+    }
+}
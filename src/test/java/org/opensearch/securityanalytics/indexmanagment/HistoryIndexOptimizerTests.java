@@ -0,0 +1,58 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.indexmanagment;
+
+import java.util.List;
+import org.opensearch.Version;
+import org.opensearch.action.admin.indices.rollover.RolloverInfo;
+import org.opensearch.action.admin.indices.shrink.ResizeRequest;
+import org.opensearch.action.admin.indices.shrink.ResizeType;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class HistoryIndexOptimizerTests extends OpenSearchTestCase {
+
+    private static final String[] PATTERNS = new String[]{".opensearch-sap-windows-alerts*", ".opensearch-sap-windows-findings*"};
+
+    public void testOnlyRolledOverWritableHistoryIndicesNeedOptimization() {
+        assertTrue(HistoryIndexOptimizer.needsOptimization(indexMetadata(".opensearch-sap-windows-findings-2022.11.01-1", true, false), PATTERNS));
+        // active alerts index is never rolled over
+        assertFalse(HistoryIndexOptimizer.needsOptimization(indexMetadata(".opensearch-sap-windows-alerts", false, false), PATTERNS));
+        // already optimized
+        assertFalse(HistoryIndexOptimizer.needsOptimization(indexMetadata(".opensearch-sap-windows-findings-2022.11.01-1", true, true), PATTERNS));
+        assertFalse(HistoryIndexOptimizer.needsOptimization(indexMetadata("logs-2022.11.01-1", true, false), PATTERNS));
+    }
+
+    public void testBuildShrinkRequest() {
+        IndexMetadata source = indexMetadata(".opensearch-sap-windows-findings-2022.11.01-1", true, true);
+
+        ResizeRequest request = HistoryIndexOptimizer.buildShrinkRequest(source, ".opensearch-sap-windows-findings-2022.11.01-1-shrunk", 1, true);
+
+        assertEquals(ResizeType.SHRINK, request.getResizeType());
+        assertEquals(".opensearch-sap-windows-findings-2022.11.01-1", request.getSourceIndex());
+        Settings settings = request.getTargetIndexRequest().settings();
+        assertEquals("1", settings.get(IndexMetadata.SETTING_NUMBER_OF_SHARDS));
+        assertEquals("1", settings.get(IndexMetadata.SETTING_NUMBER_OF_REPLICAS));
+        assertEquals("true", settings.get(IndexMetadata.SETTING_BLOCKS_WRITE));
+        assertEquals("best_compression", settings.get("index.codec"));
+        assertEquals("1667260800000", settings.get(IndexMetadata.SETTING_CREATION_DATE));
+    }
+
+    private static IndexMetadata indexMetadata(String name, boolean rolledOver, boolean writeBlocked) {
+        IndexMetadata.Builder builder = IndexMetadata.builder(name)
+                .settings(Settings.builder()
+                        .put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT)
+                        .put(IndexMetadata.SETTING_BLOCKS_WRITE, writeBlocked))
+                .numberOfShards(2)
+                .numberOfReplicas(1)
+                .creationDate(1667260800000L);
+        if (rolledOver) {
+            builder.putRolloverInfo(new RolloverInfo(".opensearch-sap-windows-findings", List.of(), 1667347200000L));
+        }
+        return builder.build();
+    }
+}
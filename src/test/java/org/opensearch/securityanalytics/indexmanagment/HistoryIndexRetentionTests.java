@@ -0,0 +1,156 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.indexmanagment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.opensearch.Version;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.opensearch.action.support.master.AcknowledgedResponse;
+import org.opensearch.client.AdminClient;
+import org.opensearch.client.Client;
+import org.opensearch.client.IndicesAdminClient;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.AliasMetadata;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ThreadPool;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HistoryIndexRetentionTests extends OpenSearchTestCase {
+
+    private static final String ALIAS = ".opensearch-sap-windows-findings";
+    private static final Set<String> WRITE_ALIASES = Set.of(ALIAS);
+    private static final long DAY = TimeValue.timeValueDays(1).millis();
+
+    public void testExpiredIndicesFromClusterStateDeltas() {
+        HistoryIndexRetention retention = new HistoryIndexRetention("Finding", List.of(".opensearch-sap-windows-findings*"), null, null);
+
+        ClusterState empty = state(Metadata.builder().build());
+        ClusterState initial = state(Metadata.builder()
+                .put(indexMetadata(".opensearch-sap-windows-findings-2022.11.03-1", 3 * DAY, false), false)
+                .put(indexMetadata(".opensearch-sap-windows-findings-2022.11.01-1", DAY, false), false)
+                .put(indexMetadata(".opensearch-sap-windows-findings-2022.11.02-1", 2 * DAY, true), false)
+                .put(indexMetadata("logs-2022.11.01", DAY, false), false)
+                .build());
+        retention.clusterChanged(new ClusterChangedEvent("test", initial, empty));
+        assertEquals(3, retention.size());
+
+        long now = 10 * DAY;
+        TimeValue retentionPeriod = TimeValue.timeValueDays(7);
+        // oldest first, the write index is kept while history is enabled
+        assertEquals(
+                List.of(".opensearch-sap-windows-findings-2022.11.01-1"),
+                retention.getExpiredIndices(now, retentionPeriod, true, initial.metadata(), WRITE_ALIASES)
+        );
+        assertEquals(
+                List.of(".opensearch-sap-windows-findings-2022.11.01-1", ".opensearch-sap-windows-findings-2022.11.02-1"),
+                retention.getExpiredIndices(now, retentionPeriod, false, initial.metadata(), WRITE_ALIASES)
+        );
+
+        ClusterState next = state(Metadata.builder(initial.metadata())
+                .remove(".opensearch-sap-windows-findings-2022.11.01-1")
+                .put(indexMetadata(".opensearch-sap-windows-findings-2022.11.01-1-shrunk", DAY, false), false)
+                .build());
+        retention.clusterChanged(new ClusterChangedEvent("test", next, initial));
+        assertEquals(3, retention.size());
+        assertEquals(
+                List.of(".opensearch-sap-windows-findings-2022.11.01-1-shrunk"),
+                retention.getExpiredIndices(now, retentionPeriod, true, next.metadata(), WRITE_ALIASES)
+        );
+        assertEquals(List.of(), retention.getExpiredIndices(now, TimeValue.timeValueDays(30), true, next.metadata(), WRITE_ALIASES));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testOnlyDeletableExpiredIndicesAreDeleted() {
+        Client client = mock(Client.class);
+        AdminClient adminClient = mock(AdminClient.class);
+        IndicesAdminClient indicesAdminClient = mock(IndicesAdminClient.class);
+        when(client.admin()).thenReturn(adminClient);
+        when(adminClient.indices()).thenReturn(indicesAdminClient);
+        List<List<String>> deleted = new ArrayList<>();
+        doAnswer(invocation -> {
+            DeleteIndexRequest request = invocation.getArgument(0);
+            deleted.add(List.of(request.indices()));
+            ActionListener<AcknowledgedResponse> l = invocation.getArgument(1);
+            l.onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(indicesAdminClient).delete(any(DeleteIndexRequest.class), any(ActionListener.class));
+        ThreadPool threadPool = mock(ThreadPool.class);
+        when(threadPool.absoluteTimeInMillis()).thenReturn(10 * DAY);
+
+        HistoryIndexRetention retention = new HistoryIndexRetention("Finding", List.of(".opensearch-sap-windows-findings*"), client, threadPool);
+        ClusterState state = state(Metadata.builder()
+                .put(indexMetadata(".opensearch-sap-windows-findings-2022.11.01-1", DAY, false), false)
+                .put(indexMetadata(".opensearch-sap-windows-findings-2022.11.02-1", 2 * DAY, false), false)
+                .build());
+        retention.clusterChanged(new ClusterChangedEvent("test", state, state(Metadata.builder().build())));
+
+        List<List<String>> candidates = new ArrayList<>();
+        // e.g. findings of the second index were not rolled up yet
+        retention.deleteExpiredIndices(TimeValue.timeValueDays(7), true, state.metadata(), WRITE_ALIASES, (expired, listener) -> {
+            candidates.add(expired);
+            listener.onResponse(expired.subList(0, 1));
+        });
+
+        assertEquals(List.of(List.of(".opensearch-sap-windows-findings-2022.11.01-1", ".opensearch-sap-windows-findings-2022.11.02-1")), candidates);
+        assertEquals(List.of(List.of(".opensearch-sap-windows-findings-2022.11.01-1")), deleted);
+        assertEquals(1, retention.size());
+
+        // nothing is deleted when the filter fails, the indices are checked again on the next run
+        retention.deleteExpiredIndices(TimeValue.timeValueDays(7), true, state.metadata(), WRITE_ALIASES,
+                (expired, listener) -> listener.onFailure(new IllegalStateException("checkpoint unavailable")));
+        assertEquals(1, deleted.size());
+    }
+
+    public void testNothingTrackedWhenNotClusterManager() {
+        HistoryIndexRetention retention = new HistoryIndexRetention("Finding", List.of(".opensearch-sap-windows-findings*"), null, null);
+        ClusterState state = ClusterState.builder(ClusterName.DEFAULT)
+                .nodes(DiscoveryNodes.builder().add(node()).localNodeId("node"))
+                .metadata(Metadata.builder().put(indexMetadata(".opensearch-sap-windows-findings-2022.11.01-1", DAY, false), false))
+                .build();
+
+        retention.clusterChanged(new ClusterChangedEvent("test", state, state));
+
+        assertEquals(0, retention.size());
+    }
+
+    private static ClusterState state(Metadata metadata) {
+        return ClusterState.builder(ClusterName.DEFAULT)
+                .nodes(DiscoveryNodes.builder().add(node()).localNodeId("node").masterNodeId("node"))
+                .metadata(metadata)
+                .build();
+    }
+
+    private static DiscoveryNode node() {
+        return new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT);
+    }
+
+    private static IndexMetadata indexMetadata(String name, long creationDate, boolean writeIndex) {
+        IndexMetadata.Builder builder = IndexMetadata.builder(name)
+                .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .creationDate(creationDate);
+        if (writeIndex) {
+            builder.putAlias(AliasMetadata.builder(ALIAS).writeIndex(true));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.indexmanagment;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.opensearch.cluster.metadata.ComposableIndexTemplate;
+import org.opensearch.common.regex.Regex;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.xcontent.XContentHelper;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class HistoryIndexTemplatesTests extends OpenSearchTestCase {
+
+    public void testTemplateSortsByTime() {
+        ComposableIndexTemplate template = HistoryIndexTemplates.buildTemplate(List.of(".opensearch-sap-windows-findings*"), "timestamp");
+
+        assertEquals(List.of(".opensearch-sap-windows-findings*"), template.indexPatterns());
+        Settings settings = template.template().settings();
+        assertEquals(List.of("timestamp"), settings.getAsList("index.sort.field"));
+        assertEquals(List.of("desc"), settings.getAsList("index.sort.order"));
+        assertNull(template.template().mappings());
+    }
+
+    public void testHistoryMappingsWithNestedFieldsAreNotSorted() throws IOException {
+        // Index sorting is rejected for indices with nested fields, as the findings queries and the alert action results
+        assertTrue(HistoryIndexTemplates.hasNestedFields(mappingResource("mappings/finding_mapping.json")));
+        assertTrue(HistoryIndexTemplates.hasNestedFields(mappingResource("mappings/alert_mapping.json")));
+
+        assertFalse(HistoryIndexTemplates.hasNestedFields(Map.of("properties", Map.of("timestamp", Map.of("type", "date")))));
+        assertTrue(HistoryIndexTemplates.hasNestedFields(Map.of("properties", Map.of(
+                "timestamp", Map.of("type", "date"),
+                "object", Map.of("properties", Map.of("inner", Map.of("type", "nested")))
+        ))));
+    }
+
+    private static Map<String, Object> mappingResource(String path) throws IOException {
+        try (InputStream is = HistoryIndexTemplatesTests.class.getClassLoader().getResourceAsStream(path)) {
+            return XContentHelper.convertToMap(JsonXContent.jsonXContent, new String(is.readAllBytes(), StandardCharsets.UTF_8), false);
+        }
+    }
+
+    public void testAlertsHistoryPatternsExcludeActiveAlertsIndex() {
+        String[] patterns = HistoryIndexTemplates.alertsHistoryIndicesPatterns().toArray(new String[0]);
+
+        assertTrue(Regex.simpleMatch(patterns, ".opensearch-sap-windows-alerts-history-2022.11.01-1"));
+        assertFalse(Regex.simpleMatch(patterns, ".opensearch-sap-windows-alerts"));
+    }
+}
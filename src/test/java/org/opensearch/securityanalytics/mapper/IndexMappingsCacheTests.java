@@ -0,0 +1,103 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.mapper;
+
+import org.opensearch.Version;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterName;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IndexMappingsCacheTests extends OpenSearchTestCase {
+
+    private static final String MAPPING_V1 = "{\"properties\":{\"host\":{\"properties\":{\"ip\":{\"type\":\"ip\"}}}," +
+            "\"srcaddr\":{\"type\":\"alias\",\"path\":\"host.ip\"}}}";
+    private static final String MAPPING_V2 = "{\"properties\":{\"host\":{\"properties\":{\"ip\":{\"type\":\"ip\"}," +
+            "\"name\":{\"type\":\"keyword\"}}},\"srcaddr\":{\"type\":\"alias\",\"path\":\"host.ip\"}}}";
+
+    public void testFieldsAreFlattenedOnce() throws IOException {
+        ClusterService clusterService = mock(ClusterService.class);
+        when(clusterService.state()).thenReturn(clusterState(indexMetadata("logs", "uuid-1", MAPPING_V1, 1)));
+        IndexMappingsCache cache = new IndexMappingsCache(clusterService);
+
+        IndexMappingsCache.IndexFields fields = cache.get("logs");
+        assertEquals(List.of("host.ip"), fields.getNonAliasFields());
+        assertEquals(Set.of("host.ip", "srcaddr"), fields.getAllFieldSet());
+        assertEquals("srcaddr", fields.getAliasPathPairs().get(0).getKey());
+        assertSame(fields, cache.get("logs"));
+        assertNull(cache.get("unknown"));
+    }
+
+    public void testMappingChangeEvictsEntry() throws IOException {
+        ClusterService clusterService = mock(ClusterService.class);
+        ClusterState before = clusterState(indexMetadata("logs", "uuid-1", MAPPING_V1, 1));
+        ClusterState after = clusterState(indexMetadata("logs", "uuid-1", MAPPING_V2, 2));
+        when(clusterService.state()).thenReturn(before);
+        IndexMappingsCache cache = new IndexMappingsCache(clusterService);
+        cache.get("logs");
+
+        cache.clusterChanged(new ClusterChangedEvent("test", after, before));
+        assertEquals(0, cache.size());
+
+        when(clusterService.state()).thenReturn(after);
+        assertEquals(Set.of("host.ip", "host.name"), cache.get("logs").getNonAliasFieldSet());
+        assertEquals(2, cache.get("logs").getMappingVersion());
+    }
+
+    public void testUnrelatedChangeKeepsEntry() throws IOException {
+        ClusterService clusterService = mock(ClusterService.class);
+        IndexMetadata logs = indexMetadata("logs", "uuid-1", MAPPING_V1, 1);
+        ClusterState before = clusterState(logs);
+        ClusterState after = clusterState(logs, indexMetadata("other", "uuid-2", MAPPING_V1, 1));
+        when(clusterService.state()).thenReturn(before);
+        IndexMappingsCache cache = new IndexMappingsCache(clusterService);
+        IndexMappingsCache.IndexFields fields = cache.get("logs");
+
+        cache.clusterChanged(new ClusterChangedEvent("test", after, before));
+        when(clusterService.state()).thenReturn(after);
+        assertSame(fields, cache.get("logs"));
+    }
+
+    public void testRecreatedIndexEvictsEntry() throws IOException {
+        ClusterService clusterService = mock(ClusterService.class);
+        ClusterState before = clusterState(indexMetadata("logs", "uuid-1", MAPPING_V1, 1));
+        ClusterState after = clusterState(indexMetadata("logs", "uuid-2", MAPPING_V1, 1));
+        when(clusterService.state()).thenReturn(before);
+        IndexMappingsCache cache = new IndexMappingsCache(clusterService);
+        cache.get("logs");
+
+        cache.clusterChanged(new ClusterChangedEvent("test", after, before));
+        assertEquals(0, cache.size());
+    }
+
+    private static IndexMetadata indexMetadata(String name, String uuid, String mapping, long mappingVersion) throws IOException {
+        return IndexMetadata.builder(name)
+                .settings(settings(Version.CURRENT).put(IndexMetadata.SETTING_INDEX_UUID, uuid))
+                .numberOfShards(1)
+                .numberOfReplicas(0)
+                .putMapping(mapping)
+                .mappingVersion(mappingVersion)
+                .build();
+    }
+
+    private static ClusterState clusterState(IndexMetadata... indices) {
+        Metadata.Builder metadata = Metadata.builder();
+        for (IndexMetadata indexMetadata : indices) {
+            metadata.put(indexMetadata, false);
+        }
+        return ClusterState.builder(new ClusterName("test")).metadata(metadata).build();
+    }
+}
@@ -9,21 +9,30 @@ package org.opensearch.securityanalytics.mapper;
 import org.opensearch.action.ActionListener;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsRequest;
 import org.opensearch.action.admin.indices.mapping.get.GetMappingsResponse;
+import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
 import org.opensearch.action.support.master.AcknowledgedResponse;
 import org.opensearch.client.IndicesAdminClient;
 import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.common.collect.ImmutableOpenMap;
+import org.opensearch.securityanalytics.action.GetIndexMappingsResponse;
 import org.opensearch.securityanalytics.action.GetMappingsViewResponse;
 import org.opensearch.test.OpenSearchTestCase;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class MapperServiceTests extends OpenSearchTestCase {
 
@@ -104,6 +113,85 @@ public class MapperServiceTests extends OpenSearchTestCase {
         });
     }
 
+    public void testCreateMappingAction_multipleIndicesGroupedByMissingPaths() {
+        MapperTopicStore.putAliasMappings("test_multi_index", "testValidAliasMappingsSimple.json");
+        MapperService mapperService = spy(MapperService.class);
+        IndicesAdminClient client = mock(IndicesAdminClient.class);
+        mapperService.setIndicesAdminClient(client);
+
+        ImmutableOpenMap.Builder<String, MappingMetadata> mappings = ImmutableOpenMap.builder();
+        mappings.put("logs-1", indexMapping(Map.of("netflow.event_data.SourceAddress", Map.of("type", "ip"))));
+        mappings.put("logs-2", indexMapping(Map.of("netflow.event_data.SourceAddress", Map.of("type", "ip"))));
+        mappings.put("logs-3", indexMapping(Map.of("netflow.event_data.SourcePort", Map.of("type", "integer"))));
+        GetMappingsResponse getMappingsResponse = new GetMappingsResponse(mappings.build());
+        doAnswer(invocation -> {
+            ActionListener l = invocation.getArgument(1);
+            l.onResponse(getMappingsResponse);
+            return null;
+        }).when(client).getMappings(any(GetMappingsRequest.class), any(ActionListener.class));
+
+        List<PutMappingRequest> putMappingRequests = new ArrayList<>();
+        doAnswer(invocation -> {
+            putMappingRequests.add(invocation.getArgument(0));
+            ActionListener l = invocation.getArgument(1);
+            l.onResponse(new AcknowledgedResponse(true));
+            return null;
+        }).when(client).putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+
+        AtomicReference<AcknowledgedResponse> response = new AtomicReference<>();
+        mapperService.createMappingAction(new String[] { "logs-1", "logs-2", "logs-3" }, "test_multi_index", null, true, 1, new ActionListener<>() {
+            @Override
+            public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                response.set(acknowledgedResponse);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                fail(e.getMessage());
+            }
+        });
+
+        assertTrue(response.get().isAcknowledged());
+        assertEquals(2, putMappingRequests.size());
+        Set<Set<String>> indices = putMappingRequests.stream()
+                .map(r -> Set.of(r.indices()))
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(Set.of("logs-1", "logs-2"), Set.of("logs-3")), indices);
+    }
+
+    public void testCreateMappingAction_multipleIndicesNotPartial() {
+        MapperTopicStore.putAliasMappings("test_multi_index", "testValidAliasMappingsSimple.json");
+        MapperService mapperService = spy(MapperService.class);
+        IndicesAdminClient client = mock(IndicesAdminClient.class);
+        mapperService.setIndicesAdminClient(client);
+
+        ImmutableOpenMap.Builder<String, MappingMetadata> mappings = ImmutableOpenMap.builder();
+        mappings.put("logs-1", indexMapping(Map.of("netflow.event_data.SourceAddress", Map.of("type", "ip"))));
+        mappings.put("logs-2", indexMapping(Map.of("netflow.event_data.SourcePort", Map.of("type", "integer"))));
+        GetMappingsResponse getMappingsResponse = new GetMappingsResponse(mappings.build());
+        doAnswer(invocation -> {
+            ActionListener l = invocation.getArgument(1);
+            l.onResponse(getMappingsResponse);
+            return null;
+        }).when(client).getMappings(any(GetMappingsRequest.class), any(ActionListener.class));
+
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        mapperService.createMappingAction(new String[] { "logs-1", "logs-2" }, "test_multi_index", null, false, 5, new ActionListener<>() {
+            @Override
+            public void onResponse(AcknowledgedResponse acknowledgedResponse) {
+                fail("Expected failure for index missing alias paths");
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                failure.set(e);
+            }
+        });
+
+        assertEquals("Not all paths were found in index mappings: [netflow.event_data.SourceAddress]", failure.get().getMessage());
+        verify(client, never()).putMapping(any(PutMappingRequest.class), any(ActionListener.class));
+    }
+
     public void testGetMappingsView_successAliasesOnlyReturned() {
         // We expect JSON parser to throw "duplicate fields" error
 
@@ -303,4 +391,98 @@ public class MapperServiceTests extends OpenSearchTestCase {
         });
     }
 
+    public void testGetMappingsView_largeIndexMappings() {
+        MapperTopicStore.putAliasMappings("test1", "testValidAliasMappings.json");
+        MapperService mapperService = spy(MapperService.class);
+        IndicesAdminClient client = mock(IndicesAdminClient.class);
+        mapperService.setIndicesAdminClient(client);
+        // Synthetic ECS-like index mappings with 20k fields, 2 of them matched by alias mappings
+        Map<String, Object> m = syntheticProperties(LARGE_MAPPING_FIELDS);
+        m.put("netflow.event_data.SourceAddress", Map.of("type", "ip"));
+        m.put("netflow.event_data.DestinationPort", Map.of("type", "integer"));
+        mockGetMappings(client, m);
+
+        long start = System.nanoTime();
+        mapperService.getMappingsViewAction("my_index", "test1", new ActionListener<>() {
+            @Override
+            public void onResponse(GetMappingsViewResponse getMappingsViewResponse) {
+                Map<String, Object> props =
+                        (Map<String, Object>) getMappingsViewResponse.getAliasMappings().get("properties");
+                assertEquals(2, props.size());
+                assertEquals(2, getMappingsViewResponse.getUnmappedFieldAliases().size());
+                assertEquals(LARGE_MAPPING_FIELDS, getMappingsViewResponse.getUnmappedIndexFields().size());
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                fail("Unexpected error: " + e.getMessage());
+            }
+        });
+        logger.info("mappings view of {} fields took {} ms", LARGE_MAPPING_FIELDS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void testGetMappingAction_largeIndexMappings() {
+        MapperTopicStore.putAliasMappings("test1", "testValidAliasMappings.json");
+        MapperService mapperService = spy(MapperService.class);
+        IndicesAdminClient client = mock(IndicesAdminClient.class);
+        mapperService.setIndicesAdminClient(client);
+        // Synthetic index mappings with 20k fields and 20k aliases, 1 of them known to the alias mappings
+        Map<String, Object> m = syntheticProperties(LARGE_MAPPING_FIELDS);
+        for (int i = 0; i < LARGE_MAPPING_FIELDS; i++) {
+            m.put("alias_" + i, Map.of("type", "alias", "path", "group_" + (i % 100) + ".field_" + i));
+        }
+        m.put("netflow.event_data.SourceAddress", Map.of("type", "ip"));
+        m.put("srcaddr", Map.of("type", "alias", "path", "netflow.event_data.SourceAddress"));
+        mockGetMappings(client, m);
+
+        long start = System.nanoTime();
+        mapperService.getMappingAction("my_index", new ActionListener<>() {
+            @Override
+            public void onResponse(GetIndexMappingsResponse getIndexMappingsResponse) {
+                Map<String, Object> props = (Map<String, Object>) getIndexMappingsResponse.getMappings().get("my_index")
+                        .getSourceAsMap().get("properties");
+                assertEquals(1, props.size());
+                assertTrue(props.containsKey("srcaddr"));
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                fail("Unexpected error: " + e.getMessage());
+            }
+        });
+        logger.info("get mappings of {} fields took {} ms", LARGE_MAPPING_FIELDS, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static final int LARGE_MAPPING_FIELDS = 20_000;
+
+    private static Map<String, Object> syntheticProperties(int numberOfFields) {
+        Map<String, Object> m = new HashMap<>();
+        Map<String, Map<String, Object>> groups = new HashMap<>();
+        for (int i = 0; i < numberOfFields; i++) {
+            groups.computeIfAbsent("group_" + (i % 100), k -> new HashMap<>())
+                    .put("field_" + i, Map.of("type", i % 2 == 0 ? "keyword" : "long"));
+        }
+        groups.forEach((group, fields) -> m.put(group, Map.of("properties", fields)));
+        return m;
+    }
+
+    private static MappingMetadata indexMapping(Map<String, Object> m) {
+        Map<String, Object> properties = Map.of("properties", m);
+        Map<String, Object> root = Map.of(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, properties);
+        return new MappingMetadata(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, root);
+    }
+
+    private static void mockGetMappings(IndicesAdminClient client, Map<String, Object> m) {
+        ImmutableOpenMap.Builder<String, MappingMetadata> mappings = ImmutableOpenMap.builder();
+        Map<String, Object> properties = Map.of("properties", m);
+        Map<String, Object> root = Map.of(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, properties);
+        MappingMetadata mappingMetadata = new MappingMetadata(org.opensearch.index.mapper.MapperService.SINGLE_MAPPING_NAME, root);
+        mappings.put("my_index", mappingMetadata);
+        GetMappingsResponse getMappingsResponse = new GetMappingsResponse(mappings.build());
+        doAnswer(invocation -> {
+            ActionListener l = invocation.getArgument(1);
+            l.onResponse(getMappingsResponse);
+            return null;
+        }).when(client).getMappings(any(GetMappingsRequest.class), any(ActionListener.class));
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.mapper;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class MapperTopicStoreTests extends OpenSearchTestCase {
+
+    public void testTopicIsPreParsed() throws IOException {
+        MapperTopicStore.putAliasMappings("store_test", "testValidAliasMappings.json");
+
+        MapperTopicStore.MapperTopic topic = MapperTopicStore.getMapperTopic("store_test");
+        assertEquals(MapperTopicStore.aliasMappings("store_test"), topic.getAliasMappingsJson());
+        assertEquals(4, topic.getAliasPathPairs().size());
+        assertEquals("netflow.event_data.SourceAddress", topic.getAliasToPath().get("srcaddr"));
+        assertEquals(List.of("dstport"), topic.getPathToAliases().get("netflow.event_data.DestinationPort"));
+        assertTrue(((Map<String, Object>) topic.getAliasMappings().get("properties")).containsKey("srcport"));
+        expectThrows(UnsupportedOperationException.class, () -> topic.getAliasToPath().put("alias", "path"));
+    }
+
+    public void testInvalidTopicKeepsRawJson() {
+        MapperTopicStore.putAliasMappings("store_test_invalid", "testMultipleAliasesWithSameName.json");
+
+        MapperTopicStore.MapperTopic topic = MapperTopicStore.getMapperTopic("store_test_invalid");
+        assertNotNull(topic.getAliasMappingsJson());
+        expectThrows(JsonParseException.class, topic::getAliasPathPairs);
+    }
+
+    public void testReloadKeepsRegisteredTopics() throws IOException {
+        MapperTopicStore.putAliasMappings("store_test_reload", "testValidAliasMappingsSimple.json");
+        MapperTopicStore.MapperTopic before = MapperTopicStore.getMapperTopic("store_test_reload");
+
+        MapperTopicStore.reload();
+
+        MapperTopicStore.MapperTopic after = MapperTopicStore.getMapperTopic("store_test_reload");
+        assertNotSame(before, after);
+        assertEquals(before.getAliasPathPairs(), after.getAliasPathPairs());
+        assertNotNull(MapperTopicStore.getMapperTopic("windows"));
+    }
+
+    public void testUnknownTopic() {
+        expectThrows(IllegalArgumentException.class, () -> MapperTopicStore.getMapperTopic("unknown_topic"));
+    }
+}
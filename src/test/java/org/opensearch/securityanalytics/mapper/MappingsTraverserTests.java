@@ -6,6 +6,10 @@ package org.opensearch.securityanalytics.mapper;
 
 import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.common.collect.ImmutableOpenMap;
+import org.opensearch.common.xcontent.DeprecationHandler;
+import org.opensearch.common.xcontent.NamedXContentRegistry;
+import org.opensearch.common.xcontent.XContentParser;
+import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.index.mapper.MapperService;
 import org.opensearch.test.OpenSearchTestCase;
 
@@ -309,4 +313,64 @@ public class MappingsTraverserTests extends OpenSearchTestCase {
             fail("Error instantiating MappingsTraverser with JSON string as mappings");
         }
     }
+
+    public void testStreamingTraversalEmitsLeaves() throws IOException {
+        String mappingsJSON = "{" +
+                "  \"properties\": {" +
+                "    \"netflow\": {" +
+                "      \"properties\": {" +
+                "        \"source\": { \"properties\": { \"ip\": { \"type\": \"ip\" } } }," +
+                "        \"port\": { \"type\": \"integer\", \"fields\": { \"raw\": { \"type\": \"keyword\" } } }" +
+                "      }" +
+                "    }," +
+                "    \"srcaddr\": { \"type\": \"alias\", \"path\": \"netflow.source.ip\" }" +
+                "  }" +
+                "}";
+
+        List<String> leaves = new ArrayList<>();
+        try (XContentParser parser = JsonXContent.jsonXContent.createParser(
+                NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, mappingsJSON)) {
+            MappingsTraverser.traverse(parser, null, Set.of(), new MappingsTraverser.MappingsLeafListener() {
+                @Override
+                public void onLeafVisited(String path, String type, String aliasPath) {
+                    leaves.add(path + "|" + type + "|" + aliasPath);
+                }
+
+                @Override
+                public void onError(String error) {
+                    fail("Error happened during traversal of valid mappings!");
+                }
+            });
+        }
+        assertEquals(List.of("netflow.source.ip|ip|null", "netflow.port|integer|null", "srcaddr|alias|netflow.source.ip"), leaves);
+    }
+
+    public void testStreamingExtractFlatFieldsMatchesTreeTraversal() {
+        Map<String, Object> nested = new HashMap<>();
+        nested.put("SourceAddress", Map.of("type", "ip"));
+        nested.put("DestinationPort", Map.of("type", "integer"));
+        Map<String, Object> m = new HashMap<>();
+        m.put("netflow", Map.of("properties", nested));
+        m.put("unmatchedfield1", Map.of("type", "ip"));
+        m.put("unmatchedfield2", Map.of("type", "integer"));
+        m.put("srcaddr", Map.of("type", "alias", "path", "unmatchedfield1"));
+        Map<String, Object> properties = Map.of("properties", m);
+        Map<String, Object> root = Map.of(MapperService.SINGLE_MAPPING_NAME, properties);
+        MappingMetadata mappingMetadata = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, root);
+
+        List<String> streamed = new MappingsTraverser(mappingMetadata).extractFlatNonAliasFields();
+        List<String> tree = new MappingsTraverser(mappingMetadata.getSourceAsMap(), Set.of()).extractFlatNonAliasFields();
+
+        assertEquals(4, streamed.size());
+        assertFalse(streamed.contains("srcaddr"));
+        assertEquals(tree, streamed);
+    }
+
+    public void testStreamingTraversalWithoutProperties() throws IOException {
+        Map<String, Object> root = Map.of(MapperService.SINGLE_MAPPING_NAME, new HashMap<String, Object>());
+        MappingMetadata mappingMetadata = new MappingMetadata(MapperService.SINGLE_MAPPING_NAME, root);
+
+        assertTrue(MappingsTraverser.isEmpty(mappingMetadata));
+        assertThrows(IllegalArgumentException.class, () -> MappingsTraverser.extractFlatFields(mappingMetadata, Set.of()));
+    }
 }
@@ -455,6 +455,10 @@ public class RuleRestApiIT extends SecurityAnalyticsRestTestCase {
         Response updateResponse = makeRequest(client(), "PUT", SecurityAnalyticsPlugin.RULE_BASE_URI + "/" + createdId, Map.of("category", randomDetectorType(), "forced", "true"),
                 new StringEntity(randomEditedRule()), new BasicHeader("Content-Type", "application/json"));
         Assert.assertEquals("Update rule failed", RestStatus.OK, restStatus(updateResponse));
+        // Both detectors using the rule are reported as updated
+        Map<String, Object> updatedDetectors = (Map<String, Object>) asMap(updateResponse).get("detectors");
+        Assert.assertEquals(2, ((List<String>) updatedDetectors.get("updated")).size());
+        Assert.assertTrue(((Map<String, Object>) updatedDetectors.get("failed")).isEmpty());
 
         request = "{\n" +
                 "   \"query\" : {\n" +
@@ -0,0 +1,108 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.resthandler;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.opensearch.client.Request;
+import org.opensearch.client.Response;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.SecurityAnalyticsPlugin;
+import org.opensearch.securityanalytics.SecurityAnalyticsRestTestCase;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.DetectorTrigger;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetectorType;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetectorWithTriggers;
+import static org.opensearch.securityanalytics.TestHelpers.randomIndex;
+import static org.opensearch.securityanalytics.TestHelpers.windowsIndexMapping;
+
+public class StatsRestApiIT extends SecurityAnalyticsRestTestCase {
+
+    @SuppressWarnings("unchecked")
+    public void testStatsOfDetectorOperations() throws IOException {
+        String detectorType = randomDetectorType().toLowerCase(Locale.ROOT);
+        String detectorId = createDetector();
+
+        for (int i = 0; i < 2; i++) {
+            Response getResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.DETECTOR_BASE_URI + "/" + detectorId, Collections.emptyMap(), null);
+            Assert.assertEquals("Get detector failed", RestStatus.OK, restStatus(getResponse));
+        }
+
+        Response statsResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.STATS_BASE_URI, Collections.emptyMap(), null);
+        Assert.assertEquals("Get stats failed", RestStatus.OK, restStatus(statsResponse));
+        Map<String, Object> nodes = (Map<String, Object>) asMap(statsResponse).get("nodes");
+        Assert.assertFalse(nodes.isEmpty());
+
+        long detectorCreates = 0;
+        long detectorCacheLookups = 0;
+        for (Object node : nodes.values()) {
+            Map<String, Object> nodeStats = (Map<String, Object>) node;
+            Map<String, Object> creates = operationStats(nodeStats, "detector_create", detectorType);
+            if (creates != null) {
+                detectorCreates += ((Number) creates.get("count")).longValue();
+            }
+            Map<String, Object> caches = (Map<String, Object>) nodeStats.get("caches");
+            Map<String, Object> detectorCache = caches != null ? (Map<String, Object>) caches.get("detector") : null;
+            if (detectorCache != null) {
+                Assert.assertFalse("Detector cache lookups recorded without detector type", detectorCache.containsKey("_none"));
+                Map<String, Object> typeCache = (Map<String, Object>) detectorCache.get(detectorType);
+                if (typeCache != null) {
+                    detectorCacheLookups += ((Number) typeCache.get("hits")).longValue() + ((Number) typeCache.get("misses")).longValue();
+                }
+            }
+        }
+        Assert.assertTrue(detectorCreates >= 1);
+        Assert.assertTrue(detectorCacheLookups >= 2);
+
+        String nodeId = nodes.keySet().iterator().next();
+        Response nodeStatsResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.STATS_BASE_URI + "/" + nodeId, Collections.emptyMap(), null);
+        Assert.assertEquals("Get node stats failed", RestStatus.OK, restStatus(nodeStatsResponse));
+        Map<String, Object> singleNode = (Map<String, Object>) asMap(nodeStatsResponse).get("nodes");
+        Assert.assertEquals(List.of(nodeId), List.copyOf(singleNode.keySet()));
+
+        Response resetResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.STATS_BASE_URI + "/_reset", Collections.emptyMap(), null);
+        Assert.assertEquals("Reset stats failed", RestStatus.OK, restStatus(resetResponse));
+
+        Response afterResetResponse = makeRequest(client(), "GET", SecurityAnalyticsPlugin.STATS_BASE_URI, Collections.emptyMap(), null);
+        Map<String, Object> afterReset = (Map<String, Object>) asMap(afterResetResponse).get("nodes");
+        for (Object node : afterReset.values()) {
+            Assert.assertNull(operationStats((Map<String, Object>) node, "detector_create", detectorType));
+        }
+    }
+
+    private String createDetector() throws IOException {
+        String index = createTestIndex(randomIndex(), windowsIndexMapping());
+
+        Request createMappingRequest = new Request("POST", SecurityAnalyticsPlugin.MAPPER_BASE_URI);
+        createMappingRequest.setJsonEntity(
+                "{ \"index_name\":\"" + index + "\"," +
+                        "  \"rule_topic\":\"" + randomDetectorType() + "\", " +
+                        "  \"partial\":true" +
+                        "}"
+        );
+        Response response = client().performRequest(createMappingRequest);
+        assertEquals(HttpStatus.SC_OK, response.getStatusLine().getStatusCode());
+
+        Detector detector = randomDetectorWithTriggers(getRandomPrePackagedRules(), List.of(new DetectorTrigger(null, "test-trigger", "1", List.of(randomDetectorType()), List.of(), List.of(), List.of(), List.of())));
+        Response createResponse = makeRequest(client(), "POST", SecurityAnalyticsPlugin.DETECTOR_BASE_URI, Collections.emptyMap(), toHttpEntity(detector));
+        Assert.assertEquals("Create detector failed", RestStatus.CREATED, restStatus(createResponse));
+        return asMap(createResponse).get("_id").toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> operationStats(Map<String, Object> nodeStats, String operation, String detectorType) {
+        Map<String, Object> operations = (Map<String, Object>) nodeStats.get("operations");
+        if (operations == null || !operations.containsKey(operation)) {
+            return null;
+        }
+        return (Map<String, Object>) ((Map<String, Object>) operations.get(operation)).get(detectorType);
+    }
+}
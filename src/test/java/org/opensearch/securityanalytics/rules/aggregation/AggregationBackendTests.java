@@ -5,6 +5,7 @@
 package org.opensearch.securityanalytics.rules.aggregation;
 
 import org.junit.Assert;
+import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.securityanalytics.rules.backend.OSQueryBackend;
 import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
 import org.opensearch.securityanalytics.rules.objects.SigmaRule;
@@ -203,4 +204,51 @@ public class AggregationBackendTests extends OpenSearchTestCase {
         Assert.assertEquals("{\"result_agg\":{\"terms\":{\"field\":\"fieldB\"},\"aggs\":{\"fieldA\":{\"avg\":{\"field\":\"fieldA\"}}}}}", aggQuery);
         Assert.assertEquals("{\"buckets_path\":{\"fieldA\":\"fieldA\"},\"parent_bucket_path\":\"result_agg\",\"script\":{\"source\":\"params.fieldA > 110.0\",\"lang\":\"painless\"}}", bucketTriggerQuery);
     }
+
+    public void testFilteredCountAggregationWithGroupBy() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", true, true);
+        AggregationItem aggregation = parseAggregation("sel | count(*) by fieldB > 1");
+
+        OSQueryBackend.AggregationQueries aggQueries = queryBackend.convertFilteredAggregation(aggregation, "rule_1", QueryBuilders.termQuery("fieldA", "valueA"));
+
+        Assert.assertEquals("fieldB", OSQueryBackend.getGroupByField(aggregation));
+        Assert.assertEquals("rule_1", aggQueries.getAggBuilder().getName());
+        Assert.assertTrue(aggQueries.getAggBuilder().getSubAggregations().isEmpty());
+        Assert.assertEquals("{\"buckets_path\":{\"_cnt\":\"rule_1>_count\"},\"parent_bucket_path\":\"result_agg\",\"script\":{\"source\":\"params._cnt > 1.0\",\"lang\":\"painless\"}}", aggQueries.getBucketTriggerQuery());
+    }
+
+    public void testFilteredSumAggregationWithGroupBy() throws IOException, SigmaError {
+        OSQueryBackend queryBackend = new OSQueryBackend("windows", true, true);
+        AggregationItem aggregation = parseAggregation("sel | sum(fieldA) by fieldB > 110");
+
+        OSQueryBackend.AggregationQueries aggQueries = queryBackend.convertFilteredAggregation(aggregation, "rule_2", QueryBuilders.termQuery("fieldA", "valueA"));
+
+        Assert.assertEquals("rule_2", aggQueries.getAggBuilder().getName());
+        Assert.assertEquals("fieldA", aggQueries.getAggBuilder().getSubAggregations().iterator().next().getName());
+        Assert.assertEquals("{\"buckets_path\":{\"fieldA\":\"rule_2>fieldA\"},\"parent_bucket_path\":\"result_agg\",\"script\":{\"source\":\"params.fieldA > 110.0\",\"lang\":\"painless\"}}", aggQueries.getBucketTriggerQuery());
+    }
+
+    public void testGroupByFieldOfCountWithoutGroupBy() throws SigmaError {
+        Assert.assertEquals("_index", OSQueryBackend.getGroupByField(parseAggregation("sel | count(*) > 1")));
+    }
+
+    private static AggregationItem parseAggregation(String condition) throws SigmaError {
+        SigmaRule rule = SigmaRule.fromYaml(
+                "            title: Test\n" +
+                "            id: 39f919f3-980b-4e6f-a975-8af7e507ef2b\n" +
+                "            status: test\n" +
+                "            level: critical\n" +
+                "            description: Detects QuarksPwDump clearing access history in hive\n" +
+                "            author: Florian Roth\n" +
+                "            date: 2017/05/15\n" +
+                "            logsource:\n" +
+                "                category: test_category\n" +
+                "                product: test_product\n" +
+                "            detection:\n" +
+                "                sel:\n" +
+                "                    fieldA: valueA\n" +
+                "                    fieldB: valueB\n" +
+                "                condition: " + condition, true);
+        return rule.getDetection().getParsedCondition().get(0).parsed().getRight();
+    }
 }
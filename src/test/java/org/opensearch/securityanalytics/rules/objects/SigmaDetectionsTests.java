@@ -61,6 +61,21 @@ public class SigmaDetectionsTests extends OpenSearchTestCase {
                 actualSigmaDetections.getParsedCondition().get(0) != null);
     }
 
+    public void testSigmaDetectionsFromDictWithTimeframe() throws SigmaError{
+        Yaml yaml = new Yaml(new SafeConstructor());
+        Map<String, Object> detectionsMap = yaml.load(
+                "    selection:\n" +
+                "        EventID: 16\n" +
+                "    timeframe: 5m\n" +
+                "    condition: selection | count() by HiveName > 10");
+
+        SigmaDetections actualSigmaDetections = SigmaDetections.fromDict(detectionsMap);
+
+        Assert.assertEquals("5m", actualSigmaDetections.getTimeframe());
+        Assert.assertEquals(1, actualSigmaDetections.getDetections().size());
+        Assert.assertFalse(actualSigmaDetections.getDetections().containsKey("timeframe"));
+    }
+
     public void testSigmaDetectionsFromDictNoDetections() {
         Yaml yaml = new Yaml(new SafeConstructor());
         Map<String, Object> detectionsMap = yaml.load(
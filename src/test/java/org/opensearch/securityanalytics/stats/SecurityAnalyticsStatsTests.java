@@ -0,0 +1,105 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.opensearch.securityanalytics.stats;
+
+import java.util.List;
+import java.util.Map;
+import org.opensearch.OpenSearchStatusException;
+import org.opensearch.Version;
+import org.opensearch.action.ActionListener;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.io.stream.StreamInput;
+import org.opensearch.rest.RestStatus;
+import org.opensearch.securityanalytics.action.SecurityAnalyticsStatsResponse;
+import org.opensearch.securityanalytics.rules.exceptions.SigmaError;
+import org.opensearch.securityanalytics.util.SecurityAnalyticsException;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class SecurityAnalyticsStatsTests extends OpenSearchTestCase {
+
+    public void testOperationsRecordedPerDetectorType() throws Exception {
+        SecurityAnalyticsStats stats = new SecurityAnalyticsStats();
+
+        stats.time(SecurityAnalyticsStats.Operation.FINDINGS_GET, "windows", ActionListener.<String>wrap(r -> {}, e -> {})).onResponse("ok");
+        stats.time(SecurityAnalyticsStats.Operation.FINDINGS_GET, "windows", ActionListener.<String>wrap(r -> {}, e -> {}))
+                .onFailure(SecurityAnalyticsException.wrap(new OpenSearchStatusException("not found", RestStatus.NOT_FOUND)));
+        stats.time(SecurityAnalyticsStats.Operation.FINDINGS_GET, null, ActionListener.<String>wrap(r -> {}, e -> {})).onResponse("ok");
+        assertEquals("rule", stats.time(SecurityAnalyticsStats.Operation.RULE_PARSE, "Network", () -> "rule"));
+        expectThrows(SigmaError.class, () -> stats.time(SecurityAnalyticsStats.Operation.RULE_CONVERT, "network", () -> {
+            throw new SigmaError("unsupported modifier");
+        }));
+        stats.recordErrors(SecurityAnalyticsStats.Operation.RULE_PARSE, "network", List.of(new SigmaError("a"), new SigmaError("b")));
+
+        Map<String, Map<String, OperationStats>> operations = stats.operationStats();
+        OperationStats windows = operations.get("findings_get").get("windows");
+        assertEquals(2, windows.getCount());
+        assertEquals(1, windows.getFailures());
+        assertEquals(Map.of("SecurityAnalyticsException[not_found]", 1L), windows.getErrors());
+        assertEquals(2, sum(windows.getLatency()));
+        assertEquals(1, operations.get("findings_get").get(SecurityAnalyticsStats.NO_DETECTOR_TYPE).getCount());
+
+        OperationStats parse = operations.get("rule_parse").get("network");
+        assertEquals(1, parse.getCount());
+        assertEquals(1, parse.getFailures());
+        assertEquals(Map.of("SigmaError", 2L), parse.getErrors());
+        assertEquals(1, operations.get("rule_convert").get("network").getFailures());
+    }
+
+    public void testCacheHitRate() {
+        SecurityAnalyticsStats stats = new SecurityAnalyticsStats();
+        stats.cacheHit(SecurityAnalyticsStats.CacheType.DETECTOR, "windows");
+        stats.cacheHit(SecurityAnalyticsStats.CacheType.DETECTOR, "windows");
+        stats.cacheHit(SecurityAnalyticsStats.CacheType.DETECTOR, "windows");
+        stats.cacheMiss(SecurityAnalyticsStats.CacheType.DETECTOR, "windows");
+
+        CacheStats detectorCache = stats.cacheStats().get("detector").get("windows");
+        assertEquals(3, detectorCache.getHits());
+        assertEquals(1, detectorCache.getMisses());
+        assertEquals(0.75, detectorCache.getHitRate(), 0.0);
+        assertEquals(0.0, new CacheStats(0, 0).getHitRate(), 0.0);
+
+        stats.reset();
+        assertTrue(stats.cacheStats().isEmpty());
+        assertTrue(stats.operationStats().isEmpty());
+    }
+
+    public void testLatencyBuckets() {
+        assertEquals(0, SecurityAnalyticsStats.latencyBucket(0));
+        assertEquals(0, SecurityAnalyticsStats.latencyBucket(1));
+        assertEquals(3, SecurityAnalyticsStats.latencyBucket(11));
+        assertEquals(SecurityAnalyticsStats.LATENCY_BUCKETS_MILLIS.length - 1, SecurityAnalyticsStats.latencyBucket(30000));
+        assertEquals(SecurityAnalyticsStats.LATENCY_BUCKETS_MILLIS.length, SecurityAnalyticsStats.latencyBucket(30001));
+    }
+
+    public void testNodeResponseSerialization() throws Exception {
+        SecurityAnalyticsStats stats = new SecurityAnalyticsStats();
+        stats.record(SecurityAnalyticsStats.Operation.DETECTOR_CREATE, "windows", System.nanoTime(), new IllegalArgumentException("invalid"));
+        stats.cacheMiss(SecurityAnalyticsStats.CacheType.FINDINGS_SUMMARY, null);
+        DiscoveryNode node = new DiscoveryNode("node", buildNewFakeTransportAddress(), Version.CURRENT);
+        SecurityAnalyticsStatsResponse.NodeResponse response = new SecurityAnalyticsStatsResponse.NodeResponse(node, stats.operationStats(), stats.cacheStats());
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        StreamInput sin = StreamInput.wrap(out.bytes().toBytesRef().bytes);
+        SecurityAnalyticsStatsResponse.NodeResponse copy = new SecurityAnalyticsStatsResponse.NodeResponse(sin);
+
+        OperationStats create = copy.getOperations().get("detector_create").get("windows");
+        assertEquals(1, create.getCount());
+        assertEquals(1, create.getFailures());
+        assertEquals(Map.of("IllegalArgumentException", 1L), create.getErrors());
+        assertArrayEquals(response.getOperations().get("detector_create").get("windows").getLatency(), create.getLatency());
+        assertEquals(1, copy.getCaches().get("findings_summary").get(SecurityAnalyticsStats.NO_DETECTOR_TYPE).getMisses());
+    }
+
+    private static long sum(long[] values) {
+        long sum = 0;
+        for (long value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.transport;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+
+public class TransportIndexRuleActionTests extends OpenSearchTestCase {
+
+    public void testDetectorUpdatesBounded() {
+        List<Detector> detectors = detectors(5);
+        Map<String, ActionListener<Void>> inFlight = new HashMap<>();
+        AtomicReference<Tuple<List<String>, Map<String, Exception>>> result = new AtomicReference<>();
+
+        TransportIndexRuleAction.updateDetectors(detectors, 2, (detector, listener) -> inFlight.put(detector.getId(), listener),
+                ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        // Only two updates are in flight, the next one starts once one of them completed
+        assertEquals(List.of("d0", "d1"), inFlight.keySet().stream().sorted().collect(Collectors.toList()));
+        inFlight.remove("d0").onResponse(null);
+        assertEquals(2, inFlight.size());
+        assertTrue(inFlight.containsKey("d2"));
+        while (inFlight.isEmpty() == false) {
+            assertNull(result.get());
+            assertTrue(inFlight.size() <= 2);
+            String id = inFlight.keySet().iterator().next();
+            inFlight.remove(id).onResponse(null);
+        }
+
+        assertEquals(5, result.get().v1().size());
+        assertTrue(result.get().v2().isEmpty());
+    }
+
+    public void testDetectorUpdatesPartialFailure() {
+        List<Detector> detectors = detectors(4);
+        AtomicReference<Tuple<List<String>, Map<String, Exception>>> result = new AtomicReference<>();
+
+        TransportIndexRuleAction.updateDetectors(detectors, 3, (detector, listener) -> {
+            if (detector.getId().equals("d1") || detector.getId().equals("d3")) {
+                listener.onFailure(new IllegalStateException("cannot update " + detector.getId()));
+            } else {
+                listener.onResponse(null);
+            }
+        }, ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+
+        // Every detector is attempted, failures do not fail the whole update
+        assertEquals(List.of("d0", "d2"), result.get().v1().stream().sorted().collect(Collectors.toList()));
+        assertEquals(2, result.get().v2().size());
+        assertEquals("cannot update d3", result.get().v2().get("d3").getMessage());
+    }
+
+    public void testNoDetectorsToUpdate() {
+        AtomicReference<Tuple<List<String>, Map<String, Exception>>> result = new AtomicReference<>();
+        TransportIndexRuleAction.updateDetectors(List.of(), 2, (detector, listener) -> fail(),
+                ActionListener.wrap(result::set, e -> fail(e.getMessage())));
+        assertTrue(result.get().v1().isEmpty());
+    }
+
+    private static List<Detector> detectors(int count) {
+        List<Detector> detectors = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            Detector detector = randomDetector(List.of());
+            detector.setId("d" + i);
+            detectors.add(detector);
+        }
+        return detectors;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheAction;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheRequest;
+import org.opensearch.securityanalytics.action.InvalidateDetectorCacheResponse;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.settings.SecurityAnalyticsSettings;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+
+public class DetectorCacheTests extends OpenSearchTestCase {
+
+    public void testPutAndGet() {
+        DetectorCache cache = new DetectorCache(mock(Client.class), Settings.EMPTY);
+        Detector detector = detector("d1");
+
+        cache.put(detector, 5L, 1L);
+        assertEquals(detector, cache.get("d1"));
+        assertNull(cache.get("d2"));
+    }
+
+    public void testGetReturnsCopy() {
+        DetectorCache cache = new DetectorCache(mock(Client.class), Settings.EMPTY);
+        Detector detector = detector("d1");
+        cache.put(detector, 5L, 1L);
+
+        Detector copy = cache.get("d1");
+        assertNotSame(detector, copy);
+        copy.setMonitorIds(List.of("m1"));
+        copy.setFindingsIndex("changed");
+        copy.getInputs().get(0).getIndices().add("changed");
+        detector.setAlertsIndex("changed");
+
+        Detector cached = cache.get("d1");
+        assertNotSame(copy, cached);
+        assertEquals(List.of(""), cached.getMonitorIds());
+        assertEquals("", cached.getFindingsIndex());
+        assertEquals("", cached.getAlertsIndex());
+        assertEquals(detector.getInputs(), cached.getInputs());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testInvalidateOnAllNodesWaitsForNodes() {
+        Client client = mock(Client.class);
+        DetectorCache cache = new DetectorCache(client, Settings.EMPTY);
+        cache.put(detector("d1"), 5L, 1L);
+
+        AtomicReference<ActionListener<InvalidateDetectorCacheResponse>> nodesListener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            nodesListener.set(invocation.getArgument(2));
+            return null;
+        }).when(client).execute(eq(InvalidateDetectorCacheAction.INSTANCE), any(InvalidateDetectorCacheRequest.class), any(ActionListener.class));
+
+        AtomicBoolean acknowledged = new AtomicBoolean();
+        cache.invalidateOnAllNodes("d1", 6L, 1L, ActionListener.wrap(r -> acknowledged.set(true), e -> fail()));
+        assertNull(cache.get("d1"));
+        assertFalse(acknowledged.get());
+
+        nodesListener.get().onFailure(new IllegalStateException("node left"));
+        assertTrue(acknowledged.get());
+    }
+
+    public void testInvalidateDropsOlderEntries() {
+        DetectorCache cache = new DetectorCache(mock(Client.class), Settings.EMPTY);
+        cache.put(detector("d1"), 5L, 1L);
+
+        cache.invalidate("d1", 6L, 1L);
+        assertNull(cache.get("d1"));
+    }
+
+    public void testInvalidateKeepsNewerEntries() {
+        DetectorCache cache = new DetectorCache(mock(Client.class), Settings.EMPTY);
+        Detector detector = detector("d1");
+        cache.put(detector, 7L, 1L);
+
+        cache.invalidate("d1", 6L, 1L);
+        assertEquals(detector, cache.get("d1"));
+    }
+
+    public void testStaleReadIsNotCachedAfterInvalidation() {
+        DetectorCache cache = new DetectorCache(mock(Client.class), Settings.EMPTY);
+
+        cache.invalidate("d1", 6L, 1L);
+        cache.put(detector("d1"), 5L, 1L);
+        assertNull(cache.get("d1"));
+
+        cache.put(detector("d1"), 0L, 2L);
+        assertNotNull(cache.get("d1"));
+    }
+
+    public void testDisabledCache() {
+        Settings settings = Settings.builder().put(SecurityAnalyticsSettings.DETECTOR_CACHE_MAX_SIZE.getKey(), 0).build();
+        DetectorCache cache = new DetectorCache(mock(Client.class), settings);
+
+        cache.put(detector("d1"), 5L, 1L);
+        assertNull(cache.get("d1"));
+    }
+
+    private static Detector detector(String id) {
+        Detector detector = randomDetector(List.of());
+        detector.setId(id);
+        return detector;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.opensearch.action.ActionListener;
+import org.opensearch.client.Client;
+import org.opensearch.common.xcontent.NamedXContentRegistry;
+import org.opensearch.securityanalytics.action.GetMappingsViewAction;
+import org.opensearch.securityanalytics.action.GetMappingsViewRequest;
+import org.opensearch.securityanalytics.action.GetMappingsViewResponse;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+public class RuleValidatorTests extends OpenSearchTestCase {
+
+    public void testMissingFieldsMatrix() {
+        List<Rule> rules = List.of(
+                rule("r1", "windows", "EventID", "HostName"),
+                rule("r2", "windows", "EventID", "CommandLine"),
+                rule("r3", "network", "srcaddr")
+        );
+        Map<String, Map<String, Set<String>>> fieldsByTopicAndIndex = Map.of(
+                "windows", Map.of(
+                        "logs-1", Set.of("EventID", "HostName", "CommandLine"),
+                        "logs-2", Set.of("EventID", "HostName")
+                ),
+                "network", Map.of(
+                        "logs-1", Set.of(),
+                        "logs-2", Set.of("srcaddr")
+                )
+        );
+
+        Map<String, Map<String, List<String>>> missingFields =
+                RuleValidator.getMissingFields(rules, List.of("logs-1", "logs-2"), fieldsByTopicAndIndex);
+
+        assertEquals(List.of("r1", "r2", "r3"), List.copyOf(missingFields.keySet()));
+        assertEquals(Map.of("logs-1", List.of(), "logs-2", List.of()), missingFields.get("r1"));
+        assertEquals(Map.of("logs-1", List.of(), "logs-2", List.of("CommandLine")), missingFields.get("r2"));
+        assertEquals(Map.of("logs-1", List.of("srcaddr"), "logs-2", List.of()), missingFields.get("r3"));
+        assertEquals(List.of("r2", "r3"), RuleValidator.getNonapplicableRuleIds(missingFields));
+    }
+
+    public void testAvailableFieldsIncludeAliasesAndUnmappedFields() {
+        Map<String, Object> aliasMappings = Map.of("properties", Map.of(
+                "srcaddr", Map.of("type", "alias", "path", "netflow.source_ipv4_address")
+        ));
+        GetMappingsViewResponse view = new GetMappingsViewResponse(aliasMappings, List.of("netflow.destination_port"), List.of());
+
+        assertEquals(Set.of("srcaddr", "netflow.destination_port"), RuleValidator.getAvailableFields(view));
+    }
+
+    public void testMissingFieldsManyIndices() {
+        int numberOfIndices = 500;
+        int numberOfFields = 1000;
+        Set<String> fields = IntStream.range(0, numberOfFields).mapToObj(i -> "field_" + i).collect(Collectors.toSet());
+        List<String> indexNames = IntStream.range(0, numberOfIndices).mapToObj(i -> "logs-" + i).collect(Collectors.toList());
+        Map<String, Set<String>> fieldsByIndex = indexNames.stream().collect(Collectors.toMap(i -> i, i -> fields));
+        List<Rule> rules = IntStream.range(0, 50)
+                .mapToObj(i -> rule("r" + i, "windows", "field_" + i, "field_" + (numberOfFields + i)))
+                .collect(Collectors.toList());
+
+        Map<String, Map<String, List<String>>> missingFields =
+                RuleValidator.getMissingFields(rules, indexNames, Map.of("windows", fieldsByIndex));
+
+        assertEquals(50, missingFields.size());
+        assertEquals(List.of("field_" + numberOfFields), missingFields.get("r0").get("logs-0"));
+        assertEquals(numberOfIndices, missingFields.get("r49").size());
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testMappingsViewsThrottled() {
+        Client client = mock(Client.class);
+        Queue<ActionListener<GetMappingsViewResponse>> inFlight = new ArrayDeque<>();
+        List<String> requested = new ArrayList<>();
+        doAnswer(invocation -> {
+            GetMappingsViewRequest request = invocation.getArgument(1);
+            requested.add(request.getRuleTopic() + "|" + request.getIndexName());
+            inFlight.add(invocation.getArgument(2));
+            return null;
+        }).when(client).execute(eq(GetMappingsViewAction.INSTANCE), any(GetMappingsViewRequest.class), any(ActionListener.class));
+        RuleValidator ruleValidator = new RuleValidator(client, NamedXContentRegistry.EMPTY);
+        List<Rule> rules = List.of(rule("r1", "windows", "EventID"), rule("r2", "network", "srcaddr"));
+        List<String> indexNames = IntStream.range(0, 5).mapToObj(i -> "logs-" + i).collect(Collectors.toList());
+        List<Map<String, Map<String, List<String>>>> responses = new ArrayList<>();
+
+        ruleValidator.validateRules(rules, indexNames, 3, ActionListener.wrap(responses::add, e -> fail(e.getMessage())));
+
+        GetMappingsViewResponse view = new GetMappingsViewResponse(Map.of(), List.of("EventID", "srcaddr"), List.of());
+        int maxInFlight = 0;
+        while (inFlight.isEmpty() == false) {
+            maxInFlight = Math.max(maxInFlight, inFlight.size());
+            inFlight.poll().onResponse(view);
+        }
+        assertEquals(3, maxInFlight);
+        // one mappings view per rule topic and index
+        assertEquals(10, requested.size());
+        assertEquals(10, new HashSet<>(requested).size());
+        assertEquals(1, responses.size());
+        assertEquals(List.of(), RuleValidator.getNonapplicableRuleIds(responses.get(0)));
+    }
+
+    private static Rule rule(String id, String category, String... fields) {
+        List<Value> queryFieldNames = Arrays.stream(fields).map(Value::new).collect(Collectors.toList());
+        return new Rule(id, 1L, "title", category, category, "description", List.of(), List.of(new Value("attack.t1000")),
+                "high", List.of(), "author", "experimental", Instant.now(), List.of(new Value("query")), queryFieldNames, "", List.of());
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.internal.InternalSearchResponse;
+import org.opensearch.search.sort.SortBuilders;
+import org.opensearch.search.sort.SortOrder;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+public class SearchAfterPaginatorTests extends OpenSearchTestCase {
+
+    public void testSearchAllVisitsEveryPage() {
+        int total = 25;
+        int pageSize = 10;
+        AtomicInteger searches = new AtomicInteger();
+        List<String> visited = new ArrayList<>();
+        AtomicReference<Long> result = new AtomicReference<>();
+
+        SearchAfterPaginator.searchAll(
+                (request, listener) -> {
+                    searches.incrementAndGet();
+                    // Pages are sorted on the tiebreaker of the caller only, never on _id
+                    assertEquals(List.of(SortBuilders.fieldSort("id").order(SortOrder.ASC)), request.source().sorts());
+                    Object[] after = request.source().searchAfter();
+                    int from = after == null ? 0 : Integer.parseInt((String) after[0]) + 1;
+                    listener.onResponse(page(from, Math.min(from + request.source().size(), total)));
+                },
+                new SearchRequest("test").source(new SearchSourceBuilder()),
+                "id",
+                pageSize,
+                hit -> visited.add(hit.getId()),
+                ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(3, searches.get());
+        assertEquals(total, visited.size());
+        assertEquals(Long.valueOf(total), result.get());
+        assertEquals("0", visited.get(0));
+        assertEquals("24", visited.get(total - 1));
+    }
+
+    public void testSearchAllStopsOnConsumerFailure() {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        SearchAfterPaginator.searchAll(
+                (request, listener) -> listener.onResponse(page(0, 5)),
+                new SearchRequest("test"),
+                "id",
+                10,
+                hit -> { throw new IllegalStateException("bad hit"); },
+                ActionListener.wrap(count -> fail("expected failure"), failure::set)
+        );
+
+        assertTrue(failure.get() instanceof IllegalStateException);
+    }
+
+    public void testSearchAllPagesWaitsForPageConsumer() {
+        int total = 25;
+        List<Integer> pageSizes = new ArrayList<>();
+        List<ActionListener<Void>> pendingPages = new ArrayList<>();
+        AtomicReference<Long> result = new AtomicReference<>();
+
+        SearchAfterPaginator.searchAllPages(
+                (request, listener) -> {
+                    Object[] after = request.source().searchAfter();
+                    int from = after == null ? 0 : Integer.parseInt((String) after[0]) + 1;
+                    listener.onResponse(page(from, Math.min(from + request.source().size(), total)));
+                },
+                new SearchRequest("test").source(new SearchSourceBuilder()),
+                "id",
+                10,
+                (hits, pageListener) -> {
+                    pageSizes.add(hits.length);
+                    pendingPages.add(pageListener);
+                },
+                ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        // The next page is only requested once the previous one was processed
+        assertEquals(List.of(10), pageSizes);
+        pendingPages.get(0).onResponse(null);
+        assertEquals(List.of(10, 10), pageSizes);
+        pendingPages.get(1).onResponse(null);
+        assertEquals(List.of(10, 10, 5), pageSizes);
+        assertNull(result.get());
+        pendingPages.get(2).onResponse(null);
+        assertEquals(Long.valueOf(total), result.get());
+    }
+
+    public void testSearchAllByIdsSearchesBatchesOfIds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 25; ++i) {
+            ids.add(String.valueOf(i));
+        }
+        List<List<String>> batches = new ArrayList<>();
+        List<String> visited = new ArrayList<>();
+        AtomicReference<Long> result = new AtomicReference<>();
+
+        SearchAfterPaginator.searchAllByIds(
+                (request, listener) -> {
+                    assertNull(request.source().sorts());
+                    int from = Integer.parseInt(batches.get(batches.size() - 1).get(0));
+                    listener.onResponse(page(from, from + request.source().size()));
+                },
+                ids,
+                batch -> {
+                    batches.add(batch);
+                    return new SearchRequest("test").source(new SearchSourceBuilder().query(QueryBuilders.termsQuery("_id", batch)));
+                },
+                10,
+                hit -> visited.add(hit.getId()),
+                ActionListener.wrap(result::set, e -> fail(e.getMessage()))
+        );
+
+        assertEquals(List.of(10, 10, 5), batches.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals(ids, visited);
+        assertEquals(Long.valueOf(25), result.get());
+    }
+
+    private static SearchResponse page(int from, int to) {
+        List<SearchHit> hits = new ArrayList<>();
+        for (int i = from; i < to; ++i) {
+            SearchHit hit = new SearchHit(i, String.valueOf(i), Collections.emptyMap(), Collections.emptyMap());
+            hit.sortValues(new Object[]{String.valueOf(i)}, new DocValueFormat[]{DocValueFormat.RAW});
+            hits.add(hit);
+        }
+        SearchHits searchHits = new SearchHits(hits.toArray(new SearchHit[0]), new TotalHits(hits.size(), TotalHits.Relation.EQUAL_TO), 1.0f);
+        InternalSearchResponse internal = new InternalSearchResponse(searchHits, null, null, null, false, null, 1);
+        return new SearchResponse(internal, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
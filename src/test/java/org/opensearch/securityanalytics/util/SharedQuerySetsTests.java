@@ -0,0 +1,296 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.opensearch.securityanalytics.util;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.opensearch.action.ActionListener;
+import org.opensearch.action.DocWriteRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexResponse;
+import org.opensearch.action.delete.DeleteRequest;
+import org.opensearch.action.delete.DeleteResponse;
+import org.opensearch.action.get.GetRequest;
+import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
+import org.opensearch.action.index.IndexResponse;
+import org.opensearch.client.AdminClient;
+import org.opensearch.client.Client;
+import org.opensearch.client.IndicesAdminClient;
+import org.opensearch.common.bytes.BytesReference;
+import org.opensearch.common.xcontent.XContentFactory;
+import org.opensearch.commons.alerting.action.IndexMonitorResponse;
+import org.opensearch.commons.alerting.model.CronSchedule;
+import org.opensearch.commons.alerting.model.DataSources;
+import org.opensearch.commons.alerting.model.Monitor;
+import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.engine.VersionConflictEngineException;
+import org.opensearch.index.get.GetResult;
+import org.opensearch.index.shard.ShardId;
+import org.opensearch.securityanalytics.model.Detector;
+import org.opensearch.securityanalytics.model.Rule;
+import org.opensearch.securityanalytics.model.Value;
+import org.opensearch.securityanalytics.transport.TransportIndexDetectorAction;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.opensearch.securityanalytics.TestHelpers.randomDetector;
+
+public class SharedQuerySetsTests extends OpenSearchTestCase {
+
+    public void testFingerprintIgnoresRuleOrder() {
+        Detector detector = randomDetector(List.of());
+        List<Pair<String, Rule>> rules = List.of(rule("r1", "field1: value1"), rule("r2", "field2: value2"));
+        List<Pair<String, Rule>> reversed = List.of(rules.get(1), rules.get(0));
+
+        assertEquals(
+                SharedQuerySets.fingerprint(detector, "windows", rules),
+                SharedQuerySets.fingerprint(detector, "windows", reversed)
+        );
+    }
+
+    public void testFingerprintDependsOnQueriesAndIndex() {
+        Detector detector = randomDetector(List.of());
+        List<Pair<String, Rule>> rules = List.of(rule("r1", "field1: value1"));
+        String fingerprint = SharedQuerySets.fingerprint(detector, "windows", rules);
+
+        assertNotEquals(fingerprint, SharedQuerySets.fingerprint(detector, "windows", List.of(rule("r1", "field1: other"))));
+        assertNotEquals(fingerprint, SharedQuerySets.fingerprint(detector, "windows-2", rules));
+    }
+
+    public void testAcquireCreatesMonitorOnceAndJoinsIt() {
+        DocStore store = new DocStore();
+        SharedQuerySets sharedQuerySets = new SharedQuerySets(store.client);
+        AtomicInteger created = new AtomicInteger();
+
+        assertEquals("m1", acquire(sharedQuerySets, "f1", "m1", created));
+        assertEquals("m1", acquire(sharedQuerySets, "f1", "m2", created));
+        assertEquals(1, created.get());
+        assertEquals(Integer.valueOf(2), refCount(sharedQuerySets, "m1"));
+        assertNull(refCount(sharedQuerySets, "m2"));
+    }
+
+    public void testReleaseKeepsMonitorUntilLastReference() {
+        DocStore store = new DocStore();
+        SharedQuerySets sharedQuerySets = new SharedQuerySets(store.client);
+        AtomicInteger created = new AtomicInteger();
+        acquire(sharedQuerySets, "f1", "m1", created);
+        acquire(sharedQuerySets, "f1", "m1", created);
+
+        assertTrue(release(sharedQuerySets, "m1"));
+        assertEquals(Integer.valueOf(1), refCount(sharedQuerySets, "m1"));
+        assertFalse(release(sharedQuerySets, "m1"));
+        assertNull(refCount(sharedQuerySets, "m1"));
+        assertTrue(store.docs.isEmpty());
+
+        // the fingerprint is free again, the next detector creates a new monitor
+        assertEquals("m2", acquire(sharedQuerySets, "f1", "m2", created));
+        assertEquals(2, created.get());
+    }
+
+    public void testUpdateForksSharedMonitorAndReleasesAfterwards() {
+        DocStore store = new DocStore();
+        SharedQuerySets sharedQuerySets = new SharedQuerySets(store.client);
+        AtomicInteger created = new AtomicInteger();
+        acquire(sharedQuerySets, "f1", "m1", created);
+        acquire(sharedQuerySets, "f1", "m1", created);
+
+        // an updated detector acquires the monitor of its new rule set before releasing the shared one
+        assertEquals("m2", acquire(sharedQuerySets, "f2", "m2", created));
+        assertEquals(Integer.valueOf(2), refCount(sharedQuerySets, "m1"));
+        assertTrue(release(sharedQuerySets, "m1"));
+        assertEquals(Integer.valueOf(1), refCount(sharedQuerySets, "m1"));
+        assertEquals(Integer.valueOf(1), refCount(sharedQuerySets, "m2"));
+
+        // an update that keeps the rule set joins the same monitor again, which stays alive
+        assertEquals("m2", acquire(sharedQuerySets, "f2", "m3", created));
+        assertTrue(release(sharedQuerySets, "m2"));
+        assertEquals(Integer.valueOf(1), refCount(sharedQuerySets, "m2"));
+    }
+
+    public void testLastReleaseRacingWithAcquireKeepsMonitor() {
+        DocStore store = new DocStore();
+        SharedQuerySets sharedQuerySets = new SharedQuerySets(store.client);
+        AtomicInteger created = new AtomicInteger();
+        acquire(sharedQuerySets, "f1", "m1", created);
+
+        // another detector joins between the read and the delete of the last release
+        store.beforeNextWrite = () -> acquire(sharedQuerySets, "f1", "m2", created);
+        assertTrue(release(sharedQuerySets, "m1"));
+        assertEquals(Integer.valueOf(1), refCount(sharedQuerySets, "m1"));
+        assertEquals(1, created.get());
+    }
+
+    public void testRegistryIsKeptOutOfTheQueryIndex() {
+        DocStore store = new DocStore();
+        SharedQuerySets sharedQuerySets = new SharedQuerySets(store.client);
+        acquire(sharedQuerySets, "f1", "m1", new AtomicInteger());
+
+        assertEquals(1, store.createdIndices.size());
+        assertEquals(List.of(SharedQuerySets.SHARED_QUERY_SETS_INDEX), store.writtenIndices);
+    }
+
+    public void testAcquireCreatesMonitorWhenRegistryIndexIsMissing() {
+        DocStore store = new DocStore();
+        store.indexMissing = true;
+        SharedQuerySets sharedQuerySets = new SharedQuerySets(store.client);
+        AtomicInteger created = new AtomicInteger();
+
+        assertNull(refCount(sharedQuerySets, "m1"));
+        assertEquals("m1", acquire(sharedQuerySets, "f1", "m1", created));
+        assertEquals("m1", acquire(sharedQuerySets, "f1", "m2", created));
+        assertEquals(1, created.get());
+    }
+
+    public void testAcquireReplacesStaleFingerprint() {
+        DocStore store = new DocStore();
+        SharedQuerySets sharedQuerySets = new SharedQuerySets(store.client);
+        AtomicInteger created = new AtomicInteger();
+        acquire(sharedQuerySets, "f1", "m1", created);
+        store.docs.keySet().removeIf(id -> id.contains("_monitor_"));
+
+        assertEquals("m2", acquire(sharedQuerySets, "f1", "m2", created));
+        assertEquals("m2", acquire(sharedQuerySets, "f1", "m3", created));
+        assertEquals(Integer.valueOf(2), refCount(sharedQuerySets, "m2"));
+    }
+
+    private static String acquire(SharedQuerySets sharedQuerySets, String fingerprint, String newMonitorId, AtomicInteger created) {
+        AtomicReference<String> monitorId = new AtomicReference<>();
+        Consumer<ActionListener<IndexMonitorResponse>> creator = listener -> {
+            created.incrementAndGet();
+            listener.onResponse(new IndexMonitorResponse(newMonitorId, 1L, 0L, 0L, monitor(newMonitorId)));
+        };
+        sharedQuerySets.acquire(fingerprint, monitor(Monitor.NO_ID), creator,
+                ActionListener.wrap(response -> monitorId.set(response.getId()), e -> fail(e.getMessage())));
+        return monitorId.get();
+    }
+
+    private static Boolean release(SharedQuerySets sharedQuerySets, String monitorId) {
+        AtomicReference<Boolean> stillShared = new AtomicReference<>();
+        sharedQuerySets.release(monitorId, ActionListener.wrap(stillShared::set, e -> fail(e.getMessage())));
+        return stillShared.get();
+    }
+
+    private static Integer refCount(SharedQuerySets sharedQuerySets, String monitorId) {
+        AtomicReference<Integer> refCount = new AtomicReference<>();
+        sharedQuerySets.refCount(monitorId, ActionListener.wrap(refCount::set, e -> fail(e.getMessage())));
+        return refCount.get();
+    }
+
+    private static Monitor monitor(String id) {
+        return new Monitor(id, 1L, "monitor", true, new CronSchedule("31 * * * *", ZoneId.of("UTC"), Instant.now()),
+                Instant.now(), Instant.now(), Monitor.MonitorType.DOC_LEVEL_MONITOR, null, 1, List.of(), List.of(), Map.of(),
+                new DataSources(), TransportIndexDetectorAction.PLUGIN_OWNER_FIELD);
+    }
+
+    /**
+     * Single shard document store answering the get, index and delete calls of a mocked client synchronously,
+     * with seqNo based optimistic concurrency control.
+     */
+    private static class DocStore {
+        private final Client client = mock(Client.class);
+        private final Map<String, Map<String, Object>> docs = new HashMap<>();
+        private final Map<String, Long> seqNos = new HashMap<>();
+        private long seqNo = 0;
+        private Runnable beforeNextWrite;
+        private boolean indexMissing = false;
+        private final List<String> createdIndices = new ArrayList<>();
+        private final List<String> writtenIndices = new ArrayList<>();
+
+        @SuppressWarnings("unchecked")
+        DocStore() {
+            ShardId shardId = new ShardId(SharedQuerySets.SHARED_QUERY_SETS_INDEX, "_na_", 0);
+            AdminClient adminClient = mock(AdminClient.class);
+            IndicesAdminClient indicesAdminClient = mock(IndicesAdminClient.class);
+            when(client.admin()).thenReturn(adminClient);
+            when(adminClient.indices()).thenReturn(indicesAdminClient);
+            doAnswer(invocation -> {
+                CreateIndexRequest request = invocation.getArgument(0);
+                ActionListener<CreateIndexResponse> listener = invocation.getArgument(1);
+                createdIndices.add(request.index());
+                indexMissing = false;
+                listener.onResponse(new CreateIndexResponse(true, true, request.index()));
+                return null;
+            }).when(indicesAdminClient).create(any(CreateIndexRequest.class), any(ActionListener.class));
+            doAnswer(invocation -> {
+                GetRequest request = invocation.getArgument(0);
+                ActionListener<GetResponse> listener = invocation.getArgument(1);
+                if (indexMissing) {
+                    listener.onFailure(new IndexNotFoundException(request.index()));
+                    return null;
+                }
+                Map<String, Object> source = docs.get(request.id());
+                BytesReference bytes = source != null ? BytesReference.bytes(XContentFactory.jsonBuilder().map(source)) : null;
+                long docSeqNo = source != null ? seqNos.get(request.id()) : -2L;
+                listener.onResponse(new GetResponse(new GetResult(SharedQuerySets.SHARED_QUERY_SETS_INDEX, request.id(), docSeqNo, source != null ? 1L : 0L,
+                        source != null ? 1L : -1L, source != null, bytes, Map.of(), Map.of())));
+                return null;
+            }).when(client).get(any(GetRequest.class), any(ActionListener.class));
+            doAnswer(invocation -> {
+                IndexRequest request = invocation.getArgument(0);
+                ActionListener<IndexResponse> listener = invocation.getArgument(1);
+                runBeforeWrite();
+                if (!writtenIndices.contains(request.index())) {
+                    writtenIndices.add(request.index());
+                }
+                boolean exists = docs.containsKey(request.id());
+                if ((request.opType() == DocWriteRequest.OpType.CREATE && exists) || conflicts(request.id(), request.ifSeqNo())) {
+                    listener.onFailure(new VersionConflictEngineException(shardId, request.id(), "conflict"));
+                    return null;
+                }
+                docs.put(request.id(), request.sourceAsMap());
+                seqNos.put(request.id(), ++seqNo);
+                listener.onResponse(new IndexResponse(shardId, request.id(), seqNo, 1L, 1L, !exists));
+                return null;
+            }).when(client).index(any(IndexRequest.class), any(ActionListener.class));
+            doAnswer(invocation -> {
+                DeleteRequest request = invocation.getArgument(0);
+                ActionListener<DeleteResponse> listener = invocation.getArgument(1);
+                runBeforeWrite();
+                if (conflicts(request.id(), request.ifSeqNo())) {
+                    listener.onFailure(new VersionConflictEngineException(shardId, request.id(), "conflict"));
+                    return null;
+                }
+                boolean found = docs.remove(request.id()) != null;
+                seqNos.remove(request.id());
+                listener.onResponse(new DeleteResponse(shardId, request.id(), ++seqNo, 1L, 1L, found));
+                return null;
+            }).when(client).delete(any(DeleteRequest.class), any(ActionListener.class));
+        }
+
+        private void runBeforeWrite() {
+            Runnable hook = beforeNextWrite;
+            beforeNextWrite = null;
+            if (hook != null) {
+                hook.run();
+            }
+        }
+
+        private boolean conflicts(String id, long ifSeqNo) {
+            if (ifSeqNo < 0) {
+                return false;
+            }
+            return !docs.containsKey(id) || seqNos.get(id) != ifSeqNo;
+        }
+    }
+
+    private static Pair<String, Rule> rule(String id, String query) {
+        Rule rule = new Rule(id, 1L, "title", "windows", "windows", "description", List.of(), List.of(new Value("attack.t1000")),
+                "high", List.of(), "author", "experimental", Instant.now(), List.of(new Value(query)), List.of(), "", List.of());
+        return Pair.of(id, rule);
+    }
+}